@@ -35,7 +35,7 @@
 
 /**
  * Container client metrics that describe how data writes are distributed to
- * pipelines.
+ * pipelines, and how effective the readahead of chunk data is.
  */
 @Metrics(about = "Client Metrics", context = OzoneConsts.OZONE)
 public final class ContainerClientMetrics {
@@ -51,6 +51,17 @@ public final class ContainerClientMetrics {
   private MutableCounterLong totalWriteChunkCalls;
   @Metric
   private MutableCounterLong totalWriteChunkBytes;
+  @Metric(about = "Number of chunks fetched ahead of sequential reads")
+  private MutableCounterLong readaheadChunks;
+  @Metric(about = "Number of bytes fetched ahead of sequential reads")
+  private MutableCounterLong readaheadBytes;
+  @Metric(about = "Number of chunk reads served by readahead")
+  private MutableCounterLong readaheadHits;
+  @Metric(about = "Number of chunk reads of streams with readahead enabled" +
+      " which had to fetch the data synchronously")
+  private MutableCounterLong readaheadMisses;
+  @Metric(about = "Number of bytes fetched ahead which were never read")
+  private MutableCounterLong readaheadWastedBytes;
   private final Map<PipelineID, MutableCounterLong> writeChunkCallsByPipeline;
   private final Map<PipelineID, MutableCounterLong> writeChunkBytesByPipeline;
   private final Map<UUID, MutableCounterLong> writeChunksCallsByLeaders;
@@ -111,6 +122,48 @@ public void recordWriteChunk(Pipeline pipeline, long chunkSizeBytes) {
     totalWriteChunkBytes.incr(chunkSizeBytes);
   }
 
+  public void recordReadahead(long bytes) {
+    readaheadChunks.incr();
+    readaheadBytes.incr(bytes);
+  }
+
+  public void recordReadaheadHit() {
+    readaheadHits.incr();
+  }
+
+  public void recordReadaheadMiss() {
+    readaheadMisses.incr();
+  }
+
+  public void recordReadaheadWasted(long bytes) {
+    readaheadWastedBytes.incr(bytes);
+  }
+
+  @VisibleForTesting
+  public MutableCounterLong getReadaheadChunks() {
+    return readaheadChunks;
+  }
+
+  @VisibleForTesting
+  public MutableCounterLong getReadaheadBytes() {
+    return readaheadBytes;
+  }
+
+  @VisibleForTesting
+  public MutableCounterLong getReadaheadHits() {
+    return readaheadHits;
+  }
+
+  @VisibleForTesting
+  public MutableCounterLong getReadaheadMisses() {
+    return readaheadMisses;
+  }
+
+  @VisibleForTesting
+  public MutableCounterLong getReadaheadWastedBytes() {
+    return readaheadWastedBytes;
+  }
+
   @VisibleForTesting
   public MutableCounterLong getTotalWriteChunkBytes() {
     return totalWriteChunkBytes;
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hdds.scm;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the most recent latencies of an operation, to compute percentiles
+ * of them.
+ */
+class LatencyWindow {
+
+  private final long[] latencies;
+  private int next;
+  private int count;
+
+  LatencyWindow(int size) {
+    latencies = new long[size];
+  }
+
+  synchronized void add(long latency) {
+    latencies[next] = latency;
+    next = (next + 1) % latencies.length;
+    if (count < latencies.length) {
+      count++;
+    }
+  }
+
+  synchronized int size() {
+    return count;
+  }
+
+  /**
+   * @param percentile between 1 and 100.
+   * @return the given percentile of the recorded latencies, or -1 if none
+   * have been recorded.
+   */
+  long getPercentile(int percentile) {
+    final long[] sorted;
+    synchronized (this) {
+      if (count == 0) {
+        return -1;
+      }
+      sorted = Arrays.copyOf(latencies, count);
+    }
+    Arrays.sort(sorted);
+    final int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+    return sorted[Math.max(0, index)];
+  }
+}
@@ -29,6 +29,8 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Configuration values for Ozone Client.
  */
@@ -127,6 +129,34 @@ public enum ChecksumCombineMode {
       tags = ConfigTag.CLIENT)
   private long streamBufferMaxSize = 32 * 1024 * 1024;
 
+  @Config(key = "stream.buffer.arena.enabled",
+      defaultValue = "false",
+      description = "Allocate the stream buffers of the output streams as"
+          + " direct buffers from an arena shared by all clients of the"
+          + " process, which reuses the buffers of closed streams and sends"
+          + " them to the datanodes without copying.",
+      tags = ConfigTag.CLIENT)
+  private boolean streamBufferArenaEnabled = false;
+
+  @Config(key = "stream.buffer.arena.size",
+      defaultValue = "1GB",
+      type = ConfigType.SIZE,
+      description = "Maximum total size of the direct buffers of the stream"
+          + " buffer arena. Set by the first client of the process which"
+          + " uses the arena.",
+      tags = ConfigTag.CLIENT)
+  private long streamBufferArenaSize = 1024 * 1024 * 1024;
+
+  @Config(key = "stream.buffer.arena.wait",
+      defaultValue = "1s",
+      type = ConfigType.TIME,
+      timeUnit = TimeUnit.MILLISECONDS,
+      description = "Maximum time to wait for buffers to be released when"
+          + " the stream buffer arena is full. After that the buffer is"
+          + " allocated on the heap.",
+      tags = ConfigTag.CLIENT)
+  private long streamBufferArenaWait = 1000;
+
   @Config(key = "max.retries",
       defaultValue = "5",
       description = "Maximum number of retries by Ozone Client on "
@@ -200,6 +230,59 @@ public enum ChecksumCombineMode {
   // 3 concurrent stripe read should be enough.
   private int ecReconstructStripeReadPoolLimit = 10 * 3;
 
+  @Config(key = "read.readahead.max.chunks",
+      defaultValue = "0",
+      description = "Maximum number of chunks of a replicated block fetched"
+          + " from the datanode ahead of sequential reads. The number of"
+          + " chunks fetched ahead starts at one and doubles with each chunk"
+          + " read sequentially, and is reset by random access. 0 disables"
+          + " readahead.",
+      tags = ConfigTag.CLIENT)
+  private int readaheadMaxChunks = 0;
+
+  @Config(key = "read.readahead.pool.limit",
+      defaultValue = "16",
+      description = "Thread pool max size for fetching chunks ahead of"
+          + " sequential reads. Readahead is skipped while all threads are"
+          + " busy.",
+      tags = ConfigTag.CLIENT)
+  private int readaheadPoolLimit = 16;
+
+  @Config(key = "read.vectored.pool.limit",
+      defaultValue = "16",
+      description = "Thread pool max size for reading the ranges of a"
+          + " vectored read which are in different blocks in parallel. The"
+          + " calling thread does the read while all threads are busy.",
+      tags = ConfigTag.CLIENT)
+  private int vectoredReadPoolLimit = 16;
+
+  @Config(key = "read.hedged.enabled",
+      defaultValue = "false",
+      description = "If a ReadChunk request to a datanode of a replicated"
+          + " pipeline is not answered within the hedged read threshold, send"
+          + " the request to the next datanode as well, and use the response"
+          + " which arrives first.",
+      tags = ConfigTag.CLIENT)
+  private boolean hedgedReadEnabled = false;
+
+  @Config(key = "read.hedged.threshold.percentile",
+      defaultValue = "95",
+      description = "Percentile of the recent ReadChunk latencies of a"
+          + " pipeline after which a hedged read is sent to another datanode."
+          + " Must be between 1 and 100.",
+      tags = ConfigTag.CLIENT)
+  private int hedgedReadThresholdPercentile = 95;
+
+  @Config(key = "read.hedged.threshold.min",
+      defaultValue = "50ms",
+      type = ConfigType.TIME,
+      timeUnit = TimeUnit.MILLISECONDS,
+      description = "Minimum time to wait for a ReadChunk response before a"
+          + " hedged read is sent, also used until enough latencies have been"
+          + " recorded for the percentile.",
+      tags = ConfigTag.CLIENT)
+  private long hedgedReadThresholdMin = 50;
+
   @Config(key = "checksum.combine.mode",
       defaultValue = "COMPOSITE_CRC",
       description = "The combined checksum type [MD5MD5CRC / COMPOSITE_CRC] "
@@ -248,6 +331,10 @@ private void validate() {
           OzoneConfigKeys.OZONE_CLIENT_BYTES_PER_CHECKSUM_MIN_SIZE;
     }
 
+    Preconditions.checkArgument(hedgedReadThresholdPercentile > 0
+            && hedgedReadThresholdPercentile <= 100,
+        "Hedged read threshold percentile (%s) must be between 1 and 100",
+        hedgedReadThresholdPercentile);
   }
 
   public long getStreamBufferFlushSize() {
@@ -282,6 +369,30 @@ public void setStreamBufferMaxSize(long streamBufferMaxSize) {
     this.streamBufferMaxSize = streamBufferMaxSize;
   }
 
+  public boolean isStreamBufferArenaEnabled() {
+    return streamBufferArenaEnabled;
+  }
+
+  public void setStreamBufferArenaEnabled(boolean enabled) {
+    this.streamBufferArenaEnabled = enabled;
+  }
+
+  public long getStreamBufferArenaSize() {
+    return streamBufferArenaSize;
+  }
+
+  public void setStreamBufferArenaSize(long size) {
+    this.streamBufferArenaSize = size;
+  }
+
+  public long getStreamBufferArenaWait() {
+    return streamBufferArenaWait;
+  }
+
+  public void setStreamBufferArenaWait(long waitMillis) {
+    this.streamBufferArenaWait = waitMillis;
+  }
+
   public int getDataStreamMinPacketSize() {
     return dataStreamMinPacketSize;
   }
@@ -382,6 +493,54 @@ public int getEcReconstructStripeReadPoolLimit() {
     return ecReconstructStripeReadPoolLimit;
   }
 
+  public void setReadaheadMaxChunks(int maxChunks) {
+    this.readaheadMaxChunks = maxChunks;
+  }
+
+  public int getReadaheadMaxChunks() {
+    return readaheadMaxChunks;
+  }
+
+  public void setReadaheadPoolLimit(int poolLimit) {
+    this.readaheadPoolLimit = poolLimit;
+  }
+
+  public int getReadaheadPoolLimit() {
+    return readaheadPoolLimit;
+  }
+
+  public void setVectoredReadPoolLimit(int poolLimit) {
+    this.vectoredReadPoolLimit = poolLimit;
+  }
+
+  public int getVectoredReadPoolLimit() {
+    return vectoredReadPoolLimit;
+  }
+
+  public boolean isHedgedReadEnabled() {
+    return hedgedReadEnabled;
+  }
+
+  public void setHedgedReadEnabled(boolean enabled) {
+    this.hedgedReadEnabled = enabled;
+  }
+
+  public int getHedgedReadThresholdPercentile() {
+    return hedgedReadThresholdPercentile;
+  }
+
+  public void setHedgedReadThresholdPercentile(int percentile) {
+    this.hedgedReadThresholdPercentile = percentile;
+  }
+
+  public long getHedgedReadThresholdMin() {
+    return hedgedReadThresholdMin;
+  }
+
+  public void setHedgedReadThresholdMin(long thresholdMillis) {
+    this.hedgedReadThresholdMin = thresholdMillis;
+  }
+
   public void setFsDefaultBucketLayout(String bucketLayout) {
     if (!bucketLayout.isEmpty()) {
       this.fsDefaultBucketLayout = bucketLayout;
@@ -27,9 +27,11 @@
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
@@ -85,6 +87,10 @@
 public class XceiverClientGrpc extends XceiverClientSpi {
   private static final Logger LOG =
       LoggerFactory.getLogger(XceiverClientGrpc.class);
+  // Number of recent ReadChunk latencies the hedged read threshold is
+  // computed from, and the number needed before it is used.
+  private static final int HEDGED_READ_LATENCY_WINDOW = 256;
+  private static final int HEDGED_READ_MIN_LATENCIES = 20;
   private final Pipeline pipeline;
   private final ConfigurationSource config;
   private final Map<UUID, XceiverClientProtocolServiceStub> asyncStubs;
@@ -98,6 +104,10 @@ public class XceiverClientGrpc extends XceiverClientSpi {
   // Cache the DN which returned the GetBlock command so that the ReadChunk
   // command can be sent to the same DN.
   private final Map<DatanodeBlockID, DatanodeDetails> getBlockDNcache;
+  private final boolean hedgedReadEnabled;
+  private final int hedgedReadThresholdPercentile;
+  private final long hedgedReadThresholdMin;
+  private final LatencyWindow readChunkLatencies;
 
   private boolean closed = false;
 
@@ -130,6 +140,12 @@ public XceiverClientGrpc(Pipeline pipeline, ConfigurationSource config,
         OzoneConfigKeys.OZONE_NETWORK_TOPOLOGY_AWARE_READ_DEFAULT);
     this.caCerts = caCerts;
     this.getBlockDNcache = new ConcurrentHashMap<>();
+    OzoneClientConfig clientConfig = config.getObject(OzoneClientConfig.class);
+    this.hedgedReadEnabled = clientConfig.isHedgedReadEnabled();
+    this.hedgedReadThresholdPercentile =
+        clientConfig.getHedgedReadThresholdPercentile();
+    this.hedgedReadThresholdMin = clientConfig.getHedgedReadThresholdMin();
+    this.readChunkLatencies = new LatencyWindow(HEDGED_READ_LATENCY_WINDOW);
   }
 
   /**
@@ -391,6 +407,13 @@ private XceiverClientReply sendCommandWithRetry(
       }
     }
 
+    if (hedgedReadEnabled && datanodeList.size() > 1
+        && request.getCmdType() == ContainerProtos.Type.ReadChunk) {
+      reply.setResponse(CompletableFuture.completedFuture(
+          sendHedgedRead(request, validators, datanodeList, reply)));
+      return reply;
+    }
+
     for (DatanodeDetails dn : datanodeList) {
       try {
         if (LOG.isDebugEnabled()) {
@@ -454,6 +477,160 @@ private XceiverClientReply sendCommandWithRetry(
     }
   }
 
+  /**
+   * Sends a read to the datanodes one after the other, like
+   * {@link #sendCommandWithRetry}, but does not wait for a slow datanode:
+   * if none of the datanodes asked so far has answered within the hedged
+   * read threshold, the read is sent to the next datanode as well. The first
+   * valid response is returned.
+   */
+  private ContainerCommandResponseProto sendHedgedRead(
+      ContainerCommandRequestProto request, List<Validator> validators,
+      List<DatanodeDetails> datanodeList, XceiverClientReply reply)
+      throws IOException {
+    final BlockingQueue<HedgedReadResponse> responses =
+        new LinkedBlockingQueue<>();
+    final long threshold = getHedgedReadThreshold();
+    IOException ioException = null;
+    int next = 0;
+    int pending = 0;
+    while (next < datanodeList.size() || pending > 0) {
+      if (pending == 0) {
+        sendHedgedReadRequest(request, datanodeList.get(next++), false,
+            responses, reply);
+        pending++;
+      }
+      final HedgedReadResponse response;
+      try {
+        response = next < datanodeList.size()
+            ? responses.poll(threshold, TimeUnit.MILLISECONDS)
+            : responses.take();
+      } catch (InterruptedException e) {
+        LOG.error("Command execution was interrupted.");
+        Thread.currentThread().interrupt();
+        throw (IOException) new InterruptedIOException(
+            "Command " + processForDebug(request) + " was interrupted.")
+            .initCause(e);
+      }
+      if (response == null) {
+        if (LOG.isDebugEnabled()) {
+          LOG.debug("No response for command {} within {} ms, hedging to "
+              + "datanode {}", processForDebug(request), threshold,
+              datanodeList.get(next));
+        }
+        metrics.incHedgedReadOps();
+        sendHedgedReadRequest(request, datanodeList.get(next++), true,
+            responses, reply);
+        pending++;
+        continue;
+      }
+      pending--;
+      try {
+        final ContainerCommandResponseProto responseProto = response.get();
+        if (validators != null) {
+          for (Validator validator : validators) {
+            validator.accept(request, responseProto);
+          }
+        }
+        if (response.isHedged()) {
+          metrics.incHedgedReadOpsWin();
+        }
+        return responseProto;
+      } catch (SCMSecurityException e) {
+        throw e;
+      } catch (IOException e) {
+        ioException = e;
+        if (LOG.isDebugEnabled()) {
+          LOG.debug("Failed to execute command {} on datanode {}",
+              processForDebug(request), response.getDatanode(), e);
+        }
+      }
+    }
+    Objects.requireNonNull(ioException);
+    LOG.error("Failed to execute command {} on the pipeline {}.",
+        request.getCmdType(), pipeline);
+    throw ioException;
+  }
+
+  private void sendHedgedReadRequest(ContainerCommandRequestProto request,
+      DatanodeDetails dn, boolean hedged,
+      BlockingQueue<HedgedReadResponse> responses, XceiverClientReply reply) {
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("Executing command {} on datanode {}",
+          processForDebug(request), dn);
+    }
+    reply.addDatanode(dn);
+    final long startTime = System.currentTimeMillis();
+    try {
+      sendCommandAsync(request, dn).getResponse().whenComplete(
+          (response, e) -> {
+            if (e == null) {
+              readChunkLatencies.add(System.currentTimeMillis() - startTime);
+            }
+            responses.add(new HedgedReadResponse(dn, hedged, response, e));
+          });
+    } catch (IOException e) {
+      responses.add(new HedgedReadResponse(dn, hedged, null, e));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      responses.add(new HedgedReadResponse(dn, hedged, null, e));
+    }
+  }
+
+  /**
+   * @return the time in milliseconds to wait for a response to a read before
+   * sending a hedged read.
+   */
+  @VisibleForTesting
+  long getHedgedReadThreshold() {
+    if (readChunkLatencies.size() < HEDGED_READ_MIN_LATENCIES) {
+      return hedgedReadThresholdMin;
+    }
+    return Math.max(hedgedReadThresholdMin,
+        readChunkLatencies.getPercentile(hedgedReadThresholdPercentile));
+  }
+
+  /**
+   * Response, or failure, of one of the requests of a hedged read.
+   */
+  private static final class HedgedReadResponse {
+    private final DatanodeDetails datanode;
+    private final boolean hedged;
+    private final ContainerCommandResponseProto response;
+    private final Throwable error;
+
+    private HedgedReadResponse(DatanodeDetails datanode, boolean hedged,
+        ContainerCommandResponseProto response, Throwable error) {
+      this.datanode = datanode;
+      this.hedged = hedged;
+      this.response = response;
+      this.error = error;
+    }
+
+    private DatanodeDetails getDatanode() {
+      return datanode;
+    }
+
+    private boolean isHedged() {
+      return hedged;
+    }
+
+    private ContainerCommandResponseProto get() throws IOException {
+      if (error == null) {
+        return response;
+      }
+      if (Status.fromThrowable(error).getCode()
+          == Status.UNAUTHENTICATED.getCode()) {
+        throw new SCMSecurityException("Failed to authenticate with "
+            + "GRPC XceiverServer with Ozone block token.");
+      }
+      if (error instanceof IOException) {
+        throw (IOException) error;
+      }
+      throw new IOException(error);
+    }
+  }
+
   @Override
   public XceiverClientReply sendCommandAsync(
       ContainerCommandRequestProto request)
@@ -41,6 +41,8 @@ public class XceiverClientMetrics {
   private @Metric MutableCounterLong totalOps;
   private @Metric MutableCounterLong ecReconstructionTotal;
   private @Metric MutableCounterLong ecReconstructionFailsTotal;
+  private @Metric MutableCounterLong hedgedReadOps;
+  private @Metric MutableCounterLong hedgedReadOpsWin;
   private MutableCounterLong[] pendingOpsArray;
   private MutableCounterLong[] opsArray;
   private MutableRate[] containerOpsLatency;
@@ -110,6 +112,24 @@ public void incECReconstructionFailsTotal() {
     ecReconstructionFailsTotal.incr();
   }
 
+  public void incHedgedReadOps() {
+    hedgedReadOps.incr();
+  }
+
+  public void incHedgedReadOpsWin() {
+    hedgedReadOpsWin.incr();
+  }
+
+  @VisibleForTesting
+  public long getHedgedReadOps() {
+    return hedgedReadOps.value();
+  }
+
+  @VisibleForTesting
+  public long getHedgedReadOpsWin() {
+    return hedgedReadOpsWin.value();
+  }
+
   @VisibleForTesting
   public long getTotalOpCount() {
     return totalOps.value();
@@ -107,10 +107,23 @@ public class BlockInputStream extends BlockExtendedInputStream {
 
   private final Function<BlockID, BlockLocationInfo> refreshFunction;
 
+  // Null if readahead is disabled.
+  private final ChunkReadahead readahead;
+  // Number of chunks to fetch ahead of the current one, grows while the
+  // block is read sequentially.
+  private int readaheadWindow;
+  // Index of the chunk for which readahead was last done.
+  private int readaheadChunkIndex = -1;
+  // Position at which the next read starts if the block is read
+  // sequentially.
+  private long nextSequentialPos = 0;
+
+  @SuppressWarnings("parameternumber")
   public BlockInputStream(BlockID blockId, long blockLen, Pipeline pipeline,
       Token<OzoneBlockTokenIdentifier> token, boolean verifyChecksum,
       XceiverClientFactory xceiverClientFactory,
-      Function<BlockID, BlockLocationInfo> refreshFunction) {
+      Function<BlockID, BlockLocationInfo> refreshFunction,
+      ChunkReadahead readahead) {
     this.blockID = blockId;
     this.length = blockLen;
     this.pipeline = pipeline;
@@ -118,6 +131,15 @@ public BlockInputStream(BlockID blockId, long blockLen, Pipeline pipeline,
     this.verifyChecksum = verifyChecksum;
     this.xceiverClientFactory = xceiverClientFactory;
     this.refreshFunction = refreshFunction;
+    this.readahead = readahead;
+  }
+
+  public BlockInputStream(BlockID blockId, long blockLen, Pipeline pipeline,
+      Token<OzoneBlockTokenIdentifier> token, boolean verifyChecksum,
+      XceiverClientFactory xceiverClientFactory,
+      Function<BlockID, BlockLocationInfo> refreshFunction) {
+    this(blockId, blockLen, pipeline, token, verifyChecksum,
+        xceiverClientFactory, refreshFunction, null);
   }
 
   public BlockInputStream(BlockID blockId, long blockLen, Pipeline pipeline,
@@ -292,7 +314,9 @@ protected void acquireClient() throws IOException {
    * Datanode only when a read operation is performed on for that chunk.
    */
   protected synchronized void addStream(ChunkInfo chunkInfo) {
-    chunkStreams.add(createChunkInputStream(chunkInfo));
+    ChunkInputStream chunkStream = createChunkInputStream(chunkInfo);
+    chunkStream.setReadahead(readahead);
+    chunkStreams.add(chunkStream);
   }
 
   protected ChunkInputStream createChunkInputStream(ChunkInfo chunkInfo) {
@@ -309,6 +333,7 @@ protected synchronized int readWithStrategy(ByteReaderStrategy strategy)
     }
 
     checkOpen();
+    final boolean sequential = isSequentialRead();
     int totalReadLen = 0;
     int len = strategy.getTargetLength();
     while (len > 0) {
@@ -320,6 +345,10 @@ protected synchronized int readWithStrategy(ByteReaderStrategy strategy)
         return totalReadLen == 0 ? EOF : totalReadLen;
       }
 
+      if (sequential) {
+        readahead();
+      }
+
       // Get the current chunkStream and read data from it
       ChunkInputStream current = chunkStreams.get(chunkIndex);
       int numBytesToRead = Math.min(len, (int)current.getRemaining());
@@ -369,9 +398,56 @@ protected synchronized int readWithStrategy(ByteReaderStrategy strategy)
         chunkIndex += 1;
       }
     }
+    nextSequentialPos = getPos();
     return totalReadLen;
   }
 
+  /**
+   * Check whether a read continues where the previous one ended. If not,
+   * stop the readahead and discard the data fetched ahead.
+   */
+  private boolean isSequentialRead() {
+    if (readahead == null) {
+      return false;
+    }
+    if (getPos() == nextSequentialPos) {
+      return true;
+    }
+    resetReadahead();
+    return false;
+  }
+
+  /**
+   * Fetch the chunks following the current one in the background, if they
+   * have not been fetched yet. The number of chunks fetched ahead doubles
+   * each time the reads enter a new chunk, up to the configured maximum.
+   */
+  private void readahead() {
+    if (readaheadChunkIndex == chunkIndex) {
+      return;
+    }
+    readaheadChunkIndex = chunkIndex;
+    readaheadWindow = Math.min(Math.max(1, readaheadWindow * 2),
+        readahead.getMaxChunks());
+    final int end = Math.min(chunkStreams.size(),
+        chunkIndex + 1 + readaheadWindow);
+    for (int i = chunkIndex + 1; i < end; i++) {
+      chunkStreams.get(i).prefetch();
+    }
+  }
+
+  private void resetReadahead() {
+    readaheadWindow = 0;
+    readaheadChunkIndex = -1;
+    if (chunkStreams != null) {
+      for (int i = 0; i < chunkStreams.size(); i++) {
+        if (i != chunkIndex) {
+          chunkStreams.get(i).discardPrefetched();
+        }
+      }
+    }
+  }
+
   /**
    * Seeks the BlockInputStream to the specified position. If the stream is
    * not initialized, save the seeked position via blockPosition. Otherwise,
@@ -513,6 +589,8 @@ synchronized long getBlockPosition() {
   public synchronized void unbuffer() {
     storePosition();
     releaseClient();
+    readaheadWindow = 0;
+    readaheadChunkIndex = -1;
 
     final List<ChunkInputStream> inputStreams = this.chunkStreams;
     if (inputStreams != null) {
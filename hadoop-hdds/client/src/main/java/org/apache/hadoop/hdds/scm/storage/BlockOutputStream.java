@@ -718,11 +718,22 @@ CompletableFuture<ContainerCommandResponseProto> writeChunkToContainer(
           + ", previous = " + previous);
     }
 
+    // data may refer to the buffer without a copy, keep the buffer until the
+    // write completes.
+    bufferPool.retain();
     try {
-      XceiverClientReply asyncReply = writeChunkAsync(xceiverClient, chunkInfo,
-          blockID.get(), data, token, replicationIndex);
+      XceiverClientReply asyncReply;
+      try {
+        asyncReply = writeChunkAsync(xceiverClient, chunkInfo,
+            blockID.get(), data, token, replicationIndex);
+      } catch (IOException | ExecutionException | InterruptedException
+          | RuntimeException e) {
+        bufferPool.release();
+        throw e;
+      }
       CompletableFuture<ContainerProtos.ContainerCommandResponseProto>
           respFuture = asyncReply.getResponse();
+      respFuture.whenComplete((r, e) -> bufferPool.release());
       CompletableFuture<ContainerProtos.ContainerCommandResponseProto>
           validateFuture = respFuture.thenApplyAsync(e -> {
             try {
@@ -21,6 +21,7 @@
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 import org.apache.hadoop.hdds.scm.ByteStringConversion;
@@ -33,6 +34,11 @@
 
 /**
  * This class creates and manages pool of n buffers.
+ * <p>
+ * If a {@link DirectBufferArena} is given, the buffers are allocated from it
+ * and converted to {@link ByteString} without copying. They are returned to
+ * the arena when the pool is cleared, once no write retained by
+ * {@link #retain()} refers to them anymore.
  */
 public class BufferPool {
 
@@ -43,6 +49,13 @@ public class BufferPool {
   private final int bufferSize;
   private final int capacity;
   private final Function<ByteBuffer, ByteString> byteStringConversion;
+  private final DirectBufferArena arena;
+  /** Buffers allocated from the arena for the buffers in bufferList. */
+  private List<ByteBuffer> arenaBuffers = new ArrayList<>();
+  /** Buffers of cleared pools, waiting for the writes to complete. */
+  private final List<ByteBuffer> clearedArenaBuffers = new ArrayList<>();
+  /** Number of writes in progress which refer to the buffers. */
+  private final AtomicInteger references = new AtomicInteger();
 
   public static BufferPool empty() {
     return EMPTY;
@@ -55,11 +68,25 @@ public BufferPool(int bufferSize, int capacity) {
 
   public BufferPool(int bufferSize, int capacity,
       Function<ByteBuffer, ByteString> byteStringConversion) {
+    this(bufferSize, capacity, byteStringConversion, null);
+  }
+
+  /**
+   * @param arena the arena to allocate the buffers from, or null to allocate
+   *              them on the heap.
+   */
+  public BufferPool(int bufferSize, int capacity,
+      Function<ByteBuffer, ByteString> byteStringConversion,
+      DirectBufferArena arena) {
     this.capacity = capacity;
     this.bufferSize = bufferSize;
     bufferList = capacity == 0 ? emptyList() : new ArrayList<>(capacity);
     currentBufferIndex = -1;
-    this.byteStringConversion = byteStringConversion;
+    this.arena = arena;
+    // Buffers are not released to the arena while they are being written,
+    // so they can be wrapped without copying.
+    this.byteStringConversion = arena == null ? byteStringConversion
+        : ByteStringConversion.createByteBufferConversion(true);
   }
 
   public Function<ByteBuffer, ByteString> byteStringConversion() {
@@ -90,7 +117,10 @@ public ChunkBuffer allocateBuffer(int increment) {
     if (currentBufferIndex < bufferList.size()) {
       return getBuffer(currentBufferIndex);
     } else {
-      final ChunkBuffer newBuffer = ChunkBuffer.allocate(bufferSize, increment);
+      final ChunkBuffer newBuffer = arena == null
+          ? ChunkBuffer.allocate(bufferSize, increment)
+          : ChunkBuffer.allocate(bufferSize, increment,
+              this::allocateFromArena);
       bufferList.add(newBuffer);
       return newBuffer;
     }
@@ -110,9 +140,49 @@ void releaseBuffer(ChunkBuffer chunkBuffer) {
     currentBufferIndex--;
   }
 
+  private ByteBuffer allocateFromArena(int size) {
+    final ByteBuffer buffer = arena.allocate(size);
+    synchronized (this) {
+      arenaBuffers.add(buffer);
+    }
+    return buffer;
+  }
+
   public void clearBufferPool() {
     bufferList.clear();
     currentBufferIndex = -1;
+    if (arena != null) {
+      synchronized (this) {
+        clearedArenaBuffers.addAll(arenaBuffers);
+        arenaBuffers = new ArrayList<>();
+      }
+      releaseClearedBuffers();
+    }
+  }
+
+  /**
+   * Called before sending a write which refers to the buffers of this pool,
+   * so that they are not returned to the arena until {@link #release()}.
+   */
+  void retain() {
+    references.incrementAndGet();
+  }
+
+  /** Called when a write retained by {@link #retain()} completes. */
+  void release() {
+    final int remaining = references.decrementAndGet();
+    Preconditions.assertTrue(remaining >= 0,
+        () -> "references: " + remaining);
+    if (remaining == 0 && arena != null) {
+      releaseClearedBuffers();
+    }
+  }
+
+  private synchronized void releaseClearedBuffers() {
+    if (references.get() == 0) {
+      clearedArenaBuffers.forEach(arena::release);
+      clearedArenaBuffers.clear();
+    }
   }
 
   public void checkBufferPoolEmpty() {
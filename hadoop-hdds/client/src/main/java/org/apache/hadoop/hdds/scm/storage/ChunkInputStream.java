@@ -46,6 +46,10 @@
 import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Supplier;
 
 import org.slf4j.Logger;
@@ -102,6 +106,12 @@ public class ChunkInputStream extends InputStream
 
   private final Token<? extends TokenIdentifier> token;
 
+  // Set if the BlockInputStream of this chunk has readahead enabled.
+  private ChunkReadahead readahead;
+  // Data of the whole chunk, being fetched ahead of the reads. It is used by
+  // the next read that needs data from the datanode.
+  private CompletableFuture<ByteBuffer[]> prefetched;
+
   private static final int EOF = -1;
 
   ChunkInputStream(ChunkInfo chunkInfo, BlockID blockId,
@@ -281,6 +291,7 @@ public boolean seekToNewSource(long targetPos) {
 
   @Override
   public synchronized void close() {
+    discardPrefetched();
     releaseBuffers();
     releaseClient();
   }
@@ -365,6 +376,10 @@ private synchronized void readChunkFromContainer(int len) throws IOException {
     // successful read in adjustBufferPosition()
     storePosition();
 
+    if (readPrefetched(startByteIndex)) {
+      return;
+    }
+
     long adjustedBuffersOffset, adjustedBuffersLen;
     if (verifyChecksum) {
       // Adjust the chunk offset and length to include required checksum
@@ -401,8 +416,12 @@ private synchronized void readChunkFromContainer(int len) throws IOException {
 
   private void readChunkDataIntoBuffers(ChunkInfo readChunkInfo)
       throws IOException {
-    buffers = readChunk(readChunkInfo);
-    buffersSize = readChunkInfo.getLen();
+    setBuffers(readChunk(readChunkInfo), readChunkInfo.getLen());
+  }
+
+  private void setBuffers(ByteBuffer[] data, long dataLength) {
+    buffers = data;
+    buffersSize = dataLength;
 
     bufferOffsets = new long[buffers.length];
     int tempOffset = 0;
@@ -416,6 +435,84 @@ private void readChunkDataIntoBuffers(ChunkInfo readChunkInfo)
     allocated = true;
   }
 
+  /**
+   * Start fetching the whole chunk from the container in the background,
+   * unless it has been fetched already or it has been read. The fetched data
+   * is used by the next read which would otherwise go to the container.
+   * @return true if the chunk is being fetched.
+   */
+  synchronized boolean prefetch() {
+    if (readahead == null || prefetched != null || buffersAllocated()
+        || getPos() != 0 || length == 0) {
+      return false;
+    }
+    try {
+      acquireClient();
+      prefetched = CompletableFuture.supplyAsync(() -> {
+        try {
+          return readChunk(chunkInfo);
+        } catch (IOException e) {
+          throw new CompletionException(e);
+        }
+      }, readahead.getExecutor());
+    } catch (IOException | RejectedExecutionException e) {
+      LOG.debug("Failed to start readahead of chunk {}", getChunkName(), e);
+      return false;
+    }
+    readahead.getMetrics().recordReadahead(length);
+    return true;
+  }
+
+  /**
+   * Discard the data fetched ahead, if any, without waiting for the fetch.
+   */
+  synchronized void discardPrefetched() {
+    if (prefetched != null) {
+      prefetched.cancel(false);
+      prefetched = null;
+      readahead.getMetrics().recordReadaheadWasted(length);
+    }
+  }
+
+  @VisibleForTesting
+  synchronized boolean isPrefetched() {
+    return prefetched != null;
+  }
+
+  /**
+   * Fill the buffers with the data fetched ahead, if any.
+   * @param startByteIndex index of the first byte to be read from the chunk
+   * @return false if the data has to be read from the container
+   */
+  private boolean readPrefetched(long startByteIndex) {
+    if (prefetched == null) {
+      if (readahead != null) {
+        readahead.getMetrics().recordReadaheadMiss();
+      }
+      return false;
+    }
+    final CompletableFuture<ByteBuffer[]> future = prefetched;
+    prefetched = null;
+    final ByteBuffer[] data;
+    try {
+      data = future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      readahead.getMetrics().recordReadaheadWasted(length);
+      return false;
+    } catch (ExecutionException e) {
+      // Read the chunk again with the usual retries.
+      LOG.debug("Readahead of chunk {} failed", getChunkName(), e.getCause());
+      readahead.getMetrics().recordReadaheadMiss();
+      return false;
+    }
+    readahead.getMetrics().recordReadaheadHit();
+    setBuffers(data, length);
+    bufferOffsetWrtChunkData = 0;
+    adjustBufferPosition(startByteIndex);
+    return true;
+  }
+
   /**
    * Send RPC call to get the chunk from the container.
    */
@@ -711,6 +808,10 @@ private void storePosition() {
     chunkPosition = getPos();
   }
 
+  void setReadahead(ChunkReadahead readahead) {
+    this.readahead = readahead;
+  }
+
   String getChunkName() {
     return chunkInfo.getChunkName();
   }
@@ -726,6 +827,7 @@ protected long getChunkPosition() {
 
   @Override
   public synchronized void unbuffer() {
+    discardPrefetched();
     storePosition();
     releaseBuffers();
     releaseClient();
@@ -0,0 +1,71 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hdds.scm.storage;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import com.google.common.base.Preconditions;
+import org.apache.hadoop.hdds.scm.ContainerClientMetrics;
+
+/**
+ * Readahead settings shared by the {@link BlockInputStream}s of a client.
+ * <p>
+ * While a block is read sequentially, the block stream fetches the chunks
+ * following the current one from the datanode in the background, so that
+ * the next reads do not wait for the datanode. The number of chunks fetched
+ * ahead starts at one and doubles with each chunk read sequentially, up to
+ * {@link #getMaxChunks()}. Random access resets it, and discards the data
+ * fetched ahead.
+ */
+public class ChunkReadahead {
+
+  private final int maxChunks;
+  private final Supplier<? extends Executor> executorSupplier;
+  private final ContainerClientMetrics metrics;
+
+  /**
+   * @param maxChunks        maximum number of chunks to fetch ahead.
+   * @param executorSupplier supplies the executor which fetches the chunks,
+   *                         only called once readahead is needed.
+   * @param metrics          metrics to record the effect of readahead in.
+   */
+  public ChunkReadahead(int maxChunks,
+      Supplier<? extends Executor> executorSupplier,
+      ContainerClientMetrics metrics) {
+    Preconditions.checkArgument(maxChunks > 0,
+        "maxChunks = %s <= 0", maxChunks);
+    this.maxChunks = maxChunks;
+    this.executorSupplier = Objects.requireNonNull(executorSupplier,
+        "executorSupplier == null");
+    this.metrics = Objects.requireNonNull(metrics, "metrics == null");
+  }
+
+  public int getMaxChunks() {
+    return maxChunks;
+  }
+
+  Executor getExecutor() {
+    return executorSupplier.get();
+  }
+
+  ContainerClientMetrics getMetrics() {
+    return metrics;
+  }
+}
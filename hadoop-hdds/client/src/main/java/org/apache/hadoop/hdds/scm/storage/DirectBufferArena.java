@@ -0,0 +1,245 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.scm.storage;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Process-wide arena of direct {@link ByteBuffer}s for the write buffers of
+ * the client.
+ * <p>
+ * Released buffers are kept in a free list per buffer size, and handed out
+ * again by {@link #allocate(int)}. The total size of the direct buffers
+ * allocated by the arena, in use or free, is limited to the capacity. When
+ * it is reached, free buffers of other sizes are dropped first, then
+ * {@link #allocate(int)} waits for buffers to be released. If none are
+ * released within the maximum wait time, a heap buffer is returned instead,
+ * so that writers which hold on to their buffers cannot block each other
+ * forever.
+ */
+public final class DirectBufferArena {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(DirectBufferArena.class);
+
+  private static DirectBufferArena instance;
+
+  private final long capacity;
+  private final long maxWaitNanos;
+  private final Lock lock = new ReentrantLock();
+  private final Condition released = lock.newCondition();
+  /** Free buffers by buffer size. */
+  private final Map<Integer, Deque<ByteBuffer>> freeBuffers = new TreeMap<>();
+  /** Total size of the buffers allocated by the arena, in use or free. */
+  private long allocatedBytes;
+  /** Total size of the free buffers. */
+  private long freeBytes;
+  private long heapAllocations;
+
+  /**
+   * @return the arena of the process, which is created with the given
+   * settings on the first call.
+   */
+  public static synchronized DirectBufferArena getInstance(long capacity,
+      long maxWaitMillis) {
+    if (instance == null) {
+      instance = new DirectBufferArena(capacity, maxWaitMillis);
+    } else if (instance.capacity != capacity) {
+      LOG.warn("Direct buffer arena already created with capacity {}, "
+          + "ignoring capacity {}", instance.capacity, capacity);
+    }
+    return instance;
+  }
+
+  @VisibleForTesting
+  DirectBufferArena(long capacity, long maxWaitMillis) {
+    Preconditions.checkArgument(capacity > 0,
+        "capacity = %s <= 0", capacity);
+    Preconditions.checkArgument(maxWaitMillis >= 0,
+        "maxWaitMillis = %s < 0", maxWaitMillis);
+    this.capacity = capacity;
+    this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+  }
+
+  /**
+   * @return a cleared buffer of the given capacity, which is direct unless
+   * the arena is out of memory.
+   */
+  public ByteBuffer allocate(int size) {
+    Preconditions.checkArgument(size >= 0, "size = %s < 0", size);
+    lock.lock();
+    try {
+      final ByteBuffer free = pollFree(size);
+      if (free != null) {
+        return free;
+      }
+      if (!reserve(size)) {
+        heapAllocations++;
+        if (LOG.isDebugEnabled()) {
+          LOG.debug("Direct buffer arena is full ({} of {} bytes allocated), "
+              + "allocating {} bytes on the heap", allocatedBytes, capacity,
+              size);
+        }
+        return ByteBuffer.allocate(size);
+      }
+    } finally {
+      lock.unlock();
+    }
+
+    try {
+      return ByteBuffer.allocateDirect(size);
+    } catch (OutOfMemoryError e) {
+      LOG.warn("Failed to allocate a direct buffer of {} bytes, allocating "
+          + "it on the heap", size, e);
+      lock.lock();
+      try {
+        allocatedBytes -= size;
+        heapAllocations++;
+        released.signalAll();
+      } finally {
+        lock.unlock();
+      }
+      return ByteBuffer.allocate(size);
+    }
+  }
+
+  /**
+   * Returns a buffer allocated by {@link #allocate(int)} to the arena. The
+   * buffer must not be used after it is released.
+   */
+  public void release(ByteBuffer buffer) {
+    if (!buffer.isDirect()) {
+      return;
+    }
+    buffer.clear();
+    lock.lock();
+    try {
+      freeBuffers.computeIfAbsent(buffer.capacity(), k -> new ArrayDeque<>())
+          .push(buffer);
+      freeBytes += buffer.capacity();
+      released.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Must be called with the lock held. */
+  private ByteBuffer pollFree(int size) {
+    final Deque<ByteBuffer> free = freeBuffers.get(size);
+    final ByteBuffer buffer = free == null ? null : free.poll();
+    if (buffer != null) {
+      freeBytes -= size;
+    }
+    return buffer;
+  }
+
+  /**
+   * Reserves the given number of bytes for a new buffer, waiting for buffers
+   * to be released if needed. Must be called with the lock held.
+   *
+   * @return whether the bytes are reserved.
+   */
+  private boolean reserve(int size) {
+    long remainingNanos = maxWaitNanos;
+    while (true) {
+      dropFreeBuffers(allocatedBytes + size - capacity);
+      if (allocatedBytes + size <= capacity) {
+        allocatedBytes += size;
+        return true;
+      }
+      if (remainingNanos <= 0 || size > capacity) {
+        return false;
+      }
+      try {
+        remainingNanos = released.awaitNanos(remainingNanos);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return false;
+      }
+    }
+  }
+
+  /**
+   * Drops free buffers, so that the GC can free their memory, until at least
+   * the given number of bytes are dropped. Must be called with the lock held.
+   */
+  private void dropFreeBuffers(long bytes) {
+    final Iterator<Deque<ByteBuffer>> i = freeBuffers.values().iterator();
+    while (bytes > 0 && i.hasNext()) {
+      final Deque<ByteBuffer> free = i.next();
+      while (bytes > 0 && !free.isEmpty()) {
+        final int size = free.pop().capacity();
+        allocatedBytes -= size;
+        freeBytes -= size;
+        bytes -= size;
+      }
+      if (free.isEmpty()) {
+        i.remove();
+      }
+    }
+  }
+
+  public long getCapacity() {
+    return capacity;
+  }
+
+  /** @return the total size of the direct buffers, in use or free. */
+  public long getAllocatedBytes() {
+    lock.lock();
+    try {
+      return allocatedBytes;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** @return the total size of the free direct buffers. */
+  public long getFreeBytes() {
+    lock.lock();
+    try {
+      return freeBytes;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** @return the number of buffers allocated on the heap instead. */
+  public long getHeapAllocations() {
+    lock.lock();
+    try {
+      return heapAllocations;
+    } finally {
+      lock.unlock();
+    }
+  }
+}
@@ -20,13 +20,27 @@
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import org.apache.hadoop.fs.ByteBufferReadable;
 import org.apache.hadoop.fs.FSExceptionMessages;
+import org.apache.hadoop.fs.FileRange;
+import org.apache.hadoop.fs.VectoredReadUtils;
+import org.apache.hadoop.fs.impl.CombinedFileRange;
+import org.apache.hadoop.io.IOUtils;
 
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.function.IntFunction;
 
 /**
  * A stream for accessing multipart streams.
@@ -47,6 +61,9 @@ public class MultipartInputStream extends ExtendedInputStream {
   // part[0]), partOffsets[1] = 200 and so on.
   private final long[] partOffsets;
 
+  // Reads different parts of a vectored read in parallel.
+  private final Executor partReadExecutor;
+
   private boolean closed;
   // Index of the partStream corresponding to the current position of the
   // MultipartCryptoKeyInputStream.
@@ -58,11 +75,19 @@ public class MultipartInputStream extends ExtendedInputStream {
 
   public MultipartInputStream(String keyName,
                               List<? extends PartInputStream> inputStreams) {
+    this(keyName, inputStreams, Runnable::run);
+  }
+
+  public MultipartInputStream(String keyName,
+      List<? extends PartInputStream> inputStreams,
+      Executor partReadExecutor) {
 
     Preconditions.checkNotNull(inputStreams);
+    Preconditions.checkNotNull(partReadExecutor);
 
     this.key = keyName;
     this.partStreams = inputStreams;
+    this.partReadExecutor = partReadExecutor;
 
     // Calculate and update the partOffsets
     this.partOffsets = new long[inputStreams.size()];
@@ -173,6 +198,177 @@ public synchronized void seek(long pos) throws IOException {
     prevPartIndex = partIndex;
   }
 
+  /**
+   * Reads the given ranges, like
+   * {@link org.apache.hadoop.fs.PositionedReadable#readVectored}.
+   * <p>
+   * Ranges less than minSeek bytes apart are merged into a single read of
+   * at most maxSize bytes, into one buffer from allocate. The data of each
+   * merged range is a slice of that buffer, other ranges get the buffer
+   * itself. Reads from different parts run in parallel on the part read
+   * executor.
+   * <p>
+   * Returns once the data of all ranges is complete, failed reads complete
+   * exceptionally. The position of the stream is not changed.
+   */
+  public synchronized void readVectored(List<? extends FileRange> ranges,
+      IntFunction<ByteBuffer> allocate, int minSeek, int maxSize)
+      throws IOException {
+    checkOpen();
+    final List<? extends FileRange> sortedRanges =
+        VectoredReadUtils.validateNonOverlappingAndReturnSortedRanges(ranges);
+    for (FileRange range : sortedRanges) {
+      VectoredReadUtils.validateRangeRequest(range);
+    }
+    final List<FileRange> validRanges = new ArrayList<>(sortedRanges.size());
+    for (FileRange range : sortedRanges) {
+      range.setData(new CompletableFuture<>());
+      if (range.getOffset() + range.getLength() > length) {
+        range.getData().completeExceptionally(new EOFException(
+            "EOF encountered at pos: " + range.getOffset() + " length: "
+                + range.getLength() + " for key: " + key));
+      } else {
+        validRanges.add(range);
+      }
+    }
+
+    // Split the merged ranges at the part boundaries, and group the reads
+    // by part, so that each part is read by a single thread.
+    final List<CombinedRead> combinedReads = new ArrayList<>();
+    final Map<Integer, List<PartRead>> partReads = new TreeMap<>();
+    for (CombinedFileRange range : VectoredReadUtils.mergeSortedRanges(
+        validRanges, 1, minSeek, maxSize)) {
+      final CombinedRead combinedRead =
+          new CombinedRead(range, allocate.apply(range.getLength()));
+      combinedReads.add(combinedRead);
+      final long end = range.getOffset() + range.getLength();
+      long pos = range.getOffset();
+      for (int i = getPartIndex(pos); pos < end; i++) {
+        final long partEnd = partOffsets[i] + partStreams.get(i).getLength();
+        final int len = (int) (Math.min(end, partEnd) - pos);
+        if (len > 0) {
+          partReads.computeIfAbsent(i, k -> new ArrayList<>())
+              .add(new PartRead(combinedRead, pos - partOffsets[i],
+                  (int) (pos - range.getOffset()), len));
+          pos += len;
+        }
+      }
+    }
+
+    final long pos = getPos();
+    final List<CompletableFuture<Void>> tasks = new ArrayList<>();
+    for (Map.Entry<Integer, List<PartRead>> entry : partReads.entrySet()) {
+      final PartInputStream part = partStreams.get(entry.getKey());
+      tasks.add(CompletableFuture.runAsync(
+          () -> readParts(part, entry.getValue()), partReadExecutor));
+    }
+    try {
+      CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0])).get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw (IOException) new InterruptedIOException(
+          "Interrupted vectored read of key " + key).initCause(e);
+    } catch (ExecutionException e) {
+      // readParts records failures in the CombinedReads.
+      throw new IllegalStateException(e);
+    }
+    for (CombinedRead combinedRead : combinedReads) {
+      combinedRead.complete();
+    }
+    seek(pos);
+  }
+
+  private int getPartIndex(long pos) {
+    int index = Arrays.binarySearch(partOffsets, pos);
+    if (index < 0) {
+      index = -index - 2;
+    }
+    return index;
+  }
+
+  private static void readParts(PartInputStream part, List<PartRead> reads) {
+    for (PartRead read : reads) {
+      try {
+        final ByteBuffer target = read.combinedRead.buffer.duplicate();
+        target.position(target.position() + read.bufferOffset);
+        target.limit(target.position() + read.length);
+        part.seek(read.partPos);
+        readFully((InputStream) part, target);
+      } catch (IOException | RuntimeException e) {
+        read.combinedRead.fail(e);
+      }
+    }
+  }
+
+  private static void readFully(InputStream in, ByteBuffer target)
+      throws IOException {
+    if (!(in instanceof ByteBufferReadable)) {
+      final byte[] data = new byte[target.remaining()];
+      IOUtils.readFully(in, data, 0, data.length);
+      target.put(data);
+      return;
+    }
+    while (target.hasRemaining()) {
+      if (((ByteBufferReadable) in).read(target) < 0) {
+        throw new EOFException("Unexpected EOF, " + target.remaining()
+            + " bytes remaining");
+      }
+    }
+  }
+
+  /**
+   * A merged range of a vectored read, read into a single buffer.
+   */
+  private static final class CombinedRead {
+    private final CombinedFileRange range;
+    private final ByteBuffer buffer;
+    private volatile Exception failure;
+
+    private CombinedRead(CombinedFileRange range, ByteBuffer buffer) {
+      this.range = range;
+      this.buffer = buffer;
+    }
+
+    private void fail(Exception e) {
+      failure = e;
+    }
+
+    private void complete() {
+      final List<FileRange> underlying = range.getUnderlying();
+      if (failure != null) {
+        for (FileRange r : underlying) {
+          r.getData().completeExceptionally(failure);
+        }
+      } else if (underlying.size() == 1) {
+        buffer.limit(buffer.position() + range.getLength());
+        underlying.get(0).getData().complete(buffer);
+      } else {
+        for (FileRange r : underlying) {
+          r.getData().complete(
+              VectoredReadUtils.sliceTo(buffer, range.getOffset(), r));
+        }
+      }
+    }
+  }
+
+  /**
+   * The part of a {@link CombinedRead} which is in a single part stream.
+   */
+  private static final class PartRead {
+    private final CombinedRead combinedRead;
+    private final long partPos;
+    private final int bufferOffset;
+    private final int length;
+
+    private PartRead(CombinedRead combinedRead, long partPos,
+        int bufferOffset, int length) {
+      this.combinedRead = combinedRead;
+      this.partPos = partPos;
+      this.bufferOffset = bufferOffset;
+      this.length = length;
+    }
+  }
+
   @Override
   public synchronized long getPos() throws IOException {
     return length == 0 ? 0 :
@@ -26,6 +26,7 @@
 import org.apache.hadoop.hdds.security.token.OzoneBlockTokenIdentifier;
 import org.apache.hadoop.security.token.Token;
 
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 
 /**
@@ -52,4 +53,11 @@ BlockExtendedInputStream create(ReplicationConfig repConfig,
        XceiverClientFactory xceiverFactory,
        Function<BlockID, BlockLocationInfo> refreshFunction);
 
+  /**
+   * @return the executor used to read different blocks of a key in
+   * parallel, by default the blocks are read by the calling thread.
+   */
+  default Executor getReadExecutor() {
+    return Runnable::run;
+  }
 }
@@ -26,11 +26,13 @@
 import org.apache.hadoop.hdds.scm.storage.BlockExtendedInputStream;
 import org.apache.hadoop.hdds.scm.storage.BlockInputStream;
 import org.apache.hadoop.hdds.scm.storage.BlockLocationInfo;
+import org.apache.hadoop.hdds.scm.storage.ChunkReadahead;
 import org.apache.hadoop.hdds.security.token.OzoneBlockTokenIdentifier;
 import org.apache.hadoop.io.ByteBufferPool;
 import org.apache.hadoop.io.ElasticByteBufferPool;
 import org.apache.hadoop.security.token.Token;
 
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.function.Function;
@@ -42,6 +44,9 @@
 public class BlockInputStreamFactoryImpl implements BlockInputStreamFactory {
 
   private ECBlockInputStreamFactory ecBlockStreamFactory;
+  // Readahead of replicated blocks, null if disabled.
+  private final ChunkReadahead readahead;
+  private final Supplier<? extends Executor> readExecutorSupplier;
 
   public static BlockInputStreamFactory getInstance(
       ByteBufferPool byteBufferPool,
@@ -50,15 +55,34 @@ public static BlockInputStreamFactory getInstance(
         ecReconstructExecutorSupplier);
   }
 
+  public static BlockInputStreamFactory getInstance(
+      ByteBufferPool byteBufferPool,
+      Supplier<ExecutorService> ecReconstructExecutorSupplier,
+      ChunkReadahead readahead,
+      Supplier<? extends Executor> readExecutorSupplier) {
+    return new BlockInputStreamFactoryImpl(byteBufferPool,
+        ecReconstructExecutorSupplier, readahead, readExecutorSupplier);
+  }
+
   public BlockInputStreamFactoryImpl() {
     this(new ElasticByteBufferPool(), Executors::newSingleThreadExecutor);
   }
 
   public BlockInputStreamFactoryImpl(ByteBufferPool byteBufferPool,
       Supplier<ExecutorService> ecReconstructExecutorSupplier) {
+    this(byteBufferPool, ecReconstructExecutorSupplier, null,
+        () -> Runnable::run);
+  }
+
+  public BlockInputStreamFactoryImpl(ByteBufferPool byteBufferPool,
+      Supplier<ExecutorService> ecReconstructExecutorSupplier,
+      ChunkReadahead readahead,
+      Supplier<? extends Executor> readExecutorSupplier) {
     this.ecBlockStreamFactory =
         ECBlockInputStreamFactoryImpl.getInstance(this, byteBufferPool,
             ecReconstructExecutorSupplier);
+    this.readahead = readahead;
+    this.readExecutorSupplier = readExecutorSupplier;
   }
 
   /**
@@ -85,8 +109,15 @@ public BlockExtendedInputStream create(ReplicationConfig repConfig,
           ecBlockStreamFactory);
     } else {
       return new BlockInputStream(blockInfo.getBlockID(), blockInfo.getLength(),
-          pipeline, token, verifyChecksum, xceiverFactory, refreshFunction);
+          pipeline, token, verifyChecksum, xceiverFactory, refreshFunction,
+          readahead);
     }
   }
 
+  @Override
+  public Executor getReadExecutor() {
+    // The executor is only created once it is used.
+    return command -> readExecutorSupplier.get().execute(command);
+  }
+
 }
@@ -49,8 +49,24 @@ class DummyBlockInputStream extends BlockInputStream {
       Function<BlockID, BlockLocationInfo> refreshFunction,
       List<ChunkInfo> chunkList,
       Map<String, byte[]> chunks) {
+    this(blockId, blockLen, pipeline, token, verifyChecksum,
+        xceiverClientManager, refreshFunction, chunkList, chunks, null);
+  }
+
+  @SuppressWarnings("parameternumber")
+  DummyBlockInputStream(
+      BlockID blockId,
+      long blockLen,
+      Pipeline pipeline,
+      Token<OzoneBlockTokenIdentifier> token,
+      boolean verifyChecksum,
+      XceiverClientFactory xceiverClientManager,
+      Function<BlockID, BlockLocationInfo> refreshFunction,
+      List<ChunkInfo> chunkList,
+      Map<String, byte[]> chunks,
+      ChunkReadahead readahead) {
     super(blockId, blockLen, pipeline, token, verifyChecksum,
-        xceiverClientManager, refreshFunction);
+        xceiverClientManager, refreshFunction, readahead);
     this.chunkDataMap = chunks;
     this.chunks = chunkList;
 
@@ -24,6 +24,7 @@
 import org.apache.hadoop.hdds.protocol.DatanodeDetails;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChecksumType;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChunkInfo;
+import org.apache.hadoop.hdds.scm.ContainerClientMetrics;
 import org.apache.hadoop.hdds.scm.XceiverClientFactory;
 import org.apache.hadoop.hdds.scm.XceiverClientSpi;
 import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
@@ -458,4 +459,82 @@ private static Stream<Arguments> exceptionsTriggersRefresh() {
             new StatusException(Status.UNAVAILABLE))))
     );
   }
+
+  @Test
+  public void testReadaheadOfSequentialReads() throws Exception {
+    ContainerClientMetrics metrics = ContainerClientMetrics.acquire();
+    try {
+      long hits = metrics.getReadaheadHits().value();
+      long wasted = metrics.getReadaheadWastedBytes().value();
+      BlockInputStream stream = createReadaheadStream(metrics);
+      List<ChunkInputStream> chunkStreams;
+
+      // The first read fetches the next chunk ahead.
+      byte[] b = new byte[blockSize];
+      Assertions.assertEquals(50, stream.read(b, 0, 50));
+      chunkStreams = stream.getChunkStreams();
+      Assertions.assertTrue(chunkStreams.get(1).isPrefetched());
+      Assertions.assertFalse(chunkStreams.get(2).isPrefetched());
+
+      // Entering the next chunk doubles the number of chunks fetched ahead.
+      Assertions.assertEquals(100, stream.read(b, 50, 100));
+      Assertions.assertFalse(chunkStreams.get(1).isPrefetched());
+      Assertions.assertTrue(chunkStreams.get(2).isPrefetched());
+      Assertions.assertTrue(chunkStreams.get(3).isPrefetched());
+      Assertions.assertFalse(chunkStreams.get(4).isPrefetched());
+
+      int remaining = blockSize - 150;
+      Assertions.assertEquals(remaining, stream.read(b, 150, remaining));
+      matchWithInputData(b, 0, blockSize);
+      Assertions.assertEquals(hits + 4, metrics.getReadaheadHits().value());
+      Assertions.assertEquals(wasted,
+          metrics.getReadaheadWastedBytes().value());
+    } finally {
+      ContainerClientMetrics.release();
+    }
+  }
+
+  @Test
+  public void testReadaheadBacksOffOnRandomReads() throws Exception {
+    ContainerClientMetrics metrics = ContainerClientMetrics.acquire();
+    try {
+      long wasted = metrics.getReadaheadWastedBytes().value();
+      BlockInputStream stream = createReadaheadStream(metrics);
+
+      byte[] b = new byte[20];
+      Assertions.assertEquals(10, stream.read(b, 0, 10));
+      List<ChunkInputStream> chunkStreams = stream.getChunkStreams();
+      Assertions.assertTrue(chunkStreams.get(1).isPrefetched());
+
+      // A random read discards the data fetched ahead and fetches nothing.
+      stream.seek(CHUNK_SIZE * 3);
+      Assertions.assertEquals(10, stream.read(b, 0, 10));
+      matchWithInputData(b, CHUNK_SIZE * 3, 10);
+      Assertions.assertFalse(chunkStreams.get(1).isPrefetched());
+      Assertions.assertFalse(chunkStreams.get(4).isPrefetched());
+      Assertions.assertEquals(wasted + CHUNK_SIZE,
+          metrics.getReadaheadWastedBytes().value());
+
+      // Reading on sequentially restarts the readahead.
+      Assertions.assertEquals(10, stream.read(b, 10, 10));
+      matchWithInputData(b, CHUNK_SIZE * 3, 20);
+      Assertions.assertTrue(chunkStreams.get(4).isPrefetched());
+
+      stream.close();
+      Assertions.assertFalse(chunkStreams.get(4).isPrefetched());
+      Assertions.assertEquals(wasted + CHUNK_SIZE + CHUNK_SIZE / 2,
+          metrics.getReadaheadWastedBytes().value());
+    } finally {
+      ContainerClientMetrics.release();
+    }
+  }
+
+  private BlockInputStream createReadaheadStream(
+      ContainerClientMetrics metrics) {
+    BlockID blockID = new BlockID(new ContainerBlockID(1, 1));
+    ChunkReadahead readahead =
+        new ChunkReadahead(2, () -> Runnable::run, metrics);
+    return new DummyBlockInputStream(blockID, blockSize, null, null, false,
+        null, refreshFunction, chunks, chunkDataMap, readahead);
+  }
 }
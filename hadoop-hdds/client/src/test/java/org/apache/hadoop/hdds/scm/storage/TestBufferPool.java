@@ -18,7 +18,9 @@
 
 package org.apache.hadoop.hdds.scm.storage;
 
+import org.apache.hadoop.hdds.scm.ByteStringConversion;
 import org.apache.hadoop.ozone.common.ChunkBuffer;
+import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
 
 import org.junit.jupiter.api.Test;
 
@@ -44,6 +46,40 @@ void testBufferPool() {
     testBufferPool(10, 1 << 10);
   }
 
+  @Test
+  void testBufferPoolWithArena() {
+    final DirectBufferArena arena = new DirectBufferArena(1 << 20, 0);
+    final BufferPool pool = new BufferPool(1 << 10, 10,
+        ByteStringConversion.createByteBufferConversion(false), arena);
+    testBufferPool(pool);
+    assertEquals(10 << 10, arena.getAllocatedBytes());
+    assertEquals(0, arena.getFreeBytes());
+
+    // Buffers are converted without copying.
+    final ChunkBuffer buffer = pool.allocateBuffer(0);
+    fill(buffer);
+    final ByteString bytes = buffer.toByteString(pool.byteStringConversion());
+    assertEquals(buffer.toByteString(), bytes);
+    final byte b = (byte) ~bytes.byteAt(0);
+    buffer.asByteBufferList().get(0).put(0, b);
+    assertEquals(b, bytes.byteAt(0));
+
+    // Buffers are returned to the arena once no write refers to them.
+    pool.retain();
+    pool.clearBufferPool();
+    assertEquals(0, arena.getFreeBytes());
+    pool.release();
+    assertEquals(10 << 10, arena.getFreeBytes());
+    assertEquals(10 << 10, arena.getAllocatedBytes());
+
+    // and reused by the next pool
+    final BufferPool next = new BufferPool(1 << 10, 10,
+        ByteStringConversion.createByteBufferConversion(false), arena);
+    next.allocateBuffer(0);
+    assertEquals(9 << 10, arena.getFreeBytes());
+    assertEquals(10 << 10, arena.getAllocatedBytes());
+  }
+
   private static void testBufferPool(final int capacity, final int bufferSize) {
     final BufferPool pool = new BufferPool(bufferSize, capacity);
     assertEquals(capacity, pool.getCapacity());
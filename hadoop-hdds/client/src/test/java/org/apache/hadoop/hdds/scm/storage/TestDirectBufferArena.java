@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.scm.storage;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test for {@link DirectBufferArena}.
+ */
+class TestDirectBufferArena {
+
+  @Test
+  void testReuse() {
+    final DirectBufferArena arena = new DirectBufferArena(1024, 0);
+    final ByteBuffer buffer = arena.allocate(100);
+    assertTrue(buffer.isDirect());
+    assertEquals(100, buffer.capacity());
+    assertEquals(0, buffer.position());
+    assertEquals(100, buffer.limit());
+    assertEquals(100, arena.getAllocatedBytes());
+
+    buffer.put((byte) 1);
+    arena.release(buffer);
+    assertEquals(100, arena.getFreeBytes());
+
+    // Only buffers of the same size are reused.
+    final ByteBuffer other = arena.allocate(200);
+    assertNotSame(buffer, other);
+    final ByteBuffer reused = arena.allocate(100);
+    assertSame(buffer, reused);
+    assertEquals(0, reused.position());
+    assertEquals(100, reused.limit());
+    assertEquals(0, arena.getFreeBytes());
+    assertEquals(300, arena.getAllocatedBytes());
+  }
+
+  @Test
+  void testHeapAllocationWhenFull() {
+    final DirectBufferArena arena = new DirectBufferArena(1024, 0);
+    final ByteBuffer direct = arena.allocate(1000);
+    assertTrue(direct.isDirect());
+
+    final ByteBuffer heap = arena.allocate(100);
+    assertFalse(heap.isDirect());
+    assertEquals(100, heap.capacity());
+    assertEquals(1, arena.getHeapAllocations());
+
+    // Heap buffers are not kept.
+    arena.release(heap);
+    assertEquals(0, arena.getFreeBytes());
+    assertEquals(1000, arena.getAllocatedBytes());
+
+    assertFalse(arena.allocate(2000).isDirect());
+    assertEquals(2, arena.getHeapAllocations());
+  }
+
+  @Test
+  void testFreeBuffersOfOtherSizesDropped() {
+    final DirectBufferArena arena = new DirectBufferArena(1024, 0);
+    arena.release(arena.allocate(300));
+    arena.release(arena.allocate(600));
+    assertEquals(900, arena.getFreeBytes());
+
+    // Dropping the 300 bytes buffer is enough to make room.
+    final ByteBuffer buffer = arena.allocate(200);
+    assertTrue(buffer.isDirect());
+    assertEquals(600, arena.getFreeBytes());
+    assertEquals(800, arena.getAllocatedBytes());
+    assertEquals(0, arena.getHeapAllocations());
+  }
+
+  @Test
+  @Timeout(10)
+  void testWaitForRelease() throws Exception {
+    final DirectBufferArena arena = new DirectBufferArena(1024,
+        TimeUnit.MINUTES.toMillis(1));
+    final ByteBuffer buffer = arena.allocate(1024);
+    final CompletableFuture<ByteBuffer> waiting =
+        CompletableFuture.supplyAsync(() -> arena.allocate(512));
+    Thread.sleep(100);
+    assertFalse(waiting.isDone());
+
+    arena.release(buffer);
+    final ByteBuffer allocated = waiting.get();
+    assertTrue(allocated.isDirect());
+    assertEquals(512, allocated.capacity());
+    assertEquals(0, arena.getHeapAllocations());
+    assertEquals(512, arena.getAllocatedBytes());
+  }
+}
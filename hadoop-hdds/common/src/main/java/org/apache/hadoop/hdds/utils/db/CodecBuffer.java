@@ -34,6 +34,8 @@
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -429,6 +431,47 @@ <E extends Exception> Integer putFromSource(
     return size;
   }
 
+  /**
+   * Similar to {@link #putFromSource(PutToByteBuffer)}
+   * except that the given buffers are filled by a single call to the source,
+   * e.g. a multi-get from the db.
+   *
+   * @param buffers the buffers to put bytes to.
+   * @param source put bytes to the {@link ByteBuffer}s and return the
+   *               required size of each of them, or null if not available.
+   * @return the return value from the source function.
+   * @param <E> The {@link Exception} type may be thrown by the given source.
+   * @throws E in case the source throws it.
+   */
+  static <E extends Exception> List<Integer> putFromSource(
+      List<CodecBuffer> buffers,
+      CheckedFunction<List<ByteBuffer>, List<Integer>, E> source) throws E {
+    final int n = buffers.size();
+    final int[] writerIndexes = new int[n];
+    final int[] writables = new int[n];
+    final List<ByteBuffer> byteBuffers = new ArrayList<>(n);
+    for (int j = 0; j < n; j++) {
+      final CodecBuffer b = buffers.get(j);
+      b.assertRefCnt(1);
+      writerIndexes[j] = b.buf.writerIndex();
+      writables[j] = b.buf.writableBytes();
+      byteBuffers.add(b.buf.nioBuffer(writerIndexes[j], writables[j]));
+    }
+    final List<Integer> sizes = source.apply(byteBuffers);
+    Preconditions.assertSame(n, sizes.size(), "sizes.size()");
+    for (int j = 0; j < n; j++) {
+      final Integer size = sizes.get(j);
+      if (size != null) {
+        Preconditions.assertTrue(size >= 0, () -> "size = " + size + " < 0");
+        if (size > 0 && size <= writables[j]) {
+          final ByteBuf b = buffers.get(j).buf;
+          b.setIndex(b.readerIndex(), writerIndexes[j] + size);
+        }
+      }
+    }
+    return sizes;
+  }
+
   @Override
   public String toString() {
     return getClass().getSimpleName()
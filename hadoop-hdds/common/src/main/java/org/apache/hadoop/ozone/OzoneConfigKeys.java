@@ -485,6 +485,10 @@ public final class OzoneConfigKeys {
       "ozone.client.wait.between.retries.millis";
   public static final long OZONE_CLIENT_WAIT_BETWEEN_RETRIES_MILLIS_DEFAULT =
       2000;
+  public static final String OZONE_CLIENT_FOLLOWER_READ_ENABLED_KEY =
+      "ozone.client.follower.read.enabled";
+  public static final boolean OZONE_CLIENT_FOLLOWER_READ_ENABLED_DEFAULT =
+      false;
 
   public static final String OZONE_FREON_HTTP_ENABLED_KEY =
       "ozone.freon.http.enabled";
@@ -630,6 +634,13 @@ public final class OzoneConfigKeys {
   public static final String
       OZONE_FS_LISTING_PAGE_SIZE_MAX = "ozone.fs.listing.page.size.max";
 
+  // Maximum number of paths of a batched getFileStatuses request
+  public static final String OZONE_FS_FILE_STATUSES_BATCH_SIZE_MAX =
+      "ozone.fs.file.statuses.batch.size.max";
+
+  public static final int OZONE_FS_FILE_STATUSES_BATCH_SIZE_MAX_DEFAULT =
+      1024;
+
 
   public static final String FS_TRASH_CLASSNAME = "fs.trash.classname";
   public static final String FS_TRASH_CLASSNAME_DEFAULT =
@@ -317,6 +317,7 @@ private OzoneConsts() {
   public static final String PREV_KEY = "prevKey";
   public static final String START_KEY = "startKey";
   public static final String MAX_KEYS = "maxKeys";
+  public static final String KEY_COUNT = "keyCount";
   public static final String PREFIX = "prefix";
   public static final String KEY_PREFIX = "keyPrefix";
   public static final String ACL = "acl";
@@ -21,6 +21,7 @@
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -39,11 +40,22 @@
 /**
  * Class to compute and verify checksums for chunks.
  *
+ * The checksum implementations are reused by each thread. CRCs are computed
+ * into a single array per chunk, and verified without converting the data.
+ *
  * This class is not thread safe.
  */
 public class Checksum {
   public static final Logger LOG = LoggerFactory.getLogger(Checksum.class);
 
+  /** Length of a CRC32 or CRC32C checksum in bytes. */
+  private static final int CRC_LENGTH = Integer.BYTES;
+
+  private static final ThreadLocal<ChecksumByteBuffer> CRC32_CHECKSUM =
+      ThreadLocal.withInitial(ChecksumByteBufferFactory::crc32Impl);
+  private static final ThreadLocal<ChecksumByteBuffer> CRC32C_CHECKSUM =
+      ThreadLocal.withInitial(ChecksumByteBufferFactory::crc32CImpl);
+
   private static Function<ByteBuffer, ByteString> newMessageDigestFunction(
       String algorithm) {
     final MessageDigest md;
@@ -85,6 +97,7 @@ enum Algorithm {
     MD5(() -> newMessageDigestFunction("MD5"));
 
     private final Supplier<Function<ByteBuffer, ByteString>> constructor;
+    private final ThreadLocal<Function<ByteBuffer, ByteString>> functions;
 
     static Algorithm valueOf(ChecksumType type) {
       return valueOf(type.name());
@@ -92,11 +105,38 @@ static Algorithm valueOf(ChecksumType type) {
 
     Algorithm(Supplier<Function<ByteBuffer, ByteString>> constructor) {
       this.constructor = constructor;
+      this.functions = ThreadLocal.withInitial(constructor);
     }
 
     Function<ByteBuffer, ByteString> newChecksumFunction() {
       return constructor.get();
     }
+
+    /** @return the checksum function of the current thread. */
+    Function<ByteBuffer, ByteString> getChecksumFunction() {
+      return functions.get();
+    }
+  }
+
+  /** @return the CRC of the current thread for the type, or null. */
+  private static ChecksumByteBuffer getCrc(ChecksumType type) {
+    switch (type) {
+    case CRC32:
+      return CRC32_CHECKSUM.get();
+    case CRC32C:
+      return CRC32C_CHECKSUM.get();
+    default:
+      return null;
+    }
+  }
+
+  private static Function<ByteBuffer, ByteString> getChecksumFunction(
+      ChecksumType type) throws OzoneChecksumException {
+    try {
+      return Algorithm.valueOf(type).getChecksumFunction();
+    } catch (Exception e) {
+      throw new OzoneChecksumException(type);
+    }
   }
 
   private final ChecksumType checksumType;
@@ -165,12 +205,12 @@ public ChecksumData computeChecksum(ChunkBuffer data)
       return new ChecksumData(checksumType, bytesPerChecksum);
     }
 
-    final Function<ByteBuffer, ByteString> function;
-    try {
-      function = Algorithm.valueOf(checksumType).newChecksumFunction();
-    } catch (Exception e) {
-      throw new OzoneChecksumException(checksumType);
+    final ChecksumByteBuffer crc = getCrc(checksumType);
+    if (crc != null) {
+      return computeCrcChecksum(data, crc);
     }
+    final Function<ByteBuffer, ByteString> function =
+        getChecksumFunction(checksumType);
 
     // Checksum is computed for each bytesPerChecksum number of bytes of data
     // starting at offset 0. The last checksum might be computed for the
@@ -182,6 +222,66 @@ public ChecksumData computeChecksum(ChunkBuffer data)
     return new ChecksumData(checksumType, bytesPerChecksum, checksumList);
   }
 
+  /**
+   * Like {@link #computeChecksum(ChunkBuffer)}, but computes the CRCs into a
+   * single array, which the returned checksums share.
+   */
+  private ChecksumData computeCrcChecksum(ChunkBuffer data,
+      ChecksumByteBuffer crc) {
+    byte[] values = new byte[CRC_LENGTH
+        * BufferUtils.getNumberOfBins(data.remaining(), bytesPerChecksum)];
+    int length = 0;
+    for (ByteBuffer b : data.iterate(bytesPerChecksum)) {
+      if (length == values.length) {
+        values = Arrays.copyOf(values, Math.max(CRC_LENGTH, 2 * length));
+      }
+      final int value = computeCrc(b, crc, bytesPerChecksum);
+      for (int shift = Byte.SIZE * (CRC_LENGTH - 1); shift >= 0;
+           shift -= Byte.SIZE) {
+        values[length++] = (byte) (value >>> shift);
+      }
+    }
+
+    final ByteString all = UnsafeByteOperations.unsafeWrap(values);
+    final List<ByteString> checksumList = new ArrayList<>(length / CRC_LENGTH);
+    for (int i = 0; i < length; i += CRC_LENGTH) {
+      checksumList.add(all.substring(i, i + CRC_LENGTH));
+    }
+    return new ChecksumData(checksumType, bytesPerChecksum, checksumList);
+  }
+
+  /**
+   * Compute the CRC of the data upto the max length.
+   */
+  private static int computeCrc(ByteBuffer data, ChecksumByteBuffer crc,
+      int maxLength) {
+    final int limit = data.limit();
+    try {
+      final int maxIndex = data.position() + maxLength;
+      if (limit > maxIndex) {
+        data.limit(maxIndex);
+      }
+      crc.reset();
+      crc.update(data);
+      return (int) crc.getValue();
+    } finally {
+      data.limit(limit);
+    }
+  }
+
+  private static boolean matchesCrc(ByteString expected, int crc) {
+    if (expected.size() != CRC_LENGTH) {
+      return false;
+    }
+    for (int i = 0; i < CRC_LENGTH; i++) {
+      if (expected.byteAt(i)
+          != (byte) (crc >>> (Byte.SIZE * (CRC_LENGTH - 1 - i)))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   /**
    * Compute checksum using the algorithm for the data upto the max length.
    * @param data input data
@@ -243,16 +343,68 @@ public static boolean verifyChecksum(byte[] data, ChecksumData checksumData)
   private static boolean verifyChecksum(ByteBuffer data,
       ChecksumData checksumData,
       int startIndex) throws OzoneChecksumException {
-    ChecksumType checksumType = checksumData.getChecksumType();
+    return verifyChecksum(ChunkBuffer.wrap(data), checksumData, startIndex);
+  }
+
+  /**
+   * Computes the checksums of the input data and verifies that they match
+   * those of the input checksumData, without converting the data. The
+   * position and limit of the data remain unchanged. If the data consists of
+   * multiple buffers, each must start at a checksum boundary, like the
+   * buffers read by the datanode.
+   * @param data input data
+   * @param checksumData checksumData to match with
+   * @param startIndex index of first checksum in checksumData to match with
+   *                   data's computed checksum.
+   * @throws OzoneChecksumException is thrown if checksums do not match
+   */
+  public static boolean verifyChecksum(ChunkBuffer data,
+      ChecksumData checksumData, int startIndex)
+      throws OzoneChecksumException {
+    final ChecksumType checksumType = checksumData.getChecksumType();
     if (checksumType == ChecksumType.NONE) {
       // Checksum is set to NONE. No further verification is required.
       return true;
     }
 
-    int bytesPerChecksum = checksumData.getBytesPerChecksum();
-    Checksum checksum = new Checksum(checksumType, bytesPerChecksum);
-    final ChecksumData computed = checksum.computeChecksum(data);
-    return checksumData.verifyChecksumDataMatches(computed, startIndex);
+    final List<ByteString> expected = checksumData.getChecksums();
+    if (expected.isEmpty()) {
+      throw new OzoneChecksumException("Original checksumData has no " +
+          "checksums");
+    }
+
+    final int bytesPerChecksum = checksumData.getBytesPerChecksum();
+    final ChecksumByteBuffer crc = getCrc(checksumType);
+    final Function<ByteBuffer, ByteString> function =
+        crc != null ? null : getChecksumFunction(checksumType);
+    int index = 0;
+    for (ByteBuffer b : data.duplicate(data.position(), data.limit())
+        .iterate(bytesPerChecksum)) {
+      // A buffer may span several checksums, e.g. a single buffer list.
+      while (b.hasRemaining()) {
+        if (startIndex + index >= expected.size()) {
+          throw new OzoneChecksumException("Computed checksum has more than "
+              + index + " number of checksums. Original checksum has "
+              + (expected.size() - startIndex) + " number of checksums "
+              + "starting from index " + startIndex);
+        }
+        final int end = Math.min(b.position() + bytesPerChecksum, b.limit());
+        final ByteString checksum = expected.get(startIndex + index);
+        final boolean matches = crc != null
+            ? matchesCrc(checksum, computeCrc(b, crc, bytesPerChecksum))
+            : checksum.equals(computeChecksum(b, function, bytesPerChecksum));
+        if (!matches) {
+          throw new OzoneChecksumException(index);
+        }
+        b.position(end);
+        index++;
+      }
+    }
+    if (index == 0) {
+      throw new OzoneChecksumException("Computed checksumData has no " +
+          "checksums");
+    }
+    return true;
   }
 
   /**
@@ -287,12 +439,7 @@ public static boolean verifyChecksum(List<ByteString> byteStrings,
     // ByteString which could be smaller).
     final List<ByteBuffer> buffers =
         BufferUtils.getReadOnlyByteBuffers(byteStrings);
-
-    int bytesPerChecksum = checksumData.getBytesPerChecksum();
-    Checksum checksum = new Checksum(checksumType, bytesPerChecksum);
-    final ChecksumData computed = checksum.computeChecksum(
-        ChunkBuffer.wrap(buffers));
-    return checksumData.verifyChecksumDataMatches(computed, startIndex);
+    return verifyChecksum(ChunkBuffer.wrap(buffers), checksumData, startIndex);
   }
 
   /**
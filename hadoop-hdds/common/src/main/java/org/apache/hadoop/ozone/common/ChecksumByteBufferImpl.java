@@ -17,16 +17,41 @@
  */
 package org.apache.hadoop.ozone.common;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
 import java.util.zip.Checksum;
 
+import org.apache.hadoop.hdds.JavaUtils;
+
 /**
  * {@link ChecksumByteBuffer} implementation based on {@link Checksum}.
  */
 public class ChecksumByteBufferImpl implements ChecksumByteBuffer {
 
+  /**
+   * {@code Checksum.update(ByteBuffer)}, available since Java 9, which
+   * computes the checksum of direct buffers without copying them.
+   */
+  private static final MethodHandle UPDATE_BYTE_BUFFER_MH =
+      findUpdateByteBuffer();
+
   private Checksum checksum;
 
+  private static MethodHandle findUpdateByteBuffer() {
+    if (!JavaUtils.isJavaVersionAtLeast(9)) {
+      return null;
+    }
+    try {
+      return MethodHandles.publicLookup().findVirtual(Checksum.class,
+          "update", MethodType.methodType(void.class, ByteBuffer.class));
+    } catch (ReflectiveOperationException e) {
+      return null;
+    }
+  }
+
   public ChecksumByteBufferImpl(Checksum impl) {
     this.checksum = impl;
   }
@@ -35,10 +60,20 @@ public ChecksumByteBufferImpl(Checksum impl) {
   // TODO - when we eventually move to a minimum Java version >= 9 this method
   //        should be refactored to simply call checksum.update(buffer), as the
   //        Checksum interface has been enhanced to allow this since Java 9.
+  //        Until then it is called through a method handle for direct buffers.
   public void update(ByteBuffer buffer) {
     if (buffer.hasArray()) {
       checksum.update(buffer.array(), buffer.position() + buffer.arrayOffset(),
           buffer.remaining());
+    } else if (checksum instanceof CRC32) {
+      ((CRC32) checksum).update(buffer);
+    } else if (UPDATE_BYTE_BUFFER_MH != null) {
+      try {
+        UPDATE_BYTE_BUFFER_MH.invoke(checksum, buffer);
+      } catch (Throwable t) {
+        throw (t instanceof RuntimeException) ? (RuntimeException) t
+            : new RuntimeException(t);
+      }
     } else {
       byte[] b = new byte[buffer.remaining()];
       buffer.get(b);
@@ -22,6 +22,7 @@
 import java.nio.channels.GatheringByteChannel;
 import java.util.List;
 import java.util.function.Function;
+import java.util.function.IntFunction;
 import java.util.function.Supplier;
 
 import org.apache.hadoop.hdds.scm.ByteStringConversion;
@@ -45,10 +46,22 @@ static ChunkBuffer allocate(int capacity) {
    *   When increment <= 0, entire buffer is allocated in the beginning.
    */
   static ChunkBuffer allocate(int capacity, int increment) {
+    return allocate(capacity, increment, ByteBuffer::allocate);
+  }
+
+  /**
+   * Similar to {@link #allocate(int, int)}
+   * except that the {@link ByteBuffer}(s) are allocated by the given function.
+   *
+   * @param allocator
+   *   returns a cleared buffer of the given capacity.
+   */
+  static ChunkBuffer allocate(int capacity, int increment,
+      IntFunction<ByteBuffer> allocator) {
     if (increment > 0 && increment < capacity) {
-      return new IncrementalChunkBuffer(capacity, increment, false);
+      return new IncrementalChunkBuffer(capacity, increment, false, allocator);
     }
-    return new ChunkBufferImplWithByteBuffer(ByteBuffer.allocate(capacity));
+    return new ChunkBufferImplWithByteBuffer(allocator.apply(capacity));
   }
 
   /** Wrap the given {@link ByteBuffer} as a {@link ChunkBuffer}. */
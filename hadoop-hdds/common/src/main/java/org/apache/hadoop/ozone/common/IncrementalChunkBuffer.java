@@ -30,6 +30,7 @@
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
+import java.util.function.IntFunction;
 
 /**
  * Use a list of {@link ByteBuffer} to implement a single {@link ChunkBuffer}
@@ -49,10 +50,17 @@ final class IncrementalChunkBuffer implements ChunkBuffer {
   private final List<ByteBuffer> buffers;
   /** Is this a duplicated buffer? (for debug only) */
   private final boolean isDuplicated;
+  /** Allocates the buffers in the list. */
+  private final IntFunction<ByteBuffer> allocator;
   /** The index of the first non-full buffer. */
   private int firstNonFullIndex = 0;
 
   IncrementalChunkBuffer(int limit, int increment, boolean isDuplicated) {
+    this(limit, increment, isDuplicated, ByteBuffer::allocate);
+  }
+
+  IncrementalChunkBuffer(int limit, int increment, boolean isDuplicated,
+      IntFunction<ByteBuffer> allocator) {
     Preconditions.checkArgument(limit >= 0);
     Preconditions.checkArgument(increment > 0);
     this.limit = limit;
@@ -61,6 +69,7 @@ final class IncrementalChunkBuffer implements ChunkBuffer {
     this.buffers = new ArrayList<>(
         limitIndex + (limit % increment == 0 ? 0 : 1));
     this.isDuplicated = isDuplicated;
+    this.allocator = Objects.requireNonNull(allocator, "allocator == null");
   }
 
   /** @return the capacity for the buffer at the given index. */
@@ -115,7 +124,7 @@ private ByteBuffer getAndAllocateAtIndex(int index) {
     // allocate upto the given index
     ByteBuffer b = null;
     for (; i <= index; i++) {
-      b = ByteBuffer.allocate(getBufferCapacityAtIndex(i));
+      b = allocator.apply(getBufferCapacityAtIndex(i));
       buffers.add(b);
     }
     return b;
@@ -224,7 +233,7 @@ public ChunkBuffer duplicate(int newPosition, int newLimit) {
     Preconditions.checkArgument(newPosition <= newLimit);
     Preconditions.checkArgument(newLimit <= limit);
     final IncrementalChunkBuffer duplicated = new IncrementalChunkBuffer(
-        newLimit, increment, true);
+        newLimit, increment, true, allocator);
 
     final int pi = newPosition / increment;
     final int pr = newPosition % increment;
@@ -17,10 +17,18 @@
  */
 package org.apache.hadoop.ozone.common;
 
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
 import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
+import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 
@@ -95,4 +103,80 @@ public void testChecksumMismatchForDifferentChecksumTypes() {
     Assertions.assertNotEquals(checksum1, checksum2,
         "Checksums should not match for different checksum types");
   }
+
+  /**
+   * Tests that the CRCs computed into a single array match those computed
+   * separately for each range of the data.
+   */
+  @Test
+  public void testCrcChecksums() throws Exception {
+    Checksum checksum = getChecksum(ContainerProtos.ChecksumType.CRC32);
+    byte[] data = RandomStringUtils.randomAlphabetic(55).getBytes(UTF_8);
+
+    List<ByteString> checksums = checksum.computeChecksum(data).getChecksums();
+    Assertions.assertEquals(6, checksums.size());
+    for (int i = 0; i < checksums.size(); i++) {
+      CRC32 crc = new CRC32();
+      int offset = i * BYTES_PER_CHECKSUM;
+      crc.update(data, offset,
+          Math.min(BYTES_PER_CHECKSUM, data.length - offset));
+      Assertions.assertEquals(Checksum.int2ByteString((int) crc.getValue()),
+          checksums.get(i));
+    }
+  }
+
+  /**
+   * Tests {@link Checksum#verifyChecksum(ChunkBuffer, ChecksumData, int)}
+   * with heap, direct and multiple buffers.
+   */
+  @ParameterizedTest
+  @EnumSource(names = {"CRC32", "CRC32C", "SHA256", "MD5"})
+  public void testVerifyChunkBuffer(ContainerProtos.ChecksumType type)
+      throws Exception {
+    Checksum checksum = getChecksum(type);
+    byte[] data = RandomStringUtils.randomAlphabetic(55).getBytes(UTF_8);
+    ChecksumData checksumData = checksum.computeChecksum(data);
+
+    ByteBuffer direct = ByteBuffer.allocateDirect(data.length);
+    direct.put(data).flip();
+    ChunkBuffer multiple = ChunkBuffer.wrap(Arrays.asList(
+        ByteBuffer.wrap(data, 0, 10).slice(),
+        ByteBuffer.wrap(data, 10, 45).slice()));
+    for (ChunkBuffer buffer : Arrays.asList(
+        ChunkBuffer.wrap(ByteBuffer.wrap(data)), ChunkBuffer.wrap(direct),
+        multiple)) {
+      Assertions.assertTrue(
+          Checksum.verifyChecksum(buffer, checksumData, 0));
+      // The data is not consumed by the verification.
+      Assertions.assertEquals(0, buffer.position());
+      Assertions.assertEquals(data.length, buffer.remaining());
+    }
+
+    // Verify the last 25 bytes against the checksums from index 3.
+    ChunkBuffer tail = ChunkBuffer.wrap(ByteBuffer.wrap(data, 30, 25));
+    Assertions.assertTrue(Checksum.verifyChecksum(tail, checksumData, 3));
+  }
+
+  /**
+   * Tests that verifying modified data against a {@link ChunkBuffer} fails.
+   */
+  @ParameterizedTest
+  @EnumSource(names = {"CRC32", "SHA256"})
+  public void testVerifyChunkBufferMismatch(
+      ContainerProtos.ChecksumType type) throws Exception {
+    Checksum checksum = getChecksum(type);
+    byte[] data = RandomStringUtils.randomAlphabetic(55).getBytes(UTF_8);
+    ChecksumData checksumData = checksum.computeChecksum(data);
+
+    // More data than checksums
+    ChunkBuffer longer = ChunkBuffer.wrap(ByteBuffer.wrap(
+        Arrays.copyOf(data, data.length + BYTES_PER_CHECKSUM)));
+    Assertions.assertThrows(OzoneChecksumException.class,
+        () -> Checksum.verifyChecksum(longer, checksumData, 0));
+
+    data[50] = (byte) (data[50] + 1);
+    ChunkBuffer buffer = ChunkBuffer.wrap(ByteBuffer.wrap(data));
+    Assertions.assertThrows(OzoneChecksumException.class,
+        () -> Checksum.verifyChecksum(buffer, checksumData, 0));
+  }
 }
@@ -42,6 +42,8 @@ public class DatanodeConfiguration {
       "hdds.datanode.container.delete.threads.max";
   static final String CONTAINER_CLOSE_THREADS_MAX_KEY =
       "hdds.datanode.container.close.threads.max";
+  static final String CONTAINER_LOAD_THREADS_PER_VOLUME_KEY =
+      "hdds.datanode.container.load.threads.per.volume";
   static final String PERIODIC_DISK_CHECK_INTERVAL_MINUTES_KEY =
       "hdds.datanode.periodic.disk.check.interval.minutes";
   public static final String DISK_CHECK_FILE_SIZE_KEY =
@@ -118,7 +120,108 @@ public class DatanodeConfiguration {
 
   static final int CONTAINER_DELETE_THREADS_DEFAULT = 2;
   static final int CONTAINER_CLOSE_THREADS_DEFAULT = 3;
+  static final int CONTAINER_LOAD_THREADS_PER_VOLUME_DEFAULT = 4;
   static final int BLOCK_DELETE_THREADS_DEFAULT = 5;
+  static final int VOLUME_IO_RECOVERY_SHARE_DEFAULT = 30;
+  static final int VOLUME_IO_MAINTENANCE_SHARE_DEFAULT = 10;
+
+  /**
+   * The number of threads used to load the containers of each volume at
+   * startup.
+   */
+  @Config(key = "container.load.threads.per.volume",
+      type = ConfigType.INT,
+      defaultValue = "4",
+      tags = {DATANODE},
+      description = "The number of threads per volume used to load the " +
+          "containers of the volume when the datanode starts."
+  )
+  private int containerLoadThreadsPerVolume =
+      CONTAINER_LOAD_THREADS_PER_VOLUME_DEFAULT;
+
+  @Config(key = "container.load.defer.block.statistics",
+      type = ConfigType.BOOLEAN,
+      defaultValue = "true",
+      tags = {DATANODE},
+      description = "If true, block count, bytes used and pending deletion " +
+          "block count of non-open containers which are not stored in the " +
+          "container DB are computed in the background after the datanode " +
+          "starts, instead of while loading the containers."
+  )
+  private boolean deferBlockStatistics = true;
+
+  @Config(key = "container.index.snapshot.enabled",
+      type = ConfigType.BOOLEAN,
+      defaultValue = "true",
+      tags = {DATANODE},
+      description = "If true, the datanode writes an index of the containers " +
+          "of each volume when it stops, and the next start loads the " +
+          "containers whose .container file is unchanged from the index " +
+          "instead of parsing the file."
+  )
+  private boolean containerIndexSnapshotEnabled = true;
+
+  @Config(key = "volume.io.bytes.per.second",
+      type = ConfigType.LONG,
+      defaultValue = "0",
+      tags = {DATANODE, ConfigTag.STORAGE},
+      description = "The bandwidth of each volume, which is shared by the " +
+          "recovery and maintenance I/O according to " +
+          "hdds.datanode.volume.io.recovery.share and " +
+          "hdds.datanode.volume.io.maintenance.share. Client I/O is not " +
+          "limited. 0 means unlimited."
+  )
+  private long volumeIOBytesPerSecond = 0;
+
+  @Config(key = "volume.io.ops.per.second",
+      type = ConfigType.INT,
+      defaultValue = "0",
+      tags = {DATANODE, ConfigTag.STORAGE},
+      description = "The I/O operations per second of each volume, which " +
+          "are shared like hdds.datanode.volume.io.bytes.per.second. " +
+          "0 means unlimited."
+  )
+  private int volumeIOOpsPerSecond = 0;
+
+  @Config(key = "volume.io.recovery.share",
+      type = ConfigType.INT,
+      defaultValue = "30",
+      tags = {DATANODE, ConfigTag.STORAGE},
+      description = "The percentage of the bandwidth and operations of a " +
+          "volume available to container replication."
+  )
+  private int volumeIORecoveryShare = VOLUME_IO_RECOVERY_SHARE_DEFAULT;
+
+  @Config(key = "volume.io.maintenance.share",
+      type = ConfigType.INT,
+      defaultValue = "10",
+      tags = {DATANODE, ConfigTag.STORAGE},
+      description = "The percentage of the bandwidth and operations of a " +
+          "volume available to container scanning and block deletion."
+  )
+  private int volumeIOMaintenanceShare = VOLUME_IO_MAINTENANCE_SHARE_DEFAULT;
+
+  @Config(key = "volume.io.foreground.latency.threshold",
+      type = ConfigType.TIME,
+      defaultValue = "200ms",
+      tags = {DATANODE, ConfigTag.STORAGE},
+      description = "If the average latency of the recent client reads " +
+          "and writes of a volume exceeds this, recovery and maintenance " +
+          "I/O on the volume is paused, for up to " +
+          "hdds.datanode.volume.io.background.max.pause per operation. " +
+          "0 disables pausing."
+  )
+  private long volumeIOForegroundLatencyThreshold =
+      Duration.ofMillis(200).toMillis();
+
+  @Config(key = "volume.io.background.max.pause",
+      type = ConfigType.TIME,
+      defaultValue = "1s",
+      tags = {DATANODE, ConfigTag.STORAGE},
+      description = "The maximum time a recovery or maintenance operation " +
+          "is paused for client I/O, so that it still makes progress."
+  )
+  private long volumeIOBackgroundMaxPause = Duration.ofSeconds(1).toMillis();
 
   /**
    * The maximum number of threads used to delete containers on a datanode
@@ -543,6 +646,17 @@ public void validate() {
       containerCloseThreads = CONTAINER_CLOSE_THREADS_DEFAULT;
     }
 
+    if (containerLoadThreadsPerVolume < 1) {
+      LOG.warn(CONTAINER_LOAD_THREADS_PER_VOLUME_KEY + " must be greater " +
+              "than zero and was set to {}. Defaulting to {}",
+          containerLoadThreadsPerVolume,
+          CONTAINER_LOAD_THREADS_PER_VOLUME_DEFAULT);
+      containerLoadThreadsPerVolume =
+          CONTAINER_LOAD_THREADS_PER_VOLUME_DEFAULT;
+    }
+
+    validateVolumeIO();
+
     if (periodicDiskCheckIntervalMinutes < 1) {
       LOG.warn(PERIODIC_DISK_CHECK_INTERVAL_MINUTES_KEY +
               " must be greater than zero and was set to {}. Defaulting to {}",
@@ -653,6 +767,36 @@ public void validate() {
     }
   }
 
+  private void validateVolumeIO() {
+    if (volumeIOBytesPerSecond < 0) {
+      LOG.warn("hdds.datanode.volume.io.bytes.per.second must not be " +
+          "negative and was set to {}. Defaulting to 0 (unlimited)",
+          volumeIOBytesPerSecond);
+      volumeIOBytesPerSecond = 0;
+    }
+
+    if (volumeIOOpsPerSecond < 0) {
+      LOG.warn("hdds.datanode.volume.io.ops.per.second must not be " +
+          "negative and was set to {}. Defaulting to 0 (unlimited)",
+          volumeIOOpsPerSecond);
+      volumeIOOpsPerSecond = 0;
+    }
+
+    if (volumeIORecoveryShare < 1 || volumeIORecoveryShare > 100) {
+      LOG.warn("hdds.datanode.volume.io.recovery.share must be between 1 " +
+              "and 100 and was set to {}. Defaulting to {}",
+          volumeIORecoveryShare, VOLUME_IO_RECOVERY_SHARE_DEFAULT);
+      volumeIORecoveryShare = VOLUME_IO_RECOVERY_SHARE_DEFAULT;
+    }
+
+    if (volumeIOMaintenanceShare < 1 || volumeIOMaintenanceShare > 100) {
+      LOG.warn("hdds.datanode.volume.io.maintenance.share must be between 1 " +
+              "and 100 and was set to {}. Defaulting to {}",
+          volumeIOMaintenanceShare, VOLUME_IO_MAINTENANCE_SHARE_DEFAULT);
+      volumeIOMaintenanceShare = VOLUME_IO_MAINTENANCE_SHARE_DEFAULT;
+    }
+  }
+
   public void setContainerDeleteThreads(int containerDeleteThreads) {
     this.containerDeleteThreads = containerDeleteThreads;
   }
@@ -661,6 +805,78 @@ public int getContainerDeleteThreads() {
     return containerDeleteThreads;
   }
 
+  public long getVolumeIOBytesPerSecond() {
+    return volumeIOBytesPerSecond;
+  }
+
+  public void setVolumeIOBytesPerSecond(long bytesPerSecond) {
+    this.volumeIOBytesPerSecond = bytesPerSecond;
+  }
+
+  public int getVolumeIOOpsPerSecond() {
+    return volumeIOOpsPerSecond;
+  }
+
+  public void setVolumeIOOpsPerSecond(int opsPerSecond) {
+    this.volumeIOOpsPerSecond = opsPerSecond;
+  }
+
+  public int getVolumeIORecoveryShare() {
+    return volumeIORecoveryShare;
+  }
+
+  public void setVolumeIORecoveryShare(int percent) {
+    this.volumeIORecoveryShare = percent;
+  }
+
+  public int getVolumeIOMaintenanceShare() {
+    return volumeIOMaintenanceShare;
+  }
+
+  public void setVolumeIOMaintenanceShare(int percent) {
+    this.volumeIOMaintenanceShare = percent;
+  }
+
+  public Duration getVolumeIOForegroundLatencyThreshold() {
+    return Duration.ofMillis(volumeIOForegroundLatencyThreshold);
+  }
+
+  public void setVolumeIOForegroundLatencyThreshold(Duration threshold) {
+    this.volumeIOForegroundLatencyThreshold = threshold.toMillis();
+  }
+
+  public Duration getVolumeIOBackgroundMaxPause() {
+    return Duration.ofMillis(volumeIOBackgroundMaxPause);
+  }
+
+  public void setVolumeIOBackgroundMaxPause(Duration maxPause) {
+    this.volumeIOBackgroundMaxPause = maxPause.toMillis();
+  }
+
+  public int getContainerLoadThreadsPerVolume() {
+    return containerLoadThreadsPerVolume;
+  }
+
+  public void setContainerLoadThreadsPerVolume(int threads) {
+    this.containerLoadThreadsPerVolume = threads;
+  }
+
+  public boolean isDeferBlockStatistics() {
+    return deferBlockStatistics;
+  }
+
+  public void setDeferBlockStatistics(boolean defer) {
+    this.deferBlockStatistics = defer;
+  }
+
+  public boolean isContainerIndexSnapshotEnabled() {
+    return containerIndexSnapshotEnabled;
+  }
+
+  public void setContainerIndexSnapshotEnabled(boolean enabled) {
+    this.containerIndexSnapshotEnabled = enabled;
+  }
+
   public void setContainerCloseThreads(int containerCloseThreads) {
     this.containerCloseThreads = containerCloseThreads;
   }
@@ -19,17 +19,23 @@
 package org.apache.hadoop.ozone.container.common.utils;
 
 import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.util.concurrent.Striped;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.ozone.OzoneConfigKeys;
 
 import com.google.common.base.Preconditions;
-import org.apache.commons.collections.MapIterator;
-import org.apache.commons.collections.map.LRUMap;
 import org.apache.hadoop.ozone.container.keyvalue.helpers.BlockUtils;
 import org.apache.hadoop.ozone.container.metadata.DatanodeStore;
 import org.apache.hadoop.util.Time;
@@ -37,23 +43,44 @@
 import org.slf4j.LoggerFactory;
 
 /**
- * container cache is a LRUMap that maintains the DB handles.
+ * container cache is a concurrent LRU cache that maintains the DB handles.
+ * <p>
+ * Cached handles are looked up without locking. Opening a DB only locks the
+ * stripe of its path, so that a DB is opened by one thread at a time while
+ * other DBs are opened and looked up concurrently. When the cache is full,
+ * the least recently used handle without references is evicted and closed
+ * in the background. A DB being closed is not opened again until the close
+ * is complete.
  */
-public final class ContainerCache extends LRUMap {
+public final class ContainerCache {
   private static final Logger LOG =
       LoggerFactory.getLogger(ContainerCache.class);
-  private final Lock lock = new ReentrantLock();
   private static ContainerCache cache;
-  private static final float LOAD_FACTOR = 0.75f;
-  private final Striped<Lock> rocksDBLock;
   private static ContainerCacheMetrics metrics;
+
+  private final int maxSize;
+  private final Map<String, ReferenceCountedDB> dbs =
+      new ConcurrentHashMap<>();
+  /** Locks held while opening or removing the DBs of each stripe. */
+  private final Lock[] stripeLocks;
+  /** Latest background close of each DB path, while in progress. */
+  private final Map<String, Future<?>> closing = new ConcurrentHashMap<>();
+  private final Lock evictionLock = new ReentrantLock();
+  private final ExecutorService closeExecutor;
+
   /**
    * Constructs a cache that holds DBHandle references.
    */
-  private ContainerCache(int maxSize, int stripes, float loadFactor, boolean
-      scanUntilRemovable) {
-    super(maxSize, loadFactor, scanUntilRemovable);
-    rocksDBLock = Striped.lazyWeakLock(stripes);
+  private ContainerCache(int maxSize, int stripes) {
+    Preconditions.checkArgument(stripes > 0, "stripes = %s <= 0", stripes);
+    this.maxSize = maxSize;
+    this.stripeLocks = new Lock[stripes];
+    for (int i = 0; i < stripes; i++) {
+      stripeLocks[i] = new ReentrantLock();
+    }
+    this.closeExecutor = Executors.newSingleThreadExecutor(
+        new ThreadFactoryBuilder().setDaemon(true)
+            .setNameFormat("ContainerCacheClose-%d").build());
   }
 
   @VisibleForTesting
@@ -76,8 +103,8 @@ public static synchronized ContainerCache getInstance(
       int stripes = conf.getInt(
           OzoneConfigKeys.OZONE_CONTAINER_CACHE_LOCK_STRIPES,
           OzoneConfigKeys.OZONE_CONTAINER_CACHE_LOCK_STRIPES_DEFAULT);
-      cache = new ContainerCache(cacheSize, stripes, LOAD_FACTOR, true);
-      metrics = ContainerCacheMetrics.create();
+      cache = new ContainerCache(cacheSize, stripes);
+      metrics = ContainerCacheMetrics.create(stripes);
     }
     return cache;
   }
@@ -86,35 +113,19 @@ public static synchronized ContainerCache getInstance(
    * Closes all the db instances and resets the cache.
    */
   public void shutdownCache() {
-    lock.lock();
+    evictionLock.lock();
     try {
-      // iterate the cache and close each db
-      MapIterator iterator = cache.mapIterator();
-      while (iterator.hasNext()) {
-        iterator.next();
-        ReferenceCountedDB db = (ReferenceCountedDB) iterator.getValue();
-        Preconditions.checkArgument(cleanupDb(db), "refCount:",
+      for (ReferenceCountedDB db : dbs.values()) {
+        Preconditions.checkArgument(evictAndClose(db), "refCount:",
             db.getReferenceCount());
       }
       // reset the cache
-      cache.clear();
+      dbs.clear();
     } finally {
-      lock.unlock();
+      evictionLock.unlock();
     }
-  }
-
-  /**
-   * {@inheritDoc}
-   */
-  @Override
-  protected boolean removeLRU(LinkEntry entry) {
-    ReferenceCountedDB db = (ReferenceCountedDB) entry.getValue();
-    lock.lock();
-    try {
-      metrics.incNumCacheEvictions();
-      return cleanupDb(db);
-    } finally {
-      lock.unlock();
+    for (Future<?> close : closing.values()) {
+      awaitClose(close);
     }
   }
 
@@ -135,25 +146,29 @@ public ReferenceCountedDB getDB(long containerID, String containerDBType,
       throws IOException {
     Preconditions.checkState(containerID >= 0,
         "Container ID cannot be negative.");
-    ReferenceCountedDB db;
-    Lock containerLock = rocksDBLock.get(containerDBPath);
-    containerLock.lock();
     metrics.incNumDbGetOps();
+    final int stripe = getStripe(containerDBPath);
+    ReferenceCountedDB db = getCachedDB(containerDBPath, false);
+    if (db != null) {
+      metrics.incNumCacheHits(stripe);
+      return db;
+    }
+
+    lockStripe(stripe);
     try {
-      lock.lock();
-      try {
-        db = (ReferenceCountedDB) this.get(containerDBPath);
-        if (db != null && !db.isClosed()) {
-          metrics.incNumCacheHits();
-          db.incrementReference();
-          return db;
-        }
-        if (db != null && db.isClosed()) {
-          removeDB(containerDBPath);
-        }
-        metrics.incNumCacheMisses();
-      } finally {
-        lock.unlock();
+      // Another thread may have opened the DB while waiting for the lock.
+      db = getCachedDB(containerDBPath, true);
+      if (db != null) {
+        metrics.incNumCacheHits(stripe);
+        return db;
+      }
+      metrics.incNumCacheMisses(stripe);
+      // The DB cannot be opened again until an eviction has closed it.
+      final Future<?> close = closing.get(containerDBPath);
+      if (close != null) {
+        final long start = Time.monotonicNow();
+        awaitClose(close);
+        metrics.incDbWait(stripe, Time.monotonicNow() - start);
       }
 
       try {
@@ -167,29 +182,111 @@ public ReferenceCountedDB getDB(long containerID, String containerDBType,
             containerID, containerDBPath, e);
         throw e;
       }
+      // increment the reference before publishing the object
+      db.incrementReference();
+      db.setLastAccessNanos(System.nanoTime());
+      dbs.put(containerDBPath, db);
+    } finally {
+      stripeLocks[stripe].unlock();
+    }
+    evictIfFull();
+    return db;
+  }
 
-      lock.lock();
-      try {
-        ReferenceCountedDB currentDB =
-            (ReferenceCountedDB) this.get(containerDBPath);
-        if (currentDB != null && !currentDB.isClosed()) {
-          // increment the reference before returning the object
-          currentDB.incrementReference();
-          // clean the db created in previous step
-          cleanupDb(db);
-          return currentDB;
-        } else if (currentDB != null && currentDB.isClosed()) {
-          removeDB(containerDBPath);
+  /**
+   * @param locked whether the stripe of the path is locked.
+   * @return the cached DB of the path with its reference incremented, or
+   * null if there is none. A cached DB which is closed or being evicted is
+   * removed from the cache if the stripe is locked.
+   */
+  private ReferenceCountedDB getCachedDB(String containerDBPath,
+      boolean locked) {
+    final ReferenceCountedDB db = dbs.get(containerDBPath);
+    if (db == null) {
+      return null;
+    }
+    if (!db.isClosed() && db.tryIncrementReference()) {
+      db.setLastAccessNanos(System.nanoTime());
+      return db;
+    }
+    // Whoever removes the DB from the cache closes it. This is done with the
+    // stripe locked, so that the DB is not opened until the close is known.
+    if (locked && dbs.remove(containerDBPath, db)) {
+      closeInBackground(containerDBPath, db);
+    }
+    return null;
+  }
+
+  /**
+   * Evicts the least recently used DBs without references until the cache
+   * is not over its size. Like an LRU map which scans until an entry is
+   * removable, the cache grows beyond its size if all DBs are in use.
+   */
+  private void evictIfFull() {
+    if (dbs.size() <= maxSize) {
+      return;
+    }
+    evictionLock.lock();
+    try {
+      while (dbs.size() > maxSize) {
+        Map.Entry<String, ReferenceCountedDB> lru = null;
+        for (Map.Entry<String, ReferenceCountedDB> entry : dbs.entrySet()) {
+          final ReferenceCountedDB db = entry.getValue();
+          if (db.getReferenceCount() == 0 && (lru == null ||
+              db.getLastAccessNanos() < lru.getValue().getLastAccessNanos())) {
+            lru = entry;
+          }
+        }
+        if (lru == null) {
+          return;
+        }
+        final String containerDBPath = lru.getKey();
+        final ReferenceCountedDB db = lru.getValue();
+        final int stripe = getStripe(containerDBPath);
+        lockStripe(stripe);
+        try {
+          if (db.evict() && dbs.remove(containerDBPath, db)) {
+            metrics.incNumCacheEvictions();
+            closeInBackground(containerDBPath, db);
+          }
+        } finally {
+          stripeLocks[stripe].unlock();
         }
-        this.put(containerDBPath, db);
-        // increment the reference before returning the object
-        db.incrementReference();
-        return db;
-      } finally {
-        lock.unlock();
       }
     } finally {
-      containerLock.unlock();
+      evictionLock.unlock();
+    }
+  }
+
+  private void closeInBackground(String containerDBPath,
+      ReferenceCountedDB db) {
+    // The close executor has a single thread, so a later close of the same
+    // path also completes after the earlier ones.
+    final CompletableFuture<Void> close =
+        CompletableFuture.runAsync(() -> cleanupDb(db), closeExecutor);
+    closing.put(containerDBPath, close);
+    close.whenComplete((r, e) -> closing.remove(containerDBPath, close));
+  }
+
+  private static void awaitClose(Future<?> close) {
+    try {
+      Uninterruptibles.getUninterruptibly(close);
+    } catch (ExecutionException e) {
+      // cleanupDb logs failures
+      LOG.debug("Failed to close DB", e);
+    }
+  }
+
+  private int getStripe(String containerDBPath) {
+    return Math.floorMod(containerDBPath.hashCode(), stripeLocks.length);
+  }
+
+  private void lockStripe(int stripe) {
+    final Lock lock = stripeLocks[stripe];
+    if (!lock.tryLock()) {
+      final long start = Time.monotonicNow();
+      lock.lock();
+      metrics.incDbWait(stripe, Time.monotonicNow() - start);
     }
   }
 
@@ -199,22 +296,37 @@ public ReferenceCountedDB getDB(long containerID, String containerDBType,
    * @param containerDBPath - path of the container db file.
    */
   public void removeDB(String containerDBPath) {
-    lock.lock();
+    final int stripe = getStripe(containerDBPath);
+    lockStripe(stripe);
     try {
-      ReferenceCountedDB db = (ReferenceCountedDB)this.get(containerDBPath);
+      ReferenceCountedDB db = dbs.get(containerDBPath);
       if (db != null) {
-        boolean cleaned = cleanupDb(db);
-        if (!db.isClosed()) {
-          Preconditions.checkArgument(cleaned, "refCount:",
-              db.getReferenceCount());
-        }
+        Preconditions.checkArgument(evictAndClose(db), "refCount:",
+            db.getReferenceCount());
+      }
+      dbs.remove(containerDBPath);
+      // The container may be deleted next, wait for an eviction to close it.
+      final Future<?> close = closing.get(containerDBPath);
+      if (close != null) {
+        awaitClose(close);
       }
-      this.remove(containerDBPath);
     } finally {
-      lock.unlock();
+      stripeLocks[stripe].unlock();
     }
   }
 
+  /**
+   * Evicts the DB like {@link #evictIfFull}, so that a concurrent
+   * {@link #getDB} cannot take a reference to it, then closes it.
+   * @return whether the DB is closed, false if it is still in use.
+   */
+  private boolean evictAndClose(ReferenceCountedDB db) {
+    if (db.evict()) {
+      return cleanupDb(db);
+    }
+    return db.isClosed();
+  }
+
   private boolean cleanupDb(ReferenceCountedDB db) {
     long time = Time.monotonicNow();
     boolean ret = db.cleanup();
@@ -231,11 +343,31 @@ private boolean cleanupDb(ReferenceCountedDB db) {
    * @param db - DB handler
    */
   public void addDB(String containerDBPath, ReferenceCountedDB db) {
-    lock.lock();
+    final int stripe = getStripe(containerDBPath);
+    lockStripe(stripe);
     try {
-      this.putIfAbsent(containerDBPath, db);
+      db.setLastAccessNanos(System.nanoTime());
+      dbs.putIfAbsent(containerDBPath, db);
     } finally {
-      lock.unlock();
+      stripeLocks[stripe].unlock();
     }
+    evictIfFull();
+  }
+
+  /** @return the cached DB of the path, without taking a reference. */
+  @VisibleForTesting
+  public ReferenceCountedDB get(String containerDBPath) {
+    return dbs.get(containerDBPath);
+  }
+
+  @VisibleForTesting
+  public int size() {
+    return dbs.size();
+  }
+
+  /** Removes all DBs from the cache without closing them. */
+  @VisibleForTesting
+  public void clear() {
+    dbs.clear();
   }
 }
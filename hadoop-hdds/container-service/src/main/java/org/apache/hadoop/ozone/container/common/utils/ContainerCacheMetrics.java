@@ -20,6 +20,7 @@
 import org.apache.hadoop.metrics2.MetricsSystem;
 import org.apache.hadoop.metrics2.annotation.Metric;
 import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
+import org.apache.hadoop.metrics2.lib.MetricsRegistry;
 import org.apache.hadoop.metrics2.lib.MutableCounterLong;
 import org.apache.hadoop.metrics2.lib.MutableRate;
 
@@ -30,6 +31,7 @@ public final class ContainerCacheMetrics {
 
   private final String name;
   private final MetricsSystem ms;
+  private final MetricsRegistry registry;
 
   @Metric("Rate to measure the db open latency")
   private MutableRate dbOpenLatency;
@@ -52,16 +54,40 @@ public final class ContainerCacheMetrics {
   @Metric("Number of Container Cache Evictions")
   private MutableCounterLong numCacheEvictions;
 
-  private ContainerCacheMetrics(String name, MetricsSystem ms) {
+  @Metric("Rate to measure the time waited for the db of another thread")
+  private MutableRate dbWaitLatency;
+
+  private final MutableCounterLong[] stripeCacheHits;
+  private final MutableCounterLong[] stripeCacheMisses;
+  private final MutableCounterLong[] stripeDbWaits;
+
+  private ContainerCacheMetrics(String name, MetricsSystem ms, int stripes) {
     this.name = name;
     this.ms = ms;
+    this.registry = new MetricsRegistry(name);
+    this.stripeCacheHits = new MutableCounterLong[stripes];
+    this.stripeCacheMisses = new MutableCounterLong[stripes];
+    this.stripeDbWaits = new MutableCounterLong[stripes];
+    for (int i = 0; i < stripes; i++) {
+      stripeCacheHits[i] = registry.newCounter("NumCacheHitsStripe" + i,
+          "Number of Container Cache Hits in stripe " + i, 0L);
+      stripeCacheMisses[i] = registry.newCounter("NumCacheMissesStripe" + i,
+          "Number of Container Cache Misses in stripe " + i, 0L);
+      stripeDbWaits[i] = registry.newCounter("NumDbWaitsStripe" + i,
+          "Number of waits for the db of another thread in stripe " + i, 0L);
+    }
   }
 
-  public static ContainerCacheMetrics create() {
+  /**
+   * @param stripes number of stripes of the cache, which are reported
+   *                separately.
+   */
+  public static ContainerCacheMetrics create(int stripes) {
     MetricsSystem ms = DefaultMetricsSystem.instance();
     String name = "ContainerCacheMetrics";
 
-    return ms.register(name, "null", new ContainerCacheMetrics(name, ms));
+    return ms.register(name, "null",
+        new ContainerCacheMetrics(name, ms, stripes));
   }
 
   public void incNumDbGetOps() {
@@ -72,12 +98,23 @@ public void incNumDbRemoveOps() {
     numDbRemoveOps.incr();
   }
 
-  public void incNumCacheMisses() {
+  public void incNumCacheMisses(int stripe) {
     numCacheMisses.incr();
+    stripeCacheMisses[stripe].incr();
   }
 
-  public void incNumCacheHits() {
+  public void incNumCacheHits(int stripe) {
     numCacheHits.incr();
+    stripeCacheHits[stripe].incr();
+  }
+
+  /**
+   * Records that a thread of the stripe waited for another thread to open
+   * or close a db.
+   */
+  public void incDbWait(int stripe, long millis) {
+    stripeDbWaits[stripe].incr();
+    dbWaitLatency.add(millis);
   }
 
   public void incNumCacheEvictions() {
@@ -111,4 +148,16 @@ public long getNumCacheHits() {
   public long getNumCacheEvictions() {
     return numCacheEvictions.value();
   }
+
+  public long getNumCacheHits(int stripe) {
+    return stripeCacheHits[stripe].value();
+  }
+
+  public long getNumCacheMisses(int stripe) {
+    return stripeCacheMisses[stripe].value();
+  }
+
+  public long getNumDbWaits(int stripe) {
+    return stripeDbWaits[stripe].value();
+  }
 }
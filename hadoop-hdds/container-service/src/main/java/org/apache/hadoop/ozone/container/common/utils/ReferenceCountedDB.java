@@ -39,7 +39,10 @@
 public class ReferenceCountedDB extends DBHandle {
   private static final Logger LOG =
       LoggerFactory.getLogger(ReferenceCountedDB.class);
+  /** Number of references, or -1 once the cache has evicted the handle. */
   private final AtomicInteger referenceCount;
+  /** Last time the handle was taken from the cache, for LRU eviction. */
+  private volatile long lastAccessNanos;
 
   public ReferenceCountedDB(DatanodeStore store, String containerDBPath) {
     super(store, containerDBPath);
@@ -51,15 +54,54 @@ public long getReferenceCount() {
   }
 
   public void incrementReference() {
-    this.referenceCount.incrementAndGet();
+    Preconditions.checkState(tryIncrementReference(),
+        "DB %s is evicted", getContainerDBPath());
+  }
+
+  /**
+   * Increments the reference count unless the handle has been evicted.
+   * @return whether the reference count was incremented.
+   */
+  public boolean tryIncrementReference() {
+    while (true) {
+      final int refCount = referenceCount.get();
+      if (refCount < 0) {
+        return false;
+      }
+      if (referenceCount.compareAndSet(refCount, refCount + 1)) {
+        break;
+      }
+    }
     if (LOG.isTraceEnabled()) {
       LOG.trace("IncRef {} to refCnt {}, stackTrace: {}", getContainerDBPath(),
           referenceCount.get(), ExceptionUtils.getStackTrace(new Throwable()));
     }
+    return true;
+  }
+
+  /**
+   * Marks the handle as evicted if it has no references, after which no
+   * new references can be taken, so it can be closed in the background.
+   * @return whether the handle is evicted.
+   */
+  boolean evict() {
+    return referenceCount.compareAndSet(0, -1);
+  }
+
+  long getLastAccessNanos() {
+    return lastAccessNanos;
+  }
+
+  void setLastAccessNanos(long nanos) {
+    lastAccessNanos = nanos;
   }
 
   public void decrementReference() {
     int refCount = this.referenceCount.decrementAndGet();
+    if (refCount < 0) {
+      // Undo, so that the handle is not mistaken for an evicted one.
+      this.referenceCount.incrementAndGet();
+    }
     Preconditions.checkArgument(refCount >= 0, "refCount:", refCount);
     if (LOG.isTraceEnabled()) {
       LOG.trace("DecRef {} to refCnt {}, stackTrace: {}", getContainerDBPath(),
@@ -69,7 +111,7 @@ public void decrementReference() {
 
   public boolean cleanup() {
     if (getStore() != null && getStore().isClosed()
-        || referenceCount.get() == 0) {
+        || referenceCount.get() <= 0) {
       if (LOG.isDebugEnabled()) {
         LOG.debug("Close {} refCnt {}", getContainerDBPath(),
             referenceCount.get());
@@ -78,6 +78,8 @@ public class HddsVolume extends StorageVolume {
 
   private final VolumeIOStats volumeIOStats;
   private final VolumeInfoMetrics volumeInfoMetrics;
+  private final VolumeSyncScheduler syncScheduler;
+  private final VolumeIOScheduler ioScheduler;
 
   private final AtomicLong committedBytes; // till Open containers become full
 
@@ -121,6 +123,9 @@ private HddsVolume(Builder b) throws IOException {
           this.getStorageDir().toString());
       this.volumeInfoMetrics =
           new VolumeInfoMetrics(b.getVolumeRootStr(), this);
+      this.syncScheduler = new VolumeSyncScheduler(volumeIOStats);
+      this.ioScheduler = new VolumeIOScheduler(
+          getConf().getObject(DatanodeConfiguration.class), volumeIOStats);
       this.committedBytes = new AtomicLong(0);
 
       LOG.info("Creating HddsVolume: {} of storage type : {} capacity : {}",
@@ -134,6 +139,8 @@ private HddsVolume(Builder b) throws IOException {
       this.setState(VolumeState.FAILED);
       volumeIOStats = null;
       volumeInfoMetrics = new VolumeInfoMetrics(b.getVolumeRootStr(), this);
+      syncScheduler = new VolumeSyncScheduler(null);
+      ioScheduler = new VolumeIOScheduler(new DatanodeConfiguration(), null);
       committedBytes = null;
     }
 
@@ -171,6 +178,14 @@ public VolumeIOStats getVolumeIOStats() {
     return volumeIOStats;
   }
 
+  public VolumeSyncScheduler getSyncScheduler() {
+    return syncScheduler;
+  }
+
+  public VolumeIOScheduler getIOScheduler() {
+    return ioScheduler;
+  }
+
   public VolumeInfoMetrics getVolumeInfoStats() {
     return volumeInfoMetrics;
   }
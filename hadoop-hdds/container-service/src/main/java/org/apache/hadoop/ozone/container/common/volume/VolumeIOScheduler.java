@@ -0,0 +1,350 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.container.common.volume;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nullable;
+
+import org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration;
+
+/**
+ * Schedules the disk operations on an {@link HddsVolume} by
+ * {@link IOPriority}.
+ * <p>
+ * Each operation is wrapped in a {@link Ticket} from {@link #schedule}.
+ * Foreground operations are never delayed. Recovery and maintenance
+ * operations are limited to their share of the bandwidth and operations per
+ * second configured for the volume, and are paused while the average latency
+ * of the recent foreground operations exceeds a threshold, so that they back
+ * off as soon as client I/O suffers. The number of operations of each class
+ * in progress or waiting is reported in {@link VolumeIOStats}.
+ */
+public class VolumeIOScheduler {
+
+  /** Foreground I/O older than this does not pause background I/O. */
+  private static final long FOREGROUND_IDLE_NANOS =
+      TimeUnit.SECONDS.toNanos(1);
+  private static final long PAUSE_STEP_NANOS =
+      TimeUnit.MILLISECONDS.toNanos(10);
+  /** A new latency has a weight of 1/2^3 in the moving average. */
+  private static final int LATENCY_AVERAGE_SHIFT = 3;
+
+  /** Bytes of a stream scheduled together. */
+  static final int STREAM_GRANULE = 1 << 20;
+
+  private static final Ticket NOOP = () -> { };
+
+  /**
+   * A scheduled disk operation, to be closed when the operation completes.
+   */
+  public interface Ticket extends AutoCloseable {
+    @Override
+    void close();
+  }
+
+  private final VolumeIOStats stats;
+  private final Map<IOPriority, RateLimit> limits =
+      new EnumMap<>(IOPriority.class);
+  private final Map<IOPriority, AtomicInteger> queueDepths =
+      new EnumMap<>(IOPriority.class);
+  private final long latencyThresholdNanos;
+  private final long maxPauseNanos;
+  private final AtomicLong foregroundLatencyNanos = new AtomicLong();
+  private volatile long lastForegroundNanos =
+      System.nanoTime() - FOREGROUND_IDLE_NANOS;
+
+  /**
+   * @param stats statistics to report the queue depths in, may be null.
+   */
+  public VolumeIOScheduler(DatanodeConfiguration conf,
+      @Nullable VolumeIOStats stats) {
+    this.stats = stats;
+    this.latencyThresholdNanos =
+        conf.getVolumeIOForegroundLatencyThreshold().toNanos();
+    this.maxPauseNanos = conf.getVolumeIOBackgroundMaxPause().toNanos();
+    addLimit(IOPriority.RECOVERY, conf.getVolumeIORecoveryShare(), conf);
+    addLimit(IOPriority.MAINTENANCE, conf.getVolumeIOMaintenanceShare(),
+        conf);
+    for (IOPriority priority : IOPriority.values()) {
+      queueDepths.put(priority, new AtomicInteger());
+    }
+  }
+
+  private void addLimit(IOPriority priority, int share,
+      DatanodeConfiguration conf) {
+    final long bytes = conf.getVolumeIOBytesPerSecond();
+    final long ops = conf.getVolumeIOOpsPerSecond();
+    if (bytes > 0 || ops > 0) {
+      limits.put(priority, new RateLimit(
+          bytes > 0 ? Math.max(1, bytes * share / 100) : 0,
+          ops > 0 ? Math.max(1, ops * share / 100) : 0));
+    }
+  }
+
+  /**
+   * Schedules an operation on the given volume.
+   * @param volume the volume, or null if the operation is not scheduled.
+   * @see #schedule(IOPriority, long)
+   */
+  public static Ticket begin(@Nullable HddsVolume volume,
+      IOPriority priority, long bytes) {
+    final VolumeIOScheduler scheduler = get(volume);
+    return scheduler == null ? NOOP : scheduler.schedule(priority, bytes);
+  }
+
+  /**
+   * @return the stream reading from the given volume, scheduled in the
+   * given class if the volume is known.
+   * @see #schedule(IOPriority, InputStream)
+   */
+  public static InputStream wrap(@Nullable HddsVolume volume,
+      IOPriority priority, InputStream in) {
+    final VolumeIOScheduler scheduler = get(volume);
+    return scheduler == null ? in : scheduler.schedule(priority, in);
+  }
+
+  /**
+   * @return the stream of the data of the given volume, scheduled in the
+   * given class if the volume is known.
+   * @see #schedule(IOPriority, OutputStream)
+   */
+  public static OutputStream wrap(@Nullable HddsVolume volume,
+      IOPriority priority, OutputStream out) {
+    final VolumeIOScheduler scheduler = get(volume);
+    return scheduler == null ? out : scheduler.schedule(priority, out);
+  }
+
+  private static VolumeIOScheduler get(@Nullable HddsVolume volume) {
+    return volume == null ? null : volume.getIOScheduler();
+  }
+
+  /**
+   * Waits until an operation of the given class may start. If the thread is
+   * interrupted, the operation starts right away with the interrupt status
+   * set, like {@link org.apache.hadoop.hdfs.util.DataTransferThrottler}.
+   *
+   * @param bytes the bytes to read or write, 0 for metadata operations.
+   * @return the ticket to close when the operation completes.
+   */
+  public Ticket schedule(IOPriority priority, long bytes) {
+    return schedule(priority, bytes, true);
+  }
+
+  /**
+   * @param operation whether to count an operation, or only the bytes.
+   */
+  private Ticket schedule(IOPriority priority, long bytes,
+      boolean operation) {
+    final long startNanos = System.nanoTime();
+    updateQueueDepth(priority, 1);
+    if (priority == IOPriority.FOREGROUND) {
+      return () -> completeForeground(startNanos);
+    }
+
+    if (pauseForForeground(startNanos)) {
+      final RateLimit limit = limits.get(priority);
+      if (limit != null) {
+        sleep(limit.reserve(bytes, operation, System.nanoTime()));
+      }
+    }
+    if (stats != null) {
+      stats.incBackgroundWaitTime(TimeUnit.NANOSECONDS.toMillis(
+          System.nanoTime() - startNanos));
+    }
+    return () -> updateQueueDepth(priority, -1);
+  }
+
+  /**
+   * @return the input stream, which schedules the bytes read in the given
+   * class. The bytes are scheduled in granules of {@link #STREAM_GRANULE},
+   * so that a pause for foreground I/O covers many small reads, and only
+   * count towards the bandwidth limit.
+   */
+  public InputStream schedule(IOPriority priority, InputStream in) {
+    final StreamAccount account = new StreamAccount(priority);
+    return new FilterInputStream(in) {
+      @Override
+      public int read() throws IOException {
+        final int b = super.read();
+        account.add(b < 0 ? 0 : 1);
+        return b;
+      }
+
+      @Override
+      public int read(byte[] b, int off, int len) throws IOException {
+        final int n = super.read(b, off, len);
+        account.add(Math.max(n, 0));
+        return n;
+      }
+    };
+  }
+
+  /**
+   * @return the output stream, which schedules the bytes written in the
+   * given class, like {@link #schedule(IOPriority, InputStream)}.
+   */
+  public OutputStream schedule(IOPriority priority, OutputStream out) {
+    final StreamAccount account = new StreamAccount(priority);
+    return new FilterOutputStream(out) {
+      @Override
+      public void write(int b) throws IOException {
+        out.write(b);
+        account.add(1);
+      }
+
+      @Override
+      public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+        account.add(len);
+      }
+    };
+  }
+
+  /** Schedules the bytes of a stream once they add up to a granule. */
+  private final class StreamAccount {
+    private final IOPriority priority;
+    private long bytes;
+
+    private StreamAccount(IOPriority priority) {
+      this.priority = priority;
+    }
+
+    void add(long n) {
+      bytes += n;
+      if (bytes >= STREAM_GRANULE) {
+        schedule(priority, bytes, false).close();
+        bytes = 0;
+      }
+    }
+  }
+
+  /** @return the average latency of the recent foreground operations. */
+  public long getForegroundLatencyNanos() {
+    return foregroundLatencyNanos.get();
+  }
+
+  public int getQueueDepth(IOPriority priority) {
+    return queueDepths.get(priority).get();
+  }
+
+  private void completeForeground(long startNanos) {
+    final long now = System.nanoTime();
+    final long latency = now - startNanos;
+    foregroundLatencyNanos.updateAndGet(
+        avg -> avg + ((latency - avg) >> LATENCY_AVERAGE_SHIFT));
+    lastForegroundNanos = now;
+    updateQueueDepth(IOPriority.FOREGROUND, -1);
+  }
+
+  /**
+   * Pauses while foreground operations are slow, up to the maximum pause.
+   * @return false if interrupted.
+   */
+  private boolean pauseForForeground(long startNanos) {
+    if (latencyThresholdNanos <= 0) {
+      return true;
+    }
+    boolean paused = false;
+    long now = startNanos;
+    while (isForegroundSlow(now)) {
+      final long remaining = maxPauseNanos - (now - startNanos);
+      if (remaining <= 0) {
+        break;
+      }
+      if (!paused) {
+        paused = true;
+        if (stats != null) {
+          stats.incBackgroundPauses();
+        }
+      }
+      if (!sleep(Math.min(PAUSE_STEP_NANOS, remaining))) {
+        return false;
+      }
+      now = System.nanoTime();
+    }
+    return true;
+  }
+
+  private boolean isForegroundSlow(long now) {
+    return now - lastForegroundNanos < FOREGROUND_IDLE_NANOS
+        && foregroundLatencyNanos.get() > latencyThresholdNanos;
+  }
+
+  private void updateQueueDepth(IOPriority priority, int delta) {
+    queueDepths.get(priority).addAndGet(delta);
+    if (stats != null) {
+      // Updated by delta, setting the depth could race with another update.
+      stats.incQueueDepth(priority, delta);
+    }
+  }
+
+  /** @return false if interrupted. */
+  private static boolean sleep(long nanos) {
+    if (nanos <= 0) {
+      return true;
+    }
+    try {
+      TimeUnit.NANOSECONDS.sleep(nanos);
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  /**
+   * Limits the bytes and operations per second of a class, by reserving
+   * the time each operation takes at the limited rate.
+   */
+  private static final class RateLimit {
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final long bytesPerSecond;
+    private final long opsPerSecond;
+    private long nextFreeNanos = System.nanoTime();
+
+    private RateLimit(long bytesPerSecond, long opsPerSecond) {
+      this.bytesPerSecond = bytesPerSecond;
+      this.opsPerSecond = opsPerSecond;
+    }
+
+    /** @return the time to wait before the operation starts. */
+    synchronized long reserve(long bytes, boolean operation, long now) {
+      double cost = 0;
+      if (bytesPerSecond > 0) {
+        cost = bytes * NANOS_PER_SECOND / bytesPerSecond;
+      }
+      if (operation && opsPerSecond > 0) {
+        cost = Math.max(cost, NANOS_PER_SECOND / opsPerSecond);
+      }
+      final long start = nextFreeNanos - now > 0 ? nextFreeNanos : now;
+      nextFreeNanos = start + (long) cost;
+      return start - now;
+    }
+  }
+}
@@ -22,6 +22,7 @@
 import org.apache.hadoop.metrics2.annotation.Metric;
 import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
 import org.apache.hadoop.metrics2.lib.MutableCounterLong;
+import org.apache.hadoop.metrics2.lib.MutableGaugeInt;
 
 /**
  * This class is used to track Volume IO stats for each HDDS Volume.
@@ -35,6 +36,15 @@ public class VolumeIOStats {
   private @Metric MutableCounterLong writeOpCount;
   private @Metric MutableCounterLong readTime;
   private @Metric MutableCounterLong writeTime;
+  private @Metric MutableCounterLong syncRequestCount;
+  private @Metric MutableCounterLong syncBatchCount;
+  private @Metric MutableCounterLong syncOpCount;
+  private @Metric MutableCounterLong syncTime;
+  private @Metric MutableGaugeInt foregroundQueueDepth;
+  private @Metric MutableGaugeInt recoveryQueueDepth;
+  private @Metric MutableGaugeInt maintenanceQueueDepth;
+  private @Metric MutableCounterLong backgroundPauses;
+  private @Metric MutableCounterLong backgroundWaitTime;
 
   @Deprecated
   public VolumeIOStats() {
@@ -110,6 +120,73 @@ public void incWriteTime(long time) {
     writeTime.incr(time);
   }
 
+  /**
+   * Increment the writes which requested a sync of the volume.
+   * @param count
+   */
+  public void incSyncRequestCount(long count) {
+    syncRequestCount.incr(count);
+  }
+
+  /**
+   * Increment the group commits, each covering one or more sync requests.
+   */
+  public void incSyncBatchCount() {
+    syncBatchCount.incr();
+  }
+
+  /**
+   * Increment the file syncs performed on the volume.
+   * @param count
+   */
+  public void incSyncOpCount(long count) {
+    syncOpCount.incr(count);
+  }
+
+  /**
+   * Increment the time taken by syncs on the volume.
+   * @param time
+   */
+  public void incSyncTime(long time) {
+    syncTime.incr(time);
+  }
+
+  /**
+   * Add to the number of operations of the given class in progress or
+   * waiting on the volume.
+   */
+  public void incQueueDepth(IOPriority priority, int delta) {
+    switch (priority) {
+    case FOREGROUND:
+      foregroundQueueDepth.incr(delta);
+      break;
+    case RECOVERY:
+      recoveryQueueDepth.incr(delta);
+      break;
+    case MAINTENANCE:
+      maintenanceQueueDepth.incr(delta);
+      break;
+    default:
+      throw new IllegalArgumentException("Unknown priority " + priority);
+    }
+  }
+
+  /**
+   * Increment the times background operations were paused for foreground
+   * operations.
+   */
+  public void incBackgroundPauses() {
+    backgroundPauses.incr();
+  }
+
+  /**
+   * Increment the time background operations waited to be scheduled.
+   * @param time
+   */
+  public void incBackgroundWaitTime(long time) {
+    backgroundWaitTime.incr(time);
+  }
+
   /**
    * Returns total number of bytes read from the volume.
    * @return long
@@ -158,6 +235,72 @@ public long getWriteTime() {
     return writeTime.value();
   }
 
+  /**
+   * Returns total number of writes which requested a sync of the volume.
+   * @return long
+   */
+  public long getSyncRequestCount() {
+    return syncRequestCount.value();
+  }
+
+  /**
+   * Returns total number of group commits on the volume.
+   * @return long
+   */
+  public long getSyncBatchCount() {
+    return syncBatchCount.value();
+  }
+
+  /**
+   * Returns total number of file syncs performed on the volume.
+   * @return long
+   */
+  public long getSyncOpCount() {
+    return syncOpCount.value();
+  }
+
+  /**
+   * Returns total sync time on the volume.
+   * @return long
+   */
+  public long getSyncTime() {
+    return syncTime.value();
+  }
+
+  /**
+   * Returns the number of operations of the given class in progress or
+   * waiting on the volume.
+   * @return int
+   */
+  public int getQueueDepth(IOPriority priority) {
+    switch (priority) {
+    case FOREGROUND:
+      return foregroundQueueDepth.value();
+    case RECOVERY:
+      return recoveryQueueDepth.value();
+    case MAINTENANCE:
+      return maintenanceQueueDepth.value();
+    default:
+      throw new IllegalArgumentException("Unknown priority " + priority);
+    }
+  }
+
+  /**
+   * Returns total number of pauses of background operations.
+   * @return long
+   */
+  public long getBackgroundPauses() {
+    return backgroundPauses.value();
+  }
+
+  /**
+   * Returns total time background operations waited to be scheduled.
+   * @return long
+   */
+  public long getBackgroundWaitTime() {
+    return backgroundWaitTime.value();
+  }
+
   @Metric
   public String getStorageDirectory() {
     return storageDirectory;
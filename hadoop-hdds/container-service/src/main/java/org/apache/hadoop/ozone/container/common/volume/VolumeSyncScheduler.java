@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.container.common.volume;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.channels.FileChannel;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.apache.hadoop.util.Time;
+
+/**
+ * Group commit of the syncs of chunk writes to an {@link HddsVolume}.
+ * <p>
+ * A writer which needs its data to be durable calls {@link #sync} after
+ * writing. If no sync is in progress on the volume, the writer syncs its file
+ * right away. Otherwise, the writer joins the next batch, which is synced
+ * by one of its writers as soon as the sync in progress completes. Each file
+ * is synced once per batch, however many writes to it the batch covers, and
+ * {@link #sync} returns only after the batch covering the write is synced.
+ * So concurrent writes to a volume share syncs instead of queueing on the
+ * disk for one sync each, without delaying a write when there is no
+ * concurrency.
+ */
+public class VolumeSyncScheduler {
+
+  /** Files to sync together, with the result of the sync of each. */
+  private static final class Batch {
+    private final Map<FileChannel, IOException> channels =
+        new IdentityHashMap<>();
+    private int requests;
+    private boolean done;
+  }
+
+  private final VolumeIOStats stats;
+  private Batch next = new Batch();
+  private boolean syncing;
+
+  /**
+   * @param stats statistics to report the syncs in, may be null.
+   */
+  public VolumeSyncScheduler(VolumeIOStats stats) {
+    this.stats = stats;
+  }
+
+  /**
+   * Forces the data and metadata of the given file to the volume, together
+   * with the files of concurrent callers.
+   */
+  public void sync(FileChannel channel) throws IOException {
+    final Batch batch;
+    final boolean leader;
+    synchronized (this) {
+      batch = next;
+      batch.channels.put(channel, null);
+      batch.requests++;
+      while (syncing && !batch.done) {
+        try {
+          wait();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new InterruptedIOException(
+              "Interrupted while waiting to sync " + channel);
+        }
+      }
+      leader = !batch.done;
+      if (leader) {
+        // Sync the batch in this thread, new callers join the next one.
+        syncing = true;
+        next = new Batch();
+      }
+    }
+
+    if (leader) {
+      syncBatch(batch);
+    }
+    final IOException e = batch.channels.get(channel);
+    if (e != null) {
+      throw e;
+    }
+  }
+
+  /**
+   * @return the number of writes waiting for the sync in progress to
+   * complete before their own sync can start.
+   */
+  public synchronized int getPendingSyncRequests() {
+    return syncing ? next.requests : 0;
+  }
+
+  private void syncBatch(Batch batch) {
+    final long startTime = Time.monotonicNow();
+    try {
+      for (Map.Entry<FileChannel, IOException> entry
+          : batch.channels.entrySet()) {
+        try {
+          entry.getKey().force(true);
+        } catch (IOException e) {
+          entry.setValue(e);
+        }
+      }
+      if (stats != null) {
+        stats.incSyncTime(Time.monotonicNow() - startTime);
+        stats.incSyncBatchCount();
+        stats.incSyncOpCount(batch.channels.size());
+        stats.incSyncRequestCount(batch.requests);
+      }
+    } finally {
+      synchronized (this) {
+        batch.done = true;
+        syncing = false;
+        notifyAll();
+      }
+    }
+  }
+}
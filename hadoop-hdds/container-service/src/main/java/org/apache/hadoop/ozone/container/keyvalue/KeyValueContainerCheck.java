@@ -34,6 +34,8 @@
 import org.apache.hadoop.ozone.container.common.interfaces.Container.ScanResult;
 import org.apache.hadoop.ozone.container.common.interfaces.DBHandle;
 import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+import org.apache.hadoop.ozone.container.common.volume.IOPriority;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOScheduler;
 import org.apache.hadoop.ozone.container.keyvalue.helpers.BlockUtils;
 import org.apache.hadoop.ozone.container.keyvalue.helpers.ChunkUtils;
 import org.apache.hadoop.ozone.container.keyvalue.helpers.KeyValueContainerLocationUtil;
@@ -347,8 +349,12 @@ chunkFile, new IOException("Missing chunk file " +
         }
       } else if (chunk.getChecksumData().getType()
           != ContainerProtos.ChecksumType.NONE) {
-        ScanResult result = verifyChecksum(block, chunk, chunkFile, layout,
-            throttler, canceler);
+        final ScanResult result;
+        try (VolumeIOScheduler.Ticket ignored = VolumeIOScheduler.begin(
+            volume, IOPriority.MAINTENANCE, chunk.getLen())) {
+          result = verifyChecksum(block, chunk, chunkFile, layout, throttler,
+              canceler);
+        }
         if (!result.isHealthy()) {
           return result;
         }
@@ -42,8 +42,11 @@
 import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
 import org.apache.hadoop.ozone.OzoneConsts;
 import org.apache.hadoop.ozone.common.ChunkBuffer;
+import org.apache.hadoop.ozone.common.utils.BufferUtils;
 import org.apache.hadoop.ozone.container.common.helpers.ChunkInfo;
 import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+import org.apache.hadoop.ozone.container.common.volume.IOPriority;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOScheduler;
 import org.apache.hadoop.util.Time;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -104,15 +107,25 @@ public static void writeData(File file, ChunkBuffer data,
       throws StorageContainerException {
 
     writeData(data, file.getName(), offset, len, volume,
-        d -> writeDataToFile(file, d, offset, sync));
+        d -> writeDataToFile(file, d, offset, sync, volume));
   }
 
+  /**
+   * Writes the data to the given channel, which is kept open.
+   * @param sync whether to sync the file, together with concurrent writes
+   *             to the same volume, before returning
+   */
   public static void writeData(FileChannel file, String filename,
-      ChunkBuffer data, long offset, long len, HddsVolume volume)
-      throws StorageContainerException {
+      ChunkBuffer data, long offset, long len, HddsVolume volume,
+      boolean sync) throws StorageContainerException {
 
-    writeData(data, filename, offset, len, volume,
-        d -> writeDataToChannel(file, d, offset));
+    writeData(data, filename, offset, len, volume, d -> {
+      final long written = writeDataToChannel(file, d, offset);
+      if (sync) {
+        syncFile(file, volume);
+      }
+      return written;
+    });
   }
 
   private static void writeData(ChunkBuffer data, String filename,
@@ -123,7 +136,8 @@ private static void writeData(ChunkBuffer data, String filename,
 
     final long startTime = Time.monotonicNow();
     final long bytesWritten;
-    try {
+    try (VolumeIOScheduler.Ticket ignored = VolumeIOScheduler.begin(volume,
+        IOPriority.FOREGROUND, len)) {
       bytesWritten = writer.applyAsLong(data);
     } catch (UncheckedIOException e) {
       if (!(e.getCause() instanceof InterruptedIOException)) {
@@ -147,7 +161,7 @@ private static void writeData(ChunkBuffer data, String filename,
   }
 
   private static long writeDataToFile(File file, ChunkBuffer data,
-      long offset, boolean sync) {
+      long offset, boolean sync, HddsVolume volume) {
     final Path path = file.toPath();
     try {
       return processFileExclusively(path, () -> {
@@ -161,7 +175,7 @@ private static long writeDataToFile(File file, ChunkBuffer data,
         } catch (IOException e) {
           throw new UncheckedIOException(e);
         } finally {
-          closeFile(channel, sync);
+          closeFile(channel, sync, volume);
         }
       });
     } catch (InterruptedException e) {
@@ -197,7 +211,8 @@ public static void readData(File file, ByteBuffer[] buffers,
     final long startTime = Time.monotonicNow();
     final long bytesRead;
 
-    try {
+    try (VolumeIOScheduler.Ticket ticket = VolumeIOScheduler.begin(volume,
+        IOPriority.FOREGROUND, len)) {
       bytesRead = processFileExclusively(path, () -> {
         try (FileChannel channel = open(path, READ_OPTIONS, NO_ATTRIBUTES);
              FileLock ignored = channel.lock(offset, len, true)) {
@@ -233,6 +248,69 @@ public static void readData(File file, ByteBuffer[] buffers,
     }
   }
 
+  /**
+   * Maps data of an existing chunk file into memory, instead of reading it
+   * like {@link #readData}. The data is split into read-only buffers of the
+   * given capacity, which share the mapped memory, so that the data can be
+   * sent without copying it to the heap first.
+   *
+   * @param file file where data lives
+   * @param offset
+   * @param len
+   * @param bufferCapacity
+   * @param volume for statistics and checker
+   */
+  public static ByteBuffer[] mapData(File file, long offset, int len,
+      long bufferCapacity, HddsVolume volume)
+      throws StorageContainerException {
+
+    final Path path = file.toPath();
+    final long startTime = Time.monotonicNow();
+    final ByteBuffer mapped;
+
+    try {
+      mapped = processFileExclusively(path, () -> {
+        try (FileChannel channel = open(path, READ_OPTIONS, NO_ATTRIBUTES);
+             FileLock ignored = channel.lock(offset, len, true)) {
+          // Map only the existing data, the size is validated below.
+          final long available = Math.min(len, channel.size() - offset);
+          return available <= 0 ? ByteBuffer.allocate(0)
+              : channel.map(FileChannel.MapMode.READ_ONLY, offset, available);
+        } catch (IOException e) {
+          onFailure(volume);
+          throw new UncheckedIOException(e);
+        }
+      });
+    } catch (UncheckedIOException e) {
+      onFailure(volume);
+      throw wrapInStorageContainerException(e.getCause());
+    } catch (InterruptedException e) {
+      throw wrapInStorageContainerException(e);
+    }
+
+    long endTime = Time.monotonicNow();
+    if (volume != null) {
+      volume.getVolumeIOStats().incReadTime(endTime - startTime);
+      volume.getVolumeIOStats().incReadOpCount();
+      volume.getVolumeIOStats().incReadBytes(mapped.capacity());
+    }
+
+    LOG.debug("Mapped {} bytes starting at offset {} from {}",
+        mapped.capacity(), offset, file);
+
+    validateReadSize(len, mapped.capacity());
+
+    final ByteBuffer[] buffers =
+        new ByteBuffer[BufferUtils.getNumberOfBins(len, bufferCapacity)];
+    for (int i = 0; i < buffers.length; i++) {
+      final int start = (int) (i * bufferCapacity);
+      mapped.limit((int) Math.min(len, start + bufferCapacity));
+      mapped.position(start);
+      buffers[i] = mapped.slice();
+    }
+    return buffers;
+  }
+
   /**
    * Validates chunk data and returns a file object to Chunk File that we are
    * expected to write data to.
@@ -374,12 +452,12 @@ static <T> T processFileExclusively(Path path, Supplier<T> op)
     }
   }
 
-  private static void closeFile(FileChannel file, boolean sync) {
+  private static void closeFile(FileChannel file, boolean sync,
+      HddsVolume volume) {
     if (file != null) {
       try {
         if (sync) {
-          // ensure data and metadata is persisted
-          file.force(true);
+          syncFile(file, volume);
         }
         file.close();
       } catch (IOException e) {
@@ -388,6 +466,22 @@ private static void closeFile(FileChannel file, boolean sync) {
     }
   }
 
+  /**
+   * Ensures data and metadata of the file are persisted, sharing the sync
+   * with concurrent writes to the same volume.
+   */
+  private static void syncFile(FileChannel file, HddsVolume volume) {
+    try {
+      if (volume != null) {
+        volume.getSyncScheduler().sync(file);
+      } else {
+        file.force(true);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
   private static void validateReadSize(long expected, long actual)
       throws StorageContainerException {
     checkSize("read", expected, actual, CONTAINER_INTERNAL_ERROR);
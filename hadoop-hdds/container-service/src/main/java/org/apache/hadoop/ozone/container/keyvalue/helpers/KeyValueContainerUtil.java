@@ -214,11 +214,36 @@ public static boolean noBlocksInContainer(DatanodeStore store,
    */
   public static void parseKVContainerData(KeyValueContainerData kvContainerData,
       ConfigurationSource config) throws IOException {
+    parseKVContainerData(kvContainerData, config, true, false);
+  }
+
+  /**
+   * Like {@link #parseKVContainerData(KeyValueContainerData,
+   * ConfigurationSource)}, optionally without verifying the checksum of the
+   * container file and deferring the block statistics which need to iterate
+   * the blocks of the container.
+   *
+   * @param verifyChecksum whether to verify the checksum of the container
+   *                       file, which can be skipped if the container data
+   *                       is known to match a verified file.
+   * @param deferBlockStatistics whether to skip computing the block count,
+   *                             bytes used and pending deletion block count
+   *                             of a non-open container if they are not
+   *                             stored in its DB.
+   * @return whether the block statistics are deferred, in which case
+   * {@link #initializeBlockStatistics} must be called to compute them.
+   */
+  public static boolean parseKVContainerData(
+      KeyValueContainerData kvContainerData, ConfigurationSource config,
+      boolean verifyChecksum, boolean deferBlockStatistics)
+      throws IOException {
 
     long containerID = kvContainerData.getContainerID();
 
     // Verify Checksum
-    ContainerUtils.verifyChecksum(kvContainerData, config);
+    if (verifyChecksum) {
+      ContainerUtils.verifyChecksum(kvContainerData, config);
+    }
 
     if (kvContainerData.getSchemaVersion() == null) {
       // If this container has not specified a schema version, it is in the old
@@ -232,20 +257,21 @@ public static void parseKVContainerData(KeyValueContainerData kvContainerData,
       LOG.error("Container DB file is missing for ContainerID {}. " +
           "Skipping loading of this container.", containerID);
       // Don't further process this container, as it is missing db file.
-      return;
+      return false;
     }
     kvContainerData.setDbFile(dbFile);
 
     DatanodeConfiguration dnConf =
         config.getObject(DatanodeConfiguration.class);
     boolean bCheckChunksFilePath = dnConf.getCheckEmptyContainerDir();
+    // Open containers need bytes used to commit their space.
+    final boolean defer = deferBlockStatistics && !kvContainerData.isOpen();
 
     if (kvContainerData.hasSchema(OzoneConsts.SCHEMA_V3)) {
       try (DBHandle db = BlockUtils.getDB(kvContainerData, config)) {
-        populateContainerMetadata(kvContainerData,
-            db.getStore(), bCheckChunksFilePath);
+        return populateContainerMetadata(kvContainerData,
+            db.getStore(), bCheckChunksFilePath, defer);
       }
-      return;
     }
 
     DBHandle cachedDB = null;
@@ -266,7 +292,8 @@ public static void parseKVContainerData(KeyValueContainerData kvContainerData,
             "instance was retrieved from the cache. This should only happen " +
             "in tests");
       }
-      populateContainerMetadata(kvContainerData, store, bCheckChunksFilePath);
+      return populateContainerMetadata(kvContainerData, store,
+          bCheckChunksFilePath, defer);
     } finally {
       if (cachedDB != null) {
         // If we get a cached instance, calling close simply decrements the
@@ -287,11 +314,15 @@ public static void parseKVContainerData(KeyValueContainerData kvContainerData,
     }
   }
 
-  private static void populateContainerMetadata(
+  /**
+   * @return whether any block statistics are deferred.
+   */
+  private static boolean populateContainerMetadata(
       KeyValueContainerData kvContainerData, DatanodeStore store,
-      boolean bCheckChunksFilePath)
+      boolean bCheckChunksFilePath, boolean deferBlockStatistics)
       throws IOException {
     boolean isBlockMetadataSet = false;
+    boolean deferred = false;
     Table<String, Long> metadataTable = store.getMetadataTable();
 
     // Set pending deleted block count.
@@ -301,15 +332,10 @@ private static void populateContainerMetadata(
     if (pendingDeleteBlockCount != null) {
       kvContainerData.incrPendingDeletionBlocks(
           pendingDeleteBlockCount);
+    } else if (deferBlockStatistics) {
+      deferred = true;
     } else {
-      // Set pending deleted block count.
-      MetadataKeyFilters.KeyPrefixFilter filter =
-          kvContainerData.getDeletingBlockKeyFilter();
-      int numPendingDeletionBlocks = store.getBlockDataTable()
-              .getSequentialRangeKVs(kvContainerData.startKeyEmpty(),
-                  Integer.MAX_VALUE, kvContainerData.containerPrefix(),
-                  filter).size();
-      kvContainerData.incrPendingDeletionBlocks(numPendingDeletionBlocks);
+      initializePendingDeletionBlocks(store, kvContainerData);
     }
 
     // Set delete transaction id.
@@ -345,7 +371,11 @@ private static void populateContainerMetadata(
       kvContainerData.setBlockCount(blockCount);
     }
     if (!isBlockMetadataSet) {
-      initializeUsedBytesAndBlockCount(store, kvContainerData);
+      if (deferBlockStatistics) {
+        deferred = true;
+      } else {
+        initializeUsedBytesAndBlockCount(store, kvContainerData);
+      }
     }
 
     // If the container is missing a chunks directory, possibly due to the
@@ -363,6 +393,41 @@ private static void populateContainerMetadata(
     // startup. If this method is called but not as a part of startup,
     // The inspectors will be unloaded and this will be a no-op.
     ContainerInspectorUtil.process(kvContainerData, store);
+    return deferred;
+  }
+
+  /**
+   * Computes the block statistics deferred by
+   * {@link #parseKVContainerData(KeyValueContainerData, ConfigurationSource,
+   * boolean, boolean)}. The caller must hold the write lock of the
+   * container, so that blocks are not deleted meanwhile.
+   */
+  public static void initializeBlockStatistics(
+      KeyValueContainerData kvContainerData, ConfigurationSource config)
+      throws IOException {
+    try (DBHandle db = BlockUtils.getDB(kvContainerData, config)) {
+      final DatanodeStore store = db.getStore();
+      final Table<String, Long> metadataTable = store.getMetadataTable();
+      if (metadataTable.get(
+          kvContainerData.getPendingDeleteBlockCountKey()) == null) {
+        initializePendingDeletionBlocks(store, kvContainerData);
+      }
+      if (metadataTable.get(kvContainerData.getBytesUsedKey()) == null
+          && metadataTable.get(kvContainerData.getBlockCountKey()) == null) {
+        initializeUsedBytesAndBlockCount(store, kvContainerData);
+      }
+    }
+  }
+
+  private static void initializePendingDeletionBlocks(DatanodeStore store,
+      KeyValueContainerData kvContainerData) throws IOException {
+    MetadataKeyFilters.KeyPrefixFilter filter =
+        kvContainerData.getDeletingBlockKeyFilter();
+    int numPendingDeletionBlocks = store.getBlockDataTable()
+        .getSequentialRangeKVs(kvContainerData.startKeyEmpty(),
+            Integer.MAX_VALUE, kvContainerData.containerPrefix(),
+            filter).size();
+    kvContainerData.incrPendingDeletionBlocks(numPendingDeletionBlocks);
   }
 
   /**
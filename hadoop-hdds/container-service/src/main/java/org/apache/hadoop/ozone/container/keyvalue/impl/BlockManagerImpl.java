@@ -60,6 +60,7 @@ public class BlockManagerImpl implements BlockManager {
 
   // Default Read Buffer capacity when Checksum is not present
   private final long defaultReadBufferCapacity;
+  private final long readMappedBufferThreshold;
 
   /**
    * Constructs a Block Manager.
@@ -73,6 +74,10 @@ public BlockManagerImpl(ConfigurationSource conf) {
         ScmConfigKeys.OZONE_CHUNK_READ_BUFFER_DEFAULT_SIZE_KEY,
         ScmConfigKeys.OZONE_CHUNK_READ_BUFFER_DEFAULT_SIZE_DEFAULT,
         StorageUnit.BYTES);
+    this.readMappedBufferThreshold = (long) config.getStorageSize(
+        ScmConfigKeys.OZONE_CHUNK_READ_MAPPED_BUFFER_THRESHOLD_KEY,
+        ScmConfigKeys.OZONE_CHUNK_READ_MAPPED_BUFFER_THRESHOLD_DEFAULT,
+        StorageUnit.BYTES);
   }
 
   /**
@@ -291,6 +296,11 @@ public long getDefaultReadBufferCapacity() {
     return defaultReadBufferCapacity;
   }
 
+  @Override
+  public long getReadMappedBufferThreshold() {
+    return readMappedBufferThreshold;
+  }
+
   /**
    * Deletes an existing block.
    */
@@ -76,6 +76,7 @@ public class FilePerBlockStrategy implements ChunkManager {
   private final boolean doSyncWrite;
   private final OpenFiles files = new OpenFiles();
   private final long defaultReadBufferCapacity;
+  private final long readMappedBufferThreshold;
   private final VolumeSet volumeSet;
 
   public FilePerBlockStrategy(boolean sync, BlockManager manager,
@@ -83,6 +84,8 @@ public FilePerBlockStrategy(boolean sync, BlockManager manager,
     doSyncWrite = sync;
     this.defaultReadBufferCapacity = manager == null ? 0 :
         manager.getDefaultReadBufferCapacity();
+    this.readMappedBufferThreshold = manager == null ? 0 :
+        manager.getReadMappedBufferThreshold();
     this.volumeSet = volSet;
   }
 
@@ -145,7 +148,7 @@ public void writeChunk(Container container, BlockID blockID, ChunkInfo info,
     FileChannel channel = null;
     boolean overwrite;
     try {
-      channel = files.getChannel(chunkFile, doSyncWrite);
+      channel = files.getChannel(chunkFile);
       overwrite = validateChunkForOverwrite(channel, info);
     } catch (IOException e) {
       onFailure(volume);
@@ -162,8 +165,8 @@ public void writeChunk(Container container, BlockID blockID, ChunkInfo info,
       ChunkUtils.validateChunkSize(channel, info, chunkFile.getName());
     }
 
-    ChunkUtils
-        .writeData(channel, chunkFile.getName(), data, offset, len, volume);
+    ChunkUtils.writeData(channel, chunkFile.getName(), data, offset, len,
+        volume, doSyncWrite);
 
     containerData.updateWriteStats(len, overwrite);
   }
@@ -194,10 +197,14 @@ public ChunkBuffer readChunk(Container container, BlockID blockID,
     long bufferCapacity =  ChunkManager.getBufferCapacityForChunkRead(info,
         defaultReadBufferCapacity);
 
-    ByteBuffer[] dataBuffers = BufferUtils.assignByteBuffers(len,
-        bufferCapacity);
-
-    ChunkUtils.readData(chunkFile, dataBuffers, offset, len, volume);
+    final ByteBuffer[] dataBuffers;
+    if (readMappedBufferThreshold > 0 && len >= readMappedBufferThreshold) {
+      dataBuffers = ChunkUtils.mapData(chunkFile, offset, len, bufferCapacity,
+          volume);
+    } else {
+      dataBuffers = BufferUtils.assignByteBuffers(len, bufferCapacity);
+      ChunkUtils.readData(chunkFile, dataBuffers, offset, len, volume);
+    }
 
     return ChunkBuffer.wrap(Lists.newArrayList(dataBuffers));
   }
@@ -282,11 +289,11 @@ private static final class OpenFiles {
         .removalListener(ON_REMOVE)
         .build();
 
-    public FileChannel getChannel(File file, boolean sync)
+    public FileChannel getChannel(File file)
         throws StorageContainerException {
       try {
         return files.get(file.getPath(),
-            () -> open(file, sync)).getChannel();
+            () -> open(file)).getChannel();
       } catch (ExecutionException e) {
         if (e.getCause() instanceof IOException) {
           throw new UncheckedIOException((IOException) e.getCause());
@@ -296,9 +303,9 @@ public FileChannel getChannel(File file, boolean sync)
       }
     }
 
-    private static OpenFile open(File file, boolean sync) {
+    private static OpenFile open(File file) {
       try {
-        return new OpenFile(file, sync);
+        return new OpenFile(file);
       } catch (FileNotFoundException e) {
         throw new UncheckedIOException(e);
       }
@@ -328,9 +335,9 @@ private static final class OpenFile {
 
     private final RandomAccessFile file;
 
-    private OpenFile(File file, boolean sync) throws FileNotFoundException {
-      String mode = sync ? "rws" : "rw";
-      this.file = new RandomAccessFile(file, mode);
+    private OpenFile(File file) throws FileNotFoundException {
+      // Writes are synced in groups by the volume, if needed.
+      this.file = new RandomAccessFile(file, "rw");
       if (LOG.isDebugEnabled()) {
         LOG.debug("Opened file {}", file);
       }
@@ -92,6 +92,12 @@ long getCommittedBlockLength(Container container, BlockID blockID)
 
   long getDefaultReadBufferCapacity();
 
+  /**
+   * @return the minimum length of a chunk read which is served from a memory
+   * mapped file, or 0 if memory mapping is disabled.
+   */
+  long getReadMappedBufferThreshold();
+
   /**
    * Shutdown ContainerManager.
    */
@@ -41,6 +41,8 @@
 import org.apache.hadoop.ozone.container.common.interfaces.Container;
 import org.apache.hadoop.ozone.container.common.interfaces.DBHandle;
 import org.apache.hadoop.ozone.container.common.interfaces.Handler;
+import org.apache.hadoop.ozone.container.common.volume.IOPriority;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOScheduler;
 import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainerData;
 import org.apache.hadoop.ozone.container.keyvalue.helpers.BlockUtils;
 import org.apache.hadoop.ozone.container.keyvalue.helpers.KeyValueContainerUtil;
@@ -213,7 +215,7 @@ public ContainerBackgroundTaskResult deleteViaSchema1(
           continue;
         }
         try {
-          handler.deleteBlock(container, entry.getValue());
+          deleteBlock(handler, container, entry.getValue());
           releasedBytes += KeyValueContainerUtil.getBlockLength(
               entry.getValue());
           succeedBlocks.add(blockName);
@@ -437,7 +439,10 @@ private DeleteTransactionStats deleteTransactions(
         LOG.debug("Deleting block {}", blkLong);
         if (blkInfo == null) {
           try {
-            handler.deleteUnreferenced(container, blkLong);
+            try (VolumeIOScheduler.Ticket ignored = VolumeIOScheduler.begin(
+                containerData.getVolume(), IOPriority.MAINTENANCE, 0)) {
+              handler.deleteUnreferenced(container, blkLong);
+            }
           } catch (IOException e) {
             LOG.error("Failed to delete files for unreferenced block {} of" +
                     " container {}", blkLong,
@@ -450,7 +455,7 @@ private DeleteTransactionStats deleteTransactions(
 
         boolean deleted = false;
         try {
-          handler.deleteBlock(container, blkInfo);
+          deleteBlock(handler, container, blkInfo);
           blocksDeleted++;
           deleted = true;
         } catch (IOException e) {
@@ -505,6 +510,17 @@ void apply(Table<?, DeletedBlocksTransaction> deleteTxnsTable,
                BatchOperation batch, long txnID) throws IOException;
   }
 
+  /**
+   * Deletes the files of the block as a maintenance operation on the volume.
+   */
+  private void deleteBlock(Handler handler, Container container,
+      BlockData block) throws IOException {
+    try (VolumeIOScheduler.Ticket ignored = VolumeIOScheduler.begin(
+        containerData.getVolume(), IOPriority.MAINTENANCE, 0)) {
+      handler.deleteBlock(container, block);
+    }
+  }
+
   /**
    * The wrapper class of the result of deleting transactions.
    */
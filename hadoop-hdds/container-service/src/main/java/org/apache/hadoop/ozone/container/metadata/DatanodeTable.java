@@ -111,6 +111,11 @@ public VALUE get(KEY key) throws IOException {
     return table.get(key);
   }
 
+  @Override
+  public List<VALUE> multiGet(List<KEY> keys) throws IOException {
+    return table.multiGet(keys);
+  }
+
   @Override
   public VALUE getIfExist(KEY key) throws IOException {
     return table.getIfExist(key);
@@ -0,0 +1,244 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.ozoneimpl;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerDataProto;
+import org.apache.hadoop.ozone.container.common.impl.ContainerLayoutVersion;
+import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainer;
+import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainerData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compact index of the containers of a volume, written when the datanode
+ * stops, so that the next start can load the containers without parsing
+ * their .container files.
+ * <p>
+ * An entry records the fields of the .container file, as well as its
+ * modification time and length. An entry is only used if the file is
+ * unchanged, otherwise the file is parsed as usual. The index is deleted
+ * once it is read, so only the index of a clean shutdown is ever used.
+ */
+final class ContainerIndexSnapshot {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(ContainerIndexSnapshot.class);
+
+  static final String FILE_NAME = "container.index";
+  private static final int MAGIC = 0x4f5a4349;
+  private static final int VERSION = 1;
+
+  private ContainerIndexSnapshot() {
+  }
+
+  /**
+   * An entry of the index.
+   */
+  static final class Entry {
+    private final String containerFile;
+    private final long lastModified;
+    private final long length;
+    private final KeyValueContainerData containerData;
+
+    private Entry(String containerFile, long lastModified, long length,
+        KeyValueContainerData containerData) {
+      this.containerFile = containerFile;
+      this.lastModified = lastModified;
+      this.length = length;
+      this.containerData = containerData;
+    }
+
+    /** @return whether the entry was written for the given file as is. */
+    boolean matches(File file) {
+      return containerFile.equals(file.getAbsolutePath())
+          && lastModified == file.lastModified()
+          && length == file.length();
+    }
+
+    KeyValueContainerData getContainerData() {
+      return containerData;
+    }
+  }
+
+  static File getFile(File hddsRootDir) {
+    return new File(hddsRootDir, FILE_NAME);
+  }
+
+  /**
+   * Writes the index of the given containers of a volume.
+   */
+  static void write(File hddsRootDir, Collection<KeyValueContainer> containers)
+      throws IOException {
+    final File file = getFile(hddsRootDir);
+    final File tmp = new File(hddsRootDir, FILE_NAME + ".tmp");
+    final CheckedOutputStream checked = new CheckedOutputStream(
+        new BufferedOutputStream(new FileOutputStream(tmp)), new CRC32());
+    try (DataOutputStream out = new DataOutputStream(checked)) {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeInt(containers.size());
+      for (KeyValueContainer container : containers) {
+        final File containerFile = container.getContainerFile();
+        out.writeUTF(containerFile.getAbsolutePath());
+        out.writeLong(containerFile.lastModified());
+        out.writeLong(containerFile.length());
+        writeContainerData(out, container.getContainerData());
+      }
+      out.flush();
+      out.writeLong(checked.getChecksum().getValue());
+    }
+    Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE,
+        StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  /**
+   * Reads and deletes the index of a volume.
+   * @return the entries of the index by container ID, empty if there is no
+   * valid index.
+   */
+  static Map<Long, Entry> readAndDelete(File hddsRootDir) {
+    final File file = getFile(hddsRootDir);
+    if (!file.exists()) {
+      return Collections.emptyMap();
+    }
+    try {
+      return read(file);
+    } catch (IOException | RuntimeException e) {
+      LOG.warn("Ignoring invalid container index {}", file, e);
+      return Collections.emptyMap();
+    } finally {
+      if (!file.delete()) {
+        LOG.warn("Failed to delete container index {}", file);
+      }
+    }
+  }
+
+  private static Map<Long, Entry> read(File file) throws IOException {
+    final CheckedInputStream checked = new CheckedInputStream(
+        new BufferedInputStream(new FileInputStream(file)), new CRC32());
+    try (DataInputStream in = new DataInputStream(checked)) {
+      if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+        throw new IOException("Unknown format");
+      }
+      final int count = in.readInt();
+      final Map<Long, Entry> entries = new HashMap<>(count * 2);
+      for (int i = 0; i < count; i++) {
+        final String containerFile = in.readUTF();
+        final long lastModified = in.readLong();
+        final long length = in.readLong();
+        final KeyValueContainerData data = readContainerData(in);
+        entries.put(data.getContainerID(),
+            new Entry(containerFile, lastModified, length, data));
+      }
+      final long expected = checked.getChecksum().getValue();
+      if (in.readLong() != expected) {
+        throw new IOException("Checksum mismatch");
+      }
+      return entries;
+    }
+  }
+
+  private static void writeContainerData(DataOutputStream out,
+      KeyValueContainerData data) throws IOException {
+    out.writeLong(data.getContainerID());
+    out.writeInt(data.getLayoutVersion().getVersion());
+    out.writeLong(data.getMaxSize());
+    writeString(out, data.getOriginPipelineId());
+    writeString(out, data.getOriginNodeId());
+    writeString(out, data.getContainerDBType());
+    writeString(out, data.getMetadataPath());
+    writeString(out, data.getChunksPath());
+    final Map<String, String> metadata = data.getMetadata();
+    out.writeInt(metadata.size());
+    for (Map.Entry<String, String> e : metadata.entrySet()) {
+      out.writeUTF(e.getKey());
+      out.writeUTF(e.getValue());
+    }
+    writeString(out, data.getChecksum());
+    final Long dataScanTimestamp = data.getDataScanTimestamp();
+    out.writeBoolean(dataScanTimestamp != null);
+    if (dataScanTimestamp != null) {
+      out.writeLong(dataScanTimestamp);
+    }
+    out.writeUTF(data.getState().name());
+    writeString(out, data.getSchemaVersion());
+    out.writeInt(data.getReplicaIndex());
+  }
+
+  /**
+   * Creates the container data the same way as parsing the .container file.
+   */
+  private static KeyValueContainerData readContainerData(DataInputStream in)
+      throws IOException {
+    final long containerID = in.readLong();
+    final ContainerLayoutVersion layoutVersion =
+        ContainerLayoutVersion.getContainerLayoutVersion(in.readInt());
+    final long maxSize = in.readLong();
+    final String originPipelineId = readString(in);
+    final String originNodeId = readString(in);
+    final KeyValueContainerData data = new KeyValueContainerData(containerID,
+        layoutVersion, maxSize, originPipelineId, originNodeId);
+
+    data.setContainerDBType(readString(in));
+    data.setMetadataPath(readString(in));
+    data.setChunksPath(readString(in));
+    final int metadataSize = in.readInt();
+    final Map<String, String> metadata = new HashMap<>();
+    for (int i = 0; i < metadataSize; i++) {
+      metadata.put(in.readUTF(), in.readUTF());
+    }
+    data.setMetadata(metadata);
+    data.setChecksum(readString(in));
+    data.setDataScanTimestamp(in.readBoolean() ? in.readLong() : null);
+    data.setState(ContainerDataProto.State.valueOf(in.readUTF()));
+    data.setSchemaVersion(readString(in));
+    data.setReplicaIndex(in.readInt());
+    return data;
+  }
+
+  private static void writeString(DataOutputStream out, String value)
+      throws IOException {
+    out.writeBoolean(value != null);
+    if (value != null) {
+      out.writeUTF(value);
+    }
+  }
+
+  private static String readString(DataInputStream in) throws IOException {
+    return in.readBoolean() ? in.readUTF() : null;
+  }
+}
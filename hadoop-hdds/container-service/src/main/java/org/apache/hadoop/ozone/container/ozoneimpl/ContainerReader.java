@@ -20,7 +20,18 @@
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
 import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
@@ -30,6 +41,7 @@
 import org.apache.hadoop.ozone.container.common.impl.ContainerData;
 import org.apache.hadoop.ozone.container.common.impl.ContainerDataYaml;
 import org.apache.hadoop.ozone.container.common.impl.ContainerSet;
+import org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration;
 import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
 import org.apache.hadoop.ozone.container.common.volume.MutableVolumeSet;
 import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainer;
@@ -66,7 +78,12 @@
  * the {@literal <<dataPath>>} layout for KeyValueContainers is:
  * <p>{@literal ../hdds/<<clusterUuid>>/current/<<containerDir>>/<<KVcontainerID
  * >/chunks/<<chunksFile>>}
- *
+ * <p>
+ * The containers of a volume are loaded by a bounded pool of threads. At
+ * datanode startup, containers unchanged since the last clean shutdown are
+ * loaded from the {@link ContainerIndexSnapshot} of the volume, and block
+ * statistics which are not stored in the DB of a non-open container are left
+ * for {@link #getDeferredContainers()} to be computed in the background.
  */
 public class ContainerReader implements Runnable {
 
@@ -78,10 +95,26 @@ public class ContainerReader implements Runnable {
   private final File hddsVolumeDir;
   private final MutableVolumeSet volumeSet;
   private final boolean shouldDeleteRecovering;
+  private final boolean startup;
+  private final int numThreads;
+  /** IDs of the containers whose block statistics are deferred. */
+  private final Queue<Long> deferredContainers = new ConcurrentLinkedQueue<>();
 
   public ContainerReader(
       MutableVolumeSet volSet, HddsVolume volume, ContainerSet cset,
       ConfigurationSource conf, boolean shouldDeleteRecovering) {
+    this(volSet, volume, cset, conf, shouldDeleteRecovering, false);
+  }
+
+  /**
+   * @param startup whether the datanode is starting, in which case the
+   *                index snapshot of the volume is used and block
+   *                statistics are deferred, if enabled.
+   */
+  public ContainerReader(
+      MutableVolumeSet volSet, HddsVolume volume, ContainerSet cset,
+      ConfigurationSource conf, boolean shouldDeleteRecovering,
+      boolean startup) {
     Preconditions.checkNotNull(volume);
     this.hddsVolume = volume;
     this.hddsVolumeDir = hddsVolume.getHddsRootDir();
@@ -89,6 +122,17 @@ public ContainerReader(
     this.config = conf;
     this.volumeSet = volSet;
     this.shouldDeleteRecovering = shouldDeleteRecovering;
+    this.startup = startup;
+    this.numThreads = conf.getObject(DatanodeConfiguration.class)
+        .getContainerLoadThreadsPerVolume();
+  }
+
+  /**
+   * @return the IDs of the containers whose block statistics are to be
+   * computed by {@link KeyValueContainerUtil#initializeBlockStatistics}.
+   */
+  public List<Long> getDeferredContainers() {
+    return new ArrayList<>(deferredContainers);
   }
 
   @Override
@@ -145,38 +189,81 @@ public void readVolume(File hddsVolumeRootDir) {
       }
 
       LOG.info("Start to verify containers on volume {}", hddsVolumeRootDir);
+      final Map<Long, ContainerIndexSnapshot.Entry> index = startup &&
+          config.getObject(DatanodeConfiguration.class)
+              .isContainerIndexSnapshotEnabled()
+          ? ContainerIndexSnapshot.readAndDelete(hddsVolumeRootDir)
+          : Collections.emptyMap();
+      final ExecutorService executor = numThreads > 1
+          ? Executors.newFixedThreadPool(numThreads,
+              new ThreadFactoryBuilder().setDaemon(true)
+                  .setNameFormat("ContainerReader-%d").build())
+          : null;
+      final List<Future<?>> futures = new ArrayList<>();
       File currentDir = new File(idDir, Storage.STORAGE_DIR_CURRENT);
       File[] containerTopDirs = currentDir.listFiles();
-      if (containerTopDirs != null) {
-        for (File containerTopDir : containerTopDirs) {
-          if (containerTopDir.isDirectory()) {
-            File[] containerDirs = containerTopDir.listFiles();
-            if (containerDirs != null) {
-              for (File containerDir : containerDirs) {
-                try {
-                  File containerFile = ContainerUtils.getContainerFile(
-                      containerDir);
-                  long containerID =
-                      ContainerUtils.getContainerID(containerDir);
-                  if (containerFile.exists()) {
-                    verifyContainerFile(containerID, containerFile);
+      try {
+        if (containerTopDirs != null) {
+          for (File containerTopDir : containerTopDirs) {
+            if (containerTopDir.isDirectory()) {
+              File[] containerDirs = containerTopDir.listFiles();
+              if (containerDirs != null) {
+                for (File containerDir : containerDirs) {
+                  final Runnable task = () -> loadContainer(containerDir,
+                      index);
+                  if (executor == null) {
+                    task.run();
                   } else {
-                    LOG.error("Missing .container file for ContainerID: {}",
-                        containerDir.getName());
+                    futures.add(executor.submit(task));
                   }
-                } catch (Throwable e) {
-                  LOG.error("Failed to load container from {}",
-                      containerDir.getAbsolutePath(), e);
                 }
               }
             }
           }
         }
+        for (Future<?> future : futures) {
+          future.get();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        LOG.warn("Interrupted loading containers on volume {}",
+            hddsVolumeRootDir);
+      } catch (ExecutionException e) {
+        // loadContainer handles all errors
+        LOG.error("Failed to load containers on volume {}",
+            hddsVolumeRootDir, e);
+      } finally {
+        if (executor != null) {
+          executor.shutdownNow();
+        }
       }
     }
     LOG.info("Finish verifying containers on volume {}", hddsVolumeRootDir);
   }
 
+  private void loadContainer(File containerDir,
+      Map<Long, ContainerIndexSnapshot.Entry> index) {
+    try {
+      File containerFile = ContainerUtils.getContainerFile(containerDir);
+      long containerID = ContainerUtils.getContainerID(containerDir);
+      if (containerFile.exists()) {
+        final ContainerIndexSnapshot.Entry entry = index.get(containerID);
+        if (entry != null && entry.matches(containerFile)) {
+          // The checksum was verified when the file was loaded before.
+          verifyAndFixupContainerData(entry.getContainerData(), false);
+        } else {
+          verifyContainerFile(containerID, containerFile);
+        }
+      } else {
+        LOG.error("Missing .container file for ContainerID: {}",
+            containerDir.getName());
+      }
+    } catch (Throwable e) {
+      LOG.error("Failed to load container from {}",
+          containerDir.getAbsolutePath(), e);
+    }
+  }
+
   private void verifyContainerFile(long containerID,
                                    File containerFile) {
     try {
@@ -187,7 +274,7 @@ private void verifyContainerFile(long containerID,
             "Skipping loading of this container.", containerFile);
         return;
       }
-      verifyAndFixupContainerData(containerData);
+      verifyAndFixupContainerData(containerData, true);
     } catch (IOException ex) {
       LOG.error("Failed to parse ContainerFile for ContainerID: {}",
           containerID, ex);
@@ -203,13 +290,21 @@ private void verifyContainerFile(long containerID,
    */
   public void verifyAndFixupContainerData(ContainerData containerData)
       throws IOException {
+    verifyAndFixupContainerData(containerData, true);
+  }
+
+  private void verifyAndFixupContainerData(ContainerData containerData,
+      boolean verifyChecksum) throws IOException {
     switch (containerData.getContainerType()) {
     case KeyValueContainer:
       if (containerData instanceof KeyValueContainerData) {
         KeyValueContainerData kvContainerData = (KeyValueContainerData)
             containerData;
         containerData.setVolume(hddsVolume);
-        KeyValueContainerUtil.parseKVContainerData(kvContainerData, config);
+        final boolean deferred = KeyValueContainerUtil.parseKVContainerData(
+            kvContainerData, config, verifyChecksum, startup &&
+                config.getObject(DatanodeConfiguration.class)
+                    .isDeferBlockStatistics());
         KeyValueContainer kvContainer = new KeyValueContainer(kvContainerData,
             config);
         if (kvContainer.getContainerState() == RECOVERING) {
@@ -225,7 +320,9 @@ public void verifyAndFixupContainerData(ContainerData containerData)
           cleanupContainer(hddsVolume, kvContainer);
           return;
         }
-        containerSet.addContainer(kvContainer);
+        if (containerSet.addContainer(kvContainer) && deferred) {
+          deferredContainers.add(kvContainerData.getContainerID());
+        }
       } else {
         throw new StorageContainerException("Container File is corrupted. " +
             "ContainerType is KeyValueContainer but cast to " +
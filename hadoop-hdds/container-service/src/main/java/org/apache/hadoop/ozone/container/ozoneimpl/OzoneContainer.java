@@ -54,6 +54,9 @@
 import org.apache.hadoop.ozone.container.common.volume.StorageVolume;
 import org.apache.hadoop.ozone.container.common.volume.StorageVolume.VolumeType;
 import org.apache.hadoop.ozone.container.common.volume.StorageVolumeChecker;
+import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainer;
+import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainerData;
+import org.apache.hadoop.ozone.container.keyvalue.helpers.KeyValueContainerUtil;
 import org.apache.hadoop.ozone.container.keyvalue.statemachine.background.StaleRecoveringContainerScrubbingService;
 import org.apache.hadoop.ozone.container.replication.ContainerImporter;
 import org.apache.hadoop.ozone.container.replication.ReplicationServer;
@@ -68,6 +71,7 @@
 import java.io.IOException;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -117,6 +121,7 @@ public class OzoneContainer {
   private final ReplicationServer replicationServer;
   private DatanodeDetails datanodeDetails;
   private StateContext context;
+  private Thread blockStatisticsInitializer;
 
 
   private final ContainerMetrics metrics;
@@ -284,6 +289,7 @@ private void buildContainerSet() {
     Iterator<StorageVolume> volumeSetIterator = volumeSet.getVolumesList()
         .iterator();
     ArrayList<Thread> volumeThreads = new ArrayList<>();
+    List<ContainerReader> readers = new ArrayList<>();
     long startTime = System.currentTimeMillis();
 
     // Load container inspectors that may be triggered at startup based on
@@ -292,8 +298,10 @@ private void buildContainerSet() {
     ContainerInspectorUtil.load();
     while (volumeSetIterator.hasNext()) {
       StorageVolume volume = volumeSetIterator.next();
-      Thread thread = new Thread(new ContainerReader(volumeSet,
-          (HddsVolume) volume, containerSet, config, true));
+      ContainerReader reader = new ContainerReader(volumeSet,
+          (HddsVolume) volume, containerSet, config, true, true);
+      readers.add(reader);
+      Thread thread = new Thread(reader);
       thread.start();
       volumeThreads.add(thread);
     }
@@ -313,6 +321,74 @@ private void buildContainerSet() {
 
     LOG.info("Build ContainerSet costs {}s",
         (System.currentTimeMillis() - startTime) / 1000);
+
+    List<Long> deferred = new ArrayList<>();
+    readers.forEach(reader -> deferred.addAll(reader.getDeferredContainers()));
+    if (!deferred.isEmpty()) {
+      blockStatisticsInitializer = new Thread(
+          () -> initializeBlockStatistics(deferred));
+      blockStatisticsInitializer.setName("BlockStatisticsInitializer");
+      blockStatisticsInitializer.setDaemon(true);
+      blockStatisticsInitializer.start();
+    }
+  }
+
+  /**
+   * Computes the block statistics deferred while loading the containers.
+   */
+  private void initializeBlockStatistics(List<Long> containerIDs) {
+    LOG.info("Initializing block statistics of {} containers",
+        containerIDs.size());
+    long startTime = System.currentTimeMillis();
+    for (long containerID : containerIDs) {
+      if (Thread.currentThread().isInterrupted()) {
+        LOG.info("Interrupted initializing block statistics");
+        return;
+      }
+      Container<?> container = containerSet.getContainer(containerID);
+      if (container == null) {
+        continue;
+      }
+      container.writeLock();
+      try {
+        KeyValueContainerUtil.initializeBlockStatistics(
+            (KeyValueContainerData) container.getContainerData(), config);
+      } catch (IOException e) {
+        LOG.warn("Failed to initialize block statistics of container {}",
+            containerID, e);
+      } finally {
+        container.writeUnlock();
+      }
+    }
+    LOG.info("Initialized block statistics of {} containers in {}ms",
+        containerIDs.size(), System.currentTimeMillis() - startTime);
+  }
+
+  /**
+   * Writes the {@link ContainerIndexSnapshot} of each volume, so that the
+   * containers can be loaded without parsing their files on the next start.
+   */
+  private void writeContainerIndexSnapshots() {
+    Map<HddsVolume, List<KeyValueContainer>> containersByVolume =
+        new HashMap<>();
+    for (Container<?> container : containerSet) {
+      HddsVolume volume = container.getContainerData().getVolume();
+      if (container instanceof KeyValueContainer && volume != null
+          && !volume.isFailed()) {
+        containersByVolume.computeIfAbsent(volume, v -> new ArrayList<>())
+            .add((KeyValueContainer) container);
+      }
+    }
+    for (Map.Entry<HddsVolume, List<KeyValueContainer>> e
+        : containersByVolume.entrySet()) {
+      try {
+        ContainerIndexSnapshot.write(e.getKey().getHddsRootDir(),
+            e.getValue());
+      } catch (IOException ex) {
+        LOG.warn("Failed to write the container index of volume {}",
+            e.getKey(), ex);
+      }
+    }
   }
 
   /**
@@ -450,12 +526,19 @@ public void stop() {
     //TODO: at end of container IO integration work.
     LOG.info("Attempting to stop container services.");
     stopContainerScrub();
+    if (blockStatisticsInitializer != null) {
+      blockStatisticsInitializer.interrupt();
+    }
     replicationServer.stop();
     writeChannel.stop();
     readChannel.stop();
     this.handlers.values().forEach(Handler::stop);
     hddsDispatcher.shutdown();
     volumeChecker.shutdownAndWait(0, TimeUnit.SECONDS);
+    if (config.getObject(DatanodeConfiguration.class)
+        .isContainerIndexSnapshotEnabled()) {
+      writeContainerIndexSnapshots();
+    }
     volumeSet.shutdown();
     metaVolumeSet.shutdown();
     if (dbVolumeSet != null) {
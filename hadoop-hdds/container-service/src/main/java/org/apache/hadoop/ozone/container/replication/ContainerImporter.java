@@ -26,8 +26,10 @@
 import org.apache.hadoop.ozone.container.common.interfaces.VolumeChoosingPolicy;
 import org.apache.hadoop.ozone.container.common.utils.StorageVolumeUtil;
 import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+import org.apache.hadoop.ozone.container.common.volume.IOPriority;
 import org.apache.hadoop.ozone.container.common.volume.MutableVolumeSet;
 import org.apache.hadoop.ozone.container.common.volume.VolumeChoosingPolicyFactory;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOScheduler;
 import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainerData;
 import org.apache.hadoop.ozone.container.keyvalue.TarContainerPacker;
 import org.apache.hadoop.ozone.container.ozoneimpl.ContainerController;
@@ -36,6 +38,7 @@
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -93,7 +96,9 @@ public void importContainer(long containerID, Path tarFilePath,
       }
       containerData.setVolume(targetVolume);
 
-      try (FileInputStream input = new FileInputStream(tarFilePath.toFile())) {
+      // Importing writes to the volume as fast as the archive is read.
+      try (InputStream input = VolumeIOScheduler.wrap(targetVolume,
+          IOPriority.RECOVERY, new FileInputStream(tarFilePath.toFile()))) {
         Container container = controller.importContainer(
             containerData, input, packer);
         containerSet.addContainer(container);
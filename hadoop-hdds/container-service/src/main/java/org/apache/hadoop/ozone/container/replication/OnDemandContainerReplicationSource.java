@@ -22,6 +22,8 @@
 
 import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
 import org.apache.hadoop.ozone.container.common.interfaces.Container;
+import org.apache.hadoop.ozone.container.common.volume.IOPriority;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOScheduler;
 
 import org.apache.hadoop.ozone.container.keyvalue.TarContainerPacker;
 import org.apache.hadoop.ozone.container.ozoneimpl.ContainerController;
@@ -59,8 +61,12 @@ public void copyData(long containerId, OutputStream destination,
           " is not found.", CONTAINER_NOT_FOUND);
     }
 
+    // Replication reads from the volume as fast as the data is sent.
+    OutputStream output = VolumeIOScheduler.wrap(
+        container.getContainerData().getVolume(), IOPriority.RECOVERY,
+        destination);
     controller.exportContainer(
-        container.getContainerType(), containerId, destination,
+        container.getContainerType(), containerId, output,
         new TarContainerPacker(compression));
   }
 }
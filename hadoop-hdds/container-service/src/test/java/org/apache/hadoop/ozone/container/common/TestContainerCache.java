@@ -40,6 +40,7 @@
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
 
 import static org.junit.Assert.assertEquals;
 
@@ -230,4 +231,156 @@ public void testUnderlyingDBzIsClosed() throws Exception {
     db4.close();
     cache.clear();
   }
+
+  @Test
+  public void testEvictedDBClosedInBackground() throws Exception {
+    File root = new File(testRoot);
+    root.mkdirs();
+
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.setInt(OzoneConfigKeys.OZONE_CONTAINER_CACHE_SIZE, 2);
+    ContainerCache cache = ContainerCache.getInstance(conf);
+    cache.clear();
+    File containerDir1 = new File(root, "cont201");
+    File containerDir2 = new File(root, "cont202");
+    File containerDir3 = new File(root, "cont203");
+    createContainerDB(conf, containerDir1);
+    createContainerDB(conf, containerDir2);
+    createContainerDB(conf, containerDir3);
+
+    ContainerCacheMetrics metrics = cache.getMetrics();
+    int stripe = Math.floorMod(containerDir1.getPath().hashCode(),
+        OzoneConfigKeys.OZONE_CONTAINER_CACHE_LOCK_STRIPES_DEFAULT);
+    long stripeMisses = metrics.getNumCacheMisses(stripe);
+    long stripeHits = metrics.getNumCacheHits(stripe);
+    long evictions = metrics.getNumCacheEvictions();
+
+    ReferenceCountedDB db1 = cache.getDB(201, "RocksDB",
+        containerDir1.getPath(),
+        VersionedDatanodeFeatures.SchemaV2.chooseSchemaVersion(), conf);
+    db1.close();
+    cache.getDB(202, "RocksDB", containerDir2.getPath(),
+        VersionedDatanodeFeatures.SchemaV2.chooseSchemaVersion(), conf)
+        .close();
+    cache.getDB(203, "RocksDB", containerDir3.getPath(),
+        VersionedDatanodeFeatures.SchemaV2.chooseSchemaVersion(), conf)
+        .close();
+
+    // The least recently used DB is evicted and can no longer be referenced.
+    assertEquals(evictions + 1, metrics.getNumCacheEvictions());
+    assertEquals(2, cache.size());
+    Assert.assertNull(cache.get(containerDir1.getPath()));
+    Assert.assertFalse(db1.tryIncrementReference());
+
+    // Opening it again waits for the background close.
+    ReferenceCountedDB db4 = cache.getDB(201, "RocksDB",
+        containerDir1.getPath(),
+        VersionedDatanodeFeatures.SchemaV2.chooseSchemaVersion(), conf);
+    Assert.assertNotSame(db1, db4);
+    Assert.assertTrue(db1.isClosed());
+    Assert.assertFalse(db4.isClosed());
+    ReferenceCountedDB db5 = cache.getDB(201, "RocksDB",
+        containerDir1.getPath(),
+        VersionedDatanodeFeatures.SchemaV2.chooseSchemaVersion(), conf);
+    Assert.assertSame(db4, db5);
+    assertEquals(stripeMisses + 2, metrics.getNumCacheMisses(stripe));
+    assertEquals(stripeHits + 1, metrics.getNumCacheHits(stripe));
+    db4.close();
+    db5.close();
+    cache.shutdownCache();
+  }
+
+  @Test
+  public void testConcurrentDBGetWithEvictions() throws Exception {
+    File root = new File(testRoot);
+    root.mkdirs();
+
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.setInt(OzoneConfigKeys.OZONE_CONTAINER_CACHE_SIZE, 2);
+    ContainerCache cache = ContainerCache.getInstance(conf);
+    cache.clear();
+    final int numContainers = 4;
+    List<File> containerDirs = new ArrayList<>();
+    for (int i = 0; i < numContainers; i++) {
+      File containerDir = new File(root, "cont30" + i);
+      createContainerDB(conf, containerDir);
+      containerDirs.add(containerDir);
+    }
+
+    ExecutorService executorService = Executors.newFixedThreadPool(8);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int t = 0; t < 8; t++) {
+      futures.add(executorService.submit(() -> {
+        for (int i = 0; i < 50; i++) {
+          int id = ThreadLocalRandom.current().nextInt(numContainers);
+          ReferenceCountedDB db = cache.getDB(300 + id, "RocksDB",
+              containerDirs.get(id).getPath(),
+              VersionedDatanodeFeatures.SchemaV2.chooseSchemaVersion(), conf);
+          try {
+            // A referenced DB is never closed by an eviction.
+            Assert.assertFalse(db.isClosed());
+            db.getStore().getMetadataTable().get("key");
+          } finally {
+            db.close();
+          }
+        }
+        return null;
+      }));
+    }
+    try {
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executorService.shutdown();
+    }
+    // The cache grows while all DBs are in use, the next miss evicts.
+    File containerDir = new File(root, "cont400");
+    createContainerDB(conf, containerDir);
+    cache.getDB(400, "RocksDB", containerDir.getPath(),
+        VersionedDatanodeFeatures.SchemaV2.chooseSchemaVersion(), conf)
+        .close();
+    assertEquals(2, cache.size());
+    cache.shutdownCache();
+  }
+
+  @Test
+  public void testRemovedDBCannotBeReferenced() throws Exception {
+    File root = new File(testRoot);
+    root.mkdirs();
+
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.setInt(OzoneConfigKeys.OZONE_CONTAINER_CACHE_SIZE, 2);
+    ContainerCache cache = ContainerCache.getInstance(conf);
+    cache.clear();
+    File containerDir1 = new File(root, "cont501");
+    File containerDir2 = new File(root, "cont502");
+    createContainerDB(conf, containerDir1);
+    createContainerDB(conf, containerDir2);
+
+    ReferenceCountedDB db1 = cache.getDB(501, "RocksDB",
+        containerDir1.getPath(),
+        VersionedDatanodeFeatures.SchemaV2.chooseSchemaVersion(), conf);
+    ReferenceCountedDB db2 = cache.getDB(502, "RocksDB",
+        containerDir2.getPath(),
+        VersionedDatanodeFeatures.SchemaV2.chooseSchemaVersion(), conf);
+
+    // A DB in use is neither removed nor closed.
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> cache.removeDB(containerDir1.getPath()));
+    Assert.assertSame(db1, cache.get(containerDir1.getPath()));
+    Assert.assertFalse(db1.isClosed());
+
+    db1.close();
+    cache.removeDB(containerDir1.getPath());
+    Assert.assertNull(cache.get(containerDir1.getPath()));
+    Assert.assertTrue(db1.isClosed());
+    Assert.assertFalse(db1.tryIncrementReference());
+
+    db2.close();
+    cache.shutdownCache();
+    assertEquals(0, cache.size());
+    Assert.assertTrue(db2.isClosed());
+    Assert.assertFalse(db2.tryIncrementReference());
+  }
 }
@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.container.common.volume;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration;
+import org.apache.hadoop.util.Time;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test for {@link VolumeIOScheduler}.
+ */
+@Timeout(30)
+public class TestVolumeIOScheduler {
+
+  private DatanodeConfiguration conf;
+  private VolumeIOStats stats;
+
+  @BeforeEach
+  public void setup() {
+    conf = new DatanodeConfiguration();
+    stats = new VolumeIOStats("TestVolumeIOScheduler", "dir");
+  }
+
+  @AfterEach
+  public void cleanup() {
+    stats.unregister();
+  }
+
+  @Test
+  public void testQueueDepth() {
+    VolumeIOScheduler scheduler = new VolumeIOScheduler(conf, stats);
+    VolumeIOScheduler.Ticket foreground =
+        scheduler.schedule(IOPriority.FOREGROUND, 100);
+    VolumeIOScheduler.Ticket recovery =
+        scheduler.schedule(IOPriority.RECOVERY, 100);
+    assertEquals(1, stats.getQueueDepth(IOPriority.FOREGROUND));
+    assertEquals(1, stats.getQueueDepth(IOPriority.RECOVERY));
+    assertEquals(0, stats.getQueueDepth(IOPriority.MAINTENANCE));
+
+    foreground.close();
+    recovery.close();
+    assertEquals(0, stats.getQueueDepth(IOPriority.FOREGROUND));
+    assertEquals(0, stats.getQueueDepth(IOPriority.RECOVERY));
+  }
+
+  @Test
+  public void testQueueDepthWithConcurrentOperations() throws Exception {
+    VolumeIOScheduler scheduler = new VolumeIOScheduler(conf, stats);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < 8; t++) {
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < 1000; i++) {
+            scheduler.schedule(IOPriority.FOREGROUND, 1).close();
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+    assertEquals(0, scheduler.getQueueDepth(IOPriority.FOREGROUND));
+    assertEquals(0, stats.getQueueDepth(IOPriority.FOREGROUND));
+  }
+
+  @Test
+  public void testBackgroundShareLimited() {
+    conf.setVolumeIOOpsPerSecond(100);
+    conf.setVolumeIOMaintenanceShare(10);
+    VolumeIOScheduler scheduler = new VolumeIOScheduler(conf, stats);
+
+    // Foreground operations are not limited.
+    long start = Time.monotonicNow();
+    for (int i = 0; i < 100; i++) {
+      scheduler.schedule(IOPriority.FOREGROUND, 0).close();
+    }
+    assertTrue(Time.monotonicNow() - start < 500);
+
+    // Maintenance gets 10 operations per second.
+    start = Time.monotonicNow();
+    for (int i = 0; i < 5; i++) {
+      scheduler.schedule(IOPriority.MAINTENANCE, 0).close();
+    }
+    assertTrue(Time.monotonicNow() - start >= 350);
+    assertTrue(stats.getBackgroundWaitTime() >= 350);
+  }
+
+  @Test
+  public void testBackgroundPausedForSlowForeground() throws Exception {
+    conf.setVolumeIOForegroundLatencyThreshold(Duration.ofMillis(10));
+    conf.setVolumeIOBackgroundMaxPause(Duration.ofMillis(200));
+    VolumeIOScheduler scheduler = new VolumeIOScheduler(conf, stats);
+
+    try (VolumeIOScheduler.Ticket ignored =
+             scheduler.schedule(IOPriority.FOREGROUND, 100)) {
+      Thread.sleep(100);
+    }
+    assertTrue(scheduler.getForegroundLatencyNanos()
+        > Duration.ofMillis(10).toNanos());
+
+    long start = Time.monotonicNow();
+    scheduler.schedule(IOPriority.RECOVERY, 0).close();
+    assertTrue(Time.monotonicNow() - start >= 190);
+    assertEquals(1, stats.getBackgroundPauses());
+
+    // Foreground operations are fast again.
+    for (int i = 0; i < 50; i++) {
+      scheduler.schedule(IOPriority.FOREGROUND, 0).close();
+    }
+    start = Time.monotonicNow();
+    scheduler.schedule(IOPriority.RECOVERY, 0).close();
+    assertTrue(Time.monotonicNow() - start < 190);
+    assertEquals(1, stats.getBackgroundPauses());
+  }
+
+  @Test
+  public void testStreamLimitedByBandwidthOnly() throws Exception {
+    final int granule = VolumeIOScheduler.STREAM_GRANULE;
+    conf.setVolumeIOBytesPerSecond(10L * granule);
+    conf.setVolumeIOOpsPerSecond(1);
+    conf.setVolumeIORecoveryShare(30);
+    VolumeIOScheduler scheduler = new VolumeIOScheduler(conf, stats);
+
+    // Reads smaller than a granule are scheduled together.
+    byte[] buffer = new byte[granule / 4];
+    long start = Time.monotonicNow();
+    try (InputStream in = scheduler.schedule(IOPriority.RECOVERY,
+        new ByteArrayInputStream(new byte[3 * granule]))) {
+      for (int i = 0; i < 12; i++) {
+        assertEquals(buffer.length, in.read(buffer));
+      }
+      assertEquals(-1, in.read(buffer));
+    }
+    long elapsed = Time.monotonicNow() - start;
+    // 3 granules at 3 granules per second, the first one is not delayed.
+    assertTrue(elapsed >= 600, "elapsed " + elapsed);
+    // 3 operations at 1 per second would take at least 2 seconds.
+    assertTrue(elapsed < 1900, "elapsed " + elapsed);
+  }
+}
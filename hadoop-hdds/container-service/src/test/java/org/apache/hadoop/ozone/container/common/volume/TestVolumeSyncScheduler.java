@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.container.common.volume;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+
+import org.apache.ozone.test.GenericTestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test for {@link VolumeSyncScheduler}.
+ */
+@Timeout(30)
+public class TestVolumeSyncScheduler {
+
+  private VolumeIOStats stats;
+  private VolumeSyncScheduler scheduler;
+
+  @BeforeEach
+  public void setup() {
+    stats = new VolumeIOStats("TestVolumeSyncScheduler", "dir");
+    scheduler = new VolumeSyncScheduler(stats);
+  }
+
+  @AfterEach
+  public void cleanup() {
+    stats.unregister();
+  }
+
+  @Test
+  public void testSequentialSyncs() throws Exception {
+    FileChannel channel = mock(FileChannel.class);
+    scheduler.sync(channel);
+    scheduler.sync(channel);
+
+    verify(channel, times(2)).force(true);
+    assertEquals(2, stats.getSyncRequestCount());
+    assertEquals(2, stats.getSyncBatchCount());
+    assertEquals(2, stats.getSyncOpCount());
+  }
+
+  @Test
+  public void testConcurrentSyncsCoalesced() throws Exception {
+    FileChannel first = mock(FileChannel.class);
+    CountDownLatch syncing = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    doAnswer(invocation -> {
+      syncing.countDown();
+      release.await();
+      return null;
+    }).when(first).force(true);
+
+    CompletableFuture<Void> leader = runAsync(first);
+    syncing.await();
+
+    // Writes while the first sync is in progress share the next one.
+    FileChannel a = mock(FileChannel.class);
+    FileChannel b = mock(FileChannel.class);
+    List<CompletableFuture<Void>> waiting = new ArrayList<>();
+    for (int i = 0; i < 6; i++) {
+      waiting.add(runAsync(i % 2 == 0 ? a : b));
+    }
+    GenericTestUtils.waitFor(() -> scheduler.getPendingSyncRequests() == 6,
+        10, 10000);
+    for (CompletableFuture<Void> f : waiting) {
+      assertFalse(f.isDone());
+    }
+
+    release.countDown();
+    leader.get();
+    for (CompletableFuture<Void> f : waiting) {
+      f.get();
+    }
+    verify(first, times(1)).force(true);
+    verify(a, times(1)).force(true);
+    verify(b, times(1)).force(true);
+    assertEquals(7, stats.getSyncRequestCount());
+    assertEquals(2, stats.getSyncBatchCount());
+    assertEquals(3, stats.getSyncOpCount());
+  }
+
+  @Test
+  public void testSyncFailureReportedToItsWriters() throws Exception {
+    FileChannel good = mock(FileChannel.class);
+    FileChannel bad = mock(FileChannel.class);
+    doThrow(new IOException("failed")).when(bad).force(true);
+
+    scheduler.sync(good);
+    ExecutionException e = assertThrows(ExecutionException.class,
+        () -> runAsync(bad).get());
+    assertInstanceOf(IOException.class, e.getCause().getCause());
+    // The scheduler is usable after a failure.
+    scheduler.sync(good);
+    verify(good, times(2)).force(true);
+  }
+
+  private CompletableFuture<Void> runAsync(FileChannel channel) {
+    return CompletableFuture.runAsync(() -> {
+      try {
+        scheduler.sync(channel);
+      } catch (IOException e) {
+        throw new RuntimeException(e);
+      }
+    }, r -> new Thread(r).start());
+  }
+}
@@ -19,9 +19,13 @@
 
 import org.apache.commons.codec.binary.Hex;
 import org.apache.hadoop.hdds.client.BlockID;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.conf.StorageUnit;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
+import org.apache.hadoop.hdds.scm.ScmConfigKeys;
 import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
 import org.apache.hadoop.ozone.OzoneConsts;
+import org.apache.hadoop.ozone.common.ChecksumData;
 import org.apache.hadoop.ozone.common.ChunkBuffer;
 import org.apache.hadoop.ozone.container.ContainerTestHelper;
 import org.apache.hadoop.ozone.container.common.helpers.ChunkInfo;
@@ -33,10 +37,14 @@
 
 import java.nio.ByteBuffer;
 import java.security.MessageDigest;
+import java.util.List;
 
 import static org.apache.hadoop.ozone.container.ContainerTestHelper.getChunk;
 import static org.apache.hadoop.ozone.container.ContainerTestHelper.setDataChecksum;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 /**
@@ -138,6 +146,59 @@ public void testPartialRead() throws Exception {
         readData2.rewind().toByteString());
   }
 
+  /**
+   * Test reads served from the memory mapped block file.
+   */
+  @Test
+  public void testMappedRead() throws Exception {
+    final int datalen = 4096;
+    final int bytesPerChecksum = 1024;
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.setStorageSize(
+        ScmConfigKeys.OZONE_CHUNK_READ_MAPPED_BUFFER_THRESHOLD_KEY, 2048,
+        StorageUnit.BYTES);
+    ChunkManager subject = new FilePerBlockStrategy(true,
+        new BlockManagerImpl(conf), null);
+
+    KeyValueContainer container = getKeyValueContainer();
+    BlockID blockID = getBlockID();
+    ChunkInfo info = getChunk(blockID.getLocalID(), 0, 0, datalen);
+    ChunkBuffer data = ContainerTestHelper.getData(datalen);
+    setDataChecksum(info, data);
+    info.setChecksumData(new ChecksumData(
+        ContainerProtos.ChecksumType.CRC32, bytesPerChecksum));
+    DispatcherContext ctx = getDispatcherContext();
+    subject.writeChunk(container, blockID, info, data, ctx);
+
+    // Split into one mapped buffer per checksum.
+    ChunkBuffer readData = subject.readChunk(container, blockID, info, ctx);
+    List<ByteBuffer> buffers = readData.asByteBufferList();
+    assertEquals(datalen / bytesPerChecksum, buffers.size());
+    for (ByteBuffer buffer : buffers) {
+      assertTrue(buffer.isDirect());
+      assertTrue(buffer.isReadOnly());
+      assertEquals(bytesPerChecksum, buffer.remaining());
+    }
+    assertEquals(data.rewind().toByteString(),
+        readData.rewind().toByteString());
+    checkReadIOStats(datalen, 1);
+
+    // Reads below the threshold are not mapped.
+    ChunkInfo small = getChunk(blockID.getLocalID(), 0, 1024, 1024);
+    ChunkBuffer smallData = subject.readChunk(container, blockID, small, ctx);
+    assertFalse(smallData.asByteBufferList().get(0).isDirect());
+    assertEquals(data.rewind().toByteString().substring(1024, 2048),
+        smallData.rewind().toByteString());
+
+    // Reads past the end of the block file fail.
+    ChunkInfo beyond = getChunk(blockID.getLocalID(), 0, 1024, datalen);
+    StorageContainerException e = assertThrows(
+        StorageContainerException.class,
+        () -> subject.readChunk(container, blockID, beyond, ctx));
+    assertEquals(ContainerProtos.Result.CONTAINER_INTERNAL_ERROR,
+        e.getResult());
+  }
+
   @Override
   protected ContainerLayoutTestInfo getStrategy() {
     return ContainerLayoutTestInfo.FILE_PER_BLOCK;
@@ -42,6 +42,7 @@
 import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainer;
 import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainerData;
 import org.apache.hadoop.ozone.container.keyvalue.helpers.BlockUtils;
+import org.apache.hadoop.ozone.container.keyvalue.helpers.KeyValueContainerUtil;
 import org.apache.hadoop.ozone.container.metadata.DatanodeStoreSchemaThreeImpl;
 import org.junit.After;
 import org.junit.Assert;
@@ -55,10 +56,13 @@
 import org.mockito.Mockito;
 
 import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
+import static org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerDataProto.State.CLOSED;
 import static org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerDataProto.State.DELETED;
 import static org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerDataProto.State.RECOVERING;
 import static org.apache.hadoop.ozone.container.common.ContainerTestUtils.createDbInstancesForTestIfNeeded;
@@ -425,6 +429,99 @@ public void testMarkedDeletedContainerCleared() throws Exception {
     }
   }
 
+  @Test
+  public void testContainerIndexSnapshot() throws Exception {
+    new ContainerReader(volumeSet, hddsVolume, containerSet, conf, true, true)
+        .run();
+    Assert.assertEquals(2, containerSet.containerCount());
+    List<KeyValueContainer> containers = new ArrayList<>();
+    containerSet.forEach(c -> containers.add((KeyValueContainer) c));
+    ContainerIndexSnapshot.write(hddsVolume.getHddsRootDir(), containers);
+    File index = ContainerIndexSnapshot.getFile(hddsVolume.getHddsRootDir());
+    Assert.assertTrue(index.exists());
+
+    // Corrupt the checksum of container 0 without changing the length and
+    // modification time of its file, so it can only be loaded from the index.
+    KeyValueContainerData data0 = containers.get(0).getContainerData();
+    File file0 = containers.get(0).getContainerFile();
+    long lastModified = file0.lastModified();
+    String yaml = new String(Files.readAllBytes(file0.toPath()),
+        StandardCharsets.UTF_8);
+    String checksum = data0.getChecksum();
+    String corrupted = (checksum.charAt(0) == '0' ? "1" : "0")
+        + checksum.substring(1);
+    Files.write(file0.toPath(), yaml.replace(checksum, corrupted)
+        .getBytes(StandardCharsets.UTF_8));
+    Assert.assertTrue(file0.setLastModified(lastModified));
+    // Container 1 changed after the index was written.
+    File file1 = containers.get(1).getContainerFile();
+    Assert.assertTrue(file1.setLastModified(file1.lastModified() + 2000));
+
+    ContainerSet loaded = new ContainerSet(1000);
+    new ContainerReader(volumeSet, hddsVolume, loaded, conf, true, true)
+        .run();
+    Assert.assertFalse(index.exists());
+    Assert.assertEquals(2, loaded.containerCount());
+    for (KeyValueContainer container : containers) {
+      KeyValueContainerData expected = container.getContainerData();
+      KeyValueContainerData actual = (KeyValueContainerData) loaded
+          .getContainer(expected.getContainerID()).getContainerData();
+      Assert.assertEquals(expected.getState(), actual.getState());
+      Assert.assertEquals(expected.getChecksum(), actual.getChecksum());
+      Assert.assertEquals(expected.getOriginNodeId(),
+          actual.getOriginNodeId());
+      Assert.assertEquals(expected.getMetadataPath(),
+          actual.getMetadataPath());
+      Assert.assertEquals(expected.getChunksPath(), actual.getChunksPath());
+      Assert.assertEquals(expected.getSchemaVersion(),
+          actual.getSchemaVersion());
+      Assert.assertEquals(expected.getBlockCount(), actual.getBlockCount());
+      Assert.assertEquals(expected.getBytesUsed(), actual.getBytesUsed());
+    }
+
+    // Without the index, the corrupted file is not loaded.
+    ContainerSet reloaded = new ContainerSet(1000);
+    new ContainerReader(volumeSet, hddsVolume, reloaded, conf, true, true)
+        .run();
+    Assert.assertEquals(1, reloaded.containerCount());
+    Assert.assertNull(reloaded.getContainer(data0.getContainerID()));
+  }
+
+  @Test
+  public void testDeferredBlockStatistics() throws Exception {
+    KeyValueContainerData closedContainerData = new KeyValueContainerData(
+        20, layout, (long) StorageUnit.GB.toBytes(5),
+        UUID.randomUUID().toString(), datanodeId.toString());
+    closedContainerData.setState(CLOSED);
+    KeyValueContainer closedContainer =
+        new KeyValueContainer(closedContainerData, conf);
+    closedContainer.create(volumeSet, volumeChoosingPolicy, clusterId);
+    List<Long> blkNames = addBlocks(closedContainer, false);
+    markBlocksForDelete(closedContainer, false, blkNames, 3);
+    ContainerCache.getInstance(conf).shutdownCache();
+
+    ContainerReader containerReader = new ContainerReader(volumeSet,
+        hddsVolume, containerSet, conf, true, true);
+    containerReader.run();
+    Assert.assertEquals(3, containerSet.containerCount());
+
+    // Open container 1 has no statistics in its DB either, but they are
+    // needed to commit its space.
+    Assert.assertEquals(1, containerReader.getDeferredContainers().size());
+    Assert.assertEquals(20,
+        (long) containerReader.getDeferredContainers().get(0));
+    KeyValueContainerData data = (KeyValueContainerData)
+        containerSet.getContainer(20).getContainerData();
+    Assert.assertEquals(0, data.getBlockCount());
+    Assert.assertEquals(0, data.getBytesUsed());
+    Assert.assertEquals(0, data.getNumPendingDeletionBlocks());
+
+    KeyValueContainerUtil.initializeBlockStatistics(data, conf);
+    Assert.assertEquals(blockCount, data.getBlockCount());
+    Assert.assertEquals(blockCount * blockLen, data.getBytesUsed());
+    Assert.assertEquals(3, data.getNumPendingDeletionBlocks());
+  }
+
   private long addDbEntry(KeyValueContainerData containerData)
       throws Exception {
     try (DBHandle dbHandle = BlockUtils.getDB(containerData, conf)) {
@@ -24,6 +24,7 @@
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Map;
+import java.util.function.Function;
 
 import org.apache.hadoop.hdds.annotation.InterfaceStability;
 import org.apache.hadoop.hdds.utils.db.cache.TableCache;
@@ -76,6 +77,23 @@ <KEY, VALUE> Table<KEY, VALUE> getTable(String name,
       Class<KEY> keyType, Class<VALUE> valueType,
       TableCache.CacheType cacheType) throws IOException;
 
+  /**
+   * Gets an existing TableStore with implicit key/value conversion, with
+   * specified cache type and an index over the cached values.
+   * @param name - Name of the TableStore to get
+   * @param keyType
+   * @param valueType
+   * @param cacheType
+   * @param cacheIndexFunction - derives the attribute the cached values are
+   *                           indexed by, see {@link Table#getCacheIndexedKeys}
+   * @return - TableStore.
+   * @throws IOException
+   */
+  <KEY, VALUE> Table<KEY, VALUE> getTable(String name,
+      Class<KEY> keyType, Class<VALUE> valueType,
+      TableCache.CacheType cacheType,
+      Function<VALUE, ?> cacheIndexFunction) throws IOException;
+
   /**
    * Lists the Known list of Tables in a DB.
    *
@@ -297,6 +297,14 @@ void clear() {
       name2cache.clear();
     }
 
+    long getBatchSize() {
+      long size = 0;
+      for (FamilyCache f : name2cache.values()) {
+        size += f.batchSize - f.discardedSize;
+      }
+      return size;
+    }
+
     String getCommitString() {
       int putCount = 0;
       int delCount = 0;
@@ -341,6 +349,14 @@ public String toString() {
     return name;
   }
 
+  /**
+   * @return the number of key and value bytes of the operations in this
+   * batch, excluding the operations overwritten in the same batch.
+   */
+  public long getBatchSizeBytes() {
+    return opCache.getBatchSize();
+  }
+
   public void commit(RocksDatabase db) throws IOException {
     debug(() -> String.format("%s: commit %s",
         name, opCache.getCommitString()));
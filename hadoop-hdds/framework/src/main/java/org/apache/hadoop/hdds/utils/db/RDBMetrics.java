@@ -57,6 +57,8 @@ public static synchronized RDBMetrics create() {
   private @Metric MutableCounterLong numDBKeyGetIfExistChecks;
   private @Metric MutableCounterLong numDBKeyGetIfExistMisses;
   private @Metric MutableCounterLong numDBKeyGetIfExistGets;
+  private @Metric MutableCounterLong numDBKeyMultiGets;
+  private @Metric MutableCounterLong numDBKeyMultiGetKeys;
   // WAL Update data size and sequence count
   private @Metric MutableCounterLong walUpdateDataSize;
   private @Metric MutableCounterLong walUpdateSequenceCount;
@@ -93,6 +95,20 @@ public void incNumDBKeyGetIfExistMisses() {
     this.numDBKeyGetIfExistMisses.incr();
   }
 
+  public long getNumDBKeyMultiGets() {
+    return numDBKeyMultiGets.value();
+  }
+
+  public long getNumDBKeyMultiGetKeys() {
+    return numDBKeyMultiGetKeys.value();
+  }
+
+  /** Count a multi-get call to the DB looking up the given number of keys. */
+  public void incNumDBKeyMultiGets(int numKeys) {
+    this.numDBKeyMultiGets.incr();
+    this.numDBKeyMultiGetKeys.incr(numKeys);
+  }
+
   public void incNumDBKeyMayExistChecks() {
     numDBKeyMayExistChecks.incr();
   }
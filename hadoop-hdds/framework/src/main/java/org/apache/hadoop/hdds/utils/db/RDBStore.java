@@ -29,6 +29,7 @@
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.utils.IOUtils;
@@ -295,6 +296,15 @@ public <K, V> Table<K, V> getTable(String name,
         valueType, cacheType);
   }
 
+  @Override
+  public <K, V> Table<K, V> getTable(String name,
+      Class<K> keyType, Class<V> valueType,
+      TableCache.CacheType cacheType,
+      Function<V, ?> cacheIndexFunction) throws IOException {
+    return new TypedTable<>(getTable(name), codecRegistry, keyType,
+        valueType, cacheType, cacheIndexFunction);
+  }
+
   @Override
   public ArrayList<Table> listTables() {
     ArrayList<Table> returnList = new ArrayList<>();
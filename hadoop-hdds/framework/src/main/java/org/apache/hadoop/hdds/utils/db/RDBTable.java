@@ -134,6 +134,33 @@ Integer get(ByteBuffer key, ByteBuffer outValue) throws IOException {
     return db.get(family, key, outValue);
   }
 
+  @Override
+  public List<byte[]> multiGet(List<byte[]> keys) throws IOException {
+    if (keys.isEmpty()) {
+      return new ArrayList<>();
+    }
+    rdbMetrics.incNumDBKeyMultiGets(keys.size());
+    return db.multiGet(family, keys);
+  }
+
+  /**
+   * Get the values mapped to the given keys with a single multi-get.
+   *
+   * @param keys the direct buffers containing the keys.
+   * @param outValues the direct buffers to write the output values.
+   * @return for each key, null if the key is not found;
+   *         otherwise, the size of the value.
+   * @see RocksDatabase#multiGet(ColumnFamily, List, List)
+   */
+  List<Integer> multiGet(List<ByteBuffer> keys, List<ByteBuffer> outValues)
+      throws IOException {
+    if (keys.isEmpty()) {
+      return new ArrayList<>();
+    }
+    rdbMetrics.incNumDBKeyMultiGets(keys.size());
+    return db.multiGet(family, keys, outValues);
+  }
+
   /**
    * Skip checking cache and get the value mapped to the given key in byte
    * array or returns null if the key is not found.
@@ -35,6 +35,7 @@
 import org.apache.hadoop.hdds.utils.db.managed.ManagedTransactionLogIterator;
 import org.apache.hadoop.hdds.utils.db.managed.ManagedWriteBatch;
 import org.apache.hadoop.hdds.utils.db.managed.ManagedWriteOptions;
+import org.rocksdb.ByteBufferGetStatus;
 import org.rocksdb.ColumnFamilyDescriptor;
 import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.Holder;
@@ -756,6 +757,81 @@ Integer get(ColumnFamily family, ByteBuffer key, ByteBuffer outValue)
     }
   }
 
+  /**
+   * Get the values mapped to the given keys with a single multi-get.
+   *
+   * @param family the table to get from.
+   * @param keys the keys to look up.
+   * @return the values in the order of the keys, null for the keys which are
+   *         not found.
+   * @throws IOException if the db is closed or the db throws an exception.
+   * @see org.rocksdb.RocksDB#multiGetAsList(org.rocksdb.ReadOptions, List,
+   *                                         List)
+   */
+  List<byte[]> multiGet(ColumnFamily family, List<byte[]> keys)
+      throws IOException {
+    assertClose();
+    try {
+      counter.incrementAndGet();
+      return db.get().multiGetAsList(DEFAULT_READ_OPTION,
+          Collections.nCopies(keys.size(), family.getHandle()), keys);
+    } catch (RocksDBException e) {
+      closeOnError(e, true);
+      final String message = "multiGet " + keys.size() + " keys from "
+          + family;
+      throw toIOException(this, message, e);
+    } finally {
+      counter.decrementAndGet();
+    }
+  }
+
+  /**
+   * Get the values mapped to the given keys with a single multi-get.
+   *
+   * @param family the table to get from.
+   * @param keys the direct buffers containing the keys.
+   * @param outValues the direct buffers to store the output values.
+   *                  When a buffer size is smaller than the size of the value,
+   *                  partial result will be written.
+   * @return for each key, null if the key is not found;
+   *         otherwise, the size (possibly 0) of the value.
+   * @throws IOException if the db is closed or the db throws an exception.
+   * @see org.rocksdb.RocksDB#multiGetByteBuffers(org.rocksdb.ReadOptions,
+   *                                              List, List, List)
+   */
+  List<Integer> multiGet(ColumnFamily family, List<ByteBuffer> keys,
+      List<ByteBuffer> outValues) throws IOException {
+    assertClose();
+    try {
+      counter.incrementAndGet();
+      final List<ByteBufferGetStatus> results = db.get().multiGetByteBuffers(
+          DEFAULT_READ_OPTION,
+          Collections.nCopies(keys.size(), family.getHandle()),
+          keys, outValues);
+      final List<Integer> sizes = new ArrayList<>(results.size());
+      for (ByteBufferGetStatus result : results) {
+        switch (result.status.getCode()) {
+        case Ok:
+          sizes.add(result.requiredSize);
+          break;
+        case NotFound:
+          sizes.add(null);
+          break;
+        default:
+          throw new RocksDBException(result.status);
+        }
+      }
+      return sizes;
+    } catch (RocksDBException e) {
+      closeOnError(e, true);
+      final String message = "multiGet " + keys.size() + " keys from "
+          + family;
+      throw toIOException(this, message, e);
+    } finally {
+      counter.decrementAndGet();
+    }
+  }
+
   public long estimateNumKeys() throws IOException {
     return getLongProperty(ESTIMATE_NUM_KEYS);
   }
@@ -21,9 +21,11 @@
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.commons.lang3.NotImplementedException;
 import org.apache.hadoop.hdds.annotation.InterfaceStability;
@@ -84,6 +86,23 @@ void putWithBatch(BatchOperation batch, KEY key, VALUE value)
    */
   VALUE get(KEY key) throws IOException;
 
+  /**
+   * Returns the values mapped to the given keys, with null for the keys
+   * which are not found. Implementations backed by RocksDB look up the keys
+   * missing in the cache with a single multi-get.
+   *
+   * @param keys metadata keys
+   * @return the values in the order of the keys.
+   * @throws IOException on Failure
+   */
+  default List<VALUE> multiGet(List<KEY> keys) throws IOException {
+    final List<VALUE> values = new ArrayList<>(keys.size());
+    for (KEY key : keys) {
+      values.add(get(key));
+    }
+    return values;
+  }
+
 
   /**
    * Skip checking cache and get the value mapped to the given key in byte
@@ -236,6 +255,23 @@ default void cleanupCache(List<Long> epochs) {
     throw new NotImplementedException("cacheIterator is not implemented");
   }
 
+  /**
+   * Return whether the cache of this table has an index, see
+   * {@link #getCacheIndexedKeys}.
+   */
+  default boolean hasCacheIndex() {
+    return false;
+  }
+
+  /**
+   * Return the keys of the cache entries, not marked for delete, whose value
+   * maps to the given attribute in the cache index of this table.
+   */
+  default Set<CacheKey<KEY>> getCacheIndexedKeys(Object attribute) {
+    throw new NotImplementedException(
+        "getCacheIndexedKeys is not implemented");
+  }
+
   /**
    * Create the metrics datasource that emits table cache metrics.
    */
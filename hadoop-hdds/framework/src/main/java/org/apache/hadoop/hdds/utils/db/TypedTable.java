@@ -26,6 +26,8 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 
 import com.google.common.annotations.VisibleForTesting;
 import org.apache.hadoop.hdds.utils.MetadataKeyFilters;
@@ -33,7 +35,7 @@
 import org.apache.hadoop.hdds.utils.db.cache.CacheKey;
 import org.apache.hadoop.hdds.utils.db.cache.CacheResult;
 import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
-import org.apache.hadoop.hdds.utils.db.cache.FullTableCache;
+import org.apache.hadoop.hdds.utils.db.cache.LockFreeFullTableCache;
 import org.apache.hadoop.hdds.utils.db.cache.PartialTableCache;
 import org.apache.hadoop.hdds.utils.db.cache.TableCache.CacheType;
 import org.apache.hadoop.hdds.utils.db.cache.TableCache;
@@ -93,6 +95,26 @@ public TypedTable(RDBTable rawTable,
       CodecRegistry codecRegistry, Class<KEY> keyType,
       Class<VALUE> valueType,
       CacheType cacheType) throws IOException {
+    this(rawTable, codecRegistry, keyType, valueType, cacheType, null);
+  }
+
+  /**
+   * Create an TypedTable from the raw table with specified cache type and
+   * an index over the cached values.
+   *
+   * @param rawTable The underlying (untyped) table in RocksDB.
+   * @param codecRegistry To look up codecs.
+   * @param keyType The key type.
+   * @param valueType The value type.
+   * @param cacheType How to cache the entries?
+   * @param cacheIndexFunction Derives the attribute the cached values are
+   *                           indexed by, null for no index.
+   * @throws IOException if failed to iterate the raw table.
+   */
+  public TypedTable(RDBTable rawTable,
+      CodecRegistry codecRegistry, Class<KEY> keyType,
+      Class<VALUE> valueType, CacheType cacheType,
+      Function<VALUE, ?> cacheIndexFunction) throws IOException {
     this.rawTable = Objects.requireNonNull(rawTable, "rawTable==null");
     Objects.requireNonNull(codecRegistry, "codecRegistry == null");
 
@@ -108,7 +130,7 @@ public TypedTable(RDBTable rawTable,
         && valueCodec.supportCodecBuffer();
 
     if (cacheType == CacheType.FULL_CACHE) {
-      cache = new FullTableCache<>();
+      cache = new LockFreeFullTableCache<>(cacheIndexFunction);
       //fill cache
       try (TableIterator<KEY, ? extends KeyValue<KEY, VALUE>> tableIterator =
               iterator()) {
@@ -124,7 +146,7 @@ public TypedTable(RDBTable rawTable,
         }
       }
     } else {
-      cache = new PartialTableCache<>();
+      cache = new PartialTableCache<>(cacheIndexFunction);
     }
   }
 
@@ -229,6 +251,50 @@ public VALUE get(KEY key) throws IOException {
     }
   }
 
+  /**
+   * Get the values mapped to the given keys.
+   * <p>
+   * Similar to {@link #get(Object)}, the cache is checked first. The keys
+   * which are not found in the cache are looked up from the RocksDB table
+   * with a single multi-get.
+   *
+   * @param keys metadata keys
+   * @return the mapped values in the order of the keys, null for the keys
+   *         which are not found.
+   * @throws IOException in case is an error reading from the db.
+   */
+  @Override
+  public List<VALUE> multiGet(List<KEY> keys) throws IOException {
+    final List<VALUE> values = new ArrayList<>(keys.size());
+    // positions of the keys which are not in the cache.
+    final List<Integer> misses = new ArrayList<>();
+    for (KEY key : keys) {
+      final CacheResult<VALUE> cacheResult = cache.lookup(new CacheKey<>(key));
+      if (cacheResult.getCacheStatus() == EXISTS) {
+        values.add(valueCodec.copyObject(
+            cacheResult.getValue().getCacheValue()));
+      } else {
+        if (cacheResult.getCacheStatus() != NOT_EXIST) {
+          misses.add(values.size());
+        }
+        values.add(null);
+      }
+    }
+    if (misses.isEmpty()) {
+      return values;
+    }
+
+    final List<KEY> missedKeys = new ArrayList<>(misses.size());
+    for (int i : misses) {
+      missedKeys.add(keys.get(i));
+    }
+    final List<VALUE> fromTable = multiGetFromTable(missedKeys);
+    for (int j = 0; j < misses.size(); j++) {
+      values.set(misses.get(j), fromTable.get(j));
+    }
+    return values;
+  }
+
   /**
    * Skip checking cache and get the value mapped to the given key in byte
    * array or returns null if the key is not found.
@@ -372,6 +438,53 @@ private VALUE getFromTable(KEY key,
     }
   }
 
+  private List<VALUE> multiGetFromTable(List<KEY> keys) throws IOException {
+    final List<VALUE> values = new ArrayList<>(keys.size());
+    if (!supportCodecBuffer) {
+      final List<byte[]> keyBytes = new ArrayList<>(keys.size());
+      for (KEY key : keys) {
+        keyBytes.add(encodeKey(key));
+      }
+      for (byte[] valueBytes : rawTable.multiGet(keyBytes)) {
+        values.add(decodeValue(valueBytes));
+      }
+      return values;
+    }
+
+    final List<CodecBuffer> inKeys = new ArrayList<>(keys.size());
+    final List<CodecBuffer> outValues = new ArrayList<>(keys.size());
+    try {
+      final List<ByteBuffer> keyBuffers = new ArrayList<>(keys.size());
+      final int initial = -bufferCapacity.get(); // resizable
+      for (KEY key : keys) {
+        final CodecBuffer inKey = keyCodec.toDirectCodecBuffer(key);
+        inKeys.add(inKey);
+        keyBuffers.add(inKey.asReadOnlyByteBuffer());
+        outValues.add(CodecBuffer.allocateDirect(initial));
+      }
+      final List<Integer> sizes = CodecBuffer.putFromSource(outValues,
+          buffers -> rawTable.multiGet(keyBuffers, buffers));
+
+      for (int i = 0; i < keys.size(); i++) {
+        final Integer required = sizes.get(i);
+        if (required == null) {
+          // key not found
+          values.add(null);
+        } else if (required == outValues.get(i).readableBytes()) {
+          values.add(valueCodec.fromCodecBuffer(outValues.get(i)));
+        } else {
+          // buffer size too small, get this value separately.
+          bufferCapacity.increase(required);
+          values.add(getFromTable(keys.get(i)));
+        }
+      }
+      return values;
+    } finally {
+      inKeys.forEach(CodecBuffer::release);
+      outValues.forEach(CodecBuffer::release);
+    }
+  }
+
   private VALUE getFromTableIfExist(KEY key) throws IOException {
     if (supportCodecBuffer) {
       return getFromTable(key, this::getFromTableIfExist);
@@ -461,6 +574,16 @@ public Iterator<Map.Entry<CacheKey<KEY>, CacheValue<VALUE>>> cacheIterator() {
     return cache.iterator();
   }
 
+  @Override
+  public boolean hasCacheIndex() {
+    return cache.hasIndex();
+  }
+
+  @Override
+  public Set<CacheKey<KEY>> getCacheIndexedKeys(Object attribute) {
+    return cache.getIndexedKeys(attribute);
+  }
+
   @Override
   public TableCacheMetrics createCacheMetrics() {
     return TableCacheMetrics.create(cache, getName());
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hdds.utils.db.cache;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Secondary index of a table cache, which maps an attribute derived from the
+ * cached values to the keys of the entries having that attribute.
+ * <p>
+ * Only entries with a non-null value are indexed, entries marked for delete
+ * are not. The attribute an entry was indexed with is remembered, so that the
+ * entry can be removed from the index even if the value object has been
+ * modified in place after it was added to the cache.
+ * <p>
+ * {@link #update} must not be called concurrently for the same key, the
+ * caches call it while updating the entry of the key.
+ * @param <KEY>
+ * @param <VALUE>
+ */
+class CacheIndex<KEY, VALUE> {
+
+  private final Function<VALUE, ?> indexFunction;
+  private final Map<Object, Set<CacheKey<KEY>>> index =
+      new ConcurrentHashMap<>();
+  private final Map<CacheKey<KEY>, Object> indexedAttributes =
+      new ConcurrentHashMap<>();
+
+  CacheIndex(Function<VALUE, ?> indexFunction) {
+    this.indexFunction = Objects.requireNonNull(indexFunction,
+        "indexFunction == null");
+  }
+
+  /**
+   * Update the index for a cache entry.
+   * @param cacheKey key of the entry.
+   * @param cacheValue new value of the entry, null if the entry is removed
+   *                   from the cache.
+   */
+  void update(CacheKey<KEY> cacheKey, CacheValue<VALUE> cacheValue) {
+    final VALUE value = cacheValue == null ? null : cacheValue.getCacheValue();
+    final Object attribute = value == null ? null : indexFunction.apply(value);
+    final Object previous = attribute == null
+        ? indexedAttributes.remove(cacheKey)
+        : indexedAttributes.put(cacheKey, attribute);
+    if (Objects.equals(previous, attribute)) {
+      return;
+    }
+    if (previous != null) {
+      index.computeIfPresent(previous, (a, keys) -> {
+        keys.remove(cacheKey);
+        return keys.isEmpty() ? null : keys;
+      });
+    }
+    if (attribute != null) {
+      // compute instead of computeIfAbsent, so that adding cannot race with
+      // the removal of an empty key set above.
+      index.compute(attribute, (a, keys) -> {
+        Set<CacheKey<KEY>> result =
+            keys != null ? keys : ConcurrentHashMap.newKeySet();
+        result.add(cacheKey);
+        return result;
+      });
+    }
+  }
+
+  /**
+   * Return the keys of the entries indexed with the given attribute.
+   */
+  Set<CacheKey<KEY>> getKeys(Object attribute) {
+    Set<CacheKey<KEY>> keys = index.get(attribute);
+    return keys == null ? Collections.emptySet()
+        : Collections.unmodifiableSet(keys);
+  }
+
+  int size() {
+    return indexedAttributes.size();
+  }
+}
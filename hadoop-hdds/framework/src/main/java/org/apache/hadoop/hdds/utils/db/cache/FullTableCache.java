@@ -31,6 +31,7 @@
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
@@ -59,9 +60,19 @@
   private final ReadWriteLock lock;
 
   private final CacheStatsRecorder statsRecorder;
+  private final CacheIndex<KEY, VALUE> index;
 
 
   public FullTableCache() {
+    this(null);
+  }
+
+  /**
+   * Create a cache with a secondary index.
+   * @param indexFunction function deriving the index attribute from a value,
+   *                      null for no index.
+   */
+  public FullTableCache(Function<VALUE, ?> indexFunction) {
     // As for full table cache only we need elements to be inserted in sorted
     // manner, so that list will be easy. But look ups have log(N) time
     // complexity.
@@ -83,6 +94,7 @@ public FullTableCache() {
     executorService = Executors.newSingleThreadExecutor(build);
 
     statsRecorder = new CacheStatsRecorder();
+    index = indexFunction == null ? null : new CacheIndex<>(indexFunction);
   }
 
   @Override
@@ -104,6 +116,9 @@ public void loadInitial(CacheKey<KEY> key, CacheValue<VALUE> value) {
     // No need of acquiring lock, this is performed only during startup. No
     // operations happening at that time.
     cache.put(key, value);
+    if (index != null) {
+      index.update(key, value);
+    }
   }
 
   @Override
@@ -111,6 +126,9 @@ public void put(CacheKey<KEY> cacheKey, CacheValue<VALUE> value) {
     try {
       lock.writeLock().lock();
       cache.put(cacheKey, value);
+      if (index != null) {
+        index.update(cacheKey, value);
+      }
       epochEntries.computeIfAbsent(value.getEpoch(),
           v -> new CopyOnWriteArraySet<>()).add(cacheKey);
     } finally {
@@ -165,6 +183,9 @@ public void evictCache(List<Long> epochs) {
                   LOG.debug("CacheKey {} with epoch {} is removed from cache",
                       k.getCacheKey(), currentEpoch);
                 }
+                if (index != null) {
+                  index.update(k, null);
+                }
                 return null;
               }
               return v;
@@ -198,6 +219,19 @@ public CacheResult<VALUE> lookup(CacheKey<KEY> cachekey) {
     }
   }
 
+  @Override
+  public boolean hasIndex() {
+    return index != null;
+  }
+
+  @Override
+  public Set<CacheKey<KEY>> getIndexedKeys(Object attribute) {
+    if (index == null) {
+      throw new UnsupportedOperationException("Cache has no index");
+    }
+    return index.getKeys(attribute);
+  }
+
   @VisibleForTesting
   @Override
   public NavigableMap<Long, Set<CacheKey<KEY>>> getEpochEntries() {
@@ -0,0 +1,212 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.utils.db.cache;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Function;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.hadoop.hdds.annotation.InterfaceAudience.Private;
+import org.apache.hadoop.hdds.annotation.InterfaceStability.Evolving;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Full table cache, where the DB state and cache state will be same for these
+ * tables, which does not take any lock.
+ * <p>
+ * {@link FullTableCache} guards put and eviction with a write lock, and every
+ * get with a read lock, as eviction runs outside of the ozone level locks.
+ * Here eviction removes an entry marked for delete only if the key is still
+ * mapped to the very same {@link CacheValue} instance, which is an atomic
+ * operation of the underlying map. An entry which was overridden
+ * concurrently is therefore never removed, and reads do not need a lock.
+ * <p>
+ * As with {@link PartialTableCache}, it is caller responsibility to hold the
+ * ozone level locks while updating an entry.
+ * @param <KEY>
+ * @param <VALUE>
+ */
+@Private
+@Evolving
+public class LockFreeFullTableCache<KEY, VALUE>
+    implements TableCache<KEY, VALUE> {
+
+  public static final Logger LOG =
+      LoggerFactory.getLogger(LockFreeFullTableCache.class);
+
+  private final Map<CacheKey<KEY>, CacheValue<VALUE>> cache;
+  private final NavigableMap<Long, Set<CacheKey<KEY>>> epochEntries;
+  private final ExecutorService executorService;
+  private final CacheStatsRecorder statsRecorder;
+  private final CacheIndex<KEY, VALUE> index;
+
+  public LockFreeFullTableCache() {
+    this(null);
+  }
+
+  /**
+   * Create a cache with a secondary index.
+   * @param indexFunction function deriving the index attribute from a value,
+   *                      null for no index.
+   */
+  public LockFreeFullTableCache(Function<VALUE, ?> indexFunction) {
+    // Sorted, so that list operations can iterate the cache in key order.
+    cache = new ConcurrentSkipListMap<>();
+    epochEntries = new ConcurrentSkipListMap<>();
+
+    // Created a singleThreadExecutor, so one cleanup will be running at a
+    // time.
+    ThreadFactory build = new ThreadFactoryBuilder().setDaemon(true)
+        .setNameFormat("LockFreeFullTableCache Cleanup Thread - %d").build();
+    executorService = Executors.newSingleThreadExecutor(build);
+
+    statsRecorder = new CacheStatsRecorder();
+    index = indexFunction == null ? null : new CacheIndex<>(indexFunction);
+  }
+
+  @Override
+  public CacheValue<VALUE> get(CacheKey<KEY> cachekey) {
+    CacheValue<VALUE> cachevalue = cache.get(cachekey);
+    statsRecorder.recordValue(cachevalue);
+    return cachevalue;
+  }
+
+  @Override
+  public void loadInitial(CacheKey<KEY> key, CacheValue<VALUE> value) {
+    // No need to add entry to epochEntries. Adding to cache is required during
+    // normal put operation.
+    cache.put(key, value);
+    if (index != null) {
+      index.update(key, value);
+    }
+  }
+
+  @Override
+  public void put(CacheKey<KEY> cacheKey, CacheValue<VALUE> value) {
+    // Add to epochEntries first, so that a concurrent eviction of the epoch
+    // either sees the key or has already removed the epoch entry, in which
+    // case a new epoch entry is created here.
+    epochEntries.computeIfAbsent(value.getEpoch(),
+        v -> ConcurrentHashMap.newKeySet()).add(cacheKey);
+    cache.put(cacheKey, value);
+    if (index != null) {
+      index.update(cacheKey, value);
+    }
+  }
+
+  @Override
+  public void cleanup(List<Long> epochs) {
+    executorService.execute(() -> evictCache(epochs));
+  }
+
+  @Override
+  public int size() {
+    return cache.size();
+  }
+
+  @Override
+  public Iterator<Map.Entry<CacheKey<KEY>, CacheValue<VALUE>>> iterator() {
+    statsRecorder.recordIteration();
+    return cache.entrySet().iterator();
+  }
+
+  @VisibleForTesting
+  @Override
+  public void evictCache(List<Long> epochs) {
+    long lastEpoch = epochs.get(epochs.size() - 1);
+    for (long currentEpoch : epochEntries.keySet()) {
+      // If currentEntry epoch is greater than last epoch provided, we have
+      // deleted all entries less than specified epoch. So, we can break.
+      if (currentEpoch > lastEpoch) {
+        break;
+      }
+      if (!epochs.contains(currentEpoch)) {
+        continue;
+      }
+      // Remove epoch entry, as the entry is there in epoch list.
+      Set<CacheKey<KEY>> currentCacheKeys = epochEntries.remove(currentEpoch);
+      if (currentCacheKeys == null) {
+        continue;
+      }
+      for (CacheKey<KEY> cachekey : currentCacheKeys) {
+        CacheValue<VALUE> cachevalue = cache.get(cachekey);
+        // Only entries marked for delete are removed. The removal is
+        // conditional on the instance read above, an entry which is
+        // overridden in the meantime stays in the cache. Entries marked for
+        // delete are not indexed, so the index needs no update.
+        if (cachevalue != null && cachevalue.getCacheValue() == null
+            && cachevalue.getEpoch() == currentEpoch
+            && cache.remove(cachekey, cachevalue)) {
+          if (LOG.isDebugEnabled()) {
+            LOG.debug("CacheKey {} with epoch {} is removed from cache",
+                cachekey.getCacheKey(), currentEpoch);
+          }
+        }
+      }
+    }
+  }
+
+  @Override
+  public CacheResult<VALUE> lookup(CacheKey<KEY> cachekey) {
+    CacheValue<VALUE> cachevalue = cache.get(cachekey);
+    statsRecorder.recordValue(cachevalue);
+    if (cachevalue == null || cachevalue.getCacheValue() == null) {
+      // When entity is marked for delete, cacheValue will be set to null.
+      // In that case we can return NOT_EXIST irrespective of cache cleanup
+      // policy.
+      return new CacheResult<>(CacheResult.CacheStatus.NOT_EXIST, null);
+    }
+    return new CacheResult<>(CacheResult.CacheStatus.EXISTS, cachevalue);
+  }
+
+  @Override
+  public boolean hasIndex() {
+    return index != null;
+  }
+
+  @Override
+  public Set<CacheKey<KEY>> getIndexedKeys(Object attribute) {
+    if (index == null) {
+      throw new UnsupportedOperationException("Cache has no index");
+    }
+    return index.getKeys(attribute);
+  }
+
+  @VisibleForTesting
+  @Override
+  public NavigableMap<Long, Set<CacheKey<KEY>>> getEpochEntries() {
+    return epochEntries;
+  }
+
+  @Override
+  public CacheStats getStats() {
+    return statsRecorder.snapshot();
+  }
+}
@@ -30,6 +30,7 @@
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
+import java.util.function.Function;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
@@ -56,9 +57,19 @@
   private final NavigableMap<Long, Set<CacheKey<KEY>>> epochEntries;
   private final ExecutorService executorService;
   private final CacheStatsRecorder statsRecorder;
+  private final CacheIndex<KEY, VALUE> index;
 
 
   public PartialTableCache() {
+    this(null);
+  }
+
+  /**
+   * Create a cache with a secondary index.
+   * @param indexFunction function deriving the index attribute from a value,
+   *                      null for no index.
+   */
+  public PartialTableCache(Function<VALUE, ?> indexFunction) {
     // We use concurrent Hash map for O(1) lookup for get API.
     // During list operation for partial cache we anyway merge between DB and
     // cache state. So entries in cache does not need to be in sorted order.
@@ -82,6 +93,7 @@ public PartialTableCache() {
     executorService = Executors.newSingleThreadExecutor(build);
 
     statsRecorder = new CacheStatsRecorder();
+    index = indexFunction == null ? null : new CacheIndex<>(indexFunction);
   }
 
   @Override
@@ -98,7 +110,16 @@ public void loadInitial(CacheKey<KEY> key, CacheValue<VALUE> value) {
 
   @Override
   public void put(CacheKey<KEY> cacheKey, CacheValue<VALUE> value) {
-    cache.put(cacheKey, value);
+    if (index == null) {
+      cache.put(cacheKey, value);
+    } else {
+      // Update the index while holding the entry, so that it is consistent
+      // with a concurrent eviction of the same key.
+      cache.compute(cacheKey, (k, v) -> {
+        index.update(k, value);
+        return value;
+      });
+    }
     epochEntries.computeIfAbsent(value.getEpoch(), v -> new HashSet<>())
             .add(cacheKey);
   }
@@ -147,6 +168,9 @@ public void evictCache(List<Long> epochs) {
                 LOG.debug("CacheKey {} with epoch {} is removed from cache",
                         k.getCacheKey(), currentEpoch);
               }
+              if (index != null) {
+                index.update(k, null);
+              }
               return null;
             }
             return v;
@@ -176,6 +200,19 @@ public CacheResult<VALUE> lookup(CacheKey<KEY> cachekey) {
     }
   }
 
+  @Override
+  public boolean hasIndex() {
+    return index != null;
+  }
+
+  @Override
+  public Set<CacheKey<KEY>> getIndexedKeys(Object attribute) {
+    if (index == null) {
+      throw new UnsupportedOperationException("Cache has no index");
+    }
+    return index.getKeys(attribute);
+  }
+
   @VisibleForTesting
   @Override
   public NavigableMap<Long, Set<CacheKey<KEY>>> getEpochEntries() {
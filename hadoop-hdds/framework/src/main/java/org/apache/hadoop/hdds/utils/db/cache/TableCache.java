@@ -97,6 +97,21 @@
    */
   CacheResult<VALUE> lookup(CacheKey<KEY> cachekey);
 
+  /**
+   * Return whether the cache has a secondary index, see
+   * {@link #getIndexedKeys}.
+   */
+  boolean hasIndex();
+
+  /**
+   * Return the keys of the entries which are not marked for delete and whose
+   * value maps to the given attribute in the secondary index of the cache.
+   * The returned set is a live view of the index.
+   *
+   * @throws UnsupportedOperationException if the cache has no index.
+   */
+  Set<CacheKey<KEY>> getIndexedKeys(Object attribute);
+
   @VisibleForTesting
   NavigableMap<Long, Set<CacheKey<KEY>>> getEpochEntries();
 
@@ -392,6 +392,56 @@ public void testCountEstimatedRowsInTable() throws Exception {
     }
   }
 
+  @Test
+  public void testMultiGet() throws Exception {
+    try (Table<String, String> testTable = createTypedTable("Eighth")) {
+      // Larger than the initial value buffer of the multi-get.
+      String largeValue = RandomStringUtils.randomAlphanumeric(10_000);
+      testTable.put("db", "dbValue");
+      testTable.put("large", largeValue);
+      testTable.put("deleted", "deletedValue");
+      testTable.addCacheEntry(new CacheKey<>("cached"),
+          CacheValue.get(1L, "cachedValue"));
+      testTable.addCacheEntry(new CacheKey<>("deleted"),
+          CacheValue.get(1L));
+
+      RDBMetrics metrics = rdbStore.getMetrics();
+      long multiGets = metrics.getNumDBKeyMultiGets();
+      long multiGetKeys = metrics.getNumDBKeyMultiGetKeys();
+
+      List<String> keys =
+          Arrays.asList("db", "cached", "missing", "deleted", "large");
+      Assertions.assertEquals(
+          Arrays.asList("dbValue", "cachedValue", null, null, largeValue),
+          testTable.multiGet(keys));
+      // Only the keys not in the cache are read from the DB, in one batch.
+      Assertions.assertEquals(multiGets + 1, metrics.getNumDBKeyMultiGets());
+      Assertions.assertEquals(multiGetKeys + 3,
+          metrics.getNumDBKeyMultiGetKeys());
+
+      // A second multi-get reuses the value buffer size learned above.
+      Assertions.assertEquals(Arrays.asList(largeValue, "dbValue"),
+          testTable.multiGet(Arrays.asList("large", "db")));
+      Assertions.assertTrue(testTable.multiGet(new ArrayList<>()).isEmpty());
+    }
+  }
+
+  @Test
+  public void testByteArrayMultiGet() throws Exception {
+    try (Table<byte[], byte[]> testTable = new TypedTable<>(
+        rdbStore.getTable("Ninth"), codecRegistry,
+        byte[].class, byte[].class)) {
+      byte[] key = new byte[] {1, 2, 3};
+      byte[] value = new byte[] {4, 5, 6};
+      testTable.put(key, value);
+      List<byte[]> values =
+          testTable.multiGet(Arrays.asList(key, new byte[] {7}));
+      Assertions.assertEquals(2, values.size());
+      Assertions.assertArrayEquals(value, values.get(0));
+      Assertions.assertNull(values.get(1));
+    }
+  }
+
   @Test
   public void testByteArrayTypedTable() throws Exception {
     try (Table<byte[], byte[]> testTable = new TypedTable<>(
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.hadoop.hdds.utils.db.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import org.apache.ozone.test.GenericTestUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.event.Level;
+
+/**
+ * Runs the {@link TestTableCache} tests against
+ * {@link LockFreeFullTableCache}.
+ */
+public class TestLockFreeFullTableCache extends TestTableCache {
+
+  @BeforeAll
+  public static void setLockFreeLogLevel() {
+    GenericTestUtils.setLogLevel(LockFreeFullTableCache.LOG, Level.DEBUG);
+  }
+
+  @Override
+  protected TableCache<String, String> newFullTableCache(
+      Function<String, ?> indexFunction) {
+    return new LockFreeFullTableCache<>(indexFunction);
+  }
+
+  @Test
+  public void testEvictDoesNotRemoveOverriddenEntry() throws Exception {
+    final TableCache<String, String> cache = newFullTableCache(null);
+    final int count = 1000;
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      for (int i = 0; i < count; i++) {
+        cache.put(new CacheKey<>("k" + i), CacheValue.get(i));
+      }
+      // Evict the deletes, while the keys are created again.
+      List<Future<?>> evictions = new ArrayList<>();
+      for (int i = 0; i < count; i++) {
+        final long epoch = i;
+        evictions.add(executor.submit(
+            () -> cache.evictCache(Collections.singletonList(epoch))));
+        cache.put(new CacheKey<>("k" + i), CacheValue.get(count + i, "v"));
+      }
+      for (Future<?> eviction : evictions) {
+        eviction.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    for (int i = 0; i < count; i++) {
+      CacheValue<String> value = cache.get(new CacheKey<>("k" + i));
+      Assertions.assertNotNull(value);
+      Assertions.assertEquals("v", value.getCacheValue());
+    }
+  }
+}
@@ -20,8 +20,12 @@
 package org.apache.hadoop.hdds.utils.db.cache;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 import org.apache.ozone.test.GenericTestUtils;
 import org.junit.jupiter.api.Assertions;
@@ -45,12 +49,20 @@ public static void setLogLevel() {
 
   private void createTableCache(TableCache.CacheType cacheType) {
     if (cacheType == TableCache.CacheType.FULL_CACHE) {
-      tableCache = new FullTableCache<>();
+      tableCache = newFullTableCache(null);
     } else {
       tableCache = new PartialTableCache<>();
     }
   }
 
+  /**
+   * Create the full table cache implementation under test.
+   */
+  protected TableCache<String, String> newFullTableCache(
+      Function<String, ?> indexFunction) {
+    return new FullTableCache<>(indexFunction);
+  }
+
   @ParameterizedTest
   @EnumSource(TableCache.CacheType.class)
   public void testPartialTableCache(TableCache.CacheType cacheType) {
@@ -563,6 +575,58 @@ public void testTableCacheStats(TableCache.CacheType cacheType) {
     verifyStats(tableCache, 3, 2, 2);
   }
 
+  @ParameterizedTest
+  @EnumSource(TableCache.CacheType.class)
+  public void testTableCacheIndex(TableCache.CacheType cacheType) {
+    // Index the values by their first character.
+    final TableCache<String, String> cache =
+        cacheType == TableCache.CacheType.FULL_CACHE
+            ? newFullTableCache(v -> v.substring(0, 1))
+            : new PartialTableCache<>(v -> v.substring(0, 1));
+    Assertions.assertTrue(cache.hasIndex());
+
+    cache.put(new CacheKey<>("k1"), CacheValue.get(1, "a1"));
+    cache.put(new CacheKey<>("k2"), CacheValue.get(1, "a2"));
+    cache.put(new CacheKey<>("k3"), CacheValue.get(2, "b3"));
+    Assertions.assertEquals(keys("k1", "k2"), cache.getIndexedKeys("a"));
+    Assertions.assertEquals(keys("k3"), cache.getIndexedKeys("b"));
+    Assertions.assertEquals(keys(), cache.getIndexedKeys("c"));
+
+    // Overriding an entry moves it in the index, deleting removes it.
+    cache.put(new CacheKey<>("k2"), CacheValue.get(3, "b2"));
+    cache.put(new CacheKey<>("k3"), CacheValue.get(3));
+    Assertions.assertEquals(keys("k1"), cache.getIndexedKeys("a"));
+    Assertions.assertEquals(keys("k2"), cache.getIndexedKeys("b"));
+
+    // Evicting epoch 1 must not remove k2, which has been overridden in
+    // epoch 3.
+    cache.evictCache(Arrays.asList(1L, 2L));
+    if (cacheType == TableCache.CacheType.FULL_CACHE) {
+      Assertions.assertEquals(keys("k1"), cache.getIndexedKeys("a"));
+    } else {
+      Assertions.assertEquals(keys(), cache.getIndexedKeys("a"));
+    }
+    Assertions.assertEquals(keys("k2"), cache.getIndexedKeys("b"));
+
+    cache.evictCache(Collections.singletonList(3L));
+    if (cacheType == TableCache.CacheType.FULL_CACHE) {
+      Assertions.assertEquals(keys("k2"), cache.getIndexedKeys("b"));
+    } else {
+      Assertions.assertEquals(keys(), cache.getIndexedKeys("b"));
+    }
+    Assertions.assertFalse(new PartialTableCache<String, String>().hasIndex());
+    Assertions.assertThrows(UnsupportedOperationException.class,
+        () -> new PartialTableCache<String, String>().getIndexedKeys("a"));
+  }
+
+  private static HashSet<CacheKey<String>> keys(String... keys) {
+    HashSet<CacheKey<String>> result = new HashSet<>();
+    for (String key : keys) {
+      result.add(new CacheKey<>(key));
+    }
+    return result;
+  }
+
   private int writeToCache(int count, int startVal, long sleep)
       throws InterruptedException {
     int counter = 1;
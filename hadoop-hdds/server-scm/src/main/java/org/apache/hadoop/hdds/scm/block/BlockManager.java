@@ -46,6 +46,23 @@ AllocatedBlock allocateBlock(long size, ReplicationConfig replicationConfig,
       String owner,
       ExcludeList excludeList) throws IOException, TimeoutException;
 
+  /**
+   * Allocates a number of blocks for a given size at once. The containers
+   * of the blocks are selected in one pass, and the local IDs of the blocks
+   * are reserved as one range.
+   * @param size - Block Size
+   * @param num - Number of blocks
+   * @param replicationConfig configuration of the replication method
+   * @param excludeList List of datanodes/containers to exclude during block
+   *                    allocation.
+   * @return the blocks allocated, fewer than requested if some of them
+   *         could not be allocated.
+   * @throws IOException
+   */
+  List<AllocatedBlock> allocateBlocks(long size, int num,
+      ReplicationConfig replicationConfig, String owner,
+      ExcludeList excludeList) throws IOException, TimeoutException;
+
   /**
    * Deletes a list of blocks in an atomic operation. Internally, SCM
    * writes these blocks into a {@link DeletedBlockLog} and deletes them
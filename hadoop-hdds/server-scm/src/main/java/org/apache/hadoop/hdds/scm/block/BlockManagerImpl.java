@@ -20,6 +20,7 @@
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -36,6 +37,7 @@
 import org.apache.hadoop.hdds.scm.exceptions.SCMException;
 import org.apache.hadoop.hdds.scm.ha.SequenceIdGenerator;
 import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
+import org.apache.hadoop.hdds.scm.pipeline.PipelineID;
 import org.apache.hadoop.hdds.scm.pipeline.PipelineManager;
 import org.apache.hadoop.hdds.scm.pipeline.PipelineNotFoundException;
 import org.apache.hadoop.hdds.scm.pipeline.WritableContainerFactory;
@@ -148,8 +150,18 @@ public AllocatedBlock allocateBlock(final long size,
       ReplicationConfig replicationConfig,
       String owner, ExcludeList excludeList)
       throws IOException {
+    List<AllocatedBlock> blocks =
+        allocateBlocks(size, 1, replicationConfig, owner, excludeList);
+    return blocks.isEmpty() ? null : blocks.get(0);
+  }
+
+  @Override
+  public List<AllocatedBlock> allocateBlocks(final long size, final int num,
+      ReplicationConfig replicationConfig, String owner,
+      ExcludeList excludeList) throws IOException {
     if (LOG.isTraceEnabled()) {
-      LOG.trace("Size : {} , replicationConfig: {}", size, replicationConfig);
+      LOG.trace("Size : {} , num : {}, replicationConfig: {}",
+          size, num, replicationConfig);
     }
     if (scm.getScmContext().isInSafeMode()) {
       throw new SCMException("SafeModePrecheck failed for allocateBlock",
@@ -161,46 +173,75 @@ public AllocatedBlock allocateBlock(final long size,
           INVALID_BLOCK_SIZE);
     }
 
-    ContainerInfo containerInfo = writableContainerFactory.getContainer(
-        size, replicationConfig, owner, excludeList);
+    List<ContainerInfo> containers = writableContainerFactory.getContainers(
+        size, num, replicationConfig, owner, excludeList);
+    List<Pipeline> pipelines = getPipelines(containers);
+    List<AllocatedBlock> blocks = new ArrayList<>(containers.size());
+    if (!containers.isEmpty()) {
+      long localID = sequenceIdGen.getNextIds(LOCAL_ID, containers.size());
+      for (int i = 0; i < containers.size(); i++) {
+        blocks.add(newBlock(containers.get(i), pipelines.get(i), localID++));
+      }
+    }
+    if (blocks.size() < num) {
+      // we have tried all strategies we know and but somehow we are not able
+      // to get a container for these blocks. Log that info and return the
+      // blocks allocated.
+      LOG.error("Unable to allocate {} of {} blocks for the size: {}, " +
+          "replicationConfig: {}", num - blocks.size(), num, size,
+          replicationConfig);
+    }
+    return blocks;
+  }
 
-    if (containerInfo != null) {
-      return newBlock(containerInfo);
+  /**
+   * Looks up the pipelines of the containers, and removes the containers
+   * whose pipeline is not found.
+   *
+   * @return the pipeline of each remaining container.
+   */
+  private List<Pipeline> getPipelines(List<ContainerInfo> containers) {
+    List<Pipeline> pipelines = new ArrayList<>(containers.size());
+    Map<PipelineID, Pipeline> found = new HashMap<>();
+    Iterator<ContainerInfo> i = containers.iterator();
+    while (i.hasNext()) {
+      PipelineID pipelineID = i.next().getPipelineID();
+      Pipeline pipeline = found.get(pipelineID);
+      if (pipeline == null) {
+        try {
+          pipeline = pipelineManager.getPipeline(pipelineID);
+          found.put(pipelineID, pipeline);
+        } catch (PipelineNotFoundException ex) {
+          LOG.error("Pipeline Machine count is zero.", ex);
+          i.remove();
+          continue;
+        }
+      }
+      pipelines.add(pipeline);
     }
-    // we have tried all strategies we know and but somehow we are not able
-    // to get a container for this block. Log that info and return a null.
-    LOG.error(
-        "Unable to allocate a block for the size: {}, replicationConfig: {}",
-        size, replicationConfig);
-    return null;
+    return pipelines;
   }
 
   /**
    * newBlock - returns a new block assigned to a container.
    *
    * @param containerInfo - Container Info.
+   * @param pipeline - Pipeline of the container.
+   * @param localID - Local ID reserved for the block.
    * @return AllocatedBlock
    */
-  private AllocatedBlock newBlock(ContainerInfo containerInfo)
-      throws SCMException {
-    try {
-      final Pipeline pipeline = pipelineManager
-          .getPipeline(containerInfo.getPipelineID());
-      long localID = sequenceIdGen.getNextId(LOCAL_ID);
-      long containerID = containerInfo.getContainerID();
-      AllocatedBlock.Builder abb =  new AllocatedBlock.Builder()
-          .setContainerBlockID(new ContainerBlockID(containerID, localID))
-          .setPipeline(pipeline);
-      if (LOG.isTraceEnabled()) {
-        LOG.trace("New block allocated : {} Container ID: {}", localID,
-            containerID);
-      }
-      pipelineManager.incNumBlocksAllocatedMetric(pipeline.getId());
-      return abb.build();
-    } catch (PipelineNotFoundException ex) {
-      LOG.error("Pipeline Machine count is zero.", ex);
-      return null;
+  private AllocatedBlock newBlock(ContainerInfo containerInfo,
+      Pipeline pipeline, long localID) {
+    long containerID = containerInfo.getContainerID();
+    AllocatedBlock.Builder abb =  new AllocatedBlock.Builder()
+        .setContainerBlockID(new ContainerBlockID(containerID, localID))
+        .setPipeline(pipeline);
+    if (LOG.isTraceEnabled()) {
+      LOG.trace("New block allocated : {} Container ID: {}", localID,
+          containerID);
     }
+    pipelineManager.incNumBlocksAllocatedMetric(pipeline.getId());
+    return abb.build();
   }
 
   /**
@@ -41,9 +41,9 @@
 public interface DeletedBlockLog extends Closeable {
 
   /**
-   * Scan entire log once and returns TXs to DatanodeDeletedBlockTransactions.
-   * Once DatanodeDeletedBlockTransactions is full, the scan behavior will
-   * stop.
+   * Scan the log for new TXs and returns the pending TXs for the given
+   * datanodes to DatanodeDeletedBlockTransactions. Once
+   * DatanodeDeletedBlockTransactions is full, the scan behavior will stop.
    *
    * @param blockDeletionLimit Maximum number of blocks to fetch
    * @param dnList healthy dn list
@@ -18,7 +18,10 @@
 package org.apache.hadoop.hdds.scm.block;
 
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.UUID;
 import java.util.Set;
@@ -51,6 +54,7 @@
 import org.apache.hadoop.hdds.server.events.EventPublisher;
 import org.apache.hadoop.hdds.utils.db.Table;
 import org.apache.hadoop.hdds.utils.db.TableIterator;
+import org.apache.hadoop.util.Time;
 
 import com.google.common.collect.Lists;
 import static java.lang.Math.min;
@@ -64,12 +68,12 @@
 /**
  * A implement class of {@link DeletedBlockLog}, and it uses
  * K/V db to maintain block deletion transactions between scm and datanode.
- * This is a very basic implementation, it simply scans the log and
- * memorize the position that scanned by last time, and uses this to
- * determine where the next scan starts. It has no notion about weight
- * of each transaction so as long as transaction is still valid, they get
- * equally same chance to be retrieved which only depends on the nature
- * order of the transaction ID.
+ * Each scan reads the log from the position scanned by last time, and adds
+ * the new transactions to a {@link DeletedBlockTransactionIndex} by the
+ * datanodes they have to be sent to. The transactions for the datanodes
+ * are then retrieved from the index, in the order of the transaction ID,
+ * taking one transaction per datanode in turn. So a scan does not read the
+ * transactions scanned before again, however many are pending.
  */
 public class DeletedBlockLogImpl
     implements DeletedBlockLog, EventHandler<DeleteBlockStatus> {
@@ -90,6 +94,11 @@
   private final SCMContext scmContext;
   private final SequenceIdGenerator sequenceIdGen;
   private final ScmBlockDeletingServiceMetrics metrics;
+  // Pending transactions, guarded by the lock.
+  private final DeletedBlockTransactionIndex transactionIndex =
+      new DeletedBlockTransactionIndex();
+  // Whether the index has to be built again from the whole log.
+  private volatile boolean rebuildIndex;
 
   private static final int LIST_ALL_FAILED_TRANSACTIONS = -1;
 
@@ -178,6 +187,7 @@ public void incrementCount(List<Long> txIDs)
           currentCount += 1;
           if (currentCount > maxRetry) {
             txIDsToUpdate.add(txID);
+            transactionIndex.remove(txID);
           }
           transactionToRetryCountMap.put(txID, currentCount);
         }
@@ -208,8 +218,21 @@ public int resetCount(List<Long> txIDs) throws IOException {
       for (Long txID: txIDs) {
         transactionToRetryCountMap.computeIfPresent(txID, (key, value) -> 0);
       }
-      return deletedBlockLogStateManager.resetRetryCountOfTransactionInDB(
-          new ArrayList<>(new HashSet<>(txIDs)));
+      final Set<Long> resetTxIDs = new HashSet<>(txIDs);
+      final List<DeletedBlocksTransaction> failedTXs =
+          getFailedTransactions(LIST_ALL_FAILED_TRANSACTIONS, 0);
+      final int count =
+          deletedBlockLogStateManager.resetRetryCountOfTransactionInDB(
+              new ArrayList<>(resetTxIDs));
+      // The transactions are pending again, add them back to the index.
+      final long now = Time.monotonicNow();
+      for (DeletedBlocksTransaction tx : failedTXs) {
+        if (resetTxIDs.contains(tx.getTxID())) {
+          transactionIndex.add(tx.getTxID(), tx.getContainerID(),
+              tx.getLocalIDCount(), now);
+        }
+      }
+      return count;
     } finally {
       lock.unlock();
     }
@@ -265,6 +288,7 @@ public void commitTransactions(
           }
 
           dnsWithCommittedTxn.add(dnID);
+          transactionIndex.removeDatanode(txID, dnID);
           final ContainerInfo container =
               containerManager.getContainer(containerId);
           final Set<ContainerReplica> replicas =
@@ -281,6 +305,7 @@ public void commitTransactions(
             if (dnsWithCommittedTxn.containsAll(containerDns)) {
               transactionToDNsCommitMap.remove(txID);
               transactionToRetryCountMap.remove(txID);
+              transactionIndex.remove(txID);
               if (LOG.isDebugEnabled()) {
                 LOG.debug("Purging txId={} from block deletion log", txID);
               }
@@ -350,6 +375,7 @@ public void reinitialize(
     // deletedBlockLogStateManager, since they will be cleared
     // when becoming leader.
     deletedBlockLogStateManager.reinitialize(deletedTable);
+    rebuildIndex = true;
   }
 
   /**
@@ -359,6 +385,7 @@ public void reinitialize(
   public void onBecomeLeader() {
     transactionToDNsCommitMap.clear();
     transactionToRetryCountMap.clear();
+    rebuildIndex = true;
   }
 
   /**
@@ -400,85 +427,224 @@ public void addTransactions(Map<Long, List<Long>> containerBlocksMap)
   public void close() throws IOException {
   }
 
-  private void getTransaction(
-      DeletedBlocksTransaction tx,
-      DatanodeDeletedBlockTransactions transactions,
-      Set<DatanodeDetails> dnList) {
+  @Override
+  public DatanodeDeletedBlockTransactions getTransactions(
+      int blockDeletionLimit, Set<DatanodeDetails> dnList)
+      throws IOException {
+    lock.lock();
     try {
-      DeletedBlocksTransaction updatedTxn = DeletedBlocksTransaction
-          .newBuilder(tx)
-          .setCount(transactionToRetryCountMap.getOrDefault(tx.getTxID(), 0))
-          .build();
-      Set<ContainerReplica> replicas = containerManager
-          .getContainerReplicas(
-              ContainerID.valueOf(updatedTxn.getContainerID()));
-      for (ContainerReplica replica : replicas) {
-        UUID dnID = replica.getDatanodeDetails().getUuid();
-        if (!dnList.contains(replica.getDatanodeDetails())) {
-          continue;
-        }
-        Set<UUID> dnsWithTransactionCommitted =
-            transactionToDNsCommitMap.get(updatedTxn.getTxID());
-        if (dnsWithTransactionCommitted == null || !dnsWithTransactionCommitted
-            .contains(dnID)) {
-          // Transaction need not be sent to dns which have
-          // already committed it
-          transactions.addTransactionToDN(dnID, updatedTxn);
+      if (rebuildIndex) {
+        rebuildIndex = false;
+        transactionIndex.clear();
+      }
+      final long now = Time.monotonicNow();
+      final ArrayList<Long> txIDsToRemove = new ArrayList<>();
+      scanNewTransactions(now, txIDsToRemove);
+      for (Long txID : transactionIndex.getUnassigned()) {
+        assignTransaction(transactionIndex.get(txID), txIDsToRemove);
+      }
+      // The replicas may have moved to datanodes which are not assigned.
+      for (DeletedBlockTransactionIndex.Entry entry :
+          transactionIndex.nextToRefresh(blockDeletionLimit)) {
+        if (transactionIndex.get(entry.getTxID()) != null) {
+          assignTransaction(entry, txIDsToRemove);
         }
       }
-    } catch (IOException e) {
-      LOG.warn("Got container info error.", e);
+      final DatanodeDeletedBlockTransactions transactions =
+          selectTransactions(blockDeletionLimit, dnList, txIDsToRemove);
+      if (!txIDsToRemove.isEmpty()) {
+        deletedBlockLogStateManager.removeTransactionsFromDB(txIDsToRemove);
+        metrics.incrBlockDeletionTransactionCompleted(txIDsToRemove.size());
+      }
+      final long oldest = transactionIndex.getOldestIndexTime();
+      metrics.setNumBlockDeletionTransactionPending(transactionIndex.size());
+      metrics.setNumBlockDeletionTransactionUnassigned(
+          transactionIndex.getUnassignedCount());
+      metrics.setBlockDeletionTransactionMaxTimeSinceIndexed(
+          oldest < 0 ? 0 : now - oldest);
+      return transactions;
+    } finally {
+      lock.unlock();
     }
   }
 
-  @Override
-  public DatanodeDeletedBlockTransactions getTransactions(
-      int blockDeletionLimit, Set<DatanodeDetails> dnList)
+  /**
+   * Adds the transactions after the scan cursor to the index, or all of
+   * them if the index is empty.
+   */
+  private void scanNewTransactions(long now, List<Long> txIDsToRemove)
       throws IOException {
-    lock.lock();
+    final Long cursor = transactionIndex.getScanCursor();
+    int scanned = 0;
+    try (TableIterator<Long,
+        ? extends Table.KeyValue<Long, DeletedBlocksTransaction>> iter =
+             deletedBlockLogStateManager.getReadOnlyIterator()) {
+      if (cursor != null) {
+        iter.seek(cursor + 1);
+      }
+      while (iter.hasNext()) {
+        final DeletedBlocksTransaction txn = iter.next().getValue();
+        transactionIndex.setScanCursor(txn.getTxID());
+        scanned++;
+        if (txn.getCount() > -1 && txn.getCount() <= maxRetry) {
+          transactionIndex.add(txn.getTxID(), txn.getContainerID(),
+              txn.getLocalIDCount(), now);
+        } else if (getLiveContainer(txn.getTxID(),
+            txn.getContainerID()) == null) {
+          txIDsToRemove.add(txn.getTxID());
+        }
+      }
+    }
+    metrics.incrBlockDeletionTransactionScanned(scanned);
+  }
+
+  /**
+   * @return the container of the transaction, or null if the container is
+   * deleted and so the transaction can be removed.
+   */
+  private ContainerInfo getLiveContainer(long txID, long containerID) {
+    final ContainerID id = ContainerID.valueOf(containerID);
     try {
-      DatanodeDeletedBlockTransactions transactions =
-          new DatanodeDeletedBlockTransactions();
-      try (TableIterator<Long,
-          ? extends Table.KeyValue<Long, DeletedBlocksTransaction>> iter =
-               deletedBlockLogStateManager.getReadOnlyIterator()) {
-        ArrayList<Long> txIDs = new ArrayList<>();
-        // Here takes block replica count as the threshold to avoid the case
-        // that part of replicas committed the TXN and recorded in the
-        // transactionToDNsCommitMap, while they are counted in the threshold.
-        while (iter.hasNext() &&
-            transactions.getBlocksDeleted() < blockDeletionLimit) {
-          Table.KeyValue<Long, DeletedBlocksTransaction> keyValue = iter.next();
-          DeletedBlocksTransaction txn = keyValue.getValue();
-          final ContainerID id = ContainerID.valueOf(txn.getContainerID());
-          try {
-            // HDDS-7126. When container is under replicated, it is possible
-            // that container is deleted, but transactions are not deleted.
-            if (containerManager.getContainer(id).isDeleted()) {
-              LOG.warn("Container: " + id + " was deleted for the " +
-                  "transaction: " + txn);
-              txIDs.add(txn.getTxID());
-            } else if (txn.getCount() > -1 && txn.getCount() <= maxRetry
-                && !containerManager.getContainer(id).isOpen()) {
-              getTransaction(txn, transactions, dnList);
-              transactionToDNsCommitMap
-                  .putIfAbsent(txn.getTxID(), new LinkedHashSet<>());
-            }
-          } catch (ContainerNotFoundException ex) {
-            LOG.warn("Container: " + id + " was not found for the transaction: "
-                + txn);
-            txIDs.add(txn.getTxID());
+      final ContainerInfo container = containerManager.getContainer(id);
+      // HDDS-7126. When container is under replicated, it is possible
+      // that container is deleted, but transactions are not deleted.
+      if (container.isDeleted()) {
+        LOG.warn("Container: " + id + " was deleted for the " +
+            "transaction: " + txID);
+        return null;
+      }
+      return container;
+    } catch (ContainerNotFoundException ex) {
+      LOG.warn("Container: " + id + " was not found for the transaction: "
+          + txID);
+      return null;
+    }
+  }
+
+  /**
+   * Assigns the transaction to the replicas of its container which have not
+   * committed it yet, if the container is closed.
+   *
+   * @return false if the container is deleted, so the transaction is removed
+   * from the index and added to the given list.
+   */
+  private boolean assignTransaction(DeletedBlockTransactionIndex.Entry entry,
+      List<Long> txIDsToRemove) {
+    final long txID = entry.getTxID();
+    final ContainerInfo container =
+        getLiveContainer(txID, entry.getContainerID());
+    if (container == null) {
+      transactionIndex.remove(txID);
+      txIDsToRemove.add(txID);
+      return false;
+    }
+    final List<UUID> dns = new ArrayList<>();
+    if (!container.isOpen()) {
+      try {
+        final Set<UUID> dnsWithTransactionCommitted =
+            transactionToDNsCommitMap.get(txID);
+        for (ContainerReplica replica : containerManager
+            .getContainerReplicas(container.containerID())) {
+          final UUID dnID = replica.getDatanodeDetails().getUuid();
+          // Transaction need not be sent to dns which have
+          // already committed it
+          if (dnsWithTransactionCommitted == null
+              || !dnsWithTransactionCommitted.contains(dnID)) {
+            dns.add(dnID);
           }
         }
-        if (!txIDs.isEmpty()) {
-          deletedBlockLogStateManager.removeTransactionsFromDB(txIDs);
-          metrics.incrBlockDeletionTransactionCompleted(txIDs.size());
+      } catch (IOException e) {
+        LOG.warn("Got container info error.", e);
+      }
+    }
+    transactionIndex.assign(txID, dns);
+    return true;
+  }
+
+  /**
+   * Takes the transactions for the given datanodes from the index, one
+   * transaction per datanode in turn, until the limit is reached.
+   */
+  private DatanodeDeletedBlockTransactions selectTransactions(
+      int blockDeletionLimit, Set<DatanodeDetails> dnList,
+      List<Long> txIDsToRemove) throws IOException {
+    final DatanodeDeletedBlockTransactions transactions =
+        new DatanodeDeletedBlockTransactions();
+    // The last transaction taken for each datanode with more to take.
+    final Map<UUID, Long> lastTxIDs = new LinkedHashMap<>();
+    for (DatanodeDetails dn : dnList) {
+      if (transactionIndex.hasTransactions(dn.getUuid())) {
+        lastTxIDs.put(dn.getUuid(), null);
+      }
+    }
+    // The transactions read in this scan, null if they cannot be sent.
+    final Map<Long, DeletedBlocksTransaction> readTXs = new HashMap<>();
+    // Here takes block replica count as the threshold to avoid the case
+    // that part of replicas committed the TXN and recorded in the
+    // transactionToDNsCommitMap, while they are counted in the threshold.
+    while (!lastTxIDs.isEmpty()
+        && transactions.getBlocksDeleted() < blockDeletionLimit) {
+      final Iterator<Map.Entry<UUID, Long>> i =
+          lastTxIDs.entrySet().iterator();
+      while (i.hasNext()
+          && transactions.getBlocksDeleted() < blockDeletionLimit) {
+        final Map.Entry<UUID, Long> e = i.next();
+        final DeletedBlocksTransaction txn = nextTransaction(
+            e.getKey(), e.getValue(), readTXs, txIDsToRemove);
+        if (txn == null) {
+          i.remove();
+        } else {
+          e.setValue(txn.getTxID());
+          transactions.addTransactionToDN(e.getKey(), txn);
         }
       }
-      return transactions;
-    } finally {
-      lock.unlock();
     }
+    return transactions;
+  }
+
+  /**
+   * @return the first transaction to send to the datanode after the given
+   * one, or null if there is none.
+   */
+  private DeletedBlocksTransaction nextTransaction(UUID dnID, Long afterTxID,
+      Map<Long, DeletedBlocksTransaction> readTXs, List<Long> txIDsToRemove)
+      throws IOException {
+    Long txID = afterTxID;
+    while ((txID = transactionIndex.nextTxID(dnID, txID)) != null) {
+      if (!readTXs.containsKey(txID)) {
+        // Check the replicas again, they may have changed since the
+        // transaction was assigned.
+        final DeletedBlockTransactionIndex.Entry entry =
+            transactionIndex.get(txID);
+        readTXs.put(txID, assignTransaction(entry, txIDsToRemove) ?
+            readTransaction(txID) : null);
+      }
+      final DeletedBlockTransactionIndex.Entry entry =
+          transactionIndex.get(txID);
+      final DeletedBlocksTransaction txn = readTXs.get(txID);
+      if (txn != null && entry != null && entry.hasDatanode(dnID)) {
+        return txn;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @return the transaction to send, with its retry count, or null if it
+   * is not valid at the moment.
+   */
+  private DeletedBlocksTransaction readTransaction(long txID)
+      throws IOException {
+    final DeletedBlocksTransaction txn =
+        deletedBlockLogStateManager.getTransaction(txID);
+    // The transaction may have failed, or been reset but not flushed yet.
+    if (txn == null || txn.getCount() <= -1 || txn.getCount() > maxRetry) {
+      return null;
+    }
+    transactionToDNsCommitMap.putIfAbsent(txID, new LinkedHashSet<>());
+    return DeletedBlocksTransaction.newBuilder(txn)
+        .setCount(transactionToRetryCountMap.getOrDefault(txID, 0))
+        .build();
   }
 
   @Override
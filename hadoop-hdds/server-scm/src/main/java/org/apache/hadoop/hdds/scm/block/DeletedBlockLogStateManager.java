@@ -51,6 +51,12 @@ int resetRetryCountOfTransactionInDB(ArrayList<Long> txIDs)
       KeyValue<Long, DeletedBlocksTransaction>> getReadOnlyIterator()
       throws IOException;
 
+  /**
+   * @return the transaction with the given ID, or null if it is not found or
+   * is being deleted or skipped.
+   */
+  DeletedBlocksTransaction getTransaction(long txID) throws IOException;
+
   void onFlush();
 
   void reinitialize(Table<Long, DeletedBlocksTransaction> deletedBlocksTXTable);
@@ -144,7 +144,9 @@ public void seekToLast() {
       @Override
       public TypedTable.KeyValue<Long, DeletedBlocksTransaction> seek(
           Long key) throws IOException {
-        throw new UnsupportedOperationException("seek");
+        iter.seek(key);
+        findNext();
+        return nextTx;
       }
 
       @Override
@@ -154,6 +156,16 @@ public void removeFromDB() throws IOException {
     };
   }
 
+  @Override
+  public DeletedBlocksTransaction getTransaction(long txID)
+      throws IOException {
+    if ((deletingTxIDs != null && deletingTxIDs.contains(txID)) ||
+        (skippingRetryTxIDs != null && skippingRetryTxIDs.contains(txID))) {
+      return null;
+    }
+    return deletedTable.get(txID);
+  }
+
   @Override
   public void addTransactionsToDB(ArrayList<DeletedBlocksTransaction> txs)
       throws IOException {
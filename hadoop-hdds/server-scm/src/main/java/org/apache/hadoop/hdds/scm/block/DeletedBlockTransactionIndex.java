@@ -0,0 +1,250 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hdds.scm.block;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * In-memory index of the pending block deletion transactions of the
+ * {@link DeletedBlockLogImpl}, by the datanodes they still have to be sent
+ * to.
+ * <p>
+ * The index is filled by scanning the log from a cursor, so each scan only
+ * reads the transactions added since the previous one. A transaction which
+ * cannot be sent to any datanode yet, because its container is open or all
+ * its known replicas have committed it, is kept unassigned and checked again
+ * on each scan. The replicas of the other transactions are checked again
+ * when they are sent, and in turns of a limited number of blocks, so that
+ * a transaction of a datanode which is gone moves to the new replica. Only
+ * the transaction and container IDs are kept, the transactions are read
+ * from the log when they are sent.
+ * <p>
+ * This class is not thread-safe, it is guarded by the lock of the log.
+ */
+class DeletedBlockTransactionIndex {
+
+  /** A pending transaction. */
+  static final class Entry {
+    private final long txID;
+    private final long containerID;
+    private final int blocks;
+    private final long indexTime;
+    private final List<UUID> datanodes = new ArrayList<>(3);
+
+    private Entry(long txID, long containerID, int blocks, long indexTime) {
+      this.txID = txID;
+      this.containerID = containerID;
+      this.blocks = blocks;
+      this.indexTime = indexTime;
+    }
+
+    long getTxID() {
+      return txID;
+    }
+
+    long getContainerID() {
+      return containerID;
+    }
+
+    /** @return the time the transaction was added to the index. */
+    long getIndexTime() {
+      return indexTime;
+    }
+
+    boolean hasDatanode(UUID dn) {
+      return datanodes.contains(dn);
+    }
+  }
+
+  private final NavigableMap<Long, Entry> entries = new TreeMap<>();
+  private final Map<UUID, NavigableSet<Long>> datanodeTxIDs = new HashMap<>();
+  private final Set<Long> unassigned = new TreeSet<>();
+  // The IDs of the transactions in the order they were added.
+  private final Set<Long> indexOrder = new LinkedHashSet<>();
+  // The ID of the last transaction scanned, null if the log is not scanned.
+  private Long scanCursor;
+  // The ID of the last transaction refreshed.
+  private Long refreshCursor;
+
+  Long getScanCursor() {
+    return scanCursor;
+  }
+
+  void setScanCursor(long txID) {
+    scanCursor = txID;
+  }
+
+  /** Clears the index, so that the next scan reads the whole log. */
+  void clear() {
+    entries.clear();
+    datanodeTxIDs.clear();
+    unassigned.clear();
+    indexOrder.clear();
+    scanCursor = null;
+    refreshCursor = null;
+  }
+
+  /** Adds an unassigned transaction, if it is not in the index yet. */
+  void add(long txID, long containerID, int blocks, long now) {
+    if (!entries.containsKey(txID)) {
+      entries.put(txID, new Entry(txID, containerID, blocks, now));
+      unassigned.add(txID);
+      indexOrder.add(txID);
+    }
+  }
+
+  Entry get(long txID) {
+    return entries.get(txID);
+  }
+
+  void remove(long txID) {
+    final Entry entry = entries.remove(txID);
+    if (entry != null) {
+      for (UUID dn : entry.datanodes) {
+        removeFromDatanode(dn, txID);
+      }
+      unassigned.remove(txID);
+      indexOrder.remove(txID);
+    }
+  }
+
+  /**
+   * Sets the datanodes the transaction has to be sent to, the transaction
+   * is unassigned if there are none.
+   */
+  void assign(long txID, Collection<UUID> datanodes) {
+    final Entry entry = entries.get(txID);
+    if (entry == null) {
+      return;
+    }
+    for (UUID dn : entry.datanodes) {
+      if (!datanodes.contains(dn)) {
+        removeFromDatanode(dn, txID);
+      }
+    }
+    entry.datanodes.clear();
+    for (UUID dn : datanodes) {
+      entry.datanodes.add(dn);
+      datanodeTxIDs.computeIfAbsent(dn, k -> new TreeSet<>()).add(txID);
+    }
+    if (entry.datanodes.isEmpty()) {
+      unassigned.add(txID);
+    } else {
+      unassigned.remove(txID);
+    }
+  }
+
+  /**
+   * Removes a datanode which does not need the transaction any more, the
+   * transaction is unassigned if it was the last one.
+   */
+  void removeDatanode(long txID, UUID dn) {
+    final Entry entry = entries.get(txID);
+    if (entry != null && entry.datanodes.remove(dn)) {
+      removeFromDatanode(dn, txID);
+      if (entry.datanodes.isEmpty()) {
+        unassigned.add(txID);
+      }
+    }
+  }
+
+  private void removeFromDatanode(UUID dn, long txID) {
+    final NavigableSet<Long> txIDs = datanodeTxIDs.get(dn);
+    if (txIDs != null) {
+      txIDs.remove(txID);
+      if (txIDs.isEmpty()) {
+        datanodeTxIDs.remove(dn);
+      }
+    }
+  }
+
+  /**
+   * @return the ID of the first transaction for the datanode after the given
+   * one, or null if there is none.
+   */
+  Long nextTxID(UUID dn, Long afterTxID) {
+    final NavigableSet<Long> txIDs = datanodeTxIDs.get(dn);
+    if (txIDs == null || txIDs.isEmpty()) {
+      return null;
+    }
+    return afterTxID == null ? txIDs.first() : txIDs.higher(afterTxID);
+  }
+
+  boolean hasTransactions(UUID dn) {
+    return datanodeTxIDs.containsKey(dn);
+  }
+
+  /**
+   * @return the transactions to refresh in turn, after the ones returned
+   * last time, up to the given number of blocks.
+   */
+  List<Entry> nextToRefresh(int blockLimit) {
+    final List<Entry> refresh = new ArrayList<>();
+    long blocks = 0;
+    NavigableMap<Long, Entry> next = refreshCursor == null ? entries
+        : entries.tailMap(refreshCursor, false);
+    while (blocks < blockLimit && refresh.size() < entries.size()) {
+      if (next.isEmpty()) {
+        // Start again from the first transaction.
+        next = entries;
+      }
+      final Entry entry = next.firstEntry().getValue();
+      refresh.add(entry);
+      // Count transactions without blocks, so that the loop ends.
+      blocks += Math.max(1, entry.blocks);
+      refreshCursor = entry.txID;
+      next = entries.tailMap(entry.txID, false);
+    }
+    return refresh;
+  }
+
+  /** @return the IDs of the unassigned transactions. */
+  List<Long> getUnassigned() {
+    return new ArrayList<>(unassigned);
+  }
+
+  int getUnassignedCount() {
+    return unassigned.size();
+  }
+
+  int size() {
+    return entries.size();
+  }
+
+  /**
+   * @return the time the pending transaction added first, which is not the
+   * one with the lowest ID if a retry count was reset, was added to the
+   * index, or -1 if there are no pending transactions.
+   */
+  long getOldestIndexTime() {
+    final Iterator<Long> first = indexOrder.iterator();
+    return first.hasNext() ? entries.get(first.next()).indexTime : -1;
+  }
+}
@@ -24,6 +24,7 @@
 import org.apache.hadoop.metrics2.annotation.Metrics;
 import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
 import org.apache.hadoop.metrics2.lib.MutableCounterLong;
+import org.apache.hadoop.metrics2.lib.MutableGaugeLong;
 
 /**
  * Metrics related to Block Deleting Service running in SCM.
@@ -76,6 +77,28 @@ public final class ScmBlockDeletingServiceMetrics {
   @Metric(about = "The number of created txs which are added into DB.")
   private MutableCounterLong numBlockDeletionTransactionCreated;
 
+  @Metric(about = "The number of txs read from DB by the scans of the " +
+      "deletion log.")
+  private MutableCounterLong numBlockDeletionTransactionScanned;
+
+  /**
+   * The backlog of pending txs, as of the last scan. The txs are not stored
+   * with a creation time, so the time a tx is pending is counted from the
+   * scan which indexed it. The pending txs are all indexed again after SCM
+   * restarts or becomes leader, and a tx whose retry count is reset is
+   * indexed again.
+   */
+  @Metric(about = "The number of pending txs which are not completed.")
+  private MutableGaugeLong numBlockDeletionTransactionPending;
+
+  @Metric(about = "The number of pending txs which cannot be sent to any " +
+      "DN, since their container is open or all its replicas committed.")
+  private MutableGaugeLong numBlockDeletionTransactionUnassigned;
+
+  @Metric(about = "The longest time in milliseconds since a pending tx " +
+      "was indexed.")
+  private MutableGaugeLong blockDeletionTransactionMaxTimeSinceIndexed;
+
   private ScmBlockDeletingServiceMetrics() {
   }
 
@@ -130,6 +153,22 @@ public void incrBlockDeletionTransactionCreated(long count) {
     this.numBlockDeletionTransactionCreated.incr(count);
   }
 
+  public void incrBlockDeletionTransactionScanned(long count) {
+    this.numBlockDeletionTransactionScanned.incr(count);
+  }
+
+  public void setNumBlockDeletionTransactionPending(long count) {
+    this.numBlockDeletionTransactionPending.set(count);
+  }
+
+  public void setNumBlockDeletionTransactionUnassigned(long count) {
+    this.numBlockDeletionTransactionUnassigned.set(count);
+  }
+
+  public void setBlockDeletionTransactionMaxTimeSinceIndexed(long millis) {
+    this.blockDeletionTransactionMaxTimeSinceIndexed.set(millis);
+  }
+
   public long getNumBlockDeletionCommandSent() {
     return numBlockDeletionCommandSent.value();
   }
@@ -162,6 +201,22 @@ public long getNumBlockDeletionTransactionCreated() {
     return numBlockDeletionTransactionCreated.value();
   }
 
+  public long getNumBlockDeletionTransactionScanned() {
+    return numBlockDeletionTransactionScanned.value();
+  }
+
+  public long getNumBlockDeletionTransactionPending() {
+    return numBlockDeletionTransactionPending.value();
+  }
+
+  public long getNumBlockDeletionTransactionUnassigned() {
+    return numBlockDeletionTransactionUnassigned.value();
+  }
+
+  public long getBlockDeletionTransactionMaxTimeSinceIndexed() {
+    return blockDeletionTransactionMaxTimeSinceIndexed.value();
+  }
+
   @Override
   public String toString() {
     StringBuffer buffer = new StringBuffer();
@@ -180,7 +235,13 @@ public String toString() {
         .append("numBlockDeletionTransactionSuccess = "
             + numBlockDeletionTransactionSuccess.value()).append("\t")
         .append("numBlockDeletionTransactionFailure = "
-            + numBlockDeletionTransactionFailure.value());
+            + numBlockDeletionTransactionFailure.value()).append("\t")
+        .append("numBlockDeletionTransactionScanned = "
+            + numBlockDeletionTransactionScanned.value()).append("\t")
+        .append("numBlockDeletionTransactionPending = "
+            + numBlockDeletionTransactionPending.value()).append("\t")
+        .append("blockDeletionTransactionMaxTimeSinceIndexed = "
+            + blockDeletionTransactionMaxTimeSinceIndexed.value());
     return buffer.toString();
   }
 }
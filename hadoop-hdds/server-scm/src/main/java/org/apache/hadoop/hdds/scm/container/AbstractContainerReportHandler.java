@@ -27,6 +27,7 @@
     .StorageContainerDatanodeProtocolProtos.ContainerReplicaProto;
 import org.apache.hadoop.hdds.protocol.proto
     .StorageContainerDatanodeProtocolProtos.ContainerReplicaProto.State;
+import org.apache.hadoop.hdds.scm.container.replication.ReplicationManager;
 import org.apache.hadoop.hdds.scm.events.SCMEvents;
 import org.apache.hadoop.hdds.scm.ha.SCMContext;
 import org.apache.hadoop.hdds.server.events.EventPublisher;
@@ -40,6 +41,7 @@
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.TimeoutException;
@@ -53,6 +55,7 @@ public class AbstractContainerReportHandler {
   private final ContainerManager containerManager;
   private final SCMContext scmContext;
   private final Logger logger;
+  private final ReplicationManager replicationManager;
 
   /**
    * Constructs AbstractContainerReportHandler instance with the
@@ -64,11 +67,27 @@ public class AbstractContainerReportHandler {
   AbstractContainerReportHandler(final ContainerManager containerManager,
                                  final SCMContext scmContext,
                                  final Logger logger) {
+    this(containerManager, scmContext, null, logger);
+  }
+
+  /**
+   * Constructs AbstractContainerReportHandler instance which notifies the
+   * given ReplicationManager of the containers whose replicas changed.
+   *
+   * @param containerManager ContainerManager
+   * @param replicationManager ReplicationManager, may be null
+   * @param logger Logger to be used for logging
+   */
+  AbstractContainerReportHandler(final ContainerManager containerManager,
+                                 final SCMContext scmContext,
+                                 final ReplicationManager replicationManager,
+                                 final Logger logger) {
     Preconditions.checkNotNull(containerManager);
     Preconditions.checkNotNull(scmContext);
     Preconditions.checkNotNull(logger);
     this.containerManager = containerManager;
     this.scmContext = scmContext;
+    this.replicationManager = replicationManager;
     this.logger = logger;
   }
 
@@ -383,11 +402,47 @@ private void updateContainerReplica(final DatanodeDetails datanodeDetails,
         .setEmpty(replicaProto.getIsEmpty())
         .build();
 
+    final boolean changed = replicationManager != null
+        && isReplicaChanged(containerId, replica);
     if (replica.getState().equals(State.DELETED)) {
       containerManager.removeContainerReplica(containerId, replica);
     } else {
       containerManager.updateContainerReplica(containerId, replica);
     }
+    if (changed) {
+      notifyContainerReplicaChanged(containerId);
+    }
+  }
+
+  /**
+   * Returns true if the replica is new, or differs from the known replica
+   * of its datanode in the fields which the ReplicationManager checks.
+   */
+  private boolean isReplicaChanged(final ContainerID containerId,
+      final ContainerReplica replica) throws ContainerNotFoundException {
+    for (ContainerReplica known :
+        containerManager.getContainerReplicas(containerId)) {
+      if (known.getDatanodeDetails().equals(replica.getDatanodeDetails())) {
+        return known.getState() != replica.getState()
+            || !Objects.equals(known.getSequenceId(), replica.getSequenceId())
+            || known.isEmpty() != replica.isEmpty()
+            || known.getReplicaIndex() != replica.getReplicaIndex();
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Notifies the ReplicationManager, if any, that the replicas of the
+   * container changed, so that it checks the container before its next full
+   * scan.
+   *
+   * @param containerID ID of the container
+   */
+  protected void notifyContainerReplicaChanged(final ContainerID containerID) {
+    if (replicationManager != null) {
+      replicationManager.notifyContainerReplicaChanged(containerID);
+    }
   }
 
   /**
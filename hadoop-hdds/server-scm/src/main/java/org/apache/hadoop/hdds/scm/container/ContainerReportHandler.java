@@ -25,6 +25,7 @@
 import org.apache.hadoop.hdds.protocol.proto
     .StorageContainerDatanodeProtocolProtos.ContainerReportsProto;
 import org.apache.hadoop.hdds.scm.ScmConfig;
+import org.apache.hadoop.hdds.scm.container.replication.ReplicationManager;
 import org.apache.hadoop.hdds.scm.container.report.ContainerReportValidator;
 import org.apache.hadoop.hdds.scm.ha.SCMContext;
 import org.apache.hadoop.hdds.scm.node.NodeManager;
@@ -74,7 +75,24 @@ public ContainerReportHandler(final NodeManager nodeManager,
                                 final ContainerManager containerManager,
                                 final SCMContext scmContext,
                                 OzoneConfiguration conf) {
-    super(containerManager, scmContext, LOG);
+    this(nodeManager, containerManager, scmContext, null, conf);
+  }
+
+  /**
+   * Constructs ContainerReportHandler instance which notifies the given
+   * ReplicationManager of the containers whose replicas changed.
+   *
+   * @param nodeManager NodeManager instance
+   * @param containerManager ContainerManager instance
+   * @param replicationManager ReplicationManager instance, may be null
+   * @param conf OzoneConfiguration instance
+   */
+  public ContainerReportHandler(final NodeManager nodeManager,
+                                final ContainerManager containerManager,
+                                final SCMContext scmContext,
+                                final ReplicationManager replicationManager,
+                                OzoneConfiguration conf) {
+    super(containerManager, scmContext, replicationManager, LOG);
     this.nodeManager = nodeManager;
     this.containerManager = containerManager;
 
@@ -269,6 +287,7 @@ private void processMissingReplicas(final DatanodeDetails datanodeDetails,
             .ifPresent(replica -> {
               try {
                 containerManager.removeContainerReplica(id, replica);
+                notifyContainerReplicaChanged(id);
               } catch (ContainerNotFoundException |
                   ContainerReplicaNotFoundException ignored) {
                 // This should not happen, but even if it happens, not an issue
@@ -24,6 +24,7 @@
 import org.apache.hadoop.hdds.protocol.DatanodeDetails;
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos
     .ContainerReplicaProto;
+import org.apache.hadoop.hdds.scm.container.replication.ReplicationManager;
 import org.apache.hadoop.hdds.scm.container.report.ContainerReportValidator;
 import org.apache.hadoop.hdds.scm.exceptions.SCMException;
 import org.apache.hadoop.hdds.scm.ha.SCMContext;
@@ -53,7 +54,15 @@ public IncrementalContainerReportHandler(
       final NodeManager nodeManager,
       final ContainerManager containerManager,
       final SCMContext scmContext) {
-    super(containerManager, scmContext, LOG);
+    this(nodeManager, containerManager, scmContext, null);
+  }
+
+  public IncrementalContainerReportHandler(
+      final NodeManager nodeManager,
+      final ContainerManager containerManager,
+      final SCMContext scmContext,
+      final ReplicationManager replicationManager) {
+    super(containerManager, scmContext, replicationManager, LOG);
     this.nodeManager = nodeManager;
   }
 
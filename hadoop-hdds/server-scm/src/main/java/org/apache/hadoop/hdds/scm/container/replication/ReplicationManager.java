@@ -71,6 +71,7 @@
 import org.apache.hadoop.ozone.protocol.commands.ReplicateContainerCommand;
 import org.apache.hadoop.ozone.protocol.commands.SCMCommand;
 import org.apache.hadoop.util.ExitUtil;
+import org.apache.hadoop.util.Time;
 import org.apache.ratis.protocol.exceptions.NotLeaderException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -80,6 +81,7 @@
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -199,6 +201,14 @@ public class ReplicationManager implements SCMService {
   private final OverReplicatedProcessor overReplicatedProcessor;
   private final HealthCheck containerCheckChain;
 
+  /**
+   * Containers whose replicas changed since they were last checked. They are
+   * checked again between the full scans, so that a change does not wait for
+   * the next full scan to be handled.
+   */
+  private final Set<ContainerID> dirtyContainers =
+      ConcurrentHashMap.newKeySet();
+
   /**
    * Constructs ReplicationManager instance with the given configuration.
    *
@@ -367,6 +377,8 @@ public synchronized void processAll() {
       return;
     }
     final long start = clock.millis();
+    // The changes made so far are handled by this scan.
+    dirtyContainers.clear();
     final List<ContainerInfo> containers =
         containerManager.getContainers();
     ReplicationManagerReport report = new ReplicationManagerReport();
@@ -395,6 +407,67 @@ public synchronized void processAll() {
         containers.size());
   }
 
+  /**
+   * Process the containers whose replicas changed since they were last
+   * checked. Their results are added to the current replication queue, the
+   * report is only updated by the full scans of {@link #processAll()}.
+   */
+  public synchronized void processDirtyContainers() {
+    if (dirtyContainers.isEmpty()) {
+      return;
+    }
+    if (!shouldRun()) {
+      // The next full scan checks all the containers anyway.
+      dirtyContainers.clear();
+      return;
+    }
+    final long start = Time.monotonicNow();
+    final ReplicationManagerReport report = new ReplicationManagerReport();
+    final ReplicationQueue repQueue = getQueue();
+    int processed = 0;
+    for (Iterator<ContainerID> i = dirtyContainers.iterator();
+         i.hasNext() && shouldRun();) {
+      final ContainerID containerID = i.next();
+      i.remove();
+      try {
+        final ContainerInfo c = containerManager.getContainer(containerID);
+        if (rmConf.isLegacyEnabled() && !isEC(c.getReplicationConfig())) {
+          // Left to the full scans of LegacyReplicationManager.
+          continue;
+        }
+        processContainer(c, repQueue, report);
+        processed++;
+      } catch (ContainerNotFoundException e) {
+        LOG.debug("Dirty container {} not found", containerID, e);
+      }
+    }
+    final long elapsed = Time.monotonicNow() - start;
+    metrics.incrDirtyContainersProcessedTotal(processed);
+    metrics.addDirtyContainersProcessTime(elapsed);
+    LOG.debug("Replication Monitor Thread took {} milliseconds for" +
+        " processing {} dirty containers.", elapsed, processed);
+  }
+
+  /**
+   * Marks the container to be checked again before the next full scan, as
+   * its replicas changed.
+   *
+   * @param containerID The ID of the container
+   */
+  public void notifyContainerReplicaChanged(ContainerID containerID) {
+    if (rmConf.getDirtyContainerInterval().toMillis() > 0) {
+      dirtyContainers.add(containerID);
+    }
+  }
+
+  /**
+   * @return the number of containers waiting to be checked because their
+   * replicas changed.
+   */
+  public int getDirtyContainerCount() {
+    return dirtyContainers.size();
+  }
+
   public void sendCloseContainerEvent(ContainerID containerID) {
     eventPublisher.fireEvent(SCMEvents.CLOSE_CONTAINER, containerID);
   }
@@ -908,13 +981,23 @@ public ReplicationManagerReport getContainerReport() {
 
   /**
    * ReplicationMonitor thread runnable. This wakes up at configured
-   * interval and processes all the containers in the system.
+   * interval and processes all the containers in the system. In between,
+   * it processes the containers whose replicas changed.
    */
   private synchronized void run() {
     try {
       while (running) {
         processAll();
-        wait(rmConf.getInterval().toMillis());
+        final long nextScan =
+            Time.monotonicNow() + rmConf.getInterval().toMillis();
+        long now;
+        while (running && (now = Time.monotonicNow()) < nextScan) {
+          final long dirtyInterval =
+              rmConf.getDirtyContainerInterval().toMillis();
+          wait(dirtyInterval > 0 ? Math.min(dirtyInterval, nextScan - now)
+              : nextScan - now);
+          processDirtyContainers();
+        }
       }
     } catch (Throwable t) {
       if (t instanceof InterruptedException) {
@@ -1077,6 +1160,24 @@ public void setEnableLegacy(boolean enableLegacy) {
     )
     private long interval = Duration.ofSeconds(300).toMillis();
 
+    /**
+     * The frequency in which the containers whose replicas changed are
+     * processed between the runs of the ReplicationMonitor thread.
+     */
+    @Config(key = "dirty.container.interval",
+        type = ConfigType.TIME,
+        defaultValue = "10s",
+        reconfigurable = true,
+        tags = {SCM, OZONE},
+        description = "How frequently the replication monitor thread " +
+            "checks the containers whose replicas changed, as reported by " +
+            "the datanodes or by the removal of a dead node, between its " +
+            "full scans of all the containers every " +
+            "hdds.scm.replication.thread.interval. If zero, the changes " +
+            "wait for the next full scan."
+    )
+    private long dirtyContainerInterval = Duration.ofSeconds(10).toMillis();
+
     /**
      * The frequency in which the Under Replicated queue is processed.
      */
@@ -1296,6 +1397,14 @@ public Duration getInterval() {
       return Duration.ofMillis(interval);
     }
 
+    public Duration getDirtyContainerInterval() {
+      return Duration.ofMillis(dirtyContainerInterval);
+    }
+
+    public void setDirtyContainerInterval(Duration duration) {
+      this.dirtyContainerInterval = duration.toMillis();
+    }
+
     public Duration getUnderReplicatedInterval() {
       return Duration.ofMillis(underReplicatedInterval);
     }
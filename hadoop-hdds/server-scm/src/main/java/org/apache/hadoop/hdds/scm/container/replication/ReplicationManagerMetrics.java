@@ -88,6 +88,10 @@ public final class ReplicationManagerMetrics implements MetricsSource {
       "OverReplicatedQueueSize",
       "Number of containers currently in the over replicated queue");
 
+  private static final MetricsInfo DIRTY_CONTAINER_QUEUE = Interns.info(
+      "DirtyContainerQueueSize",
+      "Number of containers whose replicas changed waiting to be checked");
+
   // Setup metric names and descriptions for Container Lifecycle states
   private static final Map<LifeCycleState, MetricsInfo> LIFECYCLE_STATE_METRICS
       = Collections.unmodifiableMap(
@@ -227,6 +231,11 @@ public final class ReplicationManagerMetrics implements MetricsSource {
       + "to the pending commands on all source datanodes")
   private MutableCounterLong replicateContainerCmdsDeferredTotal;
 
+  @Metric("Number of containers checked because their replicas changed.")
+  private MutableCounterLong dirtyContainersProcessedTotal;
+
+  @Metric("Time to check the containers whose replicas changed")
+  private MutableRate dirtyContainersProcessTime;
 
   public ReplicationManagerMetrics(ReplicationManager manager) {
     this.registry = new MetricsRegistry(METRICS_SOURCE_NAME);
@@ -265,7 +274,9 @@ public void getMetrics(MetricsCollector collector, boolean all) {
           .addGauge(UNDER_REPLICATED_QUEUE,
               replicationManager.getQueue().underReplicatedQueueSize())
           .addGauge(OVER_REPLICATED_QUEUE,
-              replicationManager.getQueue().overReplicatedQueueSize());
+              replicationManager.getQueue().overReplicatedQueueSize())
+          .addGauge(DIRTY_CONTAINER_QUEUE,
+              replicationManager.getDirtyContainerCount());
     }
 
     ReplicationManagerReport report = replicationManager.getContainerReport();
@@ -312,6 +323,8 @@ public void getMetrics(MetricsCollector collector, boolean all) {
     partialReplicationTotal.snapshot(builder, all);
     ecPartialReplicationForMisReplicationTotal.snapshot(builder, all);
     partialReplicationForMisReplicationTotal.snapshot(builder, all);
+    dirtyContainersProcessedTotal.snapshot(builder, all);
+    dirtyContainersProcessTime.snapshot(builder, all);
   }
 
   public void unRegister() {
@@ -609,4 +622,16 @@ public long getPartialReplicationForMisReplicationTotal() {
     return this.partialReplicationForMisReplicationTotal.value();
   }
 
+  public void incrDirtyContainersProcessedTotal(long containers) {
+    this.dirtyContainersProcessedTotal.incr(containers);
+  }
+
+  public long getDirtyContainersProcessedTotal() {
+    return this.dirtyContainersProcessedTotal.value();
+  }
+
+  public void addDirtyContainersProcessTime(long millis) {
+    this.dirtyContainersProcessTime.add(millis);
+  }
+
 }
@@ -116,23 +116,41 @@ public StateManager createStateManager(SCMHAManager scmhaManager,
    * @return : next id of this sequenceId.
    */
   public long getNextId(String sequenceIdName) throws SCMException {
+    return getNextIds(sequenceIdName, 1);
+  }
+
+  /**
+   * Reserves a contiguous range of ids. If the current batch does not have
+   * enough ids left, its remaining ids are skipped, and a new batch of at
+   * least the given count is allocated.
+   *
+   * @param sequenceIdName : name of the sequenceId
+   * @param count : number of ids to reserve, at least 1.
+   * @return : the first id of the range, the range ends at
+   *           the returned id + count - 1.
+   */
+  public long getNextIds(String sequenceIdName, int count)
+      throws SCMException {
+    Preconditions.checkArgument(count > 0, "count = %s <= 0", count);
     lock.lock();
     try {
       Batch batch = sequenceIdToBatchMap.computeIfAbsent(
           sequenceIdName, key -> new Batch());
 
-      if (batch.nextId <= batch.lastId) {
-        return batch.nextId++;
+      if (batch.lastId - batch.nextId + 1 >= count) {
+        final long first = batch.nextId;
+        batch.nextId += count;
+        return first;
       }
 
-      Preconditions.checkArgument(batch.nextId == batch.lastId + 1);
       while (true) {
         Long prevLastId = batch.lastId;
         batch.nextId = prevLastId + 1;
 
-        Preconditions.checkArgument(Long.MAX_VALUE - batch.lastId >= batchSize);
-        long nextLastId = batch.lastId +
-            (sequenceIdName.equals(ROOT_CERTIFICATE_ID) ? 1 : batchSize);
+        final long size = Math.max(count,
+            sequenceIdName.equals(ROOT_CERTIFICATE_ID) ? 1 : batchSize);
+        Preconditions.checkArgument(Long.MAX_VALUE - batch.lastId >= size);
+        long nextLastId = batch.lastId + size;
 
         if (stateManager.allocateBatch(sequenceIdName,
             prevLastId, nextLastId)) {
@@ -146,8 +164,10 @@ public long getNextId(String sequenceIdName) throws SCMException {
         batch.lastId = stateManager.getLastId(sequenceIdName);
       }
 
-      Preconditions.checkArgument(batch.nextId <= batch.lastId);
-      return batch.nextId++;
+      Preconditions.checkArgument(batch.lastId - batch.nextId + 1 >= count);
+      final long first = batch.nextId;
+      batch.nextId += count;
+      return first;
 
     } finally {
       lock.unlock();
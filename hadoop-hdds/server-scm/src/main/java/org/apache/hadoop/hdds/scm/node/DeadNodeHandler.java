@@ -28,6 +28,7 @@
 import org.apache.hadoop.hdds.scm.container.ContainerInfo;
 import org.apache.hadoop.hdds.scm.container.ContainerManager;
 import org.apache.hadoop.hdds.scm.container.ContainerNotFoundException;
+import org.apache.hadoop.hdds.scm.container.replication.ReplicationManager;
 import org.apache.hadoop.hdds.scm.net.NetworkTopology;
 import org.apache.hadoop.hdds.scm.node.states.NodeNotFoundException;
 import org.apache.hadoop.hdds.scm.pipeline.PipelineManager;
@@ -51,6 +52,7 @@ public class DeadNodeHandler implements EventHandler<DatanodeDetails> {
   private final NodeManager nodeManager;
   private final PipelineManager pipelineManager;
   private final ContainerManager containerManager;
+  private final ReplicationManager replicationManager;
 
   private static final Logger LOG =
       LoggerFactory.getLogger(DeadNodeHandler.class);
@@ -58,9 +60,21 @@ public class DeadNodeHandler implements EventHandler<DatanodeDetails> {
   public DeadNodeHandler(final NodeManager nodeManager,
                          final PipelineManager pipelineManager,
                          final ContainerManager containerManager) {
+    this(nodeManager, pipelineManager, containerManager, null);
+  }
+
+  /**
+   * Constructs DeadNodeHandler which notifies the given ReplicationManager,
+   * if not null, of the containers which had a replica on the dead node.
+   */
+  public DeadNodeHandler(final NodeManager nodeManager,
+                         final PipelineManager pipelineManager,
+                         final ContainerManager containerManager,
+                         final ReplicationManager replicationManager) {
     this.nodeManager = nodeManager;
     this.pipelineManager = pipelineManager;
     this.containerManager = containerManager;
+    this.replicationManager = replicationManager;
   }
 
   @Override
@@ -88,6 +102,7 @@ public void onMessage(final DatanodeDetails datanodeDetails,
       if (!nodeManager.getNodeStatus(datanodeDetails).isInMaintenance()) {
         removeContainerReplicas(datanodeDetails);
       }
+      notifyReplicationManager(datanodeDetails);
       
       // remove commands in command queue for the DN
       final List<SCMCommand> cmdList = nodeManager.getCommandQueue(
@@ -192,6 +207,23 @@ private void removeContainerReplicas(final DatanodeDetails datanodeDetails)
         });
   }
 
+  /**
+   * Notifies the ReplicationManager that the replicas of the containers on
+   * the dead node changed, so that it checks them before its next full scan.
+   * The replicas of a node in maintenance are kept, but may still need to
+   * be replicated if the maintenance redundancy is not met.
+   *
+   * @param datanodeDetails DatanodeDetails
+   * @throws NodeNotFoundException
+   */
+  private void notifyReplicationManager(final DatanodeDetails datanodeDetails)
+      throws NodeNotFoundException {
+    if (replicationManager != null) {
+      nodeManager.getContainers(datanodeDetails)
+          .forEach(replicationManager::notifyContainerReplicaChanged);
+    }
+  }
+
   protected NodeManager getNodeManager() {
     return nodeManager;
   }
@@ -47,6 +47,7 @@
 import java.util.Set;
 import java.util.UUID;
 import java.util.Collection;
+import java.util.stream.Collectors;
 
 /**
  * A node manager supports a simple interface for managing a datanode.
@@ -380,6 +381,30 @@ Map<SCMCommandProto.Type, Integer> getTotalDatanodeCommandCounts(
    */
   List<DatanodeDetails> getNodesByAddress(String address);
 
+  /**
+   * Returns the datanodes in the given rack, whatever their state.
+   *
+   * @param networkLocation network location of the rack
+   * @return the datanodes in the rack, or empty list if none found
+   */
+  default List<DatanodeDetails> getNodesByNetworkLocation(
+      String networkLocation) {
+    return getAllNodes().stream()
+        .filter(dn -> networkLocation.equals(dn.getNetworkLocation()))
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Returns the version of the node states, which changes whenever a node
+   * is added or changes state, so that callers can cache what they compute
+   * from the nodes in a state.
+   *
+   * @return the version, or -1 if the node states are not versioned.
+   */
+  default long getNodeStateVersion() {
+    return -1;
+  }
+
   /**
    * Get cluster map as in network topology for this node manager.
    * @return cluster map
@@ -497,6 +497,27 @@ public List<DatanodeInfo> getNodes(
     return nodeStateMap.getDatanodeInfos(opState, health);
   }
 
+  /**
+   * Returns all the nodes in the given rack.
+   *
+   * @param networkLocation The network location of the rack
+   *
+   * @return list of nodes in the rack
+   */
+  public List<DatanodeInfo> getNodesByNetworkLocation(String networkLocation) {
+    return nodeStateMap.getDatanodeInfos(networkLocation);
+  }
+
+  /**
+   * Returns the version of the node states, which changes whenever a node
+   * is added or changes state.
+   *
+   * @return the version of the node states
+   */
+  public long getNodeStateVersion() {
+    return nodeStateMap.getVersion();
+  }
+
   /**
    * Returns all the nodes which have registered to NodeStateManager.
    *
@@ -239,6 +239,18 @@ public List<DatanodeDetails> getAllNodes() {
         .map(node -> (DatanodeDetails) node).collect(Collectors.toList());
   }
 
+  @Override
+  public List<DatanodeDetails> getNodesByNetworkLocation(
+      String networkLocation) {
+    return new ArrayList<>(
+        nodeStateManager.getNodesByNetworkLocation(networkLocation));
+  }
+
+  @Override
+  public long getNodeStateVersion() {
+    return nodeStateManager.getNodeStateVersion();
+  }
+
   /**
    * Returns the Number of Datanodes by State they are in.
    *
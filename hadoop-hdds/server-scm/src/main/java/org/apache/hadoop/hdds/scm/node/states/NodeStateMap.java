@@ -19,15 +19,19 @@
 package org.apache.hadoop.hdds.scm.node.states;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
-import java.util.function.Predicate;
 
 import org.apache.hadoop.hdds.protocol.DatanodeDetails;
 import org.apache.hadoop.hdds.protocol.proto.HddsProtos.NodeOperationalState;
@@ -43,6 +47,13 @@
  * NodeStateManager to maintain the state. If anyone wants to change the
  * state of a node they should call NodeStateManager, do not directly use
  * this class.
+ * <p>
+ * The nodes are queried by state and by rack from an immutable
+ * {@link Snapshot} of indexes. A change of the nodes, which is cheap, bumps
+ * the version and drops the published snapshot; the first query after the
+ * change builds and publishes a new one, so that a burst of changes, like
+ * a health check moving many nodes at once, builds a single snapshot. The
+ * other queries take no lock and cost the size of their result.
  */
 public class NodeStateMap {
   /**
@@ -56,6 +67,16 @@ public class NodeStateMap {
 
   private final ReadWriteLock lock;
 
+  /**
+   * The version of the node states, incremented under the write lock.
+   */
+  private final AtomicLong version = new AtomicLong();
+
+  /**
+   * The nodes as of the last change, null until queried after a change.
+   */
+  private volatile Snapshot snapshot;
+
   /**
    * Creates a new instance of NodeStateMap with no nodes.
    */
@@ -65,6 +86,48 @@ public NodeStateMap() {
     nodeToContainer = new ConcurrentHashMap<>();
   }
 
+  /**
+   * Publishes a change of the nodes: bumps the version and drops the
+   * snapshot, which the next query rebuilds. Called with the write lock held.
+   */
+  private void publish() {
+    version.incrementAndGet();
+    snapshot = null;
+  }
+
+  /**
+   * @return the snapshot of the current nodes, built under the read lock if
+   * the nodes changed since the last one.
+   */
+  private Snapshot getSnapshot() {
+    Snapshot current = snapshot;
+    if (current != null) {
+      return current;
+    }
+    lock.readLock().lock();
+    try {
+      current = snapshot;
+      if (current == null) {
+        current = new Snapshot(nodeMap.values());
+        snapshot = current;
+      }
+      return current;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Returns the version of the node states, which changes whenever a node
+   * is added or changes state, so that callers can cache what they compute
+   * from the states.
+   *
+   * @return the version of the node states.
+   */
+  public long getVersion() {
+    return version.get();
+  }
+
   /**
    * Adds a node to NodeStateMap.
    *
@@ -84,9 +147,11 @@ public void addNode(DatanodeDetails datanodeDetails, NodeStatus nodeStatus,
       if (nodeMap.containsKey(id)) {
         throw new NodeAlreadyExistsException("Node UUID: " + id);
       }
-      nodeMap.put(id, new DatanodeInfo(datanodeDetails, nodeStatus,
-          layoutInfo));
+      DatanodeInfo dn = new DatanodeInfo(datanodeDetails, nodeStatus,
+          layoutInfo);
+      nodeMap.put(id, dn);
       nodeToContainer.put(id, new HashSet<>());
+      publish();
     } finally {
       lock.writeLock().unlock();
     }
@@ -107,11 +172,14 @@ public void updateNode(DatanodeDetails datanodeDetails, NodeStatus nodeStatus,
     lock.writeLock().lock();
     try {
       UUID id = datanodeDetails.getUuid();
-      if (!nodeMap.containsKey(id)) {
+      DatanodeInfo oldDn = nodeMap.get(id);
+      if (oldDn == null) {
         throw new NodeNotFoundException("Node UUID: " + id);
       }
-      nodeMap.put(id, new DatanodeInfo(datanodeDetails, nodeStatus,
-              layoutInfo));
+      DatanodeInfo dn = new DatanodeInfo(datanodeDetails, nodeStatus,
+              layoutInfo);
+      nodeMap.put(id, dn);
+      publish();
     } finally {
       lock.writeLock().unlock();
     }
@@ -134,6 +202,7 @@ public NodeStatus updateNodeHealthState(UUID nodeId, NodeState newHealth)
       NodeStatus newStatus = new NodeStatus(
           oldStatus.getOperationalState(), newHealth);
       dn.setNodeStatus(newStatus);
+      publish();
       return newStatus;
     } finally {
       lock.writeLock().unlock();
@@ -158,6 +227,7 @@ public NodeStatus updateNodeOperationalState(UUID nodeId,
       NodeStatus newStatus = new NodeStatus(
           newOpState, oldStatus.getHealth(), opStateExpiryEpochSeconds);
       dn.setNodeStatus(newStatus);
+      publish();
       return newStatus;
     } finally {
       lock.writeLock().unlock();
@@ -174,13 +244,11 @@ public NodeStatus updateNodeOperationalState(UUID nodeId,
    * @throws NodeNotFoundException if the node is not present
    */
   public DatanodeInfo getNodeInfo(UUID uuid) throws NodeNotFoundException {
-    lock.readLock().lock();
-    try {
-      checkIfNodeExist(uuid);
-      return nodeMap.get(uuid);
-    } finally {
-      lock.readLock().unlock();
+    DatanodeInfo dn = nodeMap.get(uuid);
+    if (dn == null) {
+      throw new NodeNotFoundException("Node UUID: " + uuid);
     }
+    return dn;
   }
 
   /**
@@ -196,7 +264,7 @@ public DatanodeInfo getNodeInfo(UUID uuid) throws NodeNotFoundException {
    */
   public List<UUID> getNodes(NodeOperationalState opState, NodeState health) {
     ArrayList<UUID> nodes = new ArrayList<>();
-    for (DatanodeInfo dn : filterNodes(opState, health)) {
+    for (DatanodeInfo dn : getSnapshot().get(opState, health)) {
       nodes.add(dn.getUuid());
     }
     return nodes;
@@ -208,12 +276,7 @@ public List<UUID> getNodes(NodeOperationalState opState, NodeState health) {
    * @return list of all the node ids
    */
   public List<UUID> getAllNodes() {
-    try {
-      lock.readLock().lock();
-      return new ArrayList<>(nodeMap.keySet());
-    } finally {
-      lock.readLock().unlock();
-    }
+    return new ArrayList<>(nodeMap.keySet());
   }
 
   /**
@@ -222,12 +285,7 @@ public List<UUID> getAllNodes() {
    * @return list of all the node ids
    */
   public List<DatanodeInfo> getAllDatanodeInfos() {
-    try {
-      lock.readLock().lock();
-      return new ArrayList<>(nodeMap.values());
-    } finally {
-      lock.readLock().unlock();
-    }
+    return new ArrayList<>(getSnapshot().all);
   }
 
   /**
@@ -238,7 +296,7 @@ public List<DatanodeInfo> getAllDatanodeInfos() {
    * @return List of DatanodeInfo for the matching nodes
    */
   public List<DatanodeInfo> getDatanodeInfos(NodeStatus status) {
-    return filterNodes(matching(status));
+    return new ArrayList<>(getSnapshot().get(status));
   }
 
   /**
@@ -255,6 +313,17 @@ public List<DatanodeInfo> getDatanodeInfos(
     return filterNodes(opState, health);
   }
 
+  /**
+   * Returns a list of the nodes as DatanodeInfo objects in the given rack.
+   *
+   * @param networkLocation - The network location of the rack
+   * @return List of DatanodeInfo for the nodes in the rack
+   */
+  public List<DatanodeInfo> getDatanodeInfos(String networkLocation) {
+    return new ArrayList<>(getSnapshot().byRack.getOrDefault(networkLocation,
+        Collections.emptyList()));
+  }
+
   /**
    * Returns the count of nodes in the specified state.
    *
@@ -263,7 +332,7 @@ public List<DatanodeInfo> getDatanodeInfos(
    * @return Number of nodes in the specified state
    */
   public int getNodeCount(NodeStatus state) {
-    return getDatanodeInfos(state).size();
+    return getSnapshot().get(state).size();
   }
 
   /**
@@ -279,7 +348,7 @@ public int getNodeCount(NodeStatus state) {
    * @return Number of nodes in the specified state
    */
   public int getNodeCount(NodeOperationalState opState, NodeState health) {
-    return getNodes(opState, health).size();
+    return getSnapshot().get(opState, health).size();
   }
 
   /**
@@ -288,12 +357,7 @@ public int getNodeCount(NodeOperationalState opState, NodeState health) {
    * @return node count
    */
   public int getTotalNodeCount() {
-    lock.readLock().lock();
-    try {
-      return nodeMap.size();
-    } finally {
-      lock.readLock().unlock();
-    }
+    return nodeMap.size();
   }
 
   /**
@@ -306,17 +370,12 @@ public int getTotalNodeCount() {
    * @throws NodeNotFoundException if the node is not found
    */
   public NodeStatus getNodeStatus(UUID uuid) throws NodeNotFoundException {
-    lock.readLock().lock();
-    try {
-      DatanodeInfo dn = nodeMap.get(uuid);
-      if (dn == null) {
-        throw new NodeNotFoundException("Node not found in node map." +
-            " UUID: " + uuid);
-      }
-      return dn.getNodeStatus();
-    } finally {
-      lock.readLock().unlock();
+    DatanodeInfo dn = nodeMap.get(uuid);
+    if (dn == null) {
+      throw new NodeNotFoundException("Node not found in node map." +
+          " UUID: " + uuid);
     }
+    return dn.getNodeStatus();
   }
 
   /**
@@ -415,45 +474,57 @@ private void checkIfNodeExist(UUID uuid) throws NodeNotFoundException {
    */
   public List<DatanodeInfo> filterNodes(
       NodeOperationalState opState, NodeState health) {
-    if (opState != null && health != null) {
-      return filterNodes(matching(new NodeStatus(opState, health)));
-    }
-    if (opState != null) {
-      return filterNodes(matching(opState));
-    }
-    if (health != null) {
-      return filterNodes(matching(health));
-    }
-    return getAllDatanodeInfos();
+    return new ArrayList<>(getSnapshot().get(opState, health));
   }
 
   /**
-   * @return a list of all nodes matching the {@code filter}
+   * Immutable indexes of the nodes by state and by rack, built from the
+   * nodes at one version.
    */
-  private List<DatanodeInfo> filterNodes(Predicate<DatanodeInfo> filter) {
-    List<DatanodeInfo> result = new LinkedList<>();
-    lock.readLock().lock();
-    try {
-      for (DatanodeInfo dn : nodeMap.values()) {
-        if (filter.test(dn)) {
-          result.add(dn);
-        }
+  private static final class Snapshot {
+    private final List<DatanodeInfo> all;
+    private final Map<NodeStatus, List<DatanodeInfo>> byStatus =
+        new HashMap<>();
+    private final Map<NodeOperationalState, List<DatanodeInfo>> byOpState =
+        new EnumMap<>(NodeOperationalState.class);
+    private final Map<NodeState, List<DatanodeInfo>> byHealth =
+        new EnumMap<>(NodeState.class);
+    private final Map<String, List<DatanodeInfo>> byRack = new HashMap<>();
+
+    private Snapshot(Collection<DatanodeInfo> nodes) {
+      all = new ArrayList<>(nodes);
+      for (DatanodeInfo dn : all) {
+        NodeStatus status = dn.getNodeStatus();
+        add(byStatus, status, dn);
+        add(byOpState, status.getOperationalState(), dn);
+        add(byHealth, status.getHealth(), dn);
+        add(byRack, dn.getNetworkLocation(), dn);
       }
-    } finally {
-      lock.readLock().unlock();
     }
-    return result;
-  }
 
-  private static Predicate<DatanodeInfo> matching(NodeStatus status) {
-    return dn -> status.equals(dn.getNodeStatus());
-  }
+    private static <K> void add(Map<K, List<DatanodeInfo>> index, K key,
+        DatanodeInfo dn) {
+      if (key != null) {
+        index.computeIfAbsent(key, k -> new ArrayList<>()).add(dn);
+      }
+    }
 
-  private static Predicate<DatanodeInfo> matching(NodeOperationalState state) {
-    return dn -> state.equals(dn.getNodeStatus().getOperationalState());
-  }
+    private List<DatanodeInfo> get(NodeStatus status) {
+      return byStatus.getOrDefault(status, Collections.emptyList());
+    }
 
-  private static Predicate<DatanodeInfo> matching(NodeState health) {
-    return dn -> health.equals(dn.getNodeStatus().getHealth());
+    private List<DatanodeInfo> get(NodeOperationalState opState,
+        NodeState health) {
+      if (opState != null && health != null) {
+        return get(new NodeStatus(opState, health));
+      }
+      if (opState != null) {
+        return byOpState.getOrDefault(opState, Collections.emptyList());
+      }
+      if (health != null) {
+        return byHealth.getOrDefault(health, Collections.emptyList());
+      }
+      return all;
+    }
   }
 }
@@ -20,6 +20,7 @@
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.hadoop.hdds.client.RatisReplicationConfig;
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.protocol.DatanodeDetails;
@@ -36,7 +37,9 @@
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -58,6 +61,8 @@ public final class PipelinePlacementPolicy extends SCMCommonPlacementPolicy {
   private final ConfigurationSource conf;
   private final int heavyNodeCriteria;
   private static final int REQUIRED_RACKS = 2;
+  // Whether the healthy nodes are on multiple racks, by node state version.
+  private volatile Pair<Long, Boolean> healthyNodesOnMultipleRacks;
 
   public static final String MULTIPLE_RACK_PIPELINE_MSG =
       "The cluster has multiple racks, but all nodes with available " +
@@ -135,6 +140,7 @@ List<DatanodeDetails> filterViableNodes(
       long metadataSizeRequired, long dataSizeRequired)
       throws SCMException {
     // get nodes in HEALTHY state
+    final long nodeStateVersion = nodeManager.getNodeStateVersion();
     List<DatanodeDetails> healthyNodes =
         nodeManager.getNodes(NodeStatus.inServiceHealthy());
     String msg;
@@ -147,7 +153,8 @@ List<DatanodeDetails> filterViableNodes(
 
     healthyNodes = filterNodesWithSpace(healthyNodes, nodesRequired,
         metadataSizeRequired, dataSizeRequired);
-    boolean multipleRacks = multipleRacksAvailable(healthyNodes);
+    boolean multipleRacks =
+        healthyNodesOnMultipleRacks(healthyNodes, nodeStateVersion);
     int excludedNodesSize = 0;
     if (excludedNodes != null) {
       excludedNodesSize = excludedNodes.size();
@@ -211,6 +218,26 @@ List<DatanodeDetails> filterViableNodes(
     return healthyList;
   }
 
+  /**
+   * Returns {@link #multipleRacksAvailable} for all the healthy nodes, which
+   * is only computed again once the node states change.
+   * @param healthyNodes the healthy nodes as of the given version
+   * @param nodeStateVersion version of the node states, -1 if unknown
+   */
+  private boolean healthyNodesOnMultipleRacks(
+      List<DatanodeDetails> healthyNodes, long nodeStateVersion) {
+    final Pair<Long, Boolean> cached = healthyNodesOnMultipleRacks;
+    if (nodeStateVersion >= 0 && cached != null
+        && cached.getLeft() == nodeStateVersion) {
+      return cached.getRight();
+    }
+    final boolean multipleRacks = multipleRacksAvailable(healthyNodes);
+    if (nodeStateVersion >= 0) {
+      healthyNodesOnMultipleRacks = Pair.of(nodeStateVersion, multipleRacks);
+    }
+    return multipleRacks;
+  }
+
   /**
    * Given a list of Datanodes, return false if the entire list is only on a
    * single rack, or the list is empty. If there is more than 1 rack, return
@@ -548,9 +575,11 @@ protected DatanodeDetails chooseNodeBasedOnSameRack(
       return null;
     }
 
+    // Keep the order of the healthy nodes, which are sorted by load.
+    Set<DatanodeDetails> nodesInRack = new HashSet<>(
+        nodeManager.getNodesByNetworkLocation(anchor.getNetworkLocation()));
     List<DatanodeDetails> nodesOnSameRack = healthyNodes.stream().filter(
-        p -> !excludedNodes.contains(p)
-            && anchor.getNetworkLocation().equals(p.getNetworkLocation()))
+        p -> !excludedNodes.contains(p) && nodesInRack.contains(p))
         .collect(Collectors.toList());
     if (!nodesOnSameRack.isEmpty()) {
       return nodesOnSameRack.get(0);
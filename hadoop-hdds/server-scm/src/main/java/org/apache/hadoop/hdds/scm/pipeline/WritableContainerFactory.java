@@ -27,6 +27,7 @@
 import org.apache.hadoop.hdds.scm.server.StorageContainerManager;
 
 import java.io.IOException;
+import java.util.List;
 
 import static org.apache.hadoop.hdds.conf.StorageUnit.BYTES;
 import static org.apache.hadoop.hdds.scm.ScmConfigKeys.OZONE_SCM_CONTAINER_SIZE;
@@ -81,6 +82,29 @@ public ContainerInfo getContainer(final long size,
     }
   }
 
+  /**
+   * @return the containers of a number of blocks, one per block.
+   * @see WritableContainerProvider#getContainers
+   */
+  public List<ContainerInfo> getContainers(final long size, final int num,
+      ReplicationConfig repConfig, String owner, ExcludeList excludeList)
+      throws IOException {
+    switch (repConfig.getReplicationType()) {
+    case STAND_ALONE:
+      return standaloneProvider
+          .getContainers(size, num, repConfig, owner, excludeList);
+    case RATIS:
+      return ratisProvider.getContainers(size, num, repConfig, owner,
+          excludeList);
+    case EC:
+      return ecProvider.getContainers(size, num,
+          (ECReplicationConfig)repConfig, owner, excludeList);
+    default:
+      throw new IOException(repConfig.getReplicationType()
+          + " is an invalid replication type");
+    }
+  }
+
   private long getConfiguredContainerSize(ConfigurationSource conf) {
     return (long) conf.getStorageSize(OZONE_SCM_CONTAINER_SIZE,
         OZONE_SCM_CONTAINER_SIZE_DEFAULT, BYTES);
@@ -23,6 +23,8 @@
 import org.apache.hadoop.hdds.scm.container.common.helpers.ExcludeList;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Interface used by the WritableContainerFactory to obtain a writable container
@@ -55,4 +57,26 @@ ContainerInfo getContainer(long size, T repConfig,
       String owner, ExcludeList excludeList)
       throws IOException;
 
+  /**
+   * Obtains the containers for a number of blocks at once.
+   *
+   * @param num The number of blocks.
+   * @return The container of each block, in which the same container may
+   *         appear more than once. There may be fewer containers than blocks
+   *         if no container could be found for some of them.
+   * @see #getContainer(long, ReplicationConfig, String, ExcludeList)
+   */
+  default List<ContainerInfo> getContainers(long size, int num, T repConfig,
+      String owner, ExcludeList excludeList) throws IOException {
+    List<ContainerInfo> containers = new ArrayList<>(num);
+    for (int i = 0; i < num; i++) {
+      ContainerInfo containerInfo =
+          getContainer(size, repConfig, owner, excludeList);
+      if (containerInfo != null) {
+        containers.add(containerInfo);
+      }
+    }
+    return containers;
+  }
+
 }
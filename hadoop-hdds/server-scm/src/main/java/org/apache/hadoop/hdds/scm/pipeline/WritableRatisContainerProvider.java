@@ -33,6 +33,7 @@
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -182,6 +183,38 @@ public ContainerInfo getContainer(final long size,
             + ", replicationConfig: " + repConfig + ". " + failureReason);
   }
 
+  /**
+   * Selects the containers of the blocks from the open pipelines found once
+   * for all of them, and falls back to {@link #getContainer} for the rest if
+   * there are none, which may create a pipeline.
+   */
+  @Override
+  public List<ContainerInfo> getContainers(final long size, final int num,
+      ReplicationConfig repConfig, String owner, ExcludeList excludeList)
+      throws IOException {
+    List<ContainerInfo> containers = new ArrayList<>(num);
+    pipelineManager.acquireReadLock();
+    try {
+      List<Pipeline> availablePipelines = findPipelinesByState(repConfig,
+          excludeList, Pipeline.PipelineState.OPEN);
+      while (!availablePipelines.isEmpty() && containers.size() < num) {
+        ContainerInfo containerInfo = selectContainer(availablePipelines,
+            size, owner, excludeList);
+        if (containerInfo == null) {
+          break;
+        }
+        containers.add(containerInfo);
+      }
+    } finally {
+      pipelineManager.releaseReadLock();
+    }
+
+    while (containers.size() < num) {
+      containers.add(getContainer(size, repConfig, owner, excludeList));
+    }
+    return containers;
+  }
+
   private List<Pipeline> findPipelinesByState(
           final ReplicationConfig repConfig,
           final ExcludeList excludeList,
@@ -185,20 +185,14 @@ public List<AllocatedBlock> allocateBlock(
     auditMap.put("num", String.valueOf(num));
     auditMap.put("replication", replicationConfig.toString());
     auditMap.put("owner", owner);
-    List<AllocatedBlock> blocks = new ArrayList<>(num);
 
     if (LOG.isDebugEnabled()) {
       LOG.debug("Allocating {} blocks of size {}, with {}",
           num, size, excludeList);
     }
     try {
-      for (int i = 0; i < num; i++) {
-        AllocatedBlock block = scm.getScmBlockManager()
-            .allocateBlock(size, replicationConfig, owner, excludeList);
-        if (block != null) {
-          blocks.add(block);
-        }
-      }
+      List<AllocatedBlock> blocks = scm.getScmBlockManager()
+          .allocateBlocks(size, num, replicationConfig, owner, excludeList);
 
       auditMap.put("allocated", String.valueOf(blocks.size()));
 
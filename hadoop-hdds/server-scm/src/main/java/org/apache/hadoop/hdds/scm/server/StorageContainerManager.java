@@ -469,7 +469,7 @@ private void initializeEventHandlers() {
     StaleNodeHandler staleNodeHandler =
         new StaleNodeHandler(scmNodeManager, pipelineManager, configuration);
     DeadNodeHandler deadNodeHandler = new DeadNodeHandler(scmNodeManager,
-        pipelineManager, containerManager);
+        pipelineManager, containerManager, replicationManager);
     StartDatanodeAdminHandler datanodeStartAdminHandler =
         new StartDatanodeAdminHandler(scmNodeManager, pipelineManager);
     ReadOnlyHealthyToHealthyNodeHandler readOnlyHealthyToHealthyNodeHandler =
@@ -482,11 +482,11 @@ private void initializeEventHandlers() {
 
     ContainerReportHandler containerReportHandler =
         new ContainerReportHandler(scmNodeManager, containerManager,
-            scmContext, configuration);
+            scmContext, replicationManager, configuration);
 
     IncrementalContainerReportHandler incrementalContainerReportHandler =
         new IncrementalContainerReportHandler(
-            scmNodeManager, containerManager, scmContext);
+            scmNodeManager, containerManager, scmContext, replicationManager);
     PipelineActionHandler pipelineActionHandler =
         new PipelineActionHandler(pipelineManager, scmContext, configuration);
     CRLStatusReportHandler crlStatusReportHandler =
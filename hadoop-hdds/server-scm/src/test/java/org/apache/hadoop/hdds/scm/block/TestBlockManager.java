@@ -23,6 +23,7 @@
 import java.nio.file.Path;
 import java.time.ZoneOffset;
 import java.util.List;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.ArrayList;
 import java.util.concurrent.CompletableFuture;
@@ -211,6 +212,35 @@ public void testAllocateBlock() throws Exception {
     Assertions.assertNotNull(block);
   }
 
+  @Test
+  public void testAllocateBlocks() throws Exception {
+    int numBlocks = numContainerPerOwnerInPipeline *
+        numContainerPerOwnerInPipeline;
+    nodeManager.setNumPipelinePerDatanode(1);
+    pipelineManager.createPipeline(replicationConfig);
+    HddsTestUtils.openAllRatisPipelines(pipelineManager);
+    List<AllocatedBlock> blocks = blockManager.allocateBlocks(
+        DEFAULT_BLOCK_SIZE, numBlocks, replicationConfig, OzoneConsts.OZONE,
+        new ExcludeList());
+    Assertions.assertEquals(numBlocks, blocks.size());
+
+    // The local IDs are one range, and the blocks are spread over the
+    // containers of the pipeline like single allocations.
+    Map<Long, Integer> blocksPerContainer = new HashMap<>();
+    long firstLocalID = blocks.get(0).getBlockID().getLocalID();
+    for (int i = 0; i < numBlocks; i++) {
+      AllocatedBlock block = blocks.get(i);
+      Assertions.assertEquals(firstLocalID + i,
+          block.getBlockID().getLocalID());
+      blocksPerContainer.merge(block.getBlockID().getContainerID(), 1,
+          Integer::sum);
+    }
+    Assertions.assertEquals(numContainerPerOwnerInPipeline,
+        blocksPerContainer.size());
+    blocksPerContainer.values().forEach(n ->
+        Assertions.assertEquals(numContainerPerOwnerInPipeline, n));
+  }
+
   @Test
   public void testAllocateBlockWithExclusion() throws Exception {
     try {
@@ -610,6 +640,19 @@ public void testBlockAllocationWithNoAvailablePipelines()
             new ExcludeList()));
   }
 
+  @Test
+  @Timeout(100)
+  public void testAllocateBlocksWithNoAvailablePipelines()
+      throws IOException {
+    for (Pipeline pipeline : pipelineManager.getPipelines()) {
+      pipelineManager.closePipeline(pipeline, false);
+    }
+    Assertions.assertEquals(0,
+        pipelineManager.getPipelines(replicationConfig).size());
+    Assertions.assertEquals(3, blockManager.allocateBlocks(DEFAULT_BLOCK_SIZE,
+        3, replicationConfig, OzoneConsts.OZONE, new ExcludeList()).size());
+  }
+
   private class DatanodeCommandHandler implements
       EventHandler<CommandForDatanode> {
 
@@ -68,6 +68,7 @@
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.apache.hadoop.hdds.scm.ScmConfigKeys
     .OZONE_SCM_BLOCK_DELETION_MAX_RETRY;
@@ -615,6 +616,60 @@ public void testDeletedBlockTransactionsOfDeletedContainer()
     Assertions.assertEquals(0, blocks.size());
   }
 
+  @Test
+  public void testScanNewTransactionsOnly() throws Exception {
+    addTransactions(generateData(30), true);
+    Assertions.assertEquals(30 * THREE, getAllTransactions().size());
+    Mockito.verify(metrics).incrBlockDeletionTransactionScanned(30);
+
+    // The transactions scanned before are not read from the log again.
+    Assertions.assertEquals(30 * THREE, getAllTransactions().size());
+    Mockito.verify(metrics).incrBlockDeletionTransactionScanned(0);
+    Mockito.verify(metrics, Mockito.times(2))
+        .setNumBlockDeletionTransactionPending(30);
+
+    addTransactions(generateData(10), true);
+    Assertions.assertEquals(40 * THREE, getAllTransactions().size());
+    Mockito.verify(metrics).incrBlockDeletionTransactionScanned(10);
+
+    // A new leader scans the whole log.
+    deletedBlockLog.onBecomeLeader();
+    Assertions.assertEquals(40 * THREE, getAllTransactions().size());
+    Mockito.verify(metrics).incrBlockDeletionTransactionScanned(40);
+  }
+
+  @Test
+  public void testTransactionSentToNewReplica() throws Exception {
+    Map<Long, List<Long>> deletedBlocks = generateData(1);
+    addTransactions(deletedBlocks, true);
+    long containerID = deletedBlocks.keySet().iterator().next();
+    List<DeletedBlocksTransaction> blocks = getAllTransactions();
+    Assertions.assertEquals(THREE, blocks.size());
+    commitTransactions(blocks.subList(0, 1), dnList.get(0), dnList.get(1));
+
+    // The replica of the third datanode moves to a new datanode.
+    DatanodeDetails newDn = DatanodeDetails.newBuilder()
+        .setUuid(UUID.randomUUID()).build();
+    replicas.put(containerID, Stream.of(dnList.get(0), dnList.get(1), newDn)
+        .map(dn -> ContainerReplica.newBuilder()
+            .setContainerID(ContainerID.valueOf(containerID))
+            .setContainerState(ContainerReplicaProto.State.CLOSED)
+            .setDatanodeDetails(dn)
+            .build())
+        .collect(Collectors.toSet()));
+
+    DatanodeDeletedBlockTransactions transactions =
+        deletedBlockLog.getTransactions(BLOCKS_PER_TXN * THREE,
+            Collections.singleton(newDn));
+    blocks = transactions.getDatanodeTransactionMap().get(newDn.getUuid());
+    Assertions.assertEquals(1, blocks.size());
+    commitTransactions(blocks, newDn);
+
+    Assertions.assertEquals(0, getAllTransactions().size());
+    Assertions.assertEquals(0, scm.getScmMetadataStore()
+        .getDeletedBlocksTXTable().getEstimatedKeyCount());
+  }
+
   private void mockStandAloneContainerInfo(long containerID, DatanodeDetails dd)
       throws IOException {
     List<DatanodeDetails> dns = Collections.singletonList(dd);
@@ -0,0 +1,48 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hdds.scm.block;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for {@link DeletedBlockTransactionIndex}.
+ */
+public class TestDeletedBlockTransactionIndex {
+
+  @Test
+  public void testOldestIndexTime() {
+    DeletedBlockTransactionIndex index = new DeletedBlockTransactionIndex();
+    assertEquals(-1, index.getOldestIndexTime());
+
+    index.add(5, 1, 1, 100);
+    index.add(6, 1, 1, 200);
+    // A transaction with a lower ID indexed again after its count is reset.
+    index.add(2, 1, 1, 300);
+    assertEquals(100, index.getOldestIndexTime());
+
+    index.remove(5);
+    assertEquals(200, index.getOldestIndexTime());
+    index.remove(6);
+    assertEquals(300, index.getOldestIndexTime());
+
+    index.clear();
+    assertEquals(-1, index.getOldestIndexTime());
+  }
+}
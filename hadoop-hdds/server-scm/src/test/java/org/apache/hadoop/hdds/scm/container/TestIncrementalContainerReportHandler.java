@@ -32,6 +32,7 @@
     .StorageContainerDatanodeProtocolProtos.IncrementalContainerReportProto;
 import org.apache.hadoop.hdds.scm.HddsTestUtils;
 import org.apache.hadoop.hdds.scm.container.replication.ContainerReplicaPendingOps;
+import org.apache.hadoop.hdds.scm.container.replication.ReplicationManager;
 import org.apache.hadoop.hdds.scm.ha.SCMHAManagerStub;
 import org.apache.hadoop.hdds.scm.ha.SCMContext;
 import org.apache.hadoop.hdds.scm.ha.SCMHAManager;
@@ -238,6 +239,45 @@ public void testClosingToClosed() throws IOException, TimeoutException {
         containerManager.getContainer(container.containerID()).getState());
   }
 
+  @Test
+  public void testReplicationManagerNotifiedOfChangedReplicas()
+      throws IOException, TimeoutException {
+    final ReplicationManager replicationManager =
+        Mockito.mock(ReplicationManager.class);
+    final IncrementalContainerReportHandler reportHandler =
+        new IncrementalContainerReportHandler(
+            nodeManager, containerManager, scmContext, replicationManager);
+    final ContainerInfo container = getContainer(LifeCycleState.CLOSING);
+    final DatanodeDetails datanodeOne = randomDatanodeDetails();
+    final DatanodeDetails datanodeTwo = randomDatanodeDetails();
+    final DatanodeDetails datanodeThree = randomDatanodeDetails();
+    nodeManager.register(datanodeOne, null, null);
+    nodeManager.register(datanodeTwo, null, null);
+    nodeManager.register(datanodeThree, null, null);
+    final Set<ContainerReplica> containerReplicas = getReplicas(
+        container.containerID(),
+        ContainerReplicaProto.State.CLOSING,
+        datanodeOne, datanodeTwo, datanodeThree);
+
+    containerStateManager.addContainer(container.getProtobuf());
+    containerReplicas.forEach(r -> containerStateManager.updateContainerReplica(
+        container.containerID(), r));
+
+    final IncrementalContainerReportFromDatanode icrFromDatanode =
+        new IncrementalContainerReportFromDatanode(datanodeOne,
+            getIncrementalContainerReportProto(container.containerID(),
+                ContainerReplicaProto.State.CLOSED,
+                datanodeOne.getUuidString()));
+    reportHandler.onMessage(icrFromDatanode, publisher);
+    Mockito.verify(replicationManager, Mockito.times(1))
+        .notifyContainerReplicaChanged(container.containerID());
+
+    // The same replica reported again does not change anything.
+    reportHandler.onMessage(icrFromDatanode, publisher);
+    Mockito.verify(replicationManager, Mockito.times(1))
+        .notifyContainerReplicaChanged(container.containerID());
+  }
+
   /**
    * Tests that CLOSING to CLOSED transition for an EC container happens only
    * when a CLOSED replica with first index or parity indexes is reported.
@@ -58,6 +58,7 @@
 import org.mockito.Mockito;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.util.ArrayList;
@@ -210,6 +211,60 @@ public void testPendingOpsClearedWhenStarting() {
         .getPendingOpCount(ContainerReplicaOp.PendingOpType.DELETE));
   }
 
+  @Test
+  public void testDirtyContainersProcessedBetweenFullScans()
+      throws ContainerNotFoundException {
+    Mockito.when(containerManager.getContainer(Mockito.any(ContainerID.class)))
+        .thenAnswer(invocation -> containerInfoSet.stream()
+            .filter(c -> c.containerID().equals(invocation.getArgument(0)))
+            .findFirst()
+            .orElseThrow(ContainerNotFoundException::new));
+    ContainerInfo changed = createContainerInfo(repConfig, 1,
+        HddsProtos.LifeCycleState.CLOSED);
+    addReplicas(changed, ContainerReplicaProto.State.CLOSED, 1, 2, 3, 4, 5);
+    ContainerInfo unchanged = createContainerInfo(repConfig, 2,
+        HddsProtos.LifeCycleState.CLOSED);
+    addReplicas(unchanged, ContainerReplicaProto.State.CLOSED, 1, 2, 3, 4, 5);
+
+    enableProcessAll();
+    replicationManager.processAll();
+    assertEquals(0, replicationManager.getQueue().underReplicatedQueueSize());
+
+    // Both containers lose a replica, but only one change is notified.
+    addReplicas(changed, ContainerReplicaProto.State.CLOSED, 1, 2, 3, 4);
+    addReplicas(unchanged, ContainerReplicaProto.State.CLOSED, 1, 2, 3, 4);
+    replicationManager.notifyContainerReplicaChanged(changed.containerID());
+    replicationManager.notifyContainerReplicaChanged(changed.containerID());
+    assertEquals(1, replicationManager.getDirtyContainerCount());
+
+    replicationManager.processDirtyContainers();
+    assertEquals(0, replicationManager.getDirtyContainerCount());
+    ReplicationQueue queue = replicationManager.getQueue();
+    assertEquals(1, queue.underReplicatedQueueSize());
+    assertEquals(changed,
+        queue.dequeueUnderReplicatedContainer().getContainerInfo());
+    assertEquals(1,
+        replicationManager.getMetrics().getDirtyContainersProcessedTotal());
+
+    // The next full scan finds the other one.
+    replicationManager.processAll();
+    assertEquals(2, replicationManager.getQueue().underReplicatedQueueSize());
+  }
+
+  @Test
+  public void testFullScanClearsDirtyContainers() {
+    replicationManager.notifyContainerReplicaChanged(ContainerID.valueOf(1));
+    assertEquals(1, replicationManager.getDirtyContainerCount());
+    enableProcessAll();
+    replicationManager.processAll();
+    assertEquals(0, replicationManager.getDirtyContainerCount());
+
+    // Changes are left to the full scans when the dirty checks are disabled.
+    replicationManager.getConfig().setDirtyContainerInterval(Duration.ZERO);
+    replicationManager.notifyContainerReplicaChanged(ContainerID.valueOf(1));
+    assertEquals(0, replicationManager.getDirtyContainerCount());
+  }
+
   @Test
   public void testOpenContainerSkipped() throws ContainerNotFoundException {
     ContainerInfo container = createContainerInfo(repConfig, 1,
@@ -124,6 +124,29 @@ public void testSequenceIDGenUponRatis() throws Exception {
     Assertions.assertEquals(203, sequenceIdGen.getNextId("otherKey"));
   }
 
+  @Test
+  public void testNextIds() throws Exception {
+    OzoneConfiguration conf = SCMTestUtils.getConf();
+    conf.setInt(OZONE_SCM_SEQUENCE_ID_BATCH_SIZE, 100);
+    SCMMetadataStore scmMetadataStore = new SCMMetadataStoreImpl(conf);
+    scmMetadataStore.start(conf);
+    SCMHAManager scmHAManager = SCMHAManagerStub.getInstance(true);
+    SequenceIdGenerator sequenceIdGen = new SequenceIdGenerator(
+        conf, scmHAManager, scmMetadataStore.getSequenceIdTable());
+
+    // [1, 10] in the first batch [1, 100]
+    Assertions.assertEquals(1L, sequenceIdGen.getNextIds("someKey", 10));
+    Assertions.assertEquals(11L, sequenceIdGen.getNextId("someKey"));
+
+    // [12, 100] is too small, [101, 195] in the next batch [101, 200]
+    Assertions.assertEquals(101L, sequenceIdGen.getNextIds("someKey", 95));
+    Assertions.assertEquals(196L, sequenceIdGen.getNextId("someKey"));
+
+    // a range larger than a batch gets a batch of its own, [201, 450]
+    Assertions.assertEquals(201L, sequenceIdGen.getNextIds("someKey", 250));
+    Assertions.assertEquals(451L, sequenceIdGen.getNextId("someKey"));
+  }
+
   @Test
   public void testSequenceIDGenUponRatisWhenCurrentScmIsNotALeader()
       throws Exception {
@@ -31,6 +31,8 @@
 import org.apache.hadoop.hdds.scm.node.NodeStatus;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -123,6 +125,85 @@ public void testGetNodeMethodsReturnCorrectCountsAndStates()
         map.getNodeCount(NodeOperationalState.DECOMMISSIONING, null));
   }
 
+  @Test
+  public void testVersionChangesWithNodeStates()
+      throws NodeAlreadyExistsException, NodeNotFoundException {
+    long version = map.getVersion();
+    DatanodeDetails dn = generateDatanode();
+    map.addNode(dn, NodeStatus.inServiceHealthy(), null);
+    assertTrue(map.getVersion() > version);
+
+    version = map.getVersion();
+    map.addContainer(dn.getUuid(), ContainerID.valueOf(1L));
+    assertEquals(version, map.getVersion());
+
+    map.updateNodeHealthState(dn.getUuid(), NodeState.STALE);
+    assertTrue(map.getVersion() > version);
+    version = map.getVersion();
+    map.updateNodeOperationalState(dn.getUuid(),
+        NodeOperationalState.DECOMMISSIONING, 0);
+    assertTrue(map.getVersion() > version);
+  }
+
+  @Test
+  public void testQueriesFollowStateChanges()
+      throws NodeAlreadyExistsException, NodeNotFoundException {
+    DatanodeDetails dn = generateDatanode();
+    map.addNode(dn, NodeStatus.inServiceHealthy(), null);
+    List<DatanodeInfo> healthy = map.getDatanodeInfos(
+        NodeStatus.inServiceHealthy());
+    assertEquals(1, healthy.size());
+
+    map.updateNodeHealthState(dn.getUuid(), NodeState.STALE);
+    assertEquals(0, map.getNodeCount(NodeStatus.inServiceHealthy()));
+    assertEquals(1, map.getNodeCount(NodeStatus.inServiceStale()));
+    assertEquals(1, map.getNodeCount(null, NodeState.STALE));
+    assertEquals(NodeStatus.inServiceStale(),
+        map.getNodeStatus(dn.getUuid()));
+    // A list returned earlier is not changed.
+    assertEquals(1, healthy.size());
+
+    map.updateNodeOperationalState(dn.getUuid(),
+        NodeOperationalState.DECOMMISSIONING, 0);
+    assertEquals(0, map.getNodeCount(NodeOperationalState.IN_SERVICE, null));
+    assertEquals(1, map.getNodeCount(
+        NodeOperationalState.DECOMMISSIONING, NodeState.STALE));
+  }
+
+  @Test
+  public void testGetNodesByRack()
+      throws NodeAlreadyExistsException, NodeNotFoundException {
+    DatanodeDetails dn1 = createDatanode("/rack1");
+    DatanodeDetails dn2 = createDatanode("/rack1");
+    DatanodeDetails dn3 = createDatanode("/rack2");
+    map.addNode(dn1, NodeStatus.inServiceHealthy(), null);
+    map.addNode(dn2, NodeStatus.inServiceStale(), null);
+    map.addNode(dn3, NodeStatus.inServiceHealthy(), null);
+
+    List<DatanodeInfo> rack1 = map.getDatanodeInfos("/rack1");
+    assertEquals(2, rack1.size());
+    assertTrue(rack1.contains(dn1));
+    assertTrue(rack1.contains(dn2));
+    assertEquals(1, map.getDatanodeInfos("/rack2").size());
+    assertTrue(map.getDatanodeInfos("/rack3").isEmpty());
+
+    // A node registering again from another rack moves to its new rack.
+    long version = map.getVersion();
+    DatanodeDetails moved = MockDatanodeDetails.createDatanodeDetails(
+        dn2.getUuidString(), dn2.getHostName(), dn2.getIpAddress(), "/rack3");
+    map.updateNode(moved, NodeStatus.inServiceHealthy(), null);
+    assertTrue(map.getVersion() > version);
+    assertEquals(1, map.getDatanodeInfos("/rack1").size());
+    assertEquals(1, map.getDatanodeInfos("/rack3").size());
+  }
+
+  @Test
+  public void testNodeNotFound() {
+    UUID uuid = UUID.randomUUID();
+    assertThrows(NodeNotFoundException.class, () -> map.getNodeInfo(uuid));
+    assertThrows(NodeNotFoundException.class, () -> map.getNodeStatus(uuid));
+  }
+
   /**
    * Test if container list is iterable even if it's modified from other thread.
    */
@@ -181,6 +262,12 @@ private void addRandomNodeWithState(
     addNodeWithState(dn, opState, health);
   }
 
+  private DatanodeDetails createDatanode(String networkLocation) {
+    UUID uuid = UUID.randomUUID();
+    return MockDatanodeDetails.createDatanodeDetails(uuid.toString(),
+        "host-" + uuid, "127.0.0.1", networkLocation);
+  }
+
   private DatanodeDetails generateDatanode() {
     return DatanodeDetails.newBuilder().setUuid(UUID.randomUUID()).build();
   }
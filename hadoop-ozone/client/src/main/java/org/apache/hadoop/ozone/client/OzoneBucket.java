@@ -38,6 +38,7 @@
 import org.apache.hadoop.ozone.client.protocol.ClientProtocol;
 import org.apache.hadoop.ozone.OzoneAcl;
 import org.apache.hadoop.ozone.om.exceptions.OMException;
+import org.apache.hadoop.ozone.om.helpers.ListStatusIterator;
 import org.apache.hadoop.ozone.om.helpers.OmMultipartInfo;
 import org.apache.hadoop.ozone.om.helpers.OmMultipartUploadCompleteInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
@@ -768,6 +769,21 @@ public OzoneFileStatus getFileStatus(String keyName) throws IOException {
     return proxy.getOzoneFileStatus(volumeName, name, keyName);
   }
 
+  /**
+   * OzoneFS api to get file status for many entries in one call.
+   *
+   * @param keyNames Key names
+   * @return file status of each entry in the order of keyNames, null for the
+   *         entries which do not exist.
+   * @throws OMException if bucket does not exist
+   * @throws IOException if there is error in the db
+   *                     invalid arguments
+   */
+  public List<OzoneFileStatus> getFileStatuses(List<String> keyNames)
+      throws IOException {
+    return proxy.getOzoneFileStatuses(volumeName, name, keyNames);
+  }
+
   /**
    * Ozone FS api to create a directory. Parent directories if do not exist
    * are created for the input directory.
@@ -886,6 +902,25 @@ public List<OzoneFileStatus> listStatus(String keyName, boolean recursive,
             numEntries, allowPartialPrefix);
   }
 
+  /**
+   * Iterate over the status of a file or the contents of a directory. The
+   * statuses are fetched in batches while iterating, streamed from OM if
+   * the client is connected over gRPC.
+   *
+   * @param keyName    Absolute path of the entry to be listed
+   * @param recursive  For a directory if true all the descendants of a
+   *                   particular directory are listed
+   * @param startKey   Key from which listing needs to start. If startKey exists
+   *                   its status is included in the listing.
+   * @param batchSize  Number of entries to fetch at once
+   * @return iterator of file status
+   */
+  public ListStatusIterator listStatusIterator(String keyName,
+      boolean recursive, String startKey, long batchSize) throws IOException {
+    return proxy.listStatusIterator(volumeName, name, keyName, recursive,
+        startKey, batchSize);
+  }
+
   /**
    * Return with the list of the in-flight multipart uploads.
    *
@@ -32,6 +32,7 @@
 import org.apache.hadoop.hdds.scm.container.common.helpers.ExcludeList;
 import org.apache.hadoop.hdds.scm.pipeline.PipelineID;
 import org.apache.hadoop.hdds.scm.storage.BufferPool;
+import org.apache.hadoop.hdds.scm.storage.DirectBufferArena;
 import org.apache.hadoop.ozone.om.helpers.OmKeyArgs;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfo;
@@ -112,7 +113,12 @@ public BlockOutputStreamEntryPool(
             (int) (config.getStreamBufferMaxSize() / config
                 .getStreamBufferSize()),
             ByteStringConversion
-                .createByteBufferConversion(unsafeByteBufferConversion));
+                .createByteBufferConversion(unsafeByteBufferConversion),
+            config.isStreamBufferArenaEnabled()
+                ? DirectBufferArena.getInstance(
+                    config.getStreamBufferArenaSize(),
+                    config.getStreamBufferArenaWait())
+                : null);
     this.clientMetrics = clientMetrics;
   }
 
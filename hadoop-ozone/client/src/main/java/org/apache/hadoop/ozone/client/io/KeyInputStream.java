@@ -21,6 +21,7 @@
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -54,6 +55,12 @@ public KeyInputStream(String keyName,
     super(keyName, inputStreams);
   }
 
+  public KeyInputStream(String keyName,
+      List<? extends BlockExtendedInputStream> inputStreams,
+      Executor blockReadExecutor) {
+    super(keyName, inputStreams, blockReadExecutor);
+  }
+
   private static List<BlockExtendedInputStream> createStreams(
       OmKeyInfo keyInfo,
       List<OmKeyLocationInfo> blockInfos,
@@ -125,7 +132,8 @@ private static LengthInputStream getFromOmKeyInfo(
         locationInfos, xceiverClientFactory, verifyChecksum, retryFunction,
         blockStreamFactory);
     KeyInputStream keyInputStream =
-        new KeyInputStream(keyInfo.getKeyName(), streams);
+        new KeyInputStream(keyInfo.getKeyName(), streams,
+            blockStreamFactory.getReadExecutor());
     return new LengthInputStream(keyInputStream, keyInputStream.getLength());
   }
 
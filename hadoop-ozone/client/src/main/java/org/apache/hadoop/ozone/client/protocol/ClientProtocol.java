@@ -49,6 +49,7 @@
 import org.apache.hadoop.ozone.om.OMConfigKeys;
 import org.apache.hadoop.ozone.om.exceptions.OMException;
 import org.apache.hadoop.ozone.om.helpers.DeleteTenantState;
+import org.apache.hadoop.ozone.om.helpers.ListStatusIterator;
 import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfo;
 import org.apache.hadoop.ozone.om.helpers.OmMultipartInfo;
 import org.apache.hadoop.ozone.om.helpers.OmMultipartUploadCompleteInfo;
@@ -778,6 +779,22 @@ TenantUserList listUsersInTenant(String tenantId, String prefix)
   OzoneFileStatus getOzoneFileStatus(String volumeName, String bucketName,
       String keyName) throws IOException;
 
+  /**
+   * Get the Ozone File Status for many Ozone keys of a bucket in one call.
+   *
+   * @param volumeName volume name.
+   * @param bucketName bucket name.
+   * @param keyNames   key names.
+   * @return OzoneFileStatus for each key in the order of keyNames, null for
+   *         the keys which do not exist.
+   * @throws OMException if bucket does not exist
+   *                     if volume does not exist
+   * @throws IOException if there is error in the db
+   *                     invalid arguments
+   */
+  List<OzoneFileStatus> getOzoneFileStatuses(String volumeName,
+      String bucketName, List<String> keyNames) throws IOException;
+
   /**
    * Creates directory with keyName as the absolute path for the directory.
    *
@@ -901,6 +918,24 @@ List<OzoneFileStatus> listStatus(String volumeName, String bucketName,
       String keyName, boolean recursive, String startKey,
       long numEntries, boolean allowPartialPrefixes) throws IOException;
 
+  /**
+   * Iterate over the status of a file or the contents of a directory, which
+   * are fetched in batches while iterating.
+   *
+   * @param volumeName Volume name
+   * @param bucketName Bucket name
+   * @param keyName    Absolute path of the entry to be listed
+   * @param recursive  For a directory if true all the descendants of a
+   *                   particular directory are listed
+   * @param startKey   Key from which listing needs to start. If startKey exists
+   *                   its status is included in the listing.
+   * @param batchSize  Number of entries to fetch at once
+   * @return iterator of file status
+   */
+  ListStatusIterator listStatusIterator(String volumeName,
+      String bucketName, String keyName, boolean recursive, String startKey,
+      long batchSize) throws IOException;
+
   /**
    * Add acl for Ozone object. Return true if acl is added successfully else
    * false.
@@ -100,6 +100,7 @@
 import org.apache.hadoop.ozone.client.io.KeyOutputStream;
 import org.apache.hadoop.ozone.client.io.LengthInputStream;
 import org.apache.hadoop.hdds.scm.storage.MultipartInputStream;
+import org.apache.hadoop.hdds.scm.storage.ChunkReadahead;
 import org.apache.hadoop.ozone.client.io.OzoneCryptoInputStream;
 import org.apache.hadoop.ozone.client.io.OzoneDataStreamOutput;
 import org.apache.hadoop.ozone.client.io.OzoneInputStream;
@@ -112,6 +113,7 @@
 import org.apache.hadoop.ozone.om.helpers.BucketEncryptionKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.DeleteTenantState;
 import org.apache.hadoop.ozone.om.helpers.KeyInfoWithVolumeContext;
+import org.apache.hadoop.ozone.om.helpers.ListStatusIterator;
 import org.apache.hadoop.ozone.om.helpers.OmBucketArgs;
 import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
 import org.apache.hadoop.ozone.om.helpers.OmDeleteKeys;
@@ -212,6 +214,8 @@ public class RpcClient implements ClientProtocol {
   private final BlockInputStreamFactory blockInputStreamFactory;
   private final OzoneManagerVersion omVersion;
   private volatile ExecutorService ecReconstructExecutor;
+  private volatile ExecutorService readaheadExecutor;
+  private volatile ExecutorService vectoredReadExecutor;
   private final ContainerClientMetrics clientMetrics;
 
   /**
@@ -323,9 +327,14 @@ public void onRemoval(
           }
         }).build();
     this.byteBufferPool = new ElasticByteBufferPool();
-    this.blockInputStreamFactory = BlockInputStreamFactoryImpl
-        .getInstance(byteBufferPool, this::getECReconstructExecutor);
     this.clientMetrics = ContainerClientMetrics.acquire();
+    final ChunkReadahead readahead = clientConfig.getReadaheadMaxChunks() > 0
+        ? new ChunkReadahead(clientConfig.getReadaheadMaxChunks(),
+            this::getReadaheadExecutor, clientMetrics)
+        : null;
+    this.blockInputStreamFactory = BlockInputStreamFactoryImpl
+        .getInstance(byteBufferPool, this::getECReconstructExecutor,
+            readahead, this::getVectoredReadExecutor);
   }
 
   public XceiverClientFactory getXceiverClientManager() {
@@ -1704,6 +1713,14 @@ public void close() throws IOException {
       ecReconstructExecutor.shutdownNow();
       ecReconstructExecutor = null;
     }
+    if (readaheadExecutor != null) {
+      readaheadExecutor.shutdownNow();
+      readaheadExecutor = null;
+    }
+    if (vectoredReadExecutor != null) {
+      vectoredReadExecutor.shutdownNow();
+      vectoredReadExecutor = null;
+    }
     IOUtils.cleanupWithLogger(LOG, ozoneManagerClient, xceiverClientManager);
     keyProviderCache.invalidateAll();
     keyProviderCache.cleanUp();
@@ -1932,6 +1949,18 @@ public OzoneFileStatus getOzoneFileStatus(String volumeName,
     return ozoneManagerClient.getFileStatus(keyArgs);
   }
 
+  @Override
+  public List<OzoneFileStatus> getOzoneFileStatuses(String volumeName,
+      String bucketName, List<String> keyNames) throws IOException {
+    OmKeyArgs keyArgs = new OmKeyArgs.Builder()
+        .setVolumeName(volumeName)
+        .setBucketName(bucketName)
+        .setSortDatanodesInPipeline(topologyAwareReadEnabled)
+        .setLatestVersionLocation(getLatestVersionLocation)
+        .build();
+    return ozoneManagerClient.getFileStatuses(keyArgs, keyNames);
+  }
+
   @Override
   public void createDirectory(String volumeName, String bucketName,
       String keyName) throws IOException {
@@ -2074,6 +2103,15 @@ public List<OzoneFileStatus> listStatus(String volumeName, String bucketName,
             allowPartialPrefixes);
   }
 
+  @Override
+  public ListStatusIterator listStatusIterator(String volumeName,
+      String bucketName, String keyName, boolean recursive, String startKey,
+      long batchSize) throws IOException {
+    OmKeyArgs keyArgs = prepareOmKeyArgs(volumeName, bucketName, keyName);
+    return ozoneManagerClient
+        .listStatusIterator(keyArgs, recursive, startKey, batchSize);
+  }
+
   /**
    * Add acl for Ozone object. Return true if acl is added successfully else
    * false.
@@ -2200,7 +2238,8 @@ private OzoneInputStream createInputStream(
         cryptoInputStreams.add(ozoneCryptoInputStream);
       }
       return new OzoneInputStream(
-          new MultipartInputStream(keyInfo.getKeyName(), cryptoInputStreams));
+          new MultipartInputStream(keyInfo.getKeyName(), cryptoInputStreams,
+              blockInputStreamFactory.getReadExecutor()));
     }
   }
   private OzoneDataStreamOutput createDataStreamOutput(OpenKeySession openKey)
@@ -2434,4 +2473,47 @@ public ExecutorService getECReconstructExecutor() {
     }
     return executor;
   }
+
+  private ExecutorService getReadaheadExecutor() {
+    ExecutorService executor = readaheadExecutor;
+    if (executor == null) {
+      synchronized (this) {
+        executor = readaheadExecutor;
+        if (executor == null) {
+          // Readahead is skipped instead of queued when all threads are busy.
+          readaheadExecutor = new ThreadPoolExecutor(0,
+              clientConfig.getReadaheadPoolLimit(),
+              60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+              new ThreadFactoryBuilder()
+                  .setNameFormat("chunk-readahead-TID-%d")
+                  .setDaemon(true)
+                  .build(),
+              new ThreadPoolExecutor.AbortPolicy());
+          executor = readaheadExecutor;
+        }
+      }
+    }
+    return executor;
+  }
+
+  private ExecutorService getVectoredReadExecutor() {
+    ExecutorService executor = vectoredReadExecutor;
+    if (executor == null) {
+      synchronized (this) {
+        executor = vectoredReadExecutor;
+        if (executor == null) {
+          vectoredReadExecutor = new ThreadPoolExecutor(0,
+              clientConfig.getVectoredReadPoolLimit(),
+              60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+              new ThreadFactoryBuilder()
+                  .setNameFormat("vectored-read-TID-%d")
+                  .setDaemon(true)
+                  .build(),
+              new ThreadPoolExecutor.CallerRunsPolicy());
+          executor = vectoredReadExecutor;
+        }
+      }
+    }
+    return executor;
+  }
 }
@@ -69,6 +69,7 @@ public void testReadAgainstLargeBlockGroup() throws IOException {
         mock(BlockInputStreamFactory.class);
     when(mockStreamFactory.create(any(), any(), any(), any(),
         anyBoolean(), any(), any())).thenReturn(blockInputStream);
+    when(mockStreamFactory.getReadExecutor()).thenReturn(Runnable::run);
 
     try (LengthInputStream kis = KeyInputStream.getFromOmKeyInfo(keyInfo,
         null, true,  null, mockStreamFactory)) {
@@ -246,6 +246,7 @@ public static boolean isReadOnly(
     case ServiceList:
     case ListMultiPartUploadParts:
     case GetFileStatus:
+    case GetFileStatuses:
     case LookupFile:
     case ListStatus:
     case GetAcl:
@@ -332,6 +333,39 @@ public static boolean isReadOnly(
     }
   }
 
+  /**
+   * Checks if the OM request may be served by a follower OM. These are the
+   * read only requests which only depend on the replicated namespace, reads
+   * of OM local state (e.g. DBUpdates, PrepareStatus) must go to the leader.
+   * @param omRequest OMRequest proto
+   * @return True if a follower may serve the request, false otherwise.
+   */
+  public static boolean isFollowerReadAllowed(
+      OzoneManagerProtocolProtos.OMRequest omRequest) {
+    switch (omRequest.getCmdType()) {
+    case CheckVolumeAccess:
+    case InfoVolume:
+    case ListVolume:
+    case InfoBucket:
+    case ListBuckets:
+    case LookupKey:
+    case GetKeyInfo:
+    case ListKeys:
+    case ListKeysLight:
+    case ListTrash:
+    case ListMultiPartUploadParts:
+    case ListMultipartUploads:
+    case GetFileStatus:
+    case GetFileStatuses:
+    case LookupFile:
+    case ListStatus:
+    case GetAcl:
+      return true;
+    default:
+      return false;
+    }
+  }
+
   public static byte[] getSHADigest() throws IOException {
     try {
       SRAND.nextBytes(randomBytes);
@@ -80,6 +80,24 @@ default List<OzoneFileStatus> listStatus(OmKeyArgs args, boolean recursive,
    *                     invalid arguments
    */
   OzoneFileStatus getFileStatus(OmKeyArgs keyArgs) throws IOException;
+
+  /**
+   * OzoneFS api to get file status for many entries of the same bucket in
+   * one call.
+   *
+   * @param keyArgs Key args, provides the volume, the bucket and the read
+   *                options for all entries, its key name is ignored.
+   * @param keyNames names of the entries.
+   * @return file status of each entry in the order of keyNames, or null for
+   *         the entries which do not exist.
+   * @throws OMException if bucket does not exist
+   *                     if volume does not exist
+   * @throws IOException if there is error in the db
+   *                     invalid arguments
+   */
+  List<OzoneFileStatus> getFileStatuses(OmKeyArgs keyArgs,
+      List<String> keyNames) throws IOException;
+
   /**
    * OzoneFS api to lookup for a file.
    *
@@ -121,6 +121,13 @@ private OMConfigKeys() {
       "ozone.snapshot.key.deleting.limit.per.task";
   public static final int OZONE_SNAPSHOT_KEY_DELETING_LIMIT_PER_TASK_DEFAULT
       = 20000;
+  public static final String OZONE_KEY_DELETING_SERVICE_WORKERS =
+      "ozone.key.deleting.service.workers";
+  public static final int OZONE_KEY_DELETING_SERVICE_WORKERS_DEFAULT = 1;
+  public static final String OZONE_DELETING_SERVICE_PURGE_LATENCY_TARGET =
+      "ozone.om.deleting.service.purge.latency.target";
+  public static final String
+      OZONE_DELETING_SERVICE_PURGE_LATENCY_TARGET_DEFAULT = "2s";
 
   public static final String OZONE_OM_OPEN_KEY_CLEANUP_SERVICE_INTERVAL =
       "ozone.om.open.key.cleanup.service.interval";
@@ -255,6 +262,11 @@ private OMConfigKeys() {
   public static final boolean
       OZONE_OM_RATIS_SERVER_ELECTION_PRE_VOTE_DEFAULT = true;
 
+  public static final String OZONE_OM_RATIS_SERVER_FOLLOWER_READ_ENABLED_KEY
+      = "ozone.om.ratis.server.follower.read.enabled";
+  public static final boolean
+      OZONE_OM_RATIS_SERVER_FOLLOWER_READ_ENABLED_DEFAULT = false;
+
 
   // OM SnapshotProvider configurations
   public static final String OZONE_OM_RATIS_SNAPSHOT_DIR =
@@ -392,6 +404,9 @@ private OMConfigKeys() {
   // 4KB size (considering acls, key/file name, and other meata)  * 6000
   // resulting 24MB
   public static final int OZONE_PATH_DELETING_LIMIT_PER_TASK_DEFAULT = 6000;
+  public static final String OZONE_DIR_DELETING_SERVICE_WORKERS =
+      "ozone.directory.deleting.service.workers";
+  public static final int OZONE_DIR_DELETING_SERVICE_WORKERS_DEFAULT = 1;
 
   public static final String SNAPSHOT_SST_DELETING_LIMIT_PER_TASK =
       "ozone.snapshot.filtering.limit.per.task";
@@ -449,6 +464,38 @@ private OMConfigKeys() {
   public static final int OZONE_OM_UNFLUSHED_TRANSACTION_MAX_COUNT_DEFAULT
       = 10000;
 
+  /**
+   * Number of partitions used to apply transactions in the OM state machine.
+   * With 1, all transactions are applied serially by a single thread.
+   */
+  public static final String OZONE_OM_APPLY_TRANSACTION_PARTITIONS =
+      "ozone.om.apply.transaction.partitions";
+  public static final int OZONE_OM_APPLY_TRANSACTION_PARTITIONS_DEFAULT = 1;
+
+  /**
+   * Limits and tuning of the OM double buffer flush.
+   */
+  public static final String OZONE_OM_UNFLUSHED_TRANSACTION_MAX_BYTES =
+      "ozone.om.unflushed.transaction.max.bytes";
+  public static final String
+      OZONE_OM_UNFLUSHED_TRANSACTION_MAX_BYTES_DEFAULT = "0B";
+  public static final String OZONE_OM_DOUBLE_BUFFER_BATCH_MAX_ENTRIES =
+      "ozone.om.double.buffer.batch.max.entries";
+  public static final int OZONE_OM_DOUBLE_BUFFER_BATCH_MAX_ENTRIES_DEFAULT =
+      0;
+  public static final String OZONE_OM_DOUBLE_BUFFER_BATCH_MAX_BYTES =
+      "ozone.om.double.buffer.batch.max.bytes";
+  public static final String OZONE_OM_DOUBLE_BUFFER_BATCH_MAX_BYTES_DEFAULT =
+      "0B";
+  public static final String OZONE_OM_DOUBLE_BUFFER_FLUSH_TARGET_LATENCY =
+      "ozone.om.double.buffer.flush.target.latency";
+  public static final String
+      OZONE_OM_DOUBLE_BUFFER_FLUSH_TARGET_LATENCY_DEFAULT = "0ms";
+  public static final String OZONE_OM_DOUBLE_BUFFER_FLUSH_PIPELINED =
+      "ozone.om.double.buffer.flush.pipelined";
+  public static final boolean OZONE_OM_DOUBLE_BUFFER_FLUSH_PIPELINED_DEFAULT =
+      false;
+
   /**
    * This configuration shall be enabled to utilize the functionality of the
    * fine-grained KEY_PATH_LOCK.
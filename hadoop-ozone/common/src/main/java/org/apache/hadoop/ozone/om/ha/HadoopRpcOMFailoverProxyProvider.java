@@ -155,11 +155,29 @@ private T createOMProxy(InetSocketAddress omAddress) throws IOException {
    */
   @Override
   public synchronized ProxyInfo<T> getProxy() {
-    ProxyInfo currentProxyInfo = getOMProxyMap().get(getCurrentProxyOMNodeId());
-    if (currentProxyInfo == null) {
-      currentProxyInfo = createOMProxy(getCurrentProxyOMNodeId());
+    return getProxy(getCurrentProxyOMNodeId());
+  }
+
+  /**
+   * Get the proxy object of the given OM, independent of the current proxy.
+   * Used to send read requests to followers. RPC proxy object is initialized
+   * lazily.
+   * @param nodeId OM node ID
+   * @return the OM proxy object to invoke methods upon
+   */
+  public synchronized ProxyInfo<T> getProxy(String nodeId) {
+    ProxyInfo proxyInfo = getOMProxyMap().get(nodeId);
+    if (proxyInfo == null) {
+      proxyInfo = createOMProxy(nodeId);
     }
-    return currentProxyInfo;
+    return proxyInfo;
+  }
+
+  /**
+   * @return the IDs of all OMs of the service.
+   */
+  public synchronized List<String> getOMNodeIds() {
+    return new ArrayList<>(getOmNodeIDList());
   }
 
   /**
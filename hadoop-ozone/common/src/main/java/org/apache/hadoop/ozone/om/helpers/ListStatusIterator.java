@@ -0,0 +1,142 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.helpers;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import com.google.common.base.Preconditions;
+import org.apache.hadoop.fs.RemoteIterator;
+import org.apache.ratis.util.function.CheckedFunction;
+import org.apache.ratis.util.function.CheckedSupplier;
+
+/**
+ * Iterates over the statuses of a directory listing, which are fetched in
+ * batches as the iterator is consumed.
+ */
+public class ListStatusIterator implements RemoteIterator<OzoneFileStatus> {
+
+  /**
+   * A batch after the first one starts with the last entry of the previous
+   * batch, so it needs at least two entries to make progress.
+   */
+  public static final long MIN_BATCH_SIZE = 2;
+
+  private final CheckedSupplier<List<OzoneFileStatus>, IOException> batches;
+  private Iterator<OzoneFileStatus> current = Collections.emptyIterator();
+  private boolean exhausted;
+  private Runnable batchListener = () -> { };
+
+  /**
+   * @param batches supplies the next batch of statuses, or null once the
+   *                listing is complete.
+   */
+  public ListStatusIterator(
+      CheckedSupplier<List<OzoneFileStatus>, IOException> batches) {
+    this.batches = batches;
+  }
+
+  /**
+   * Returns an iterator which pages through a listing with calls to
+   * listStatus. As the status of the start key is included in the result of
+   * listStatus, it is dropped from each page after the first one.
+   *
+   * @param startKey  key from which the listing starts.
+   * @param batchSize number of entries to request per page, at least
+   *                  {@link #MIN_BATCH_SIZE}.
+   * @param listStatus lists at most batchSize entries from the given key.
+   */
+  public static ListStatusIterator paged(String startKey, long batchSize,
+      CheckedFunction<String, List<OzoneFileStatus>, IOException> listStatus) {
+    checkBatchSize(batchSize);
+    return new ListStatusIterator(new CheckedSupplier<
+        List<OzoneFileStatus>, IOException>() {
+      private String nextKey = startKey;
+      private boolean first = true;
+      private boolean done;
+
+      @Override
+      public List<OzoneFileStatus> get() throws IOException {
+        if (done) {
+          return null;
+        }
+        List<OzoneFileStatus> page = listStatus.apply(nextKey);
+        int count = page.size();
+        done = count < batchSize;
+        if (count == 0) {
+          return page;
+        }
+        String lastKey = page.get(count - 1).getKeyInfo().getKeyName();
+        if (!first && page.get(0).getKeyInfo().getKeyName().equals(nextKey)) {
+          page = page.subList(1, count);
+        }
+        first = false;
+        nextKey = lastKey;
+        // Also stop if the page made no progress.
+        done |= page.isEmpty();
+        return page;
+      }
+    });
+  }
+
+  /**
+   * Sets a listener which is called for each batch fetched, for example to
+   * count the listStatus calls of a listing.
+   */
+  public void setBatchListener(Runnable listener) {
+    this.batchListener = listener;
+  }
+
+  /**
+   * Checks that a listing can be fetched in batches of the given size.
+   *
+   * @throws IllegalArgumentException if the batch size is smaller than
+   *                                  {@link #MIN_BATCH_SIZE}.
+   */
+  public static void checkBatchSize(long batchSize) {
+    Preconditions.checkArgument(batchSize >= MIN_BATCH_SIZE,
+        "List status batch size %s is less than %s", batchSize,
+        MIN_BATCH_SIZE);
+  }
+
+  @Override
+  public boolean hasNext() throws IOException {
+    while (!current.hasNext() && !exhausted) {
+      List<OzoneFileStatus> batch = batches.get();
+      if (batch == null) {
+        exhausted = true;
+      } else {
+        batchListener.run();
+        current = batch.iterator();
+      }
+    }
+    return current.hasNext();
+  }
+
+  @Override
+  public OzoneFileStatus next() throws IOException {
+    if (!hasNext()) {
+      throw new NoSuchElementException("No more file statuses");
+    }
+    return current.next();
+  }
+}
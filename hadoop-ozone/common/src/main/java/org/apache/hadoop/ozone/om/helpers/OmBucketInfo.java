@@ -295,19 +295,24 @@ public String getSourceBucket() {
   }
 
 
-  public long getUsedBytes() {
+  public synchronized long getUsedBytes() {
     return usedBytes;
   }
 
-  public long getUsedNamespace() {
+  public synchronized long getUsedNamespace() {
     return usedNamespace;
   }
 
-  public void incrUsedBytes(long bytes) {
+  /**
+   * Key requests holding only a key path lock may update the usage of the
+   * same cached bucket concurrently, hence the usage updates are
+   * synchronized.
+   */
+  public synchronized void incrUsedBytes(long bytes) {
     this.usedBytes += bytes;
   }
 
-  public void incrUsedNamespace(long namespaceToUse) {
+  public synchronized void incrUsedNamespace(long namespaceToUse) {
     this.usedNamespace += namespaceToUse;
   }
 
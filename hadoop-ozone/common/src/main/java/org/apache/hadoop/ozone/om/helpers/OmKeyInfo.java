@@ -25,6 +25,12 @@
 import java.util.Map;
 import java.util.Objects;
 
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Parser;
+import com.google.protobuf.WireFormat;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.hadoop.fs.FileChecksum;
@@ -33,15 +39,13 @@
 import org.apache.hadoop.hdds.client.ECReplicationConfig;
 import org.apache.hadoop.hdds.client.ReplicationConfig;
 import org.apache.hadoop.hdds.utils.db.Codec;
-import org.apache.hadoop.hdds.utils.db.DelegatedCodec;
 import org.apache.hadoop.hdds.utils.db.CopyObject;
-import org.apache.hadoop.hdds.utils.db.Proto2Codec;
-import org.apache.hadoop.ozone.ClientVersion;
 import org.apache.hadoop.ozone.OzoneAcl;
 import org.apache.hadoop.ozone.OzoneConsts;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.FileChecksumProto;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyInfo;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyLocationList;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OzoneAclInfo;
 import org.apache.hadoop.ozone.protocolPB.OMPBHelper;
 import org.apache.hadoop.util.Time;
 
@@ -61,10 +65,7 @@ public final class OmKeyInfo extends WithParentObjectId
   private static final Codec<OmKeyInfo> CODEC_FALSE = newCodec(false);
 
   private static Codec<OmKeyInfo> newCodec(boolean ignorePipeline) {
-    return new DelegatedCodec<>(
-        Proto2Codec.get(KeyInfo.class),
-        OmKeyInfo::getFromProtobuf,
-        k -> k.getProtobuf(ignorePipeline, ClientVersion.CURRENT_VERSION));
+    return new OmKeyInfoCodec(ignorePipeline);
   }
 
   public static Codec<OmKeyInfo> getCodec(boolean ignorePipeline) {
@@ -78,6 +79,11 @@ public static Codec<OmKeyInfo> getCodec(boolean ignorePipeline) {
   private String keyName;
   private long dataSize;
   private List<OmKeyLocationInfoGroup> keyLocationVersions;
+  /**
+   * The encoded KeyLocationList of each version if the key was decoded
+   * lazily, null once they are decoded into keyLocationVersions.
+   */
+  private transient volatile List<ByteString> encodedKeyLocationVersions;
   private final long creationTime;
   private long modificationTime;
   private ReplicationConfig replicationConfig;
@@ -99,6 +105,11 @@ public static Codec<OmKeyInfo> getCodec(boolean ignorePipeline) {
    * ACL Information.
    */
   private List<OzoneAcl> acls;
+  /**
+   * The encoded OzoneAclInfo of each ACL if the key was decoded lazily, null
+   * once they are decoded into acls.
+   */
+  private transient volatile List<ByteString> encodedAcls;
 
   @SuppressWarnings("parameternumber")
   OmKeyInfo(String volumeName, String bucketName, String keyName,
@@ -187,17 +198,111 @@ public long getParentObjectID() {
 
 
   public synchronized OmKeyLocationInfoGroup getLatestVersionLocations() {
-    return keyLocationVersions.size() == 0 ? null :
-        keyLocationVersions.get(keyLocationVersions.size() - 1);
+    final List<OmKeyLocationInfoGroup> versions = keyLocationVersions();
+    return versions.size() == 0 ? null : versions.get(versions.size() - 1);
   }
 
   public List<OmKeyLocationInfoGroup> getKeyLocationVersions() {
-    return keyLocationVersions;
+    return keyLocationVersions();
   }
 
-  public void setKeyLocationVersions(
+  public synchronized void setKeyLocationVersions(
       List<OmKeyLocationInfoGroup> keyLocationVersions) {
     this.keyLocationVersions = keyLocationVersions;
+    this.encodedKeyLocationVersions = null;
+  }
+
+  /**
+   * Drops the key locations of all but the latest version. The versions
+   * which are dropped are not decoded if the key was decoded lazily.
+   * @return false if the key has no location version.
+   */
+  public synchronized boolean retainLatestVersionLocations() {
+    final List<ByteString> encoded = encodedKeyLocationVersions;
+    if (encoded != null) {
+      if (encoded.size() > 1) {
+        encodedKeyLocationVersions =
+            encoded.subList(encoded.size() - 1, encoded.size());
+      }
+      return !encoded.isEmpty();
+    }
+    final int size = keyLocationVersions.size();
+    if (size > 1) {
+      keyLocationVersions = keyLocationVersions.subList(size - 1, size);
+    }
+    return size > 0;
+  }
+
+  private List<OmKeyLocationInfoGroup> keyLocationVersions() {
+    if (encodedKeyLocationVersions != null) {
+      decodeKeyLocationVersions();
+    }
+    return keyLocationVersions;
+  }
+
+  /**
+   * Reads the locations of the latest version, decoding only that version if
+   * the key was decoded lazily. The result is not kept, so it must not be
+   * modified, unlike the one of {@link #getLatestVersionLocations()}.
+   */
+  private OmKeyLocationInfoGroup readLatestVersionLocations() {
+    final List<ByteString> encoded = encodedKeyLocationVersions;
+    if (encoded != null) {
+      if (encoded.isEmpty()) {
+        return null;
+      }
+      return OmKeyLocationInfoGroup.getFromProtobuf(parseEncoded(
+          KeyLocationList.PARSER, encoded.get(encoded.size() - 1)));
+    }
+    // The volatile read above makes keyLocationVersions visible.
+    final List<OmKeyLocationInfoGroup> versions = keyLocationVersions;
+    return versions.isEmpty() ? null : versions.get(versions.size() - 1);
+  }
+
+  private synchronized void decodeKeyLocationVersions() {
+    final List<ByteString> encoded = encodedKeyLocationVersions;
+    if (encoded == null) {
+      return;
+    }
+    final List<OmKeyLocationInfoGroup> decoded =
+        new ArrayList<>(encoded.size());
+    for (ByteString bytes : encoded) {
+      decoded.add(OmKeyLocationInfoGroup.getFromProtobuf(
+          parseEncoded(KeyLocationList.PARSER, bytes)));
+    }
+    keyLocationVersions = decoded;
+    // Volatile write, publishes keyLocationVersions to unsynchronized readers.
+    encodedKeyLocationVersions = null;
+  }
+
+  private List<OzoneAcl> acls() {
+    if (encodedAcls != null) {
+      decodeAcls();
+    }
+    return acls;
+  }
+
+  private synchronized void decodeAcls() {
+    final List<ByteString> encoded = encodedAcls;
+    if (encoded == null) {
+      return;
+    }
+    final List<OzoneAcl> decoded = new ArrayList<>(encoded.size());
+    for (ByteString bytes : encoded) {
+      decoded.add(OzoneAcl.fromProtobuf(
+          parseEncoded(OzoneAclInfo.PARSER, bytes)));
+    }
+    acls = decoded;
+    encodedAcls = null;
+  }
+
+  private <T> T parseEncoded(Parser<T> parser, ByteString bytes) {
+    try {
+      return parser.parseFrom(bytes);
+    } catch (InvalidProtocolBufferException e) {
+      throw new IllegalStateException("Failed to decode " + getObjectInfo(),
+          e);
+    }
   }
 
   public void updateModifcationTime() {
@@ -326,11 +431,12 @@ public List<OmKeyLocationInfo> updateLocationInfoList(
   public synchronized void appendNewBlocks(
       List<OmKeyLocationInfo> newLocationList, boolean updateTime)
       throws IOException {
-    if (keyLocationVersions.size() == 0) {
+    final List<OmKeyLocationInfoGroup> versions = keyLocationVersions();
+    if (versions.size() == 0) {
       throw new IOException("Appending new block, but no version exist");
     }
     OmKeyLocationInfoGroup currentLatestVersion =
-        keyLocationVersions.get(keyLocationVersions.size() - 1);
+        versions.get(versions.size() - 1);
     currentLatestVersion.appendNewBlocks(newLocationList);
     if (updateTime) {
       setModificationTime(Time.now());
@@ -350,28 +456,29 @@ public synchronized void appendNewBlocks(
   public synchronized long addNewVersion(
       List<OmKeyLocationInfo> newLocationList, boolean updateTime,
       boolean keepOldVersions) {
+    final List<OmKeyLocationInfoGroup> versions = keyLocationVersions();
     long latestVersionNum;
 
     if (!keepOldVersions) {
       // If old versions are cleared, new block version will always start at 0
-      keyLocationVersions.clear();
+      versions.clear();
     }
 
-    if (keyLocationVersions.size() == 0) {
+    if (versions.size() == 0) {
       // no version exist, these blocks are the very first version.
-      keyLocationVersions.add(new OmKeyLocationInfoGroup(0, newLocationList));
+      versions.add(new OmKeyLocationInfoGroup(0, newLocationList));
       latestVersionNum = 0;
     } else {
       // it is important that the new version are always at the tail of the list
       OmKeyLocationInfoGroup currentLatestVersion =
-          keyLocationVersions.get(keyLocationVersions.size() - 1);
+          versions.get(versions.size() - 1);
 
       // Create a new version here. When bucket versioning is enabled,
       // It includes previous block versions. Otherwise, only the blocks
       // of new version is included.
       OmKeyLocationInfoGroup newVersion =
           currentLatestVersion.generateNextVersion(newLocationList);
-      keyLocationVersions.add(newVersion);
+      versions.add(newVersion);
       latestVersionNum = newVersion.getVersion();
     }
 
@@ -398,19 +505,19 @@ public FileEncryptionInfo getFileEncryptionInfo() {
   }
 
   public List<OzoneAcl> getAcls() {
-    return acls;
+    return acls();
   }
 
   public boolean addAcl(OzoneAcl acl) {
-    return OzoneAclUtil.addAcl(acls, acl);
+    return OzoneAclUtil.addAcl(acls(), acl);
   }
 
   public boolean removeAcl(OzoneAcl acl) {
-    return OzoneAclUtil.removeAcl(acls, acl);
+    return OzoneAclUtil.removeAcl(acls(), acl);
   }
 
   public boolean setAcls(List<OzoneAcl> newAcls) {
-    return OzoneAclUtil.setAcl(acls, newAcls);
+    return OzoneAclUtil.setAcl(acls(), newAcls);
   }
 
   public void setParentObjectID(long parentObjectID) {
@@ -432,7 +539,7 @@ public String toString() {
         ", bucketName='" + bucketName + '\'' +
         ", keyName='" + keyName + '\'' +
         ", dataSize=" + dataSize +
-        ", keyLocationVersions=" + keyLocationVersions +
+        ", keyLocationVersions=" + keyLocationVersions() +
         ", creationTime=" + creationTime +
         ", modificationTime=" + modificationTime +
         ", replicationConfig=" + replicationConfig +
@@ -440,7 +547,7 @@ public String toString() {
         ", fileChecksum=" + fileChecksum +
         ", isFile=" + isFile +
         ", fileName='" + fileName + '\'' +
-        ", acls=" + acls +
+        ", acls=" + acls() +
         '}';
   }
 
@@ -643,19 +750,21 @@ public KeyInfo getProtobuf(boolean ignorePipeline, int clientVersion) {
    */
   private KeyInfo getProtobuf(boolean ignorePipeline, String fullKeyName,
                               int clientVersion, boolean latestVersionBlocks) {
-    long latestVersion = keyLocationVersions.size() == 0 ? -1 :
-        keyLocationVersions.get(keyLocationVersions.size() - 1).getVersion();
-
+    long latestVersion;
     List<KeyLocationList> keyLocations = new ArrayList<>();
     if (!latestVersionBlocks) {
-      for (OmKeyLocationInfoGroup locationInfoGroup : keyLocationVersions) {
+      final List<OmKeyLocationInfoGroup> versions = keyLocationVersions();
+      latestVersion = versions.size() == 0 ? -1 :
+          versions.get(versions.size() - 1).getVersion();
+      for (OmKeyLocationInfoGroup locationInfoGroup : versions) {
         keyLocations.add(locationInfoGroup.getProtobuf(
             ignorePipeline, clientVersion));
       }
     } else {
-      if (latestVersion != -1) {
-        keyLocations.add(keyLocationVersions.get(keyLocationVersions.size() - 1)
-            .getProtobuf(ignorePipeline, clientVersion));
+      final OmKeyLocationInfoGroup latest = readLatestVersionLocations();
+      latestVersion = latest == null ? -1 : latest.getVersion();
+      if (latest != null) {
+        keyLocations.add(latest.getProtobuf(ignorePipeline, clientVersion));
       }
     }
 
@@ -675,7 +784,7 @@ private KeyInfo getProtobuf(boolean ignorePipeline, String fullKeyName,
         .setCreationTime(creationTime)
         .setModificationTime(modificationTime)
         .addAllMetadata(KeyValueUtil.toProtobuf(metadata))
-        .addAllAcls(OzoneAclUtil.toProtobuf(acls))
+        .addAllAcls(OzoneAclUtil.toProtobuf(acls()))
         .setObjectID(objectID)
         .setUpdateID(updateID)
         .setParentID(parentObjectID);
@@ -707,11 +816,66 @@ public static OmKeyInfo getFromProtobuf(KeyInfo keyInfo) throws IOException {
           OmKeyLocationInfoGroup.getFromProtobuf(keyLocationList));
     }
 
+    return newBuilder(keyInfo)
+        .setOmKeyLocationInfos(omKeyLocationInfos)
+        .setAcls(OzoneAclUtil.fromProtobuf(keyInfo.getAclsList()))
+        .build();
+  }
+
+  /**
+   * Decodes a serialized KeyInfo like {@link #getFromProtobuf(KeyInfo)},
+   * except for the key location versions and the ACLs. They are kept encoded
+   * and only decoded when they are accessed, which most readers of a key,
+   * like list operations, never do for the locations of older versions or of
+   * the keys they skip.
+   */
+  static OmKeyInfo getFromProtobufLazily(byte[] bytes) throws IOException {
+    final CodedInputStream in = CodedInputStream.newInstance(bytes);
+    // The fields other than the locations and ACLs.
+    final byte[] fields = new byte[bytes.length];
+    int fieldsLength = 0;
+    final List<ByteString> locations = new ArrayList<>();
+    final List<ByteString> acls = new ArrayList<>();
+    for (int tag; (tag = in.readTag()) != 0;) {
+      final int field = WireFormat.getTagFieldNumber(tag);
+      if (field == KeyInfo.KEYLOCATIONLIST_FIELD_NUMBER
+          || field == KeyInfo.ACLS_FIELD_NUMBER) {
+        if ((tag & 0x7) != WireFormat.WIRETYPE_LENGTH_DELIMITED) {
+          throw new InvalidProtocolBufferException(
+              "Unexpected wire type in tag " + tag);
+        }
+        (field == KeyInfo.ACLS_FIELD_NUMBER ? acls : locations)
+            .add(in.readBytes());
+      } else {
+        final int start = in.getTotalBytesRead()
+            - CodedOutputStream.computeRawVarint32Size(tag);
+        in.skipField(tag);
+        final int length = in.getTotalBytesRead() - start;
+        System.arraycopy(bytes, start, fields, fieldsLength, length);
+        fieldsLength += length;
+      }
+    }
+
+    final OmKeyInfo omKeyInfo = newBuilder(
+        KeyInfo.PARSER.parseFrom(fields, 0, fieldsLength)).build();
+    if (!locations.isEmpty()) {
+      omKeyInfo.encodedKeyLocationVersions = locations;
+    }
+    if (!acls.isEmpty()) {
+      omKeyInfo.encodedAcls = acls;
+    }
+    return omKeyInfo;
+  }
+
+  /**
+   * @return a builder with the fields of the given KeyInfo, except for the
+   *         key locations and the ACLs.
+   */
+  private static Builder newBuilder(KeyInfo keyInfo) throws IOException {
     Builder builder = new Builder()
         .setVolumeName(keyInfo.getVolumeName())
         .setBucketName(keyInfo.getBucketName())
         .setKeyName(keyInfo.getKeyName())
-        .setOmKeyLocationInfos(omKeyLocationInfos)
         .setDataSize(keyInfo.getDataSize())
         .setCreationTime(keyInfo.getCreationTime())
         .setModificationTime(keyInfo.getModificationTime())
@@ -720,8 +884,7 @@ public static OmKeyInfo getFromProtobuf(KeyInfo keyInfo) throws IOException {
                 keyInfo.getEcReplicationConfig()))
         .addAllMetadata(KeyValueUtil.getFromProtobuf(keyInfo.getMetadataList()))
         .setFileEncryptionInfo(keyInfo.hasFileEncryptionInfo() ?
-            OMPBHelper.convert(keyInfo.getFileEncryptionInfo()) : null)
-        .setAcls(OzoneAclUtil.fromProtobuf(keyInfo.getAclsList()));
+            OMPBHelper.convert(keyInfo.getFileEncryptionInfo()) : null);
     if (keyInfo.hasObjectID()) {
       builder.setObjectID(keyInfo.getObjectID());
     }
@@ -742,7 +905,7 @@ public static OmKeyInfo getFromProtobuf(KeyInfo keyInfo) throws IOException {
 
     // not persisted to DB. FileName will be filtered out from keyName
     builder.setFileName(OzoneFSUtils.getFileName(keyInfo.getKeyName()));
-    return builder.build();
+    return builder;
   }
 
   @Override
@@ -771,7 +934,7 @@ public boolean isKeyInfoSame(OmKeyInfo omKeyInfo, boolean checkPath,
         bucketName.equals(omKeyInfo.bucketName) &&
         replicationConfig.equals(omKeyInfo.replicationConfig) &&
         Objects.equals(metadata, omKeyInfo.metadata) &&
-        Objects.equals(acls, omKeyInfo.acls) &&
+        Objects.equals(acls(), omKeyInfo.acls()) &&
         objectID == omKeyInfo.objectID;
 
     if (isEqual && checkUpdateID) {
@@ -789,7 +952,7 @@ public boolean isKeyInfoSame(OmKeyInfo omKeyInfo, boolean checkPath,
 
     if (isEqual && checkKeyLocationVersions) {
       isEqual = Objects
-          .equals(keyLocationVersions, omKeyInfo.keyLocationVersions);
+          .equals(keyLocationVersions(), omKeyInfo.keyLocationVersions());
     }
 
     return isEqual;
@@ -831,15 +994,22 @@ public OmKeyInfo copyObject() {
         .setFileName(fileName)
         .setFile(isFile);
 
-    keyLocationVersions.forEach(keyLocationVersion ->
-        builder.addOmKeyLocationInfoGroup(
-            new OmKeyLocationInfoGroup(keyLocationVersion.getVersion(),
-                keyLocationVersion.getLocationList(),
-                keyLocationVersion.isMultipartKey())));
+    // The encoded fields are immutable, copy them without decoding.
+    final List<ByteString> encodedLocations = encodedKeyLocationVersions;
+    if (encodedLocations == null) {
+      keyLocationVersions().forEach(keyLocationVersion ->
+          builder.addOmKeyLocationInfoGroup(
+              new OmKeyLocationInfoGroup(keyLocationVersion.getVersion(),
+                  keyLocationVersion.getLocationList(),
+                  keyLocationVersion.isMultipartKey())));
+    }
 
-    acls.forEach(acl -> builder.addAcl(new OzoneAcl(acl.getType(),
-            acl.getName(), (BitSet) acl.getAclBitSet().clone(),
-        acl.getAclScope())));
+    final List<ByteString> encodedAclList = encodedAcls;
+    if (encodedAclList == null) {
+      acls().forEach(acl -> builder.addAcl(new OzoneAcl(acl.getType(),
+              acl.getName(), (BitSet) acl.getAclBitSet().clone(),
+          acl.getAclScope())));
+    }
 
     if (metadata != null) {
       metadata.forEach((k, v) -> builder.addMetadata(k, v));
@@ -849,7 +1019,10 @@ public OmKeyInfo copyObject() {
       builder.setFileChecksum(fileChecksum);
     }
 
-    return builder.build();
+    final OmKeyInfo copy = builder.build();
+    copy.encodedKeyLocationVersions = encodedLocations;
+    copy.encodedAcls = encodedAclList;
+    return copy;
   }
 
   /**
@@ -0,0 +1,90 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.om.helpers;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.function.IntFunction;
+
+import javax.annotation.Nonnull;
+
+import org.apache.hadoop.hdds.utils.db.Codec;
+import org.apache.hadoop.hdds.utils.db.CodecBuffer;
+import org.apache.hadoop.hdds.utils.db.Proto2Codec;
+import org.apache.hadoop.ozone.ClientVersion;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyInfo;
+
+/**
+ * Codec for {@link OmKeyInfo}.
+ * <p>
+ * The values read from a {@link CodecBuffer}, which is how the tables of
+ * the OM read them, are decoded lazily, see
+ * {@link OmKeyInfo#getFromProtobufLazily(byte[])}. The values read from a
+ * byte array are decoded completely.
+ */
+final class OmKeyInfoCodec implements Codec<OmKeyInfo> {
+  private static final Codec<KeyInfo> PROTO_CODEC =
+      Proto2Codec.get(KeyInfo.class);
+
+  private final boolean ignorePipeline;
+
+  OmKeyInfoCodec(boolean ignorePipeline) {
+    this.ignorePipeline = ignorePipeline;
+  }
+
+  private KeyInfo toProto(OmKeyInfo keyInfo) {
+    return keyInfo.getProtobuf(ignorePipeline, ClientVersion.CURRENT_VERSION);
+  }
+
+  @Override
+  public boolean supportCodecBuffer() {
+    return true;
+  }
+
+  @Override
+  public CodecBuffer toCodecBuffer(@Nonnull OmKeyInfo keyInfo,
+      IntFunction<CodecBuffer> allocator) throws IOException {
+    return PROTO_CODEC.toCodecBuffer(toProto(keyInfo), allocator);
+  }
+
+  @Override
+  public OmKeyInfo fromCodecBuffer(@Nonnull CodecBuffer buffer)
+      throws IOException {
+    // The buffer may be reused after this call, e.g. by table iterators,
+    // so the bytes are copied out rather than referenced.
+    final ByteBuffer bytes = buffer.asReadOnlyByteBuffer();
+    final byte[] array = new byte[bytes.remaining()];
+    bytes.get(array);
+    return OmKeyInfo.getFromProtobufLazily(array);
+  }
+
+  @Override
+  public byte[] toPersistedFormat(OmKeyInfo keyInfo) throws IOException {
+    return PROTO_CODEC.toPersistedFormat(toProto(keyInfo));
+  }
+
+  @Override
+  public OmKeyInfo fromPersistedFormat(byte[] bytes) throws IOException {
+    return OmKeyInfo.getFromProtobuf(PROTO_CODEC.fromPersistedFormat(bytes));
+  }
+
+  @Override
+  public OmKeyInfo copyObject(OmKeyInfo keyInfo) {
+    return keyInfo.copyObject();
+  }
+}
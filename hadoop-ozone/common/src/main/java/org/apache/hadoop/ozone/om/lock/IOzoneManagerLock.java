@@ -17,6 +17,8 @@
 
 package org.apache.hadoop.ozone.om.lock;
 
+import java.util.Collection;
+
 import com.google.common.annotations.VisibleForTesting;
 
 /**
@@ -37,6 +39,26 @@ boolean acquireWriteLock(OzoneManagerLock.Resource resource,
   void releaseWriteLock(OzoneManagerLock.Resource resource,
                         String... resources);
 
+  boolean acquireReadLocks(OzoneManagerLock.Resource resource,
+      Collection<String[]> resources);
+
+  boolean acquireWriteLocks(OzoneManagerLock.Resource resource,
+      Collection<String[]> resources);
+
+  void releaseReadLocks(OzoneManagerLock.Resource resource,
+      Collection<String[]> resources);
+
+  void releaseWriteLocks(OzoneManagerLock.Resource resource,
+      Collection<String[]> resources);
+
+  boolean acquireLocks(OzoneManagerLock.Resource resource,
+      Collection<String[]> readResources,
+      Collection<String[]> writeResources);
+
+  void releaseLocks(OzoneManagerLock.Resource resource,
+      Collection<String[]> readResources,
+      Collection<String[]> writeResources);
+
   void releaseReadLock(OzoneManagerLock.Resource resource, String... resources);
 
   @VisibleForTesting
@@ -17,6 +17,11 @@
  */
 package org.apache.hadoop.ozone.om.lock;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
 import org.apache.hadoop.hdds.annotation.InterfaceAudience;
 import org.apache.hadoop.metrics2.MetricsCollector;
 import org.apache.hadoop.metrics2.MetricsRecordBuilder;
@@ -27,6 +32,7 @@
 import org.apache.hadoop.metrics2.lib.MetricsRegistry;
 import org.apache.hadoop.metrics2.lib.MutableStat;
 import org.apache.hadoop.ozone.OzoneConsts;
+import org.apache.hadoop.ozone.om.lock.OzoneManagerLock.Resource;
 
 /**
  * This class is for maintaining the various Ozone Manager Lock Metrics.
@@ -42,6 +48,9 @@ public final class OMLockMetrics implements MetricsSource {
   private final MutableStat readLockHeldTimeMsStat;
   private final MutableStat writeLockWaitingTimeMsStat;
   private final MutableStat writeLockHeldTimeMsStat;
+  // Read and write lock times of each lock level.
+  private final Map<Resource, MutableStat> lockWaitingTimeMsStats;
+  private final Map<Resource, MutableStat> lockHeldTimeMsStats;
 
   private OMLockMetrics() {
     registry = new MetricsRegistry(SOURCE_NAME);
@@ -57,6 +66,29 @@ private OMLockMetrics() {
     writeLockHeldTimeMsStat = registry.newStat("WriteLockHeldTime",
         "Time (in milliseconds) spent holding the write lock",
         "Ops", "Time", true);
+
+    Map<Resource, MutableStat> waiting = new EnumMap<>(Resource.class);
+    Map<Resource, MutableStat> held = new EnumMap<>(Resource.class);
+    for (Resource resource : Resource.values()) {
+      // e.g. BucketLockWaitingTime for BUCKET_LOCK
+      String name = toCamelCase(resource.getName());
+      waiting.put(resource, registry.newStat(name + "WaitingTime",
+          "Time (in milliseconds) spent waiting for acquiring the " +
+              resource.getName(), "Ops", "Time", true));
+      held.put(resource, registry.newStat(name + "HeldTime",
+          "Time (in milliseconds) spent holding the " + resource.getName(),
+          "Ops", "Time", true));
+    }
+    lockWaitingTimeMsStats = Collections.unmodifiableMap(waiting);
+    lockHeldTimeMsStats = Collections.unmodifiableMap(held);
+  }
+
+  private static String toCamelCase(String name) {
+    StringBuilder sb = new StringBuilder();
+    for (String part : StringUtils.split(name.toLowerCase(), '_')) {
+      sb.append(StringUtils.capitalize(part));
+    }
+    return sb.toString();
   }
 
   /**
@@ -114,6 +146,47 @@ public void setWriteLockHeldTimeMsStat(long writeLockHeldTimeMs) {
     this.writeLockHeldTimeMsStat.add(writeLockHeldTimeMs);
   }
 
+  /**
+   * Adds a snapshot to the waiting time metric of the given lock level.
+   *
+   * @param resource lock level
+   * @param lockWaitingTimeMs read or write lock waiting time (ms)
+   */
+  public void setLockWaitingTimeMsStat(Resource resource,
+      long lockWaitingTimeMs) {
+    lockWaitingTimeMsStats.get(resource).add(lockWaitingTimeMs);
+  }
+
+  /**
+   * Adds a snapshot to the held time metric of the given lock level.
+   *
+   * @param resource lock level
+   * @param lockHeldTimeMs read or write lock held time (ms)
+   */
+  public void setLockHeldTimeMsStat(Resource resource, long lockHeldTimeMs) {
+    lockHeldTimeMsStats.get(resource).add(lockHeldTimeMs);
+  }
+
+  /**
+   * Returns a string representation of the waiting time metric of the given
+   * lock level.
+   *
+   * @return String representation of object
+   */
+  public String getLockWaitingTimeMsStat(Resource resource) {
+    return lockWaitingTimeMsStats.get(resource).toString();
+  }
+
+  /**
+   * Returns a string representation of the held time metric of the given
+   * lock level.
+   *
+   * @return String representation of object
+   */
+  public String getLockHeldTimeMsStat(Resource resource) {
+    return lockHeldTimeMsStats.get(resource).toString();
+  }
+
   /**
    * Returns a string representation of the object. Provides information on the
    * total number of samples, minimum value, maximum value, arithmetic mean,
@@ -205,5 +278,9 @@ public void getMetrics(MetricsCollector collector, boolean all) {
     readLockWaitingTimeMsStat.snapshot(builder, all);
     writeLockHeldTimeMsStat.snapshot(builder, all);
     writeLockWaitingTimeMsStat.snapshot(builder, all);
+    for (Resource resource : Resource.values()) {
+      lockWaitingTimeMsStats.get(resource).snapshot(builder, all);
+      lockHeldTimeMsStats.get(resource).snapshot(builder, all);
+    }
   }
 }
@@ -17,6 +17,8 @@
 
 package org.apache.hadoop.ozone.om.lock;
 
+import java.util.Collection;
+
 import org.apache.hadoop.ozone.om.lock.OzoneManagerLock.Resource;
 
 /**
@@ -51,6 +53,44 @@ public void releaseWriteLock(Resource resource, String... resources) {
   // Intentionally empty
   }
 
+  @Override
+  public boolean acquireReadLocks(Resource resource,
+      Collection<String[]> resources) {
+    return true;
+  }
+
+  @Override
+  public boolean acquireWriteLocks(Resource resource,
+      Collection<String[]> resources) {
+    return false;
+  }
+
+  @Override
+  public boolean acquireLocks(Resource resource,
+      Collection<String[]> readResources,
+      Collection<String[]> writeResources) {
+    return writeResources.isEmpty();
+  }
+
+  @Override
+  public void releaseLocks(Resource resource,
+      Collection<String[]> readResources,
+      Collection<String[]> writeResources) {
+  // Intentionally empty
+  }
+
+  @Override
+  public void releaseReadLocks(Resource resource,
+      Collection<String[]> resources) {
+  // Intentionally empty
+  }
+
+  @Override
+  public void releaseWriteLocks(Resource resource,
+      Collection<String[]> resources) {
+  // Intentionally empty
+  }
+
   @Override
   public void releaseReadLock(Resource resource, String... resources) {
   // Intentionally empty
@@ -21,10 +21,14 @@
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -208,6 +212,8 @@ private void updateReadLockMetrics(Resource resource,
       // Adds a snapshot to the metric readLockWaitingTimeMsStat.
       omLockMetrics.setReadLockWaitingTimeMsStat(
           TimeUnit.NANOSECONDS.toMillis(readLockWaitingTimeNanos));
+      omLockMetrics.setLockWaitingTimeMsStat(resource,
+          TimeUnit.NANOSECONDS.toMillis(readLockWaitingTimeNanos));
 
       resource.setStartReadHeldTimeNanos(Time.monotonicNowNanos());
     }
@@ -228,6 +234,8 @@ private void updateWriteLockMetrics(Resource resource,
       // Adds a snapshot to the metric writeLockWaitingTimeMsStat.
       omLockMetrics.setWriteLockWaitingTimeMsStat(
           TimeUnit.NANOSECONDS.toMillis(writeLockWaitingTimeNanos));
+      omLockMetrics.setLockWaitingTimeMsStat(resource,
+          TimeUnit.NANOSECONDS.toMillis(writeLockWaitingTimeNanos));
 
       resource.setStartWriteHeldTimeNanos(Time.monotonicNowNanos());
     }
@@ -299,6 +307,173 @@ public void releaseMultiUserLock(String firstUser, String secondUser) {
   }
 
 
+  /**
+   * Acquire read locks on multiple resource names of the same type, e.g.
+   * the key paths of a multi-key operation. The locks are acquired in a
+   * consistent order, so threads locking overlapping sets of names cannot
+   * deadlock, and released by {@link #releaseReadLocks}.
+   *
+   * @param resource - Type of the resource.
+   * @param keys - Resource names, each as passed to
+   * {@link #acquireReadLock(Resource, String...)}.
+   */
+  @Override
+  public boolean acquireReadLocks(Resource resource,
+      Collection<String[]> keys) {
+    return acquireLocks(resource, keys, Collections.emptyList());
+  }
+
+  /**
+   * Acquire write locks on multiple resource names of the same type, e.g.
+   * the key paths of a multi-key operation. The locks are acquired in a
+   * consistent order, so threads locking overlapping sets of names cannot
+   * deadlock, and released by {@link #releaseWriteLocks}.
+   *
+   * @param resource - Type of the resource.
+   * @param keys - Resource names, each as passed to
+   * {@link #acquireWriteLock(Resource, String...)}.
+   */
+  @Override
+  public boolean acquireWriteLocks(Resource resource,
+      Collection<String[]> keys) {
+    return acquireLocks(resource, Collections.emptyList(), keys);
+  }
+
+  /**
+   * Acquire read locks on some resource names and write locks on others of
+   * the same type, e.g. on the ancestor directories and on the path of a
+   * key. Names which map to the same lock stripe as a write locked name are
+   * write locked as well. All the locks are acquired in one consistent
+   * order, so threads locking overlapping sets of names cannot deadlock.
+   * The locks are released by {@link #releaseLocks}.
+   *
+   * @param resource - Type of the resource.
+   * @param readKeys - Resource names to read lock.
+   * @param writeKeys - Resource names to write lock.
+   */
+  @Override
+  public boolean acquireLocks(Resource resource,
+      Collection<String[]> readKeys, Collection<String[]> writeKeys) {
+    if (!resource.canLock(lockSet.get())) {
+      String errorMessage = getErrorMessage(resource);
+      LOG.error(errorMessage);
+      throw new RuntimeException(errorMessage);
+    }
+
+    long startWaitingTimeNanos = Time.monotonicNowNanos();
+    // The result of bulkGet is always sorted in a consistent order.
+    // This prevents deadlocks.
+    Set<ReadWriteLock> writeLocks = getWriteLocks(resource, writeKeys);
+    for (ReadWriteLock lock : getLocks(resource, readKeys, writeKeys)) {
+      if (writeLocks.contains(lock)) {
+        lock.writeLock().lock();
+      } else {
+        lock.readLock().lock();
+      }
+    }
+    long waitingTimeMs = TimeUnit.NANOSECONDS.toMillis(
+        Time.monotonicNowNanos() - startWaitingTimeNanos);
+    if (writeKeys.isEmpty()) {
+      omLockMetrics.setReadLockWaitingTimeMsStat(waitingTimeMs);
+      resource.setStartReadHeldTimeNanos(Time.monotonicNowNanos());
+    } else {
+      omLockMetrics.setWriteLockWaitingTimeMsStat(waitingTimeMs);
+      resource.setStartWriteHeldTimeNanos(Time.monotonicNowNanos());
+    }
+    omLockMetrics.setLockWaitingTimeMsStat(resource, waitingTimeMs);
+
+    lockSet.set(resource.setLock(lockSet.get()));
+    return true;
+  }
+
+  /**
+   * Release read locks acquired by {@link #acquireReadLocks}.
+   * @param resource - Type of the resource.
+   * @param keys - Resource names, the same as passed to acquire.
+   */
+  @Override
+  public void releaseReadLocks(Resource resource,
+      Collection<String[]> keys) {
+    releaseLocks(resource, keys, Collections.emptyList());
+  }
+
+  /**
+   * Release write locks acquired by {@link #acquireWriteLocks}.
+   * @param resource - Type of the resource.
+   * @param keys - Resource names, the same as passed to acquire.
+   */
+  @Override
+  public void releaseWriteLocks(Resource resource,
+      Collection<String[]> keys) {
+    releaseLocks(resource, Collections.emptyList(), keys);
+  }
+
+  /**
+   * Release locks acquired by {@link #acquireLocks}.
+   * @param resource - Type of the resource.
+   * @param readKeys - Resource names, the same as passed to acquire.
+   * @param writeKeys - Resource names, the same as passed to acquire.
+   */
+  @Override
+  public void releaseLocks(Resource resource,
+      Collection<String[]> readKeys, Collection<String[]> writeKeys) {
+    Set<ReadWriteLock> writeLocks = getWriteLocks(resource, writeKeys);
+    for (ReadWriteLock lock : getLocks(resource, readKeys, writeKeys)) {
+      if (writeLocks.contains(lock)) {
+        lock.writeLock().unlock();
+      } else {
+        lock.readLock().unlock();
+      }
+    }
+    final long heldTimeMs;
+    if (writeKeys.isEmpty()) {
+      heldTimeMs = TimeUnit.NANOSECONDS.toMillis(
+          Time.monotonicNowNanos() - resource.getStartReadHeldTimeNanos());
+      omLockMetrics.setReadLockHeldTimeMsStat(heldTimeMs);
+    } else {
+      heldTimeMs = TimeUnit.NANOSECONDS.toMillis(
+          Time.monotonicNowNanos() - resource.getStartWriteHeldTimeNanos());
+      omLockMetrics.setWriteLockHeldTimeMsStat(heldTimeMs);
+    }
+    omLockMetrics.setLockHeldTimeMsStat(resource, heldTimeMs);
+
+    lockSet.set(resource.clearLock(lockSet.get()));
+  }
+
+  /**
+   * Returns the distinct stripes of the given names, in the consistent
+   * order of {@link Striped#bulkGet}.
+   */
+  private Collection<ReadWriteLock> getLocks(Resource resource,
+      Collection<String[]> readKeys, Collection<String[]> writeKeys) {
+    List<Object> combinedKeys =
+        new ArrayList<>(readKeys.size() + writeKeys.size());
+    for (String[] key : readKeys) {
+      combinedKeys.add(combineKeys(key));
+    }
+    for (String[] key : writeKeys) {
+      combinedKeys.add(combineKeys(key));
+    }
+    // The stripes do not override equals, so the set keeps each stripe once
+    // in the order of bulkGet.
+    Set<ReadWriteLock> locks = new LinkedHashSet<>();
+    for (ReadWriteLock lock
+        : stripedLockByResource.get(resource).bulkGet(combinedKeys)) {
+      locks.add(lock);
+    }
+    return locks;
+  }
+
+  private Set<ReadWriteLock> getWriteLocks(Resource resource,
+      Collection<String[]> writeKeys) {
+    Striped<ReadWriteLock> striped = stripedLockByResource.get(resource);
+    Set<ReadWriteLock> locks = new HashSet<>();
+    for (String[] key : writeKeys) {
+      locks.add(striped.get(combineKeys(key)));
+    }
+    return locks;
+  }
+
   /**
    * Release write lock on resource.
    * @param resource - Type of the resource.
@@ -354,6 +529,8 @@ private void updateReadUnlockMetrics(Resource resource,
       // Adds a snapshot to the metric readLockHeldTimeMsStat.
       omLockMetrics.setReadLockHeldTimeMsStat(
           TimeUnit.NANOSECONDS.toMillis(readLockHeldTimeNanos));
+      omLockMetrics.setLockHeldTimeMsStat(resource,
+          TimeUnit.NANOSECONDS.toMillis(readLockHeldTimeNanos));
     }
   }
 
@@ -371,6 +548,8 @@ private void updateWriteUnlockMetrics(Resource resource,
       // Adds a snapshot to the metric writeLockHeldTimeMsStat.
       omLockMetrics.setWriteLockHeldTimeMsStat(
           TimeUnit.NANOSECONDS.toMillis(writeLockHeldTimeNanos));
+      omLockMetrics.setLockHeldTimeMsStat(resource,
+          TimeUnit.NANOSECONDS.toMillis(writeLockHeldTimeNanos));
     }
   }
 
@@ -33,6 +33,7 @@
 import org.apache.hadoop.ozone.om.helpers.DBUpdates;
 import org.apache.hadoop.ozone.om.helpers.DeleteTenantState;
 import org.apache.hadoop.ozone.om.helpers.KeyInfoWithVolumeContext;
+import org.apache.hadoop.ozone.om.helpers.ListStatusIterator;
 import org.apache.hadoop.ozone.om.helpers.OmBucketArgs;
 import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
 import org.apache.hadoop.ozone.om.helpers.OmDeleteKeys;
@@ -912,6 +913,27 @@ List<OzoneFileStatus> listStatus(OmKeyArgs keyArgs, boolean recursive,
                                    boolean allowPartialPrefixes)
       throws IOException;
 
+  /**
+   * Iterate over the status of a file or the contents of a directory. The
+   * statuses are fetched in batches while iterating, which allows to list
+   * huge directories without holding the whole listing in memory.
+   *
+   * @param keyArgs    Key args
+   * @param recursive  For a directory if true all the descendants of a
+   *                   particular directory are listed
+   * @param startKey   Key from which listing needs to start. If startKey exists
+   *                   its status is included in the listing.
+   * @param batchSize  Number of entries to fetch at once, at least
+   *                   {@link ListStatusIterator#MIN_BATCH_SIZE}
+   * @return iterator of file status
+   */
+  default ListStatusIterator listStatusIterator(
+      OmKeyArgs keyArgs, boolean recursive, String startKey, long batchSize)
+      throws IOException {
+    return ListStatusIterator.paged(startKey, batchSize,
+        key -> listStatus(keyArgs, recursive, key, batchSize));
+  }
+
   /**
    * Add acl for Ozone object. Return true if acl is added successfully else
    * false.
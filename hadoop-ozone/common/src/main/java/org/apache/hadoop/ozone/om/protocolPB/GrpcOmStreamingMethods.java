@@ -0,0 +1,69 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.om.protocolPB;
+
+import java.util.Iterator;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.MethodDescriptor;
+import io.grpc.protobuf.ProtoUtils;
+import io.grpc.stub.ClientCalls;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerServiceGrpc;
+
+/**
+ * Server streaming methods of the OzoneManagerService gRPC service.
+ * <p>
+ * The OM protocol is compiled with protoc 2.5.0, which does not support
+ * streaming rpcs, so these methods are declared here instead of in
+ * OmClientProtocol.proto. They belong to the same service as
+ * submitRequest and use the same messages.
+ */
+public final class GrpcOmStreamingMethods {
+
+  /**
+   * Streams the result of a ListStatus request, as a sequence of ListStatus
+   * responses of at most numEntries statuses each, until the listing is
+   * complete.
+   */
+  public static final MethodDescriptor<OMRequest, OMResponse>
+      LIST_STATUS_STREAM = MethodDescriptor.<OMRequest, OMResponse>newBuilder()
+          .setType(MethodDescriptor.MethodType.SERVER_STREAMING)
+          .setFullMethodName(MethodDescriptor.generateFullMethodName(
+              OzoneManagerServiceGrpc.SERVICE_NAME, "listStatusStream"))
+          .setRequestMarshaller(
+              ProtoUtils.marshaller(OMRequest.getDefaultInstance()))
+          .setResponseMarshaller(
+              ProtoUtils.marshaller(OMResponse.getDefaultInstance()))
+          .build();
+
+  private GrpcOmStreamingMethods() {
+  }
+
+  /**
+   * Calls {@link #LIST_STATUS_STREAM}. The returned iterator requests the
+   * next response from the server only when the previous one is consumed.
+   */
+  public static Iterator<OMResponse> listStatusStream(Channel channel,
+      CallOptions callOptions, OMRequest request) {
+    return ClientCalls.blockingServerStreamingCall(channel,
+        LIST_STATUS_STREAM, callOptions, request);
+  }
+}
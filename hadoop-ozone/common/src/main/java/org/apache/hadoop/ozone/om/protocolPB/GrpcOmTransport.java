@@ -20,6 +20,7 @@
 import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.security.cert.X509Certificate;
+import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -38,6 +39,7 @@
 import org.apache.hadoop.hdds.conf.ConfigTag;
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.security.SecurityConfig;
+import org.apache.hadoop.fs.RemoteIterator;
 import org.apache.hadoop.io.Text;
 import org.apache.hadoop.io.retry.RetryPolicy;
 import org.apache.hadoop.ozone.OzoneConfigKeys;
@@ -204,6 +206,53 @@ public OMResponse submitRequest(OMRequest payload) throws IOException {
     return resp;
   }
 
+  /**
+   * Streams the result of a ListStatus request from the current OM. The
+   * responses are requested from the server one at a time as the iterator
+   * is consumed, so a slow consumer holds back the server. A stream which
+   * fails midway is not retried, as the statuses received so far have
+   * already been handed out to the caller.
+   */
+  @Override
+  public RemoteIterator<OMResponse> listStatusStream(OMRequest payload) {
+    OzoneManagerServiceGrpc.OzoneManagerServiceBlockingStub stub =
+        clients.get(host.get());
+    final Iterator<OMResponse> responses =
+        GrpcOmStreamingMethods.listStatusStream(stub.getChannel(),
+            stub.getCallOptions(), payload);
+    return new RemoteIterator<OMResponse>() {
+      @Override
+      public boolean hasNext() throws IOException {
+        try {
+          return responses.hasNext();
+        } catch (StatusRuntimeException e) {
+          throw toStreamException(e);
+        }
+      }
+
+      @Override
+      public OMResponse next() throws IOException {
+        try {
+          return responses.next();
+        } catch (StatusRuntimeException e) {
+          throw toStreamException(e);
+        }
+      }
+    };
+  }
+
+  private OMException toStreamException(StatusRuntimeException e) {
+    LOG.error("Failed to stream response", e);
+    ResultCodes resultCode = ResultCodes.INTERNAL_ERROR;
+    if (e.getStatus().getCode() == Status.Code.UNAVAILABLE) {
+      if (e.getCause() instanceof javax.net.ssl.SSLHandshakeException) {
+        return new OMException(SSL_CONNECTION_FAILURE);
+      }
+      resultCode = ResultCodes.TIMEOUT;
+    }
+    return new OMException(e.getMessage(), resultCode);
+  }
+
   private Exception unwrapException(Exception ex) {
     Exception grpcException = null;
     try {
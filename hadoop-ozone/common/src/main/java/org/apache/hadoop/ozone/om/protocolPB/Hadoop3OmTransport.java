@@ -18,6 +18,9 @@
 package org.apache.hadoop.ozone.om.protocolPB;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
@@ -26,6 +29,7 @@
 import org.apache.hadoop.ipc.ProtobufHelper;
 import org.apache.hadoop.ipc.ProtobufRpcEngine;
 import org.apache.hadoop.ipc.RPC;
+import org.apache.hadoop.ozone.OmUtils;
 import org.apache.hadoop.ozone.OzoneConfigKeys;
 import org.apache.hadoop.ozone.om.exceptions.OMNotLeaderException;
 import org.apache.hadoop.ozone.om.ha.HadoopRpcOMFailoverProxyProvider;
@@ -56,6 +60,11 @@ public class Hadoop3OmTransport implements OmTransport {
 
   private final OzoneManagerProtocolPB rpcProxy;
 
+  private final boolean followerReadEnabled;
+  private final List<String> omNodeIds;
+  // Index of the OM in omNodeIds which serves the read requests.
+  private final AtomicInteger readOmIndex;
+
   public Hadoop3OmTransport(ConfigurationSource conf,
       UserGroupInformation ugi, String omServiceId) throws IOException {
 
@@ -71,10 +80,28 @@ public Hadoop3OmTransport(ConfigurationSource conf,
         OzoneConfigKeys.OZONE_CLIENT_FAILOVER_MAX_ATTEMPTS_DEFAULT);
 
     this.rpcProxy = createRetryProxy(omFailoverProxyProvider, maxFailovers);
+
+    this.omNodeIds = omFailoverProxyProvider.getOMNodeIds();
+    this.followerReadEnabled = omNodeIds.size() > 1 && conf.getBoolean(
+        OzoneConfigKeys.OZONE_CLIENT_FOLLOWER_READ_ENABLED_KEY,
+        OzoneConfigKeys.OZONE_CLIENT_FOLLOWER_READ_ENABLED_DEFAULT);
+    // Each client starts with a random OM, to spread the reads of all
+    // clients over all OMs.
+    this.readOmIndex = new AtomicInteger(
+        ThreadLocalRandom.current().nextInt(omNodeIds.size()));
   }
 
   @Override
   public OMResponse submitRequest(OMRequest payload) throws IOException {
+    // Requests with S3 authentication are left to the leader, which
+    // validates the S3 credentials.
+    if (followerReadEnabled && !payload.hasS3Authentication() &&
+        OmUtils.isFollowerReadAllowed(payload)) {
+      OMResponse omResponse = submitFollowerReadRequest(payload);
+      if (omResponse != null) {
+        return omResponse;
+      }
+    }
     try {
       OMResponse omResponse =
           rpcProxy.submitRequest(NULL_RPC_CONTROLLER, payload);
@@ -98,6 +125,28 @@ public OMResponse submitRequest(OMRequest payload) throws IOException {
     }
   }
 
+  /**
+   * Sends a read request to the current read OM, which may be a follower.
+   * @return the response, or null if the request has to be sent to the
+   * leader, e.g. because the OM is down, does not serve follower reads or
+   * could not catch up with the leader in time. The next read request is then
+   * sent to another OM.
+   */
+  private OMResponse submitFollowerReadRequest(OMRequest payload) {
+    int index = readOmIndex.get();
+    String nodeId = omNodeIds.get(index);
+    try {
+      OzoneManagerProtocolPB proxy = (OzoneManagerProtocolPB)
+          omFailoverProxyProvider.getProxy(nodeId).proxy;
+      return proxy.submitRequest(NULL_RPC_CONTROLLER, payload);
+    } catch (ServiceException e) {
+      LOG.debug("Failed to read from OM {}, retrying on the leader.",
+          nodeId, e);
+      readOmIndex.compareAndSet(index, (index + 1) % omNodeIds.size());
+      return null;
+    }
+  }
+
   @Override
   public Text getDelegationTokenService() {
     return omFailoverProxyProvider.getCurrentProxyDelegationToken();
@@ -19,6 +19,7 @@
 
 import java.io.IOException;
 
+import org.apache.hadoop.fs.RemoteIterator;
 import org.apache.hadoop.io.Text;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
@@ -33,6 +34,19 @@ public interface OmTransport {
    */
   OMResponse submitRequest(OMRequest payload) throws IOException;
 
+  /**
+   * Send out a ListStatus request, whose result is streamed back as a
+   * sequence of ListStatus responses of at most numEntries statuses each.
+   *
+   * @return the responses, or null if the transport does not support
+   *         streaming, in which case the caller has to page through the
+   *         result with {@link #submitRequest(OMRequest)}.
+   */
+  default RemoteIterator<OMResponse> listStatusStream(OMRequest payload)
+      throws IOException {
+    return null;
+  }
+
   /**
    * Return the addresses of the Ozone Managers, used for delegation token.
    */
@@ -27,6 +27,7 @@
 
 import javax.annotation.Nonnull;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.hadoop.fs.RemoteIterator;
 import org.apache.hadoop.fs.SafeModeAction;
 import org.apache.hadoop.hdds.annotation.InterfaceAudience;
 import org.apache.hadoop.hdds.client.ECReplicationConfig;
@@ -43,6 +44,7 @@
 import org.apache.hadoop.ozone.om.helpers.BasicOmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.ListKeysLightResult;
 import org.apache.hadoop.ozone.om.helpers.ListKeysResult;
+import org.apache.hadoop.ozone.om.helpers.ListStatusIterator;
 import org.apache.hadoop.ozone.om.helpers.DBUpdates;
 import org.apache.hadoop.ozone.om.helpers.DeleteTenantState;
 import org.apache.hadoop.ozone.om.helpers.KeyInfoWithVolumeContext;
@@ -112,7 +114,10 @@
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetAclRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetAclResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetDelegationTokenResponseProto;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.FileStatusResult;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetFileStatusRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetFileStatusesRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetFileStatusesResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetFileStatusResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetKeyInfoRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetKeyInfoResponse;
@@ -296,6 +301,10 @@ private OMRequest.Builder createOMRequest(Type cmdType) {
    */
   private OMResponse submitRequest(OMRequest omRequest)
       throws IOException {
+    return transport.submitRequest(prepareRequest(omRequest));
+  }
+
+  private OMRequest prepareRequest(OMRequest omRequest) {
     OMRequest.Builder  builder = OMRequest.newBuilder(omRequest);
     // Insert S3 Authentication information for each request.
     if (getThreadLocalS3Auth() != null) {
@@ -322,10 +331,7 @@ private OMResponse submitRequest(OMRequest omRequest)
         CallerContext.setCurrent(callerContext);
       }
     }
-    OMResponse response =
-        transport.submitRequest(
-            builder.setTraceID(TracingUtil.exportCurrentSpan()).build());
-    return response;
+    return builder.setTraceID(TracingUtil.exportCurrentSpan()).build();
   }
 
   /**
@@ -1989,6 +1995,45 @@ public OzoneFileStatus getFileStatus(OmKeyArgs args) throws IOException {
     return OzoneFileStatus.getFromProtobuf(resp.getStatus());
   }
 
+  /**
+   * Get File Status for many Ozone keys of a bucket in one round trip.
+   *
+   * @param args volume, bucket and read options of the keys.
+   * @param keyNames names of the keys.
+   * @return OzoneFileStatus for each key, null if the key does not exist.
+   * @throws IOException
+   */
+  @Override
+  public List<OzoneFileStatus> getFileStatuses(OmKeyArgs args,
+      List<String> keyNames) throws IOException {
+    // keyName is required by the protocol, but not used by this request.
+    KeyArgs keyArgs = KeyArgs.newBuilder()
+        .setVolumeName(args.getVolumeName())
+        .setBucketName(args.getBucketName())
+        .setKeyName("")
+        .setSortDatanodes(args.getSortDatanodes())
+        .setLatestVersionLocation(args.getLatestVersionLocation())
+        .setHeadOp(args.isHeadOp())
+        .build();
+    GetFileStatusesRequest req = GetFileStatusesRequest.newBuilder()
+        .setKeyArgs(keyArgs)
+        .addAllKeyNames(keyNames)
+        .build();
+
+    OMRequest omRequest = createOMRequest(Type.GetFileStatuses)
+        .setGetFileStatusesRequest(req)
+        .build();
+
+    GetFileStatusesResponse resp = handleError(submitRequest(omRequest))
+        .getGetFileStatusesResponse();
+    List<OzoneFileStatus> statuses = new ArrayList<>(resp.getResultsCount());
+    for (FileStatusResult result : resp.getResultsList()) {
+      statuses.add(result.hasStatus()
+          ? OzoneFileStatus.getFromProtobuf(result.getStatus()) : null);
+    }
+    return statuses;
+  }
+
   @Override
   public void createDirectory(OmKeyArgs args) throws IOException {
     KeyArgs keyArgs = KeyArgs.newBuilder()
@@ -2190,6 +2235,34 @@ public OpenKeySession createFile(OmKeyArgs args,
   public List<OzoneFileStatus> listStatus(OmKeyArgs args, boolean recursive,
       String startKey, long numEntries, boolean allowPartialPrefixes)
       throws IOException {
+    OMRequest omRequest = createListStatusRequest(args, recursive, startKey,
+        numEntries, allowPartialPrefixes);
+    return getStatuses(handleError(submitRequest(omRequest)));
+  }
+
+  /**
+   * Streams the listing from OM if the transport supports it, otherwise
+   * pages through it with listStatus calls.
+   */
+  @Override
+  public ListStatusIterator listStatusIterator(OmKeyArgs args,
+      boolean recursive, String startKey, long batchSize) throws IOException {
+    ListStatusIterator.checkBatchSize(batchSize);
+    OMRequest omRequest = createListStatusRequest(args, recursive, startKey,
+        batchSize, false);
+    RemoteIterator<OMResponse> responses =
+        transport.listStatusStream(prepareRequest(omRequest));
+    if (responses == null) {
+      return OzoneManagerClientProtocol.super.listStatusIterator(args,
+          recursive, startKey, batchSize);
+    }
+    return new ListStatusIterator(() -> responses.hasNext()
+        ? getStatuses(handleError(responses.next()))
+        : null);
+  }
+
+  private OMRequest createListStatusRequest(OmKeyArgs args, boolean recursive,
+      String startKey, long numEntries, boolean allowPartialPrefixes) {
     KeyArgs keyArgs = KeyArgs.newBuilder()
         .setVolumeName(args.getVolumeName())
         .setBucketName(args.getBucketName())
@@ -2208,11 +2281,14 @@ public List<OzoneFileStatus> listStatus(OmKeyArgs args, boolean recursive,
       listStatusRequestBuilder.setAllowPartialPrefix(allowPartialPrefixes);
     }
 
-    OMRequest omRequest = createOMRequest(Type.ListStatus)
+    return createOMRequest(Type.ListStatus)
         .setListStatusRequest(listStatusRequestBuilder.build())
         .build();
-    ListStatusResponse listStatusResponse =
-        handleError(submitRequest(omRequest)).getListStatusResponse();
+  }
+
+  private static List<OzoneFileStatus> getStatuses(OMResponse response)
+      throws IOException {
+    ListStatusResponse listStatusResponse = response.getListStatusResponse();
     List<OzoneFileStatus> statusList =
         new ArrayList<>(listStatusResponse.getStatusesCount());
     for (OzoneFileStatusProto fileStatus : listStatusResponse
@@ -22,6 +22,7 @@
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.StringJoiner;
 
 import org.apache.hadoop.io.Text;
@@ -88,6 +89,23 @@ public void testWaitTimeWithNextNode() {
     failoverToNextNode(1, waitBetweenRetries);
   }
 
+  /**
+   * Tests that the proxies of other OMs, used for follower reads, can be
+   * obtained without failing over.
+   */
+  @Test
+  public void testGetProxyOfNode() {
+    List<String> nodeIds = provider.getOMNodeIds();
+    Assert.assertEquals(numNodes, nodeIds.size());
+    String current = provider.getCurrentProxyOMNodeId();
+    for (String nodeId : nodeIds) {
+      Assert.assertNotNull(provider.getProxy(nodeId).proxy);
+      Assert.assertSame(provider.getProxy(nodeId),
+          provider.getOMProxyMap().get(nodeId));
+    }
+    Assert.assertEquals(current, provider.getCurrentProxyOMNodeId());
+  }
+
   /**
    * Tests failover to next node and same node.
    */
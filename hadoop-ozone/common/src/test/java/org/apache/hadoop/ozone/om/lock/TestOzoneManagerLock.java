@@ -19,6 +19,7 @@
 package org.apache.hadoop.ozone.om.lock;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Stack;
 import java.util.UUID;
@@ -561,6 +562,114 @@ public void testSyntheticReadWriteLockConcurrentStats(
         writeWaitingStat.contains("Samples = " + writeThreadCount));
   }
 
+  @Test
+  public void testAcquireMultipleLocks() throws Exception {
+    OzoneManagerLock lock = new OzoneManagerLock(new OzoneConfiguration());
+    List<String[]> paths = new ArrayList<>();
+    paths.add(new String[]{"vol", "bucket", "a"});
+    paths.add(new String[]{"vol", "bucket", "a/b"});
+    List<String[]> reversed = new ArrayList<>(paths);
+    Collections.reverse(reversed);
+
+    lock.acquireReadLock(Resource.BUCKET_LOCK, "vol", "bucket");
+    lock.acquireWriteLocks(Resource.KEY_PATH_LOCK, paths);
+    for (String[] path : paths) {
+      assertEquals(1, lock.getWriteHoldCount(Resource.KEY_PATH_LOCK, path));
+    }
+
+    // Another thread locking the same names in a different order blocks
+    // until all of them are released.
+    AtomicBoolean gotLock = new AtomicBoolean(false);
+    Thread thread = new Thread(() -> {
+      lock.acquireWriteLocks(Resource.KEY_PATH_LOCK, reversed);
+      gotLock.set(true);
+      lock.releaseWriteLocks(Resource.KEY_PATH_LOCK, reversed);
+    });
+    thread.start();
+    Thread.sleep(100);
+    Assert.assertFalse(gotLock.get());
+
+    lock.releaseWriteLocks(Resource.KEY_PATH_LOCK, paths);
+    lock.releaseReadLock(Resource.BUCKET_LOCK, "vol", "bucket");
+    thread.join();
+    Assert.assertTrue(gotLock.get());
+    for (String[] path : paths) {
+      assertEquals(0, lock.getWriteHoldCount(Resource.KEY_PATH_LOCK, path));
+    }
+
+    lock.acquireReadLocks(Resource.KEY_PATH_LOCK, paths);
+    assertEquals(1, lock.getReadHoldCount(Resource.KEY_PATH_LOCK, "vol",
+        "bucket", "a"));
+    lock.releaseReadLocks(Resource.KEY_PATH_LOCK, paths);
+
+    OMLockMetrics metrics = lock.getOMLockMetrics();
+    String keyPathWaitingStat =
+        metrics.getLockWaitingTimeMsStat(Resource.KEY_PATH_LOCK);
+    Assert.assertTrue(keyPathWaitingStat,
+        keyPathWaitingStat.contains("Samples = 3"));
+    String bucketHeldStat =
+        metrics.getLockHeldTimeMsStat(Resource.BUCKET_LOCK);
+    Assert.assertTrue(bucketHeldStat, bucketHeldStat.contains("Samples = 1"));
+    lock.cleanup();
+  }
+
+  @Test
+  public void testAcquireReadAndWriteLocks() throws Exception {
+    OzoneManagerLock lock = new OzoneManagerLock(new OzoneConfiguration());
+    List<String[]> parent =
+        Collections.singletonList(new String[]{"vol", "bucket", "a"});
+    List<String[]> key1 =
+        Collections.singletonList(new String[]{"vol", "bucket", "a/b"});
+    List<String[]> key2 =
+        Collections.singletonList(new String[]{"vol", "bucket", "a/c"});
+
+    lock.acquireLocks(Resource.KEY_PATH_LOCK, parent, key1);
+    assertEquals(1, lock.getReadHoldCount(Resource.KEY_PATH_LOCK,
+        parent.get(0)));
+    assertEquals(1, lock.getWriteHoldCount(Resource.KEY_PATH_LOCK,
+        key1.get(0)));
+
+    // A sibling shares the read lock on the parent.
+    AtomicBoolean gotLock = new AtomicBoolean(false);
+    Thread thread = new Thread(() -> {
+      lock.acquireLocks(Resource.KEY_PATH_LOCK, parent, key2);
+      gotLock.set(true);
+      lock.releaseLocks(Resource.KEY_PATH_LOCK, parent, key2);
+    });
+    thread.start();
+    thread.join();
+    Assert.assertTrue(gotLock.get());
+
+    lock.releaseLocks(Resource.KEY_PATH_LOCK, parent, key1);
+    assertEquals(0, lock.getReadHoldCount(Resource.KEY_PATH_LOCK,
+        parent.get(0)));
+    assertEquals(0, lock.getWriteHoldCount(Resource.KEY_PATH_LOCK,
+        key1.get(0)));
+    lock.cleanup();
+  }
+
+  @Test
+  public void testAcquireReadAndWriteLocksOnSameStripe() {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.setInt("ozone.om.lock.stripes.key_path_lock", 1);
+    OzoneManagerLock lock = new OzoneManagerLock(conf);
+    List<String[]> parent =
+        Collections.singletonList(new String[]{"vol", "bucket", "a"});
+    List<String[]> key =
+        Collections.singletonList(new String[]{"vol", "bucket", "a/b"});
+
+    // A stripe with a read and a write locked name is only write locked.
+    lock.acquireLocks(Resource.KEY_PATH_LOCK, parent, key);
+    assertEquals(1, lock.getWriteHoldCount(Resource.KEY_PATH_LOCK,
+        parent.get(0)));
+    assertEquals(0, lock.getReadHoldCount(Resource.KEY_PATH_LOCK,
+        parent.get(0)));
+    lock.releaseLocks(Resource.KEY_PATH_LOCK, parent, key);
+    assertEquals(0, lock.getWriteHoldCount(Resource.KEY_PATH_LOCK,
+        key.get(0)));
+    lock.cleanup();
+  }
+
   @Test
   public void testOMLockMetricsRecords() {
     OMLockMetrics omLockMetrics = OMLockMetrics.create();
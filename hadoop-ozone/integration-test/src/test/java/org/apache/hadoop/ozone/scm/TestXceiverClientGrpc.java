@@ -24,7 +24,10 @@
 import org.apache.hadoop.hdds.protocol.MockDatanodeDetails;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
 import org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor;
+import org.apache.hadoop.hdds.scm.OzoneClientConfig;
 import org.apache.hadoop.hdds.scm.XceiverClientGrpc;
+import org.apache.hadoop.hdds.scm.XceiverClientManager;
+import org.apache.hadoop.hdds.scm.XceiverClientMetrics;
 import org.apache.hadoop.hdds.scm.XceiverClientReply;
 import org.apache.hadoop.hdds.scm.XceiverClientSpi;
 import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
@@ -199,6 +202,87 @@ public XceiverClientReply sendCommandAsync(
     }
   }
 
+  @Test
+  @Timeout(5)
+  public void testHedgedReadChunk() throws IOException {
+    enableHedgedRead();
+    XceiverClientMetrics metrics =
+        XceiverClientManager.getXceiverClientMetrics();
+    long hedgedReads = metrics.getHedgedReadOps();
+    long hedgedReadWins = metrics.getHedgedReadOpsWin();
+    final List<DatanodeDetails> seenDNs = new ArrayList<>();
+    try (XceiverClientGrpc client = new XceiverClientGrpc(pipeline, conf) {
+      @Override
+      public XceiverClientReply sendCommandAsync(
+          ContainerProtos.ContainerCommandRequestProto request,
+          DatanodeDetails dn) {
+        seenDNs.add(dn);
+        // The first datanode never answers.
+        return seenDNs.size() == 1
+            ? new XceiverClientReply(new CompletableFuture<>())
+            : buildValidResponse();
+      }
+    }) {
+      invokeXceiverClientReadChunk(client);
+    }
+    Assertions.assertEquals(2, seenDNs.size());
+    Assertions.assertEquals(hedgedReads + 1, metrics.getHedgedReadOps());
+    Assertions.assertEquals(hedgedReadWins + 1,
+        metrics.getHedgedReadOpsWin());
+  }
+
+  @Test
+  @Timeout(5)
+  public void testHedgedReadChunkNotNeeded() throws IOException {
+    enableHedgedRead();
+    final List<DatanodeDetails> seenDNs = new ArrayList<>();
+    try (XceiverClientGrpc client = new XceiverClientGrpc(pipeline, conf) {
+      @Override
+      public XceiverClientReply sendCommandAsync(
+          ContainerProtos.ContainerCommandRequestProto request,
+          DatanodeDetails dn) {
+        seenDNs.add(dn);
+        return buildValidResponse();
+      }
+    }) {
+      for (int i = 0; i < 10; i++) {
+        invokeXceiverClientReadChunk(client);
+      }
+    }
+    Assertions.assertEquals(10, seenDNs.size());
+    Assertions.assertEquals(1, new HashSet<>(seenDNs).size());
+  }
+
+  @Test
+  @Timeout(5)
+  public void testHedgedReadChunkRetryAllNodes() {
+    enableHedgedRead();
+    final ArrayList<DatanodeDetails> allDNs = new ArrayList<>(dns);
+    try (XceiverClientGrpc client = new XceiverClientGrpc(pipeline, conf) {
+      @Override
+      public XceiverClientReply sendCommandAsync(
+          ContainerProtos.ContainerCommandRequestProto request,
+          DatanodeDetails dn) {
+        allDNs.remove(dn);
+        CompletableFuture<ContainerProtos.ContainerCommandResponseProto>
+            future = new CompletableFuture<>();
+        future.completeExceptionally(new IOException("Failed " + dn));
+        return new XceiverClientReply(future);
+      }
+    }) {
+      Assertions.assertThrows(IOException.class,
+          () -> invokeXceiverClientReadChunk(client));
+    }
+    Assertions.assertEquals(0, allDNs.size());
+  }
+
+  private void enableHedgedRead() {
+    OzoneClientConfig clientConfig = conf.getObject(OzoneClientConfig.class);
+    clientConfig.setHedgedReadEnabled(true);
+    clientConfig.setHedgedReadThresholdMin(100);
+    conf.setFromObject(clientConfig);
+  }
+
   private void invokeXceiverClientGetBlock(XceiverClientSpi client)
       throws IOException {
     ContainerProtocolCalls.getBlock(client,
@@ -26,8 +26,10 @@
 import org.apache.hadoop.hdds.scm.HddsTestUtils;
 import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
 import org.apache.hadoop.hdds.utils.db.Codec;
+import org.apache.hadoop.hdds.utils.db.CodecBuffer;
 import org.apache.hadoop.hdds.utils.db.Proto2CodecTestBase;
 import org.apache.hadoop.io.MD5Hash;
+import org.apache.hadoop.ozone.OzoneAcl;
 import org.apache.hadoop.util.Time;
 import org.junit.Test;
 
@@ -39,6 +41,7 @@
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 
 /**
@@ -103,6 +106,54 @@ public void test() throws IOException {
     testOmKeyInfoCodecCompatibility(2);
   }
 
+  @Test
+  public void testLazyDecoding() throws IOException {
+    final Codec<OmKeyInfo> codec = OmKeyInfo.getCodec(true);
+    OmKeyInfo originKey = getKeyInfo(2);
+    originKey.addNewVersion(originKey.getLatestVersionLocations()
+        .getLocationList(), false, true);
+    originKey.addAcl(OzoneAcl.parseAcl("user:hadoop:rw"));
+    originKey.addAcl(OzoneAcl.parseAcl("group:ozone:r"));
+    originKey.getMetadata().put("key", "value");
+    OmKeyInfo expected =
+        codec.fromPersistedFormat(codec.toPersistedFormat(originKey));
+
+    // The locations and ACLs are decoded on access.
+    try (CodecBuffer buffer = codec.toHeapCodecBuffer(originKey)) {
+      OmKeyInfo key = codec.fromCodecBuffer(buffer);
+      assertEquals(expected.getKeyName(), key.getKeyName());
+      assertEquals(expected.getDataSize(), key.getDataSize());
+      assertEquals(expected.getFileChecksum(), key.getFileChecksum());
+      assertEquals(expected.getMetadata(), key.getMetadata());
+      assertEquals(expected.getAcls(), key.getAcls());
+      assertEquals(expected, key);
+    }
+
+    // A copy of a key which is not decoded yet is still complete.
+    try (CodecBuffer buffer = codec.toHeapCodecBuffer(originKey)) {
+      OmKeyInfo copy = codec.fromCodecBuffer(buffer).copyObject();
+      assertEquals(expected, copy);
+      assertEquals(expected.getProtobuf(true, 0), copy.getProtobuf(true, 0));
+    }
+
+    // The latest version alone is decoded for the latest version blocks.
+    try (CodecBuffer buffer = codec.toHeapCodecBuffer(originKey)) {
+      OmKeyInfo key = codec.fromCodecBuffer(buffer);
+      assertEquals(expected.getNetworkProtobuf(0, true),
+          key.getNetworkProtobuf(0, true));
+      assertEquals(expected.getKeyLocationVersions(),
+          key.getKeyLocationVersions());
+    }
+
+    try (CodecBuffer buffer = codec.toHeapCodecBuffer(originKey)) {
+      OmKeyInfo key = codec.fromCodecBuffer(buffer);
+      assertTrue(key.retainLatestVersionLocations());
+      assertEquals(1, key.getKeyLocationVersions().size());
+      assertEquals(expected.getLatestVersionLocations(),
+          key.getLatestVersionLocations());
+    }
+  }
+
   public void testOmKeyInfoCodecWithoutPipeline(int chunkNum)
       throws IOException {
     final Codec<OmKeyInfo> codec = OmKeyInfo.getCodec(true);
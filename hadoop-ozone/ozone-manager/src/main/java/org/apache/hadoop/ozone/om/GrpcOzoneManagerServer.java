@@ -150,7 +150,7 @@ public void init(OzoneManagerProtocolServerSideTranslatorPB omTranslator,
         .addService(ServerInterceptors.intercept(
             new OzoneManagerServiceGrpc(omTranslator,
                 delegationTokenMgr,
-                omServerConfig),
+                omServerConfig).bindServiceWithStreaming(),
             new GrpcMetricsServerResponseInterceptor(omS3gGrpcMetrics),
             new GrpcMetricsServerRequestInterceptor(omS3gGrpcMetrics)))
         .addTransportFilter(
@@ -35,6 +35,7 @@
 
 import java.io.IOException;
 import java.time.Duration;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -135,6 +136,18 @@ List<RepeatedOmKeyInfo> listTrash(String volumeName, String bucketName,
    */
   PendingKeysDeletion getPendingDeletionKeys(int count) throws IOException;
 
+  /**
+   * Returns a PendingKeysDeletion for the given entries of the deletedTable,
+   * like {@link #getPendingDeletionKeys(int)}.
+   *
+   * @param entries entries of the deletedTable.
+   * @param count max number of keys to return.
+   * @throws IOException
+   */
+  PendingKeysDeletion getPendingDeletionKeys(
+      Iterator<? extends Table.KeyValue<String, RepeatedOmKeyInfo>> entries,
+      int count) throws IOException;
+
   /**
    * Returns the names of up to {@code count} open keys whose age is
    * greater than or equal to {@code expireThreshold}.
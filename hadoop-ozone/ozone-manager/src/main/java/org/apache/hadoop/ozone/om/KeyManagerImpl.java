@@ -32,6 +32,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.Stack;
 import java.util.TreeMap;
@@ -635,6 +636,16 @@ public PendingKeysDeletion getPendingDeletionKeys(final int count)
         .getPendingDeletionKeys(count, ozoneManager.getOmSnapshotManager());
   }
 
+  @Override
+  public PendingKeysDeletion getPendingDeletionKeys(
+      Iterator<? extends Table.KeyValue<String, RepeatedOmKeyInfo>> entries,
+      int count) throws IOException {
+    OmMetadataManagerImpl omMetadataManager =
+        (OmMetadataManagerImpl) metadataManager;
+    return omMetadataManager.getPendingDeletionKeys(entries, count,
+        ozoneManager.getOmSnapshotManager());
+  }
+
   @Override
   public ExpiredOpenKeys getExpiredOpenKeys(Duration expireThreshold,
       int count, BucketLayout bucketLayout) throws IOException {
@@ -1145,6 +1156,71 @@ public OzoneFileStatus getFileStatus(OmKeyArgs args, String clientAddress)
     return getOzoneFileStatus(args, clientAddress);
   }
 
+  /**
+   * OzoneFS api to get file status for many entries of a bucket. The bucket
+   * lock is taken once for the whole batch, directory lookups of FSO
+   * buckets are shared by the entries, and the pipelines of all files are
+   * refreshed with a single call to SCM.
+   */
+  @Override
+  public List<OzoneFileStatus> getFileStatuses(OmKeyArgs args,
+      List<String> keyNames, String clientAddress) throws IOException {
+    Preconditions.checkNotNull(args, "Key args can not be null");
+    Preconditions.checkNotNull(keyNames, "Key names can not be null");
+    final String volumeName = args.getVolumeName();
+    final String bucketName = args.getBucketName();
+    final boolean fsoBucket = isBucketFSOptimized(volumeName, bucketName);
+
+    List<OzoneFileStatus> statuses = new ArrayList<>(keyNames.size());
+    metadataManager.getLock().acquireReadLock(BUCKET_LOCK, volumeName,
+        bucketName);
+    try {
+      OMFileRequest.validateBucket(metadataManager, volumeName, bucketName);
+      BucketLayout layout =
+          getBucketLayout(metadataManager, volumeName, bucketName);
+      Map<String, Optional<OmDirectoryInfo>> dirCache = new HashMap<>();
+      if (fsoBucket) {
+        OMFileRequest.prefetchDirectories(metadataManager, volumeName,
+            bucketName, keyNames, dirCache);
+      }
+      for (String keyName : keyNames) {
+        if (keyName.length() == 0) {
+          statuses.add(new OzoneFileStatus());
+        } else if (fsoBucket) {
+          statuses.add(OMFileRequest.getOMKeyInfoIfExists(metadataManager,
+              volumeName, bucketName, keyName, scmBlockSize,
+              ozoneManager.getDefaultReplicationConfig(), dirCache));
+        } else {
+          statuses.add(getOzoneFileStatusFromDB(volumeName, bucketName,
+              keyName, layout));
+        }
+      }
+    } finally {
+      metadataManager.getLock().releaseReadLock(BUCKET_LOCK, volumeName,
+          bucketName);
+    }
+
+    List<OmKeyInfo> files = new ArrayList<>();
+    for (OzoneFileStatus status : statuses) {
+      if (status != null && status.isFile()) {
+        files.add(status.getKeyInfo());
+      }
+    }
+    if (!files.isEmpty()) {
+      OmKeyInfo[] fileArray = files.toArray(new OmKeyInfo[0]);
+      if (args.getLatestVersionLocation()) {
+        slimLocationVersion(fileArray);
+      }
+      if (!args.isHeadOp()) {
+        refreshPipeline(files);
+        if (args.getSortDatanodes()) {
+          sortDatanodes(clientAddress, fileArray);
+        }
+      }
+    }
+    return statuses;
+  }
+
   private OzoneFileStatus getOzoneFileStatus(OmKeyArgs args,
       String clientAddress) throws IOException {
 
@@ -1153,9 +1229,7 @@ private OzoneFileStatus getOzoneFileStatus(OmKeyArgs args,
     final String bucketName = args.getBucketName();
     final String keyName = args.getKeyName();
 
-    OmKeyInfo fileKeyInfo = null;
-    OmKeyInfo dirKeyInfo = null;
-    OmKeyInfo fakeDirKeyInfo = null;
+    OzoneFileStatus fileStatus = null;
     metadataManager.getLock().acquireReadLock(BUCKET_LOCK, volumeName,
         bucketName);
     try {
@@ -1165,28 +1239,15 @@ private OzoneFileStatus getOzoneFileStatus(OmKeyArgs args,
         return new OzoneFileStatus();
       }
 
-      // Check if the key is a file.
-      String fileKeyBytes = metadataManager.getOzoneKey(
-              volumeName, bucketName, keyName);
       BucketLayout layout =
           getBucketLayout(metadataManager, volumeName, bucketName);
-      fileKeyInfo = metadataManager.getKeyTable(layout).get(fileKeyBytes);
-      String dirKey = OzoneFSUtils.addTrailingSlashIfNeeded(keyName);
-
-      // Check if the key is a directory.
-      if (fileKeyInfo == null) {
-        String dirKeyBytes = metadataManager.getOzoneKey(
-                volumeName, bucketName, dirKey);
-        dirKeyInfo = metadataManager.getKeyTable(layout).get(dirKeyBytes);
-        if (dirKeyInfo == null) {
-          fakeDirKeyInfo =
-              createFakeDirIfShould(volumeName, bucketName, keyName, layout);
-        }
-      }
+      fileStatus = getOzoneFileStatusFromDB(volumeName, bucketName, keyName,
+          layout);
     } finally {
       metadataManager.getLock().releaseReadLock(BUCKET_LOCK, volumeName,
               bucketName);
-      if (fileKeyInfo != null) {
+      if (fileStatus != null && fileStatus.isFile()) {
+        OmKeyInfo fileKeyInfo = fileStatus.getKeyInfo();
         // if the key is a file
         // then do refresh pipeline info in OM by asking SCM
         if (args.getLatestVersionLocation()) {
@@ -1206,16 +1267,8 @@ private OzoneFileStatus getOzoneFileStatus(OmKeyArgs args,
       }
     }
 
-    if (fileKeyInfo != null) {
-      return new OzoneFileStatus(fileKeyInfo, scmBlockSize, false);
-    }
-
-    if (dirKeyInfo != null) {
-      return new OzoneFileStatus(dirKeyInfo, scmBlockSize, true);
-    }
-
-    if (fakeDirKeyInfo != null) {
-      return new OzoneFileStatus(fakeDirKeyInfo, scmBlockSize, true);
+    if (fileStatus != null) {
+      return fileStatus;
     }
 
     // Key is not found, throws exception
@@ -1229,6 +1282,37 @@ private OzoneFileStatus getOzoneFileStatus(OmKeyArgs args,
             FILE_NOT_FOUND);
   }
 
+  /**
+   * Look up the file status of a key in a bucket which is not FSO, the
+   * caller must hold the bucket lock.
+   *
+   * @return the file status, or null if the key does not exist.
+   */
+  private OzoneFileStatus getOzoneFileStatusFromDB(String volumeName,
+      String bucketName, String keyName, BucketLayout layout)
+      throws IOException {
+    // Check if the key is a file.
+    String fileKeyBytes = metadataManager.getOzoneKey(
+        volumeName, bucketName, keyName);
+    OmKeyInfo fileKeyInfo =
+        metadataManager.getKeyTable(layout).get(fileKeyBytes);
+    if (fileKeyInfo != null) {
+      return new OzoneFileStatus(fileKeyInfo, scmBlockSize, false);
+    }
+
+    // Check if the key is a directory.
+    String dirKey = OzoneFSUtils.addTrailingSlashIfNeeded(keyName);
+    String dirKeyBytes = metadataManager.getOzoneKey(
+        volumeName, bucketName, dirKey);
+    OmKeyInfo dirKeyInfo = metadataManager.getKeyTable(layout).get(dirKeyBytes);
+    if (dirKeyInfo == null) {
+      dirKeyInfo =
+          createFakeDirIfShould(volumeName, bucketName, keyName, layout);
+    }
+    return dirKeyInfo == null ? null
+        : new OzoneFileStatus(dirKeyInfo, scmBlockSize, true);
+  }
+
   /**
    * Create a fake directory if the key is a path prefix,
    * otherwise returns null.
@@ -1847,17 +1931,10 @@ private static List<String> toNodeUuid(Collection<DatanodeDetails> nodes) {
   private void slimLocationVersion(OmKeyInfo... keyInfos) {
     if (keyInfos != null) {
       for (OmKeyInfo keyInfo : keyInfos) {
-        OmKeyLocationInfoGroup key = keyInfo.getLatestVersionLocations();
-        if (key == null) {
+        // Does not decode the older versions of lazily decoded keys.
+        if (!keyInfo.retainLatestVersionLocations()) {
           LOG.warn("No location version for key {}", keyInfo);
-          continue;
-        }
-        int keyLocationVersionLength = keyInfo.getKeyLocationVersions().size();
-        if (keyLocationVersionLength <= 1) {
-          continue;
         }
-        keyInfo.setKeyLocationVersions(keyInfo.getKeyLocationVersions()
-            .subList(keyLocationVersionLength - 1, keyLocationVersionLength));
       }
     }
   }
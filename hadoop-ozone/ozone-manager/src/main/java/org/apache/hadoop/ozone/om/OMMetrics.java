@@ -218,6 +218,10 @@ public class OMMetrics implements OmMetadataReaderMetrics {
   private @Metric MutableCounterLong numTrashAtomicDirRenames;
   private @Metric MutableCounterLong numTrashAtomicDirDeletes;
 
+  // Follower read Metrics
+  private @Metric MutableCounterLong numFollowerReads;
+  private @Metric MutableCounterLong numFollowerReadFails;
+
   //FSO Metrics
   private @Metric MutableCounterLong numDirs;
   private @Metric MutableCounterLong numFiles;
@@ -616,9 +620,14 @@ public void incNumTenantUserLists() {
 
   @Override
   public void incNumGetFileStatus() {
-    numKeyOps.incr();
-    numFSOps.incr();
-    numGetFileStatus.incr();
+    incNumGetFileStatus(1);
+  }
+
+  @Override
+  public void incNumGetFileStatus(int count) {
+    numKeyOps.incr(count);
+    numFSOps.incr(count);
+    numGetFileStatus.incr(count);
   }
 
   @Override
@@ -1390,6 +1399,22 @@ public void incNumTrashAtomicDirDeletes() {
     numTrashAtomicDirDeletes.incr();
   }
 
+  public void incNumFollowerReads() {
+    numFollowerReads.incr();
+  }
+
+  public void incNumFollowerReadFails() {
+    numFollowerReadFails.incr();
+  }
+
+  public long getNumFollowerReads() {
+    return numFollowerReads.value();
+  }
+
+  public long getNumFollowerReadFails() {
+    return numFollowerReadFails.value();
+  }
+
   public void incEcKeysTotal() {
     ecKeyCreateTotal.incr();
   }
@@ -72,6 +72,12 @@
  * from a rocksDb instance, for both the OM and OM snapshots.
  */
 public class OmMetadataReader implements IOmMetadataReader, Auditor {
+  /**
+   * Number of keys of a batched request logged in the audit, see
+   * {@link #getFileStatuses}.
+   */
+  private static final int MAX_AUDITED_KEYS = 10;
+
   private final KeyManager keyManager;
   private final PrefixManager prefixManager;
   private final VolumeManager volumeManager;
@@ -278,6 +284,37 @@ public OzoneFileStatus getFileStatus(OmKeyArgs args) throws IOException {
     }
   }
 
+  @Override
+  public List<OzoneFileStatus> getFileStatuses(OmKeyArgs args,
+      List<String> keyNames) throws IOException {
+    ResolvedBucket bucket = ozoneManager.resolveBucketLink(args);
+
+    boolean auditSuccess = true;
+    Map<String, String> auditMap = bucket.audit(args.toAuditMap());
+    auditMap.put(OzoneConsts.KEY_COUNT, String.valueOf(keyNames.size()));
+    auditMap.put(OzoneConsts.KEY, keyNames.size() > MAX_AUDITED_KEYS
+        ? String.join(",", keyNames.subList(0, MAX_AUDITED_KEYS)) + ",..."
+        : String.join(",", keyNames));
+
+    args = bucket.update(args);
+
+    try {
+      metrics.incNumGetFileStatus(keyNames.size());
+      return keyManager.getFileStatuses(args, keyNames, getClientAddress());
+    } catch (IOException ex) {
+      metrics.incNumGetFileStatusFails();
+      auditSuccess = false;
+      audit.logReadFailure(
+          buildAuditMessageForFailure(OMAction.GET_FILE_STATUS, auditMap, ex));
+      throw ex;
+    } finally {
+      if (auditSuccess) {
+        audit.logReadSuccess(
+            buildAuditMessageForSuccess(OMAction.GET_FILE_STATUS, auditMap));
+      }
+    }
+  }
+
   @Override
   public OmKeyInfo lookupFile(OmKeyArgs args) throws IOException {
     ResolvedBucket bucket = ozoneManager.resolveBucketLink(args);
@@ -35,6 +35,8 @@ public interface OmMetadataReaderMetrics {
 
   void incNumGetFileStatus();
 
+  void incNumGetFileStatus(int count);
+
   void incNumGetFileStatusFails();
 
   void incNumLookupFile();
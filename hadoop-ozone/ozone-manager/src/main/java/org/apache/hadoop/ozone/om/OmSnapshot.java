@@ -129,6 +129,16 @@ public OzoneFileStatus getFileStatus(OmKeyArgs args) throws IOException {
         omMetadataReader.getFileStatus(normalizeOmKeyArgs(args)));
   }
 
+  @Override
+  public List<OzoneFileStatus> getFileStatuses(OmKeyArgs args,
+      List<String> keyNames) throws IOException {
+    List<String> normalized = keyNames.stream().map(this::normalizeKeyName)
+        .collect(Collectors.toList());
+    return omMetadataReader.getFileStatuses(normalizeOmKeyArgs(args),
+        normalized).stream().map(this::denormalizeOzoneFileStatus)
+        .collect(Collectors.toList());
+  }
+
   @Override
   public OmKeyInfo lookupFile(OmKeyArgs args) throws IOException {
     return denormalizeOmKeyInfo(omMetadataReader
@@ -104,9 +104,14 @@ public void incNumListStatusFails() {
 
   @Override
   public void incNumGetFileStatus() {
-    numKeyOps.incr();
-    numFSOps.incr();
-    numGetFileStatus.incr();
+    incNumGetFileStatus(1);
+  }
+
+  @Override
+  public void incNumGetFileStatus(int count) {
+    numKeyOps.incr(count);
+    numFSOps.incr(count);
+    numGetFileStatus.incr(count);
   }
 
   @Override
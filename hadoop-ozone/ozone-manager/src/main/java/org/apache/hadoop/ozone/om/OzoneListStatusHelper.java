@@ -213,12 +213,13 @@ public Collection<OzoneFileStatus> listStatusFSO(OmKeyArgs args,
 
       while (map.size() < numEntries && heapIterator.hasNext()) {
         HeapEntry entry = heapIterator.next();
-        OzoneFileStatus status = entry.getStatus(prefixKey,
-            scmBlockSize, volumeName, bucketName, replication);
         // Caution: DO NOT use putIfAbsent. putIfAbsent undesirably overwrites
         // the value with `status` when the existing value in the map is null.
+        // The status is only built for the entries which are not shadowed,
+        // so that the shadowed DB values are never decoded.
         if (!map.containsKey(entry.key)) {
-          map.put(entry.key, status);
+          map.put(entry.key, entry.getStatus(prefixKey,
+              scmBlockSize, volumeName, bucketName, replication));
         }
       }
     }
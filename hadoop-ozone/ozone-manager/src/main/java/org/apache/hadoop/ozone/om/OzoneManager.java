@@ -252,6 +252,8 @@
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_READONLY_ADMINISTRATORS;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FLEXIBLE_FQDN_RESOLUTION_ENABLED;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FLEXIBLE_FQDN_RESOLUTION_ENABLED_DEFAULT;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_FILE_STATUSES_BATCH_SIZE_MAX;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_FILE_STATUSES_BATCH_SIZE_MAX_DEFAULT;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_KEY_PREALLOCATION_BLOCKS_MAX;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_KEY_PREALLOCATION_BLOCKS_MAX_DEFAULT;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_SCM_BLOCK_SIZE;
@@ -259,6 +261,7 @@
 import static org.apache.hadoop.ozone.OzoneConsts.DB_TRANSIENT_MARKER;
 import static org.apache.hadoop.ozone.OzoneConsts.DEFAULT_OM_UPDATE_ID;
 import static org.apache.hadoop.ozone.OzoneConsts.LAYOUT_VERSION_KEY;
+import static org.apache.hadoop.ozone.OzoneConsts.OM_KEY_PREFIX;
 import static org.apache.hadoop.ozone.OzoneConsts.OM_METRICS_FILE;
 import static org.apache.hadoop.ozone.OzoneConsts.OM_METRICS_TEMP_FILE;
 import static org.apache.hadoop.ozone.OzoneConsts.OM_SNAPSHOT_DIR;
@@ -3586,6 +3589,53 @@ public OzoneFileStatus getFileStatus(OmKeyArgs args) throws IOException {
     }
   }
 
+  /**
+   * {@inheritDoc}
+   * Keys under different snapshots of the bucket are served by the reader of
+   * the respective snapshot, each with one call. Requests with more keys
+   * than {@link OzoneConfigKeys#OZONE_FS_FILE_STATUSES_BATCH_SIZE_MAX} are
+   * rejected.
+   */
+  @Override
+  public List<OzoneFileStatus> getFileStatuses(OmKeyArgs args,
+      List<String> keyNames) throws IOException {
+    int maxBatchSize = configuration.getInt(
+        OZONE_FS_FILE_STATUSES_BATCH_SIZE_MAX,
+        OZONE_FS_FILE_STATUSES_BATCH_SIZE_MAX_DEFAULT);
+    if (keyNames.size() > maxBatchSize) {
+      throw new OMException("Number of keys " + keyNames.size() +
+          " exceeds the maximum of " + maxBatchSize + " set by " +
+          OZONE_FS_FILE_STATUSES_BATCH_SIZE_MAX, INVALID_REQUEST);
+    }
+    // Group the positions of the keys by snapshot prefix, "" for the
+    // active bucket.
+    Map<String, List<Integer>> groups = new LinkedHashMap<>();
+    for (int i = 0; i < keyNames.size(); i++) {
+      String[] keyParts = keyNames.get(i).split(OM_KEY_PREFIX);
+      String group = OmSnapshotManager.isSnapshotKey(keyParts)
+          ? keyParts[0] + OM_KEY_PREFIX + keyParts[1] : "";
+      groups.computeIfAbsent(group, k -> new ArrayList<>()).add(i);
+    }
+
+    OzoneFileStatus[] statuses = new OzoneFileStatus[keyNames.size()];
+    for (List<Integer> positions : groups.values()) {
+      List<String> groupKeys = new ArrayList<>(positions.size());
+      for (int position : positions) {
+        groupKeys.add(keyNames.get(position));
+      }
+      try (ReferenceCounted<IOmMetadataReader, SnapshotCache> rcReader =
+          getReader(args.getVolumeName(), args.getBucketName(),
+              groupKeys.get(0))) {
+        List<OzoneFileStatus> result =
+            rcReader.get().getFileStatuses(args, groupKeys);
+        for (int i = 0; i < positions.size(); i++) {
+          statuses[positions.get(i)] = result.get(i);
+        }
+      }
+    }
+    return Arrays.asList(statuses);
+  }
+
   /**
    * {@inheritDoc}
    */
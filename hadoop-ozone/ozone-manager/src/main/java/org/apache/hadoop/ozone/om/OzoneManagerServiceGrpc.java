@@ -17,24 +17,41 @@
  */
 package org.apache.hadoop.ozone.om;
 
+import io.grpc.ServerMethodDefinition;
+import io.grpc.ServerServiceDefinition;
 import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.ServerCalls;
+import io.grpc.stub.StreamObserver;
 import com.google.protobuf.RpcController;
+import com.google.protobuf.ServiceException;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.hdds.security.SecurityConfig;
 import org.apache.hadoop.ipc.ClientId;
 import org.apache.hadoop.ipc.RPC;
 import org.apache.hadoop.ipc.Server;
+import org.apache.hadoop.ozone.om.helpers.ListStatusIterator;
+import org.apache.hadoop.ozone.om.protocolPB.GrpcOmStreamingMethods;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerServiceGrpc.OzoneManagerServiceImplBase;
 import org.apache.hadoop.ozone.protocolPB.OzoneManagerProtocolServerSideTranslatorPB;
+import org.apache.hadoop.ozone.protocol.proto
+    .OzoneManagerProtocolProtos.ListStatusRequest;
+import org.apache.hadoop.ozone.protocol.proto
+    .OzoneManagerProtocolProtos.ListStatusResponse;
 import org.apache.hadoop.ozone.protocol.proto
     .OzoneManagerProtocolProtos.OMRequest;
 import org.apache.hadoop.ozone.protocol.proto
     .OzoneManagerProtocolProtos.OMResponse;
+import org.apache.hadoop.ozone.protocol.proto
+    .OzoneManagerProtocolProtos.OzoneFileStatusProto;
+import org.apache.hadoop.ozone.protocol.proto
+    .OzoneManagerProtocolProtos.Type;
 import org.apache.hadoop.ozone.security.OzoneDelegationTokenSecretManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -60,6 +77,23 @@ public class OzoneManagerServiceGrpc extends OzoneManagerServiceImplBase {
     this.secConfig = new SecurityConfig(configuration);
   }
 
+  /**
+   * Returns the generated service definition with the streaming methods,
+   * which are not declared in the proto, added to it.
+   */
+  ServerServiceDefinition bindServiceWithStreaming() {
+    ServerServiceDefinition generated = super.bindService();
+    ServerServiceDefinition.Builder builder = ServerServiceDefinition
+        .builder(generated.getServiceDescriptor().getName());
+    for (ServerMethodDefinition<?, ?> method : generated.getMethods()) {
+      builder.addMethod(method);
+    }
+    return builder
+        .addMethod(GrpcOmStreamingMethods.LIST_STATUS_STREAM,
+            ServerCalls.asyncServerStreamingCall(this::listStatusStream))
+        .build();
+  }
+
   @Override
   public void submitRequest(OMRequest request,
                             io.grpc.stub.StreamObserver<OMResponse>
@@ -67,6 +101,54 @@ public void submitRequest(OMRequest request,
     LOG.debug("OzoneManagerServiceGrpc: OzoneManagerServiceImplBase " +
         "processing s3g client submit request - for command {}",
         request.getCmdType().name());
+    try {
+      OMResponse omResponse = submit(request);
+      responseObserver.onNext(omResponse);
+    } catch (Throwable e) {
+      LOG.error("Failed to submit request", e);
+      responseObserver.onError(toStatusException(e));
+      return;
+    }
+    responseObserver.onCompleted();
+  }
+
+  /**
+   * Streams the result of a ListStatus request in batches of at most
+   * numEntries statuses. Each batch is served by a ListStatus request
+   * starting after the last key of the previous batch, which goes through
+   * the same request handling (authorization, audit, metrics) as a unary
+   * request. Batches are only produced while the client is ready to
+   * receive them, so a slow client does not make the server buffer the
+   * whole directory.
+   */
+  public void listStatusStream(OMRequest request,
+      StreamObserver<OMResponse> responseObserver) {
+    LOG.debug("OzoneManagerServiceGrpc: processing list status stream " +
+        "request - for command {}", request.getCmdType().name());
+    if (request.getCmdType() != Type.ListStatus) {
+      responseObserver.onError(Status.INVALID_ARGUMENT
+          .withDescription("Cannot stream " + request.getCmdType())
+          .asRuntimeException());
+      return;
+    }
+    long numEntries = request.getListStatusRequest().getNumEntries();
+    if (numEntries < ListStatusIterator.MIN_BATCH_SIZE) {
+      responseObserver.onError(Status.INVALID_ARGUMENT
+          .withDescription("Cannot stream list status in batches of "
+              + numEntries + " entries, the minimum is "
+              + ListStatusIterator.MIN_BATCH_SIZE)
+          .asRuntimeException());
+      return;
+    }
+    ListStatusStreamer streamer = new ListStatusStreamer(request,
+        (ServerCallStreamObserver<OMResponse>) responseObserver);
+    // The handler is also run once this method returns, if the call is
+    // ready by then.
+    streamer.observer.setOnReadyHandler(streamer::sendWhileReady);
+    streamer.observer.setOnCancelHandler(streamer::cancel);
+  }
+
+  private OMResponse submit(OMRequest request) throws ServiceException {
     AtomicInteger callCount = new AtomicInteger(0);
 
     org.apache.hadoop.ipc.Server.getCurCall().set(new Server.Call(1,
@@ -82,18 +164,93 @@ public void submitRequest(OMRequest request,
     // Look to remove Server class requirement for issuing ratis transactions
     // for OMRequests.  Test through successful ratis-enabled OMRequest
     // handling without dependency on hadoop IPC based Server.
-    try {
-      OMResponse omResponse = this.omTranslator.
-          submitRequest(NULL_RPC_CONTROLLER, request);
-      responseObserver.onNext(omResponse);
-    } catch (Throwable e) {
-      LOG.error("Failed to submit request", e);
-      IOException ex = new IOException(e.getCause());
-      responseObserver.onError(
-          Status.INTERNAL.withDescription(ex.getMessage())
-              .asRuntimeException());
-      return;
+    return this.omTranslator.submitRequest(NULL_RPC_CONTROLLER, request);
+  }
+
+  private static RuntimeException toStatusException(Throwable e) {
+    IOException ex = new IOException(e.getCause());
+    return Status.INTERNAL.withDescription(ex.getMessage())
+        .asRuntimeException();
+  }
+
+  /**
+   * Produces the batches of a streamed ListStatus request.
+   */
+  private final class ListStatusStreamer {
+    private final OMRequest request;
+    private final ServerCallStreamObserver<OMResponse> observer;
+    private final long batchSize;
+    private String startKey;
+    private boolean first = true;
+    private boolean done;
+
+    private ListStatusStreamer(OMRequest request,
+        ServerCallStreamObserver<OMResponse> observer) {
+      this.request = request;
+      this.observer = observer;
+      this.batchSize = request.getListStatusRequest().getNumEntries();
+      this.startKey = request.getListStatusRequest().getStartKey();
+    }
+
+    synchronized void cancel() {
+      done = true;
+    }
+
+    synchronized void sendWhileReady() {
+      try {
+        while (!done && observer.isReady()) {
+          sendNextBatch();
+        }
+      } catch (Throwable e) {
+        done = true;
+        if (!observer.isCancelled()) {
+          LOG.error("Failed to stream list status", e);
+          observer.onError(toStatusException(e));
+        }
+      }
+    }
+
+    private void sendNextBatch() throws ServiceException {
+      ListStatusRequest listStatus = request.getListStatusRequest()
+          .toBuilder()
+          .setStartKey(startKey)
+          .build();
+      OMResponse response = submit(request.toBuilder()
+          .setListStatusRequest(listStatus)
+          .build());
+      if (!response.getSuccess()) {
+        finish(response);
+        return;
+      }
+
+      List<OzoneFileStatusProto> statuses =
+          response.getListStatusResponse().getStatusesList();
+      int count = statuses.size();
+      boolean last = count < batchSize;
+      if (!first && count > 0
+          && statuses.get(0).getKeyInfo().getKeyName().equals(startKey)) {
+        // A batch starts with the last entry of the previous batch.
+        response = response.toBuilder()
+            .setListStatusResponse(ListStatusResponse.newBuilder()
+                .addAllStatuses(statuses.subList(1, count)))
+            .build();
+      }
+      first = false;
+      if (count > 0) {
+        startKey = statuses.get(count - 1).getKeyInfo().getKeyName();
+      }
+      if (last || response.getListStatusResponse().getStatusesCount() == 0) {
+        // Also stop if the batch made no progress.
+        finish(response);
+      } else if (response.getListStatusResponse().getStatusesCount() > 0) {
+        observer.onNext(response);
+      }
+    }
+
+    private void finish(OMResponse response) {
+      done = true;
+      observer.onNext(response);
+      observer.onCompleted();
     }
-    responseObserver.onCompleted();
   }
 }
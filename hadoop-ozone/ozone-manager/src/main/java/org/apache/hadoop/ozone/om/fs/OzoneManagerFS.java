@@ -52,6 +52,21 @@ public interface OzoneManagerFS extends IOzoneAcl {
   OzoneFileStatus getFileStatus(OmKeyArgs args, String clientAddress)
           throws IOException;
 
+  /**
+   * Get file status for many files or directories of the same bucket.
+   *
+   * @param args          the args provided by client, its volume, bucket
+   *                      and read options apply to all keys.
+   * @param keyNames      names of the files or directories.
+   * @param clientAddress a hint to key manager, order the datanode in returned
+   *                      pipeline by distance between client and datanode.
+   * @return file status of each key in the order of keyNames, null for the
+   *         keys which do not exist.
+   * @throws IOException if bucket or volume does not exist
+   */
+  List<OzoneFileStatus> getFileStatuses(OmKeyArgs args, List<String> keyNames,
+      String clientAddress) throws IOException;
+
   /**
    * Look up a file. Return the info of the file to client side.
    *
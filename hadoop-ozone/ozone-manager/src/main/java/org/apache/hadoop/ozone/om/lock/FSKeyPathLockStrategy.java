@@ -0,0 +1,236 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership.  The ASF
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.hadoop.ozone.om.lock;
+
+import com.google.common.base.Preconditions;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.hadoop.ozone.om.OMMetadataManager;
+import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
+import org.apache.hadoop.ozone.om.request.file.OMFileRequest;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.apache.hadoop.ozone.OzoneConsts.OM_KEY_PREFIX;
+import static org.apache.hadoop.ozone.om.lock.OBSKeyPathLockStrategy.getKeyPathLocks;
+import static org.apache.hadoop.ozone.om.lock.OzoneManagerLock.Resource.BUCKET_LOCK;
+import static org.apache.hadoop.ozone.om.lock.OzoneManagerLock.Resource.KEY_PATH_LOCK;
+
+/**
+ * Implementation of OzoneLockStrategy interface. Concrete strategy for
+ * KEY_PATH_LOCK in buckets with file system semantics, FSO and LEGACY with
+ * enableFileSystemPaths.
+ * <p>
+ * Locks are taken top-down in the hierarchy: BUCKET_LOCK in read mode, as
+ * an intent lock which admits other key operations in the bucket but
+ * excludes bucket level writes, then KEY_PATH_LOCK on the key path and on
+ * each of its ancestor directories. A write operation write locks the key
+ * path and read locks the ancestors, so keys in the same directory are
+ * updated in parallel, while an operation on a directory excludes the
+ * operations on its subtree. Only the creation of a key whose parent
+ * directories are missing write locks the ancestors, as it creates them
+ * (see {@link #acquireCreateLock}).
+ * <p>
+ * All the path locks of an operation, including those of multiple keys, are
+ * acquired at once in the consistent order of
+ * {@link OzoneManagerLock#acquireLocks}, which avoids deadlocks.
+ * <p>
+ * An instance is created for each request, and remembers the mode in which
+ * the ancestors were locked until the lock is released.
+ */
+public class FSKeyPathLockStrategy implements OzoneLockStrategy {
+
+  private boolean ancestorsWriteLocked;
+
+  @Override
+  public boolean acquireWriteLock(OMMetadataManager omMetadataManager,
+                                  String volumeName, String bucketName,
+                                  String keyName) throws IOException {
+    return acquireWriteLocks(omMetadataManager, volumeName, bucketName,
+        Collections.singletonList(keyName));
+  }
+
+  @Override
+  public void releaseWriteLock(OMMetadataManager omMetadataManager,
+                               String volumeName, String bucketName,
+                               String keyName) {
+    releaseWriteLocks(omMetadataManager, volumeName, bucketName,
+        Collections.singletonList(keyName));
+  }
+
+  /**
+   * Acquires the write lock to create a key. The ancestors are read locked
+   * if they all exist. Otherwise they are write locked, so that concurrent
+   * creations in a missing directory do not create it twice.
+   */
+  @Override
+  public boolean acquireCreateLock(OMMetadataManager omMetadataManager,
+                                   String volumeName, String bucketName,
+                                   String keyName) throws IOException {
+    acquireWriteLock(omMetadataManager, volumeName, bucketName, keyName);
+    boolean parentsExist;
+    try {
+      parentsExist = getMissingParents(omMetadataManager, volumeName,
+          bucketName, keyName).isEmpty();
+    } catch (IOException | RuntimeException e) {
+      releaseWriteLock(omMetadataManager, volumeName, bucketName, keyName);
+      throw e;
+    }
+    if (!parentsExist) {
+      List<String> keyNames = Collections.singletonList(keyName);
+      IOzoneManagerLock lock = omMetadataManager.getLock();
+      lock.releaseLocks(KEY_PATH_LOCK,
+          getKeyPathLocks(volumeName, bucketName, getAncestors(keyNames)),
+          getKeyPathLocks(volumeName, bucketName, getLeaves(keyNames)));
+      lock.acquireWriteLocks(KEY_PATH_LOCK, getKeyPathLocks(volumeName,
+          bucketName, getPathAndAncestors(keyName)));
+      ancestorsWriteLocked = true;
+    }
+    return true;
+  }
+
+  @Override
+  public boolean acquireReadLock(OMMetadataManager omMetadataManager,
+                                 String volumeName, String bucketName,
+                                 String keyName) throws IOException {
+    acquireBucketLock(omMetadataManager, volumeName, bucketName);
+    return omMetadataManager.getLock().acquireReadLocks(KEY_PATH_LOCK,
+        getKeyPathLocks(volumeName, bucketName,
+            getPathAndAncestors(keyName)));
+  }
+
+  @Override
+  public void releaseReadLock(OMMetadataManager omMetadataManager,
+                              String volumeName, String bucketName,
+                              String keyName) {
+    omMetadataManager.getLock().releaseReadLocks(KEY_PATH_LOCK,
+        getKeyPathLocks(volumeName, bucketName,
+            getPathAndAncestors(keyName)));
+    omMetadataManager.getLock()
+        .releaseReadLock(BUCKET_LOCK, volumeName, bucketName);
+  }
+
+  @Override
+  public boolean acquireWriteLocks(OMMetadataManager omMetadataManager,
+                                   String volumeName, String bucketName,
+                                   Collection<String> keyNames)
+      throws IOException {
+    acquireBucketLock(omMetadataManager, volumeName, bucketName);
+    return omMetadataManager.getLock().acquireLocks(KEY_PATH_LOCK,
+        getKeyPathLocks(volumeName, bucketName, getAncestors(keyNames)),
+        getKeyPathLocks(volumeName, bucketName, getLeaves(keyNames)));
+  }
+
+  @Override
+  public void releaseWriteLocks(OMMetadataManager omMetadataManager,
+                                String volumeName, String bucketName,
+                                Collection<String> keyNames) {
+    if (ancestorsWriteLocked) {
+      List<String> paths = new ArrayList<>();
+      for (String keyName : keyNames) {
+        paths.addAll(getPathAndAncestors(keyName));
+      }
+      omMetadataManager.getLock().releaseWriteLocks(KEY_PATH_LOCK,
+          getKeyPathLocks(volumeName, bucketName, paths));
+      ancestorsWriteLocked = false;
+    } else {
+      omMetadataManager.getLock().releaseLocks(KEY_PATH_LOCK,
+          getKeyPathLocks(volumeName, bucketName, getAncestors(keyNames)),
+          getKeyPathLocks(volumeName, bucketName, getLeaves(keyNames)));
+    }
+    omMetadataManager.getLock()
+        .releaseReadLock(BUCKET_LOCK, volumeName, bucketName);
+  }
+
+  private static void acquireBucketLock(OMMetadataManager omMetadataManager,
+      String volumeName, String bucketName) throws IOException {
+    OMFileRequest.validateBucket(omMetadataManager, volumeName, bucketName);
+
+    boolean acquiredLock = omMetadataManager.getLock().acquireReadLock(
+        BUCKET_LOCK, volumeName, bucketName);
+
+    Preconditions.checkArgument(acquiredLock,
+        "BUCKET_LOCK should be acquired!");
+  }
+
+  private static List<String> getMissingParents(
+      OMMetadataManager omMetadataManager, String volumeName,
+      String bucketName, String keyName) throws IOException {
+    OmBucketInfo bucketInfo = omMetadataManager.getBucketTable().get(
+        omMetadataManager.getBucketKey(volumeName, bucketName));
+    if (bucketInfo.getBucketLayout().isFileSystemOptimized()) {
+      return OMFileRequest.verifyDirectoryKeysInPath(omMetadataManager,
+          volumeName, bucketName, keyName, Paths.get(keyName))
+          .getMissingParents();
+    }
+    return OMFileRequest.verifyFilesInPath(omMetadataManager, volumeName,
+        bucketName, keyName, Paths.get(keyName)).getMissingParents();
+  }
+
+  /**
+   * Returns the normalized paths of the given keys.
+   */
+  static Set<String> getLeaves(Collection<String> keyNames) {
+    Set<String> leaves = new LinkedHashSet<>();
+    for (String keyName : keyNames) {
+      List<String> paths = getPathAndAncestors(keyName);
+      leaves.add(paths.get(paths.size() - 1));
+    }
+    return leaves;
+  }
+
+  /**
+   * Returns the normalized paths of the ancestor directories of the given
+   * keys, except those which are keys themselves.
+   */
+  static Set<String> getAncestors(Collection<String> keyNames) {
+    Set<String> ancestors = new LinkedHashSet<>();
+    for (String keyName : keyNames) {
+      List<String> paths = getPathAndAncestors(keyName);
+      ancestors.addAll(paths.subList(0, paths.size() - 1));
+    }
+    ancestors.removeAll(getLeaves(keyNames));
+    return ancestors;
+  }
+
+  /**
+   * Returns the normalized path of each ancestor directory of the key, and
+   * of the key itself, e.g. [a, a/b, a/b/c] for a/b/c.
+   */
+  static List<String> getPathAndAncestors(String keyName) {
+    List<String> paths = new ArrayList<>();
+    StringBuilder path = new StringBuilder();
+    for (String name : StringUtils.split(keyName, OM_KEY_PREFIX)) {
+      if (path.length() > 0) {
+        path.append(OM_KEY_PREFIX);
+      }
+      path.append(name);
+      paths.add(path.toString());
+    }
+    if (paths.isEmpty()) {
+      // The bucket root.
+      paths.add("");
+    }
+    return paths;
+  }
+}
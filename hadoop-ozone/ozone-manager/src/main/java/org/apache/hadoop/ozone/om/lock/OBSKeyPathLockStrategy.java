@@ -22,6 +22,9 @@
 import org.apache.hadoop.ozone.om.request.file.OMFileRequest;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.stream.Collectors;
 
 import static org.apache.hadoop.ozone.om.lock.OzoneManagerLock.Resource.BUCKET_LOCK;
 import static org.apache.hadoop.ozone.om.lock.OzoneManagerLock.Resource.KEY_PATH_LOCK;
@@ -87,4 +90,42 @@ public void releaseReadLock(OMMetadataManager omMetadataManager,
     omMetadataManager.getLock()
         .releaseReadLock(BUCKET_LOCK, volumeName, bucketName);
   }
+
+  @Override
+  public boolean acquireWriteLocks(OMMetadataManager omMetadataManager,
+                                   String volumeName, String bucketName,
+                                   Collection<String> keyNames)
+      throws IOException {
+    OMFileRequest.validateBucket(omMetadataManager, volumeName, bucketName);
+
+    boolean acquiredLock = omMetadataManager.getLock().acquireReadLock(
+        BUCKET_LOCK, volumeName, bucketName);
+
+    Preconditions.checkArgument(acquiredLock,
+        "BUCKET_LOCK should be acquired!");
+
+    acquiredLock = omMetadataManager.getLock().acquireWriteLocks(
+        KEY_PATH_LOCK, getKeyPathLocks(volumeName, bucketName, keyNames));
+
+    return acquiredLock;
+  }
+
+  @Override
+  public void releaseWriteLocks(OMMetadataManager omMetadataManager,
+                                String volumeName, String bucketName,
+                                Collection<String> keyNames) {
+    omMetadataManager.getLock().releaseWriteLocks(KEY_PATH_LOCK,
+        getKeyPathLocks(volumeName, bucketName, keyNames));
+    omMetadataManager.getLock()
+        .releaseReadLock(BUCKET_LOCK, volumeName, bucketName);
+  }
+
+  static Collection<String[]> getKeyPathLocks(String volumeName,
+      String bucketName, Collection<String> paths) {
+    // Locking the same path twice would only be reentrant, but remove
+    // duplicates anyway.
+    return new LinkedHashSet<>(paths).stream()
+        .map(path -> new String[] {volumeName, bucketName, path})
+        .collect(Collectors.toList());
+  }
 }
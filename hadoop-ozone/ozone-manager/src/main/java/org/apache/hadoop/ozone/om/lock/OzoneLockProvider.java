@@ -36,7 +36,6 @@ public OzoneLockProvider(boolean keyPathLockEnabled,
 
   public OzoneLockStrategy createLockStrategy(BucketLayout bucketLayout) {
 
-    // TODO: This can be extended to support FSO, LEGACY_FS in the future.
     if (keyPathLockEnabled) {
       if (bucketLayout == BucketLayout.OBJECT_STORE) {
         return new OBSKeyPathLockStrategy();
@@ -44,6 +43,9 @@ public OzoneLockStrategy createLockStrategy(BucketLayout bucketLayout) {
           bucketLayout == BucketLayout.LEGACY) {
         // old pre-created bucket with enableFileSystemPaths = false.
         return new OBSKeyPathLockStrategy();
+      } else if (bucketLayout == BucketLayout.FILE_SYSTEM_OPTIMIZED ||
+          bucketLayout == BucketLayout.LEGACY) {
+        return new FSKeyPathLockStrategy();
       }
     }
 
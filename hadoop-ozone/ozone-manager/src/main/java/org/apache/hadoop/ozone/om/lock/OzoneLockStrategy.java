@@ -20,6 +20,7 @@
 import org.apache.hadoop.ozone.om.OMMetadataManager;
 
 import java.io.IOException;
+import java.util.Collection;
 
 /**
  * This is a common strategy interface for all concrete lock strategies. The
@@ -37,10 +38,33 @@ boolean acquireWriteLock(OMMetadataManager omMetadataManager,
   void releaseWriteLock(OMMetadataManager omMetadataManager, String volumeName,
                         String bucketName, String keyName);
 
+  /**
+   * Acquire a write lock to create a key, which may also create the missing
+   * parent directories of the key. It is released by releaseWriteLock.
+   */
+  default boolean acquireCreateLock(OMMetadataManager omMetadataManager,
+                                    String volumeName, String bucketName,
+                                    String keyName) throws IOException {
+    return acquireWriteLock(omMetadataManager, volumeName, bucketName,
+        keyName);
+  }
+
   boolean acquireReadLock(OMMetadataManager omMetadataManager,
                           String volumeName, String bucketName, String keyName)
       throws IOException;
 
   void releaseReadLock(OMMetadataManager omMetadataManager, String volumeName,
                        String bucketName, String keyName);
+
+  /**
+   * Acquire write locks for multiple keys of a bucket, e.g. for a multi-key
+   * delete or rename, in an order which cannot deadlock with other threads.
+   */
+  boolean acquireWriteLocks(OMMetadataManager omMetadataManager,
+                            String volumeName, String bucketName,
+                            Collection<String> keyNames) throws IOException;
+
+  void releaseWriteLocks(OMMetadataManager omMetadataManager,
+                         String volumeName, String bucketName,
+                         Collection<String> keyNames);
 }
@@ -21,6 +21,7 @@
 import org.apache.hadoop.ozone.om.request.file.OMFileRequest;
 
 import java.io.IOException;
+import java.util.Collection;
 
 import static org.apache.hadoop.ozone.om.lock.OzoneManagerLock.Resource.BUCKET_LOCK;
 
@@ -63,4 +64,19 @@ public void releaseReadLock(OMMetadataManager omMetadataManager,
     omMetadataManager.getLock()
         .releaseReadLock(BUCKET_LOCK, volumeName, bucketName);
   }
+
+  @Override
+  public boolean acquireWriteLocks(OMMetadataManager omMetadataManager,
+                                   String volumeName, String bucketName,
+                                   Collection<String> keyNames)
+      throws IOException {
+    return acquireWriteLock(omMetadataManager, volumeName, bucketName, null);
+  }
+
+  @Override
+  public void releaseWriteLocks(OMMetadataManager omMetadataManager,
+                                String volumeName, String bucketName,
+                                Collection<String> keyNames) {
+    releaseWriteLock(omMetadataManager, volumeName, bucketName, null);
+  }
 }
@@ -20,10 +20,12 @@
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -35,15 +37,21 @@
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
+import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
 import org.apache.hadoop.hdds.tracing.TracingUtil;
 import org.apache.hadoop.hdds.utils.TransactionInfo;
 import org.apache.hadoop.hdds.utils.db.BatchOperation;
 import org.apache.hadoop.hdds.utils.db.DBColumnFamilyDefinition;
+import org.apache.hadoop.hdds.utils.db.RDBBatchOperation;
 import org.apache.hadoop.ozone.om.OMMetadataManager;
 import org.apache.hadoop.ozone.om.codec.OMDBDefinition;
 import org.apache.hadoop.ozone.om.ratis.helpers.DoubleBufferEntry;
@@ -53,6 +61,7 @@
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
 import org.apache.hadoop.util.Daemon;
 import org.apache.hadoop.util.Time;
+import org.apache.hadoop.util.concurrent.HadoopExecutors;
 import org.apache.ratis.util.ExitUtils;
 import org.apache.ratis.util.function.CheckedRunnable;
 import org.slf4j.Logger;
@@ -68,20 +77,21 @@
  * any entries, it swaps the buffer and creates a batch and commit to DB.
  * Adding OM request to doubleBuffer and swap of buffer are synchronized
  * methods.
- *
+ * <p>
+ * A ready buffer is written in one or more batches, limited by the maximum
+ * number of entries and bytes of a batch. When the flush is pipelined, the
+ * next batch is built while the previous one is being committed.
  */
 public final class OzoneManagerDoubleBuffer {
 
   private static final Logger LOG =
       LoggerFactory.getLogger(OzoneManagerDoubleBuffer.class);
 
-  // Taken unbounded queue, if sync thread is taking too long time, we
-  // might end up taking huge memory to add entries to the buffer.
-  // TODO: We can avoid this using unbounded queue and use queue with
-  // capacity, if queue is full we can wait for sync to be completed to
-  // add entries. But in this also we might block rpc handlers, as we
-  // clear entries after sync. Or we can come up with a good approach to
-  // solve this.
+  // The queues themselves are unbounded. With ratis, the applied but not
+  // yet flushed transactions are bounded by count (unFlushedTransactions)
+  // and optionally by approximate size (maxUnFlushedTransactionBytes), and
+  // applyTransaction blocks in acquireUnFlushedTransactions until the flush
+  // catches up.
   private Queue<DoubleBufferEntry<OMClientResponse>> currentBuffer;
   private Queue<DoubleBufferEntry<OMClientResponse>> readyBuffer;
 
@@ -109,11 +119,44 @@ public final class OzoneManagerDoubleBuffer {
   private final Semaphore unFlushedTransactions;
   private final FlushNotifier flushNotifier;
 
+  // Approximate size of the applied but not yet flushed transactions, based
+  // on the serialized size of their responses. Apply waits for it to drop
+  // below maxUnFlushedTransactionBytes.
+  private final long maxUnFlushedTransactionBytes;
+  private final AtomicLong unFlushedTransactionBytes = new AtomicLong();
+  private final Object unFlushedBytesLock = new Object();
+
+  // Limits of a single write batch, a bigger buffer is split into several.
+  private final int maxBatchEntries;
+  private final long maxBatchBytes;
+
+  // Time in milliseconds the flush thread waits after the first entry is
+  // added to an empty buffer, to group more transactions into the batch.
+  private final long flushTargetLatencyMs;
+  private volatile long firstEntryAddTime;
+
+  // When pipelined, batches are committed by commitExecutor while the flush
+  // thread builds the next batch. pendingCommit is the last submitted
+  // commit, it is only replaced by the flush thread.
+  private final boolean isPipelined;
+  private final ExecutorService commitExecutor;
+  private volatile CompletableFuture<Void> pendingCommit =
+      CompletableFuture.completedFuture(null);
+
   /**
    * function which will get term associated with the transaction index.
    */
   private final Function<Long, Long> indexToTerm;
 
+  /**
+   * Highest transaction index which can be flushed. When transactions are
+   * applied in parallel, a transaction can be added to the buffer before one
+   * with a lower index. Such entries are held back in the buffer until the
+   * lower indexes have been added as well. Null when transactions are added
+   * in index order.
+   */
+  private final LongSupplier flushableIndex;
+
   /**
    *  Builder for creating OzoneManagerDoubleBuffer.
    */
@@ -125,6 +168,12 @@ public static class Builder {
     private Function<Long, Long> indexToTerm = null;
     private int maxUnFlushedTransactionCount = 0;
     private FlushNotifier flushNotifier;
+    private LongSupplier flushableIndex = null;
+    private long maxUnFlushedTransactionBytes = 0;
+    private int maxBatchEntries = 0;
+    private long maxBatchBytes = 0;
+    private long flushTargetLatencyMs = 0;
+    private boolean isPipelined = false;
 
     public Builder setOmMetadataManager(OMMetadataManager omm) {
       this.mm = omm;
@@ -162,6 +211,36 @@ public Builder setFlushNotifier(FlushNotifier flushNotifier) {
       return this;
     }
 
+    public Builder setFlushableIndex(LongSupplier flushableIndexSupplier) {
+      this.flushableIndex = flushableIndexSupplier;
+      return this;
+    }
+
+    public Builder setMaxUnFlushedTransactionBytes(long bytes) {
+      this.maxUnFlushedTransactionBytes = bytes;
+      return this;
+    }
+
+    public Builder setMaxBatchEntries(int entries) {
+      this.maxBatchEntries = entries;
+      return this;
+    }
+
+    public Builder setMaxBatchBytes(long bytes) {
+      this.maxBatchBytes = bytes;
+      return this;
+    }
+
+    public Builder setFlushTargetLatency(long latencyMs) {
+      this.flushTargetLatencyMs = latencyMs;
+      return this;
+    }
+
+    public Builder enablePipelinedFlush(boolean enablePipelinedFlush) {
+      this.isPipelined = enablePipelinedFlush;
+      return this;
+    }
+
     public OzoneManagerDoubleBuffer build() {
       if (isRatisEnabled) {
         Preconditions.checkNotNull(rs, "When ratis is enabled, " +
@@ -176,32 +255,52 @@ public OzoneManagerDoubleBuffer build() {
         flushNotifier = new FlushNotifier();
       }
 
-      return new OzoneManagerDoubleBuffer(mm, rs, isRatisEnabled,
-          isTracingEnabled, indexToTerm, maxUnFlushedTransactionCount,
-          flushNotifier);
+      if (flushableIndex != null) {
+        Preconditions.checkState(isRatisEnabled, "flushableIndex is only " +
+            "supported when ratis is enabled");
+      }
+      if (isPipelined) {
+        // Without ratis, futures of the ready buffer are completed in order
+        // by the flush thread, which does not work with a commit thread.
+        Preconditions.checkState(isRatisEnabled, "pipelined flush is only " +
+            "supported when ratis is enabled");
+      }
+
+      return new OzoneManagerDoubleBuffer(this);
     }
   }
 
-  private OzoneManagerDoubleBuffer(OMMetadataManager omMetadataManager,
-      OzoneManagerRatisSnapshot ozoneManagerRatisSnapShot,
-      boolean isRatisEnabled, boolean isTracingEnabled,
-      Function<Long, Long> indexToTerm, int maxUnFlushedTransactions,
-      FlushNotifier flushNotifier) {
+  private OzoneManagerDoubleBuffer(Builder b) {
     this.currentBuffer = new ConcurrentLinkedQueue<>();
     this.readyBuffer = new ConcurrentLinkedQueue<>();
-    this.isRatisEnabled = isRatisEnabled;
-    this.isTracingEnabled = isTracingEnabled;
+    this.isRatisEnabled = b.isRatisEnabled;
+    this.isTracingEnabled = b.isTracingEnabled;
     if (!isRatisEnabled) {
       this.currentFutureQueue = new ConcurrentLinkedQueue<>();
       this.readyFutureQueue = new ConcurrentLinkedQueue<>();
     }
-    this.unFlushedTransactions = new Semaphore(maxUnFlushedTransactions);
-    this.omMetadataManager = omMetadataManager;
-    this.ozoneManagerRatisSnapShot = ozoneManagerRatisSnapShot;
+    this.unFlushedTransactions =
+        new Semaphore(b.maxUnFlushedTransactionCount);
+    this.omMetadataManager = b.mm;
+    this.ozoneManagerRatisSnapShot = b.rs;
     this.ozoneManagerDoubleBufferMetrics =
         OzoneManagerDoubleBufferMetrics.create();
-    this.indexToTerm = indexToTerm;
-    this.flushNotifier = flushNotifier;
+    this.indexToTerm = b.indexToTerm;
+    this.flushNotifier = b.flushNotifier;
+    this.flushableIndex = b.flushableIndex;
+    this.maxUnFlushedTransactionBytes = b.maxUnFlushedTransactionBytes > 0 ?
+        b.maxUnFlushedTransactionBytes : Long.MAX_VALUE;
+    this.maxBatchEntries = b.maxBatchEntries > 0 ?
+        b.maxBatchEntries : Integer.MAX_VALUE;
+    this.maxBatchBytes = b.maxBatchBytes > 0 ?
+        b.maxBatchBytes : Long.MAX_VALUE;
+    this.flushTargetLatencyMs = b.flushTargetLatencyMs;
+    this.isPipelined = b.isPipelined;
+    this.commitExecutor = isPipelined ?
+        Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+            .setDaemon(true)
+            .setNameFormat("OMDoubleBufferCommitThread")
+            .build()) : null;
 
     isRunning.set(true);
     // Daemon thread which runs in background and flushes transactions to DB.
@@ -215,7 +314,18 @@ private OzoneManagerDoubleBuffer(OMMetadataManager omMetadataManager,
    * blocking until all are available, or the thread is interrupted.
    */
   public void acquireUnFlushedTransactions(int n) throws InterruptedException {
+    long startTime = Time.monotonicNow();
     unFlushedTransactions.acquire(n);
+    if (unFlushedTransactionBytes.get() >= maxUnFlushedTransactionBytes) {
+      synchronized (unFlushedBytesLock) {
+        while (unFlushedTransactionBytes.get() >=
+            maxUnFlushedTransactionBytes) {
+          unFlushedBytesLock.wait(1000L);
+        }
+      }
+    }
+    ozoneManagerDoubleBufferMetrics.updateBackPressureTime(
+        Time.monotonicNow() - startTime);
   }
 
   /**
@@ -226,6 +336,21 @@ public void releaseUnFlushedTransactions(int n) {
     unFlushedTransactions.release(n);
   }
 
+  private void releaseUnFlushedBytes(
+      List<DoubleBufferEntry<OMClientResponse>> entries) {
+    if (maxUnFlushedTransactionBytes == Long.MAX_VALUE) {
+      return;
+    }
+    long bytes = 0;
+    for (DoubleBufferEntry<OMClientResponse> entry : entries) {
+      bytes += entry.getResponse().getOMResponse().getSerializedSize();
+    }
+    unFlushedTransactionBytes.addAndGet(-bytes);
+    synchronized (unFlushedBytesLock) {
+      unFlushedBytesLock.notifyAll();
+    }
+  }
+
   // TODO: pass the trace id further down and trace all methods of DBStore.
 
   /**
@@ -289,6 +414,9 @@ void flushTransactions() {
   void flushCurrentBuffer() {
     try {
       swapCurrentAndReadyBuffer();
+      if (flushableIndex != null && !holdBackUnflushableEntries()) {
+        return;
+      }
 
       // For snapshot, we want to include all the keys that were committed
       // before the snapshot `create` command was executed. To achieve
@@ -315,65 +443,166 @@ void flushCurrentBuffer() {
       }
 
       clearReadyBuffer();
-      flushNotifier.notifyFlush();
+      if (isPipelined) {
+        // Notify once the last batch of this iteration has been committed.
+        setPendingCommit(pendingCommit.thenRun(flushNotifier::notifyFlush));
+      } else {
+        flushNotifier.notifyFlush();
+      }
     } catch (IOException ex) {
       terminate(ex, 1);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      if (isRunning.get()) {
+        terminate(ex, 1);
+      }
     } catch (Throwable t) {
       terminate(t, 2);
     }
   }
 
+  /**
+   * Adds the entries of the given buffer to write batches and commits them.
+   * A new batch is started whenever the current one reaches the configured
+   * maximum number of entries or bytes.
+   */
   private void flushBatch(Queue<DoubleBufferEntry<OMClientResponse>> buffer)
-      throws IOException {
-
-    Map<String, List<Long>> cleanupEpochs = new HashMap<>();
-    List<Long> flushedEpochs;
-
-    try (BatchOperation batchOperation = omMetadataManager.getStore()
-        .initBatchOperation()) {
+      throws IOException, InterruptedException {
+    List<DoubleBufferEntry<OMClientResponse>> entries = new ArrayList<>();
+    BatchOperation batchOperation = null;
+    String lastTraceId = null;
+    try {
+      for (DoubleBufferEntry<OMClientResponse> entry : buffer) {
+        OMResponse omResponse = entry.getResponse().getOMResponse();
+        if (isPipelined && requiresCommittedState(omResponse)) {
+          // The response reads the DB while adding itself to the batch, so
+          // every earlier transaction has to be committed first.
+          if (batchOperation != null) {
+            commitBatch(batchOperation, entries, lastTraceId);
+            batchOperation = null;
+            entries = new ArrayList<>();
+          }
+          awaitPendingCommit();
+        }
+        if (batchOperation == null) {
+          batchOperation = omMetadataManager.getStore().initBatchOperation();
+        }
+        lastTraceId = omResponse.getTraceID();
+        addToBatch(entry, batchOperation);
+        entries.add(entry);
+
+        if (entries.size() >= maxBatchEntries ||
+            getBatchSizeBytes(batchOperation) >= maxBatchBytes) {
+          commitBatch(batchOperation, entries, lastTraceId);
+          batchOperation = null;
+          entries = new ArrayList<>();
+        }
+      }
+      if (batchOperation != null) {
+        commitBatch(batchOperation, entries, lastTraceId);
+        batchOperation = null;
+      }
+    } finally {
+      if (batchOperation != null) {
+        batchOperation.close();
+      }
+    }
+  }
 
-      String lastTraceId = addToBatch(buffer, batchOperation);
+  /**
+   * Commits the batch, either in the calling thread, or when the flush is
+   * pipelined, in the commit thread while the caller goes on building the
+   * next batch. At most one commit is outstanding at any time.
+   */
+  private void commitBatch(BatchOperation batchOperation,
+      List<DoubleBufferEntry<OMClientResponse>> entries, String lastTraceId)
+      throws IOException, InterruptedException {
+    List<Long> flushedEpochs = entries.stream()
+        .map(DoubleBufferEntry::getTrxLogIndex)
+        .sorted()
+        .collect(Collectors.toList());
+
+    long lastRatisTransactionIndex = flushedEpochs.get(
+        flushedEpochs.size() - 1);
+
+    long term = isRatisEnabled ?
+        indexToTerm.apply(lastRatisTransactionIndex) : -1;
+
+    // Commit transaction info to DB.
+    addToBatchTransactionInfoWithTrace(lastTraceId,
+        lastRatisTransactionIndex,
+        () -> omMetadataManager.getTransactionInfoTable().putWithBatch(
+            batchOperation, TRANSACTION_INFO_KEY,
+            new TransactionInfo.Builder()
+                .setTransactionIndex(lastRatisTransactionIndex)
+                .setCurrentTerm(term)
+                .build()));
+
+    if (!isPipelined) {
+      commitAndCleanup(batchOperation, entries, flushedEpochs, lastTraceId);
+      return;
+    }
 
-      buffer.iterator().forEachRemaining(
-          entry -> addCleanupEntry(entry, cleanupEpochs));
+    awaitPendingCommit();
+    setPendingCommit(CompletableFuture.runAsync(() -> {
+      try {
+        commitAndCleanup(batchOperation, entries, flushedEpochs, lastTraceId);
+      } catch (IOException ex) {
+        terminate(ex, 1);
+      } catch (Throwable t) {
+        terminate(t, 2);
+      }
+    }, commitExecutor));
+  }
 
-      // Commit transaction info to DB.
-      flushedEpochs = buffer.stream()
-          .map(DoubleBufferEntry::getTrxLogIndex)
-          .sorted()
-          .collect(Collectors.toList());
+  /**
+   * Replaces the pending commit. Only called by the flush thread.
+   */
+  private void setPendingCommit(CompletableFuture<Void> commit) {
+    pendingCommit = commit;
+    // Wake up canFlush() once the commit completes. The commit is still the
+    // pending one then, as the flush thread waits in canFlush().
+    commit.whenComplete((result, ex) -> notifyPendingCommitDone());
+  }
 
-      long lastRatisTransactionIndex = flushedEpochs.get(
-          flushedEpochs.size() - 1);
+  private synchronized void notifyPendingCommitDone() {
+    notifyAll();
+  }
 
-      long term = isRatisEnabled ?
-          indexToTerm.apply(lastRatisTransactionIndex) : -1;
+  /**
+   * Wakes up the flush thread held back by a running transaction, called
+   * after the transaction is no longer in flight.
+   */
+  synchronized void notifyFlushableIndexChanged() {
+    notifyAll();
+  }
 
-      addToBatchTransactionInfoWithTrace(lastTraceId,
-          lastRatisTransactionIndex,
-          () -> omMetadataManager.getTransactionInfoTable().putWithBatch(
-              batchOperation, TRANSACTION_INFO_KEY,
-              new TransactionInfo.Builder()
-                  .setTransactionIndex(lastRatisTransactionIndex)
-                  .setCurrentTerm(term)
-                  .build()));
+  private void commitAndCleanup(BatchOperation batchOperation,
+      List<DoubleBufferEntry<OMClientResponse>> entries,
+      List<Long> flushedEpochs, String lastTraceId) throws IOException {
+    Map<String, List<Long>> cleanupEpochs = new HashMap<>();
 
+    try {
       long startTime = Time.monotonicNow();
-      flushBatchWithTrace(lastTraceId, buffer.size(),
+      flushBatchWithTrace(lastTraceId, entries.size(),
           () -> omMetadataManager.getStore()
               .commitBatchOperation(batchOperation));
 
       ozoneManagerDoubleBufferMetrics.updateFlushTime(
           Time.monotonicNow() - startTime);
+    } finally {
+      batchOperation.close();
     }
 
+    entries.forEach(entry -> addCleanupEntry(entry, cleanupEpochs));
+
     // Complete futures first and then do other things.
     // So that handler threads will be released.
     if (!isRatisEnabled) {
-      clearReadyFutureQueue(buffer.size());
+      clearReadyFutureQueue(entries.size());
     }
 
-    int flushedTransactionsSize = buffer.size();
+    int flushedTransactionsSize = entries.size();
     flushedTransactionCount.addAndGet(flushedTransactionsSize);
     flushIterations.incrementAndGet();
 
@@ -388,6 +617,7 @@ private void flushBatch(Queue<DoubleBufferEntry<OMClientResponse>> buffer)
 
     if (isRatisEnabled) {
       releaseUnFlushedTransactions(flushedTransactionsSize);
+      releaseUnFlushedBytes(entries);
     }
     // update the last updated index in OzoneManagerStateMachine.
     ozoneManagerRatisSnapShot.updateLastAppliedIndex(flushedEpochs);
@@ -396,27 +626,62 @@ private void flushBatch(Queue<DoubleBufferEntry<OMClientResponse>> buffer)
     updateMetrics(flushedTransactionsSize);
   }
 
-  private String addToBatch(Queue<DoubleBufferEntry<OMClientResponse>> buffer,
-                            BatchOperation batchOperation) {
-    String lastTraceId = null;
-    for (DoubleBufferEntry<OMClientResponse> entry: buffer) {
-      OMClientResponse response = entry.getResponse();
-      OMResponse omResponse = response.getOMResponse();
-      lastTraceId = omResponse.getTraceID();
+  private void addToBatch(DoubleBufferEntry<OMClientResponse> entry,
+      BatchOperation batchOperation) {
+    OMClientResponse response = entry.getResponse();
+    OMResponse omResponse = response.getOMResponse();
+    try {
+      addToBatchWithTrace(omResponse,
+          () -> response.checkAndUpdateDB(omMetadataManager, batchOperation));
+    } catch (IOException ex) {
+      // During Adding to RocksDB batch entry got an exception.
+      // We should terminate the OM.
+      terminate(ex, 1, omResponse);
+    } catch (Throwable t) {
+      terminate(t, 2, omResponse);
+    }
+  }
 
-      try {
-        addToBatchWithTrace(omResponse,
-            () -> response.checkAndUpdateDB(omMetadataManager, batchOperation));
-      } catch (IOException ex) {
-        // During Adding to RocksDB batch entry got an exception.
-        // We should terminate the OM.
-        terminate(ex, 1, omResponse);
-      } catch (Throwable t) {
-        terminate(t, 2, omResponse);
-      }
+  private static long getBatchSizeBytes(BatchOperation batchOperation) {
+    return batchOperation instanceof RDBBatchOperation ?
+        ((RDBBatchOperation) batchOperation).getBatchSizeBytes() : 0;
+  }
+
+  /**
+   * Responses which read the DB while adding themselves to a batch, and so
+   * cannot be added while an earlier batch is still being committed.
+   * Renames read snapshotRenamedTable, where an earlier rename of the same
+   * key may have recorded its name in the latest snapshot.
+   */
+  private static boolean requiresCommittedState(OMResponse omResponse) {
+    switch (omResponse.getCmdType()) {
+    case CreateSnapshot:
+    case SnapshotPurge:
+    case SnapshotMoveDeletedKeys:
+    case RenameKey:
+    case RenameKeys:
+      return true;
+    default:
+      return false;
     }
+  }
 
-    return lastTraceId;
+  /**
+   * Waits for the outstanding pipelined commit, if any, to complete.
+   */
+  private void awaitPendingCommit() throws InterruptedException {
+    if (!isPipelined) {
+      return;
+    }
+    long startTime = Time.monotonicNow();
+    try {
+      pendingCommit.get();
+    } catch (ExecutionException e) {
+      // Commit failures terminate the OM in the commit thread.
+      throw new IllegalStateException("Pipelined commit failed", e);
+    }
+    ozoneManagerDoubleBufferMetrics.updatePipelineWaitTime(
+        Time.monotonicNow() - startTime);
   }
 
   /**
@@ -465,6 +730,35 @@ private String addToBatch(Queue<DoubleBufferEntry<OMClientResponse>> buffer,
     return response;
   }
 
+  /**
+   * Moves the entries of readyBuffer which cannot be flushed yet back to
+   * currentBuffer, and orders the remaining entries by transaction index,
+   * so that updates to the same key are added to the batch in log order.
+   * If nothing can be flushed, waits for the next add or for a transaction
+   * to complete, see {@link #notifyFlushableIndexChanged()}, and returns
+   * false.
+   */
+  private synchronized boolean holdBackUnflushableEntries()
+      throws InterruptedException {
+    long maxFlushableIndex = flushableIndex.getAsLong();
+    List<DoubleBufferEntry<OMClientResponse>> entries =
+        new ArrayList<>(readyBuffer);
+    entries.sort(Comparator.comparingLong(DoubleBufferEntry::getTrxLogIndex));
+    readyBuffer.clear();
+    for (DoubleBufferEntry<OMClientResponse> entry : entries) {
+      if (entry.getTrxLogIndex() <= maxFlushableIndex) {
+        readyBuffer.add(entry);
+      } else {
+        currentBuffer.add(entry);
+      }
+    }
+    if (readyBuffer.isEmpty()) {
+      wait();
+      return false;
+    }
+    return true;
+  }
+
   private void addCleanupEntry(DoubleBufferEntry entry, Map<String,
       List<Long>> cleanupEpochs) {
     Class<? extends OMClientResponse> responseClass =
@@ -542,6 +836,10 @@ private void updateMetrics(int flushedTransactionsSize) {
   @SuppressWarnings("squid:S2142")
   public void stop() {
     stopDaemon();
+    if (commitExecutor != null) {
+      // Let the pending commit, if any, complete.
+      HadoopExecutors.shutdown(commitExecutor, LOG, 5, TimeUnit.SECONDS);
+    }
     ozoneManagerDoubleBufferMetrics.unRegister();
   }
 
@@ -596,7 +894,15 @@ public long getFlushIterations() {
    */
   public synchronized CompletableFuture<Void> add(OMClientResponse response,
       long transactionIndex) {
+    if (currentBuffer.isEmpty()) {
+      firstEntryAddTime = Time.monotonicNow();
+    }
     currentBuffer.add(new DoubleBufferEntry<>(transactionIndex, response));
+    if (isRatisEnabled &&
+        maxUnFlushedTransactionBytes != Long.MAX_VALUE) {
+      unFlushedTransactionBytes.addAndGet(
+          response.getOMResponse().getSerializedSize());
+    }
     notify();
 
     if (!isRatisEnabled) {
@@ -620,12 +926,27 @@ public synchronized CompletableFuture<Void> add(OMClientResponse response,
   private synchronized boolean canFlush() {
     try {
       while (currentBuffer.size() == 0) {
+        if (!pendingCommit.isDone()) {
+          // Notified by notifyPendingCommitDone().
+          wait(1000L);
+          continue;
+        }
         // canFlush() only gets called when the readyBuffer is empty.
         // Since both buffers are empty, notify once for each.
         flushNotifier.notifyFlush();
         flushNotifier.notifyFlush();
         wait(1000L);
       }
+      // Group more transactions into the batch, until the target latency
+      // of the oldest entry is reached or the batch is full.
+      long remaining = firstEntryAddTime + flushTargetLatencyMs
+          - Time.monotonicNow();
+      while (remaining > 0 && currentBuffer.size() < maxBatchEntries &&
+          isRunning.get()) {
+        wait(remaining);
+        remaining = firstEntryAddTime + flushTargetLatencyMs
+            - Time.monotonicNow();
+      }
       return true;
     } catch (InterruptedException ex) {
       Thread.currentThread().interrupt();
@@ -0,0 +1,203 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership.  The ASF
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.apache.hadoop.ozone.om.ratis;
+
+import com.google.common.base.Preconditions;
+import java.util.Arrays;
+import java.util.NavigableSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyArgs;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
+import org.apache.hadoop.util.concurrent.HadoopExecutors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.apache.hadoop.ozone.OzoneConsts.OM_KEY_PREFIX;
+
+/**
+ * Executes OM applyTransaction work on a pool of threads, partitioned by a
+ * key derived from the request (the bucket a key-level request operates on).
+ * <p>
+ * Transactions which map to the same partition are executed in log order,
+ * one at a time. Transactions without a partition key (volume, bucket,
+ * snapshot, tenant and other requests which can touch state across buckets)
+ * are barriers: they run only after every previously submitted transaction
+ * has completed, and every later transaction waits for them.
+ * <p>
+ * Submission must happen from a single thread in log index order, which is
+ * what Ratis guarantees for applyTransaction. The lowest index which has been
+ * submitted but not yet completed is tracked, so that the double buffer only
+ * flushes a contiguous prefix of the applied transactions and the
+ * lastAppliedIndex never skips over a transaction which is still running.
+ * The completion listener is called once a transaction no longer holds the
+ * flushable index back, to wake up the double buffer waiting for it.
+ */
+final class OzoneManagerPartitionedExecutor {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(OzoneManagerPartitionedExecutor.class);
+
+  private final ExecutorService executor;
+  private final CompletableFuture<?>[] partitionTails;
+  private CompletableFuture<?> lastBarrier =
+      CompletableFuture.completedFuture(null);
+
+  // Indexes of transactions which are submitted and not yet completed.
+  private final NavigableSet<Long> inFlight = new ConcurrentSkipListSet<>();
+  private final Runnable completionListener;
+
+  OzoneManagerPartitionedExecutor(int numPartitions,
+      ThreadFactory threadFactory, Runnable completionListener) {
+    Preconditions.checkArgument(numPartitions > 0,
+        "Number of partitions should be greater than 0");
+    this.executor = HadoopExecutors.newFixedThreadPool(numPartitions,
+        threadFactory);
+    this.partitionTails = new CompletableFuture<?>[numPartitions];
+    Arrays.fill(partitionTails, CompletableFuture.completedFuture(null));
+    this.completionListener = completionListener;
+  }
+
+  /**
+   * Returns the partition key of the given request, or null if the request
+   * must be applied as a barrier. The key is the bucket table key of the
+   * volume and bucket carried in the request, which may still be a link;
+   * callers are expected to resolve it before calling {@link #submit}.
+   */
+  static String getPartitionKey(OMRequest request) {
+    switch (request.getCmdType()) {
+    case CreateKey:
+      return toKey(request.getCreateKeyRequest().getKeyArgs());
+    case CommitKey:
+      return toKey(request.getCommitKeyRequest().getKeyArgs());
+    case AllocateBlock:
+      return toKey(request.getAllocateBlockRequest().getKeyArgs());
+    case DeleteKey:
+      return toKey(request.getDeleteKeyRequest().getKeyArgs());
+    case RenameKey:
+      return toKey(request.getRenameKeyRequest().getKeyArgs());
+    case CreateDirectory:
+      return toKey(request.getCreateDirectoryRequest().getKeyArgs());
+    case CreateFile:
+      return toKey(request.getCreateFileRequest().getKeyArgs());
+    case SetTimes:
+      return toKey(request.getSetTimesRequest().getKeyArgs());
+    case InitiateMultiPartUpload:
+      return toKey(request.getInitiateMultiPartUploadRequest().getKeyArgs());
+    case CommitMultiPartUpload:
+      return toKey(request.getCommitMultiPartUploadRequest().getKeyArgs());
+    case CompleteMultiPartUpload:
+      return toKey(request.getCompleteMultiPartUploadRequest().getKeyArgs());
+    case AbortMultiPartUpload:
+      return toKey(request.getAbortMultiPartUploadRequest().getKeyArgs());
+    case DeleteKeys:
+      return toKey(request.getDeleteKeysRequest().getDeleteKeys()
+          .getVolumeName(), request.getDeleteKeysRequest().getDeleteKeys()
+          .getBucketName());
+    case RenameKeys:
+      return toKey(request.getRenameKeysRequest().getRenameKeysArgs()
+          .getVolumeName(), request.getRenameKeysRequest()
+          .getRenameKeysArgs().getBucketName());
+    default:
+      return null;
+    }
+  }
+
+  private static String toKey(KeyArgs keyArgs) {
+    return toKey(keyArgs.getVolumeName(), keyArgs.getBucketName());
+  }
+
+  static String toKey(String volumeName, String bucketName) {
+    if (volumeName == null || volumeName.isEmpty() ||
+        bucketName == null || bucketName.isEmpty()) {
+      return null;
+    }
+    return OM_KEY_PREFIX + volumeName + OM_KEY_PREFIX + bucketName;
+  }
+
+  /**
+   * Blocks until the last submitted barrier transaction has completed. The
+   * partition key of a request has to be resolved against state which is
+   * not modified by a running barrier (e.g. bucket links).
+   */
+  void awaitBarrier() {
+    lastBarrier.join();
+  }
+
+  /**
+   * Submits a transaction.
+   * @param partitionKey partition of the transaction, null for a barrier.
+   * @param index log index of the transaction.
+   * @param task work to execute.
+   */
+  <T> CompletableFuture<T> submit(String partitionKey, long index,
+      Supplier<T> task) {
+    inFlight.add(index);
+    final Supplier<T> tracked = () -> {
+      try {
+        return task.get();
+      } finally {
+        inFlight.remove(index);
+        completionListener.run();
+      }
+    };
+
+    final CompletableFuture<T> future;
+    if (partitionKey == null) {
+      future = CompletableFuture.allOf(partitionTails)
+          .handleAsync((r, e) -> tracked.get(), executor);
+      Arrays.fill(partitionTails, future);
+      lastBarrier = future;
+    } else {
+      int partition = Math.floorMod(partitionKey.hashCode(),
+          partitionTails.length);
+      future = partitionTails[partition]
+          .handleAsync((r, e) -> tracked.get(), executor);
+      partitionTails[partition] = future;
+    }
+    if (LOG.isTraceEnabled()) {
+      LOG.trace("Submitted transaction {} to partition {}", index,
+          partitionKey == null ? "barrier" : partitionKey);
+    }
+    return future;
+  }
+
+  /**
+   * Returns the highest index up to which all submitted transactions have
+   * completed, or {@link Long#MAX_VALUE} if none are in flight.
+   */
+  long getFlushableIndex() {
+    // ceiling() instead of first(), which throws if the set became empty
+    // concurrently.
+    Long first = inFlight.ceiling(Long.MIN_VALUE);
+    return first == null ? Long.MAX_VALUE : first - 1;
+  }
+
+  int getNumPartitions() {
+    return partitionTails.length;
+  }
+
+  void shutdown(Logger logger) {
+    HadoopExecutors.shutdown(executor, logger, 5, TimeUnit.SECONDS);
+  }
+}
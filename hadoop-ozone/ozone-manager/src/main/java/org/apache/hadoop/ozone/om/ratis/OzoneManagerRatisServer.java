@@ -115,6 +115,7 @@ public final class OzoneManagerRatisServer {
   private final OzoneManager ozoneManager;
   private final OzoneManagerStateMachine omStateMachine;
   private final String ratisStorageDir;
+  private final boolean followerReadEnabled;
 
   private final ClientId clientId = ClientId.randomId();
   private static final AtomicLong CALL_ID_COUNTER = new AtomicLong();
@@ -143,6 +144,9 @@ private OzoneManagerRatisServer(ConfigurationSource conf, OzoneManager om,
     this.omRatisAddress = addr;
     this.port = addr.getPort();
     this.ratisStorageDir = OzoneManagerRatisUtils.getOMRatisDirectory(conf);
+    this.followerReadEnabled = conf.getBoolean(
+        OMConfigKeys.OZONE_OM_RATIS_SERVER_FOLLOWER_READ_ENABLED_KEY,
+        OMConfigKeys.OZONE_OM_RATIS_SERVER_FOLLOWER_READ_ENABLED_DEFAULT);
     RaftProperties serverProperties = newRaftProperties(conf);
 
     this.raftPeerId = localRaftPeerId;
@@ -281,6 +285,47 @@ public OMResponse submitRequest(OMRequest omRequest,
     return processReply(omRequest, raftClientReply);
   }
 
+  /**
+   * Returns true if this OM serves read requests as a follower.
+   */
+  public boolean isFollowerReadEnabled() {
+    return followerReadEnabled;
+  }
+
+  /**
+   * Waits until this OM has applied all the transactions which the leader
+   * has committed at the time of the call. The commit index is obtained from
+   * the leader with the Ratis ReadIndex protocol, so a read served from the
+   * local state afterwards is linearizable, even on a follower.
+   * @throws ServiceException if the read index could not be obtained, or it
+   * was not applied within the Ratis read timeout.
+   */
+  public void waitForReadIndex() throws ServiceException {
+    Preconditions.checkState(followerReadEnabled,
+        "Follower read is not enabled");
+    // The empty message is a no-op for OzoneManagerStateMachine#query.
+    RaftClientRequest raftClientRequest = RaftClientRequest.newBuilder()
+        .setClientId(clientId)
+        .setServerId(server.getId())
+        .setGroupId(raftGroupId)
+        .setCallId(nextCallId())
+        .setMessage(Message.EMPTY)
+        .setType(RaftClientRequest.readRequestType())
+        .build();
+    RaftClientReply raftClientReply = submitRequestToRatis(raftClientRequest);
+    if (!raftClientReply.isSuccess()) {
+      NotLeaderException notLeaderException =
+          raftClientReply.getNotLeaderException();
+      if (notLeaderException != null) {
+        throw new ServiceException(
+            OMNotLeaderException.convertToOMNotLeaderException(
+                notLeaderException, getRaftPeerId()));
+      }
+      throw new ServiceException("Failed to wait for the read index on " +
+          getRaftPeerId(), raftClientReply.getException());
+    }
+  }
+
   private RaftClientReply submitRequestToRatis(
       RaftClientRequest raftClientRequest) throws ServiceException {
     try {
@@ -593,6 +638,12 @@ private RaftProperties newRaftProperties(ConfigurationSource conf) {
     RaftServerConfigKeys.LeaderElection.setPreVote(properties,
         conf.getBoolean(OMConfigKeys.OZONE_OM_RATIS_SERVER_ELECTION_PRE_VOTE,
             OMConfigKeys.OZONE_OM_RATIS_SERVER_ELECTION_PRE_VOTE_DEFAULT));
+    // Read requests, which are only used for follower reads, get the read
+    // index from the leader.
+    if (followerReadEnabled) {
+      RaftServerConfigKeys.Read.setOption(properties,
+          RaftServerConfigKeys.Read.Option.LINEARIZABLE);
+    }
 
     // Set RAFT segment size
     final long raftSegmentSize = (long) conf.getStorageSize(
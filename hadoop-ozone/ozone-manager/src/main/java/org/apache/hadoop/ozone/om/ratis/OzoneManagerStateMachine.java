@@ -24,7 +24,9 @@
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ConcurrentSkipListMap;
@@ -33,6 +35,8 @@
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.conf.StorageUnit;
 import org.apache.hadoop.hdds.utils.db.Table;
 import org.apache.hadoop.hdds.utils.TransactionInfo;
 import org.apache.hadoop.ozone.common.ha.ratis.RatisSnapshotInfo;
@@ -41,6 +45,7 @@
 import org.apache.hadoop.ozone.om.OzoneManagerPrepareState;
 import org.apache.hadoop.ozone.om.exceptions.OMException;
 import org.apache.hadoop.ozone.om.helpers.OMRatisHelper;
+import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
 import org.apache.hadoop.ozone.om.ratis.utils.OzoneManagerRatisUtils;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos
@@ -95,6 +100,7 @@ public class OzoneManagerStateMachine extends BaseStateMachine {
   private OzoneManagerDoubleBuffer ozoneManagerDoubleBuffer;
   private final RatisSnapshotInfo snapshotInfo;
   private final ExecutorService executorService;
+  private final OzoneManagerPartitionedExecutor partitionedExecutor;
   private final ExecutorService installSnapshotExecutor;
   private final boolean isTracingEnabled;
   private final AtomicInteger statePausedCount = new AtomicInteger(0);
@@ -119,6 +125,22 @@ public OzoneManagerStateMachine(OzoneManagerRatisServer ratisServer,
     this.snapshotInfo = ozoneManager.getSnapshotInfo();
     loadSnapshotInfoFromDB();
 
+    int applyPartitions = ozoneManager.getConfiguration().getInt(
+        OMConfigKeys.OZONE_OM_APPLY_TRANSACTION_PARTITIONS,
+        OMConfigKeys.OZONE_OM_APPLY_TRANSACTION_PARTITIONS_DEFAULT);
+    if (applyPartitions > 1) {
+      ThreadFactory partitionThreads = new ThreadFactoryBuilder()
+          .setDaemon(true)
+          .setNameFormat("OM StateMachine ApplyTransaction Partition - %d")
+          .build();
+      this.partitionedExecutor = new OzoneManagerPartitionedExecutor(
+          applyPartitions, partitionThreads,
+          () -> ozoneManagerDoubleBuffer.notifyFlushableIndexChanged());
+      LOG.info("Applying transactions with {} partitions", applyPartitions);
+    } else {
+      this.partitionedExecutor = null;
+    }
+
     this.ozoneManagerDoubleBuffer = buildDoubleBufferForRatis();
 
     this.handler = new OzoneManagerRequestHandler(ozoneManager,
@@ -345,6 +367,14 @@ public CompletableFuture<Message> applyTransaction(TransactionContext trx) {
       // only after completing 101 - 149. In initial stage, we are starting
       // with single global executor. Will revisit this when needed.
 
+      // When ozone.om.apply.transaction.partitions is greater than 1, key
+      // level transactions are applied in parallel, partitioned by the
+      // bucket they operate on, see OzoneManagerPartitionedExecutor. The
+      // problem described above is handled by only flushing, from the
+      // double buffer, transactions up to the lowest index which is still
+      // being applied, so lastAppliedIndex only moves over a contiguous
+      // prefix of the log.
+
       // Add the term index and transaction log index to applyTransaction map
       // . This map will be used to update lastAppliedIndex.
 
@@ -355,8 +385,15 @@ public CompletableFuture<Message> applyTransaction(TransactionContext trx) {
       //if there are too many pending requests, wait for doubleBuffer flushing
       ozoneManagerDoubleBuffer.acquireUnFlushedTransactions(1);
 
-      CompletableFuture<OMResponse> future = CompletableFuture.supplyAsync(
-          () -> runCommand(request, trxLogIndex), executorService);
+      final CompletableFuture<OMResponse> future;
+      if (partitionedExecutor != null) {
+        partitionedExecutor.awaitBarrier();
+        future = partitionedExecutor.submit(getPartitionKey(request),
+            trxLogIndex, () -> runCommand(request, trxLogIndex));
+      } else {
+        future = CompletableFuture.supplyAsync(
+            () -> runCommand(request, trxLogIndex), executorService);
+      }
       future.thenApply(omResponse -> {
         if (!omResponse.getSuccess()) {
           // When INTERNAL_ERROR or METADATA_ERROR it is considered as
@@ -390,6 +427,37 @@ public CompletableFuture<Message> applyTransaction(TransactionContext trx) {
     }
   }
 
+  /**
+   * Returns the partition key used to apply the given request, or null if it
+   * has to be applied as a barrier. Bucket links are resolved to the source
+   * bucket, so that requests through a link and requests to the linked
+   * bucket end up in the same partition.
+   */
+  private String getPartitionKey(OMRequest request) {
+    String key = OzoneManagerPartitionedExecutor.getPartitionKey(request);
+    Set<String> visited = new HashSet<>();
+    while (key != null && visited.add(key)) {
+      OmBucketInfo bucketInfo;
+      try {
+        bucketInfo = ozoneManager.getMetadataManager().getBucketTable()
+            .get(key);
+      } catch (IOException e) {
+        LOG.debug("Failed to resolve bucket {}, applying as barrier", key, e);
+        return null;
+      }
+      if (bucketInfo == null) {
+        // Request will fail, still apply it in isolation.
+        return null;
+      }
+      if (!bucketInfo.isLink()) {
+        return key;
+      }
+      key = OzoneManagerPartitionedExecutor.toKey(
+          bucketInfo.getSourceVolume(), bucketInfo.getSourceBucket());
+    }
+    return null;
+  }
+
   /**
    * Terminate OM.
    * @param omResponse
@@ -410,6 +478,11 @@ private void terminate(OMResponse omResponse,
    */
   @Override
   public CompletableFuture<Message> query(Message request) {
+    if (request.getContent().isEmpty()) {
+      // Sent by OzoneManagerRatisServer#waitForReadIndex, which only needs
+      // the read index to be applied.
+      return CompletableFuture.completedFuture(Message.EMPTY);
+    }
     try {
       OMRequest omRequest = OMRatisHelper.convertByteStringToOMRequest(
           request.getContent());
@@ -454,14 +527,40 @@ public synchronized void unpause(long newLastAppliedSnaphsotIndex,
   }
 
   public OzoneManagerDoubleBuffer buildDoubleBufferForRatis() {
-    int maxUnflushedTransactionSize = ozoneManager.getConfiguration()
+    OzoneConfiguration conf = ozoneManager.getConfiguration();
+    int maxUnflushedTransactionSize = conf
         .getInt(OMConfigKeys.OZONE_OM_UNFLUSHED_TRANSACTION_MAX_COUNT,
             OMConfigKeys.OZONE_OM_UNFLUSHED_TRANSACTION_MAX_COUNT_DEFAULT);
+    long maxUnflushedTransactionBytes = (long) conf.getStorageSize(
+        OMConfigKeys.OZONE_OM_UNFLUSHED_TRANSACTION_MAX_BYTES,
+        OMConfigKeys.OZONE_OM_UNFLUSHED_TRANSACTION_MAX_BYTES_DEFAULT,
+        StorageUnit.BYTES);
+    int maxBatchEntries = conf.getInt(
+        OMConfigKeys.OZONE_OM_DOUBLE_BUFFER_BATCH_MAX_ENTRIES,
+        OMConfigKeys.OZONE_OM_DOUBLE_BUFFER_BATCH_MAX_ENTRIES_DEFAULT);
+    long maxBatchBytes = (long) conf.getStorageSize(
+        OMConfigKeys.OZONE_OM_DOUBLE_BUFFER_BATCH_MAX_BYTES,
+        OMConfigKeys.OZONE_OM_DOUBLE_BUFFER_BATCH_MAX_BYTES_DEFAULT,
+        StorageUnit.BYTES);
+    long flushTargetLatency = conf.getTimeDuration(
+        OMConfigKeys.OZONE_OM_DOUBLE_BUFFER_FLUSH_TARGET_LATENCY,
+        OMConfigKeys.OZONE_OM_DOUBLE_BUFFER_FLUSH_TARGET_LATENCY_DEFAULT,
+        TimeUnit.MILLISECONDS);
+    boolean pipelinedFlush = conf.getBoolean(
+        OMConfigKeys.OZONE_OM_DOUBLE_BUFFER_FLUSH_PIPELINED,
+        OMConfigKeys.OZONE_OM_DOUBLE_BUFFER_FLUSH_PIPELINED_DEFAULT);
     return new OzoneManagerDoubleBuffer.Builder()
         .setOmMetadataManager(ozoneManager.getMetadataManager())
         .setOzoneManagerRatisSnapShot(this::updateLastAppliedIndex)
         .setmaxUnFlushedTransactionCount(maxUnflushedTransactionSize)
+        .setMaxUnFlushedTransactionBytes(maxUnflushedTransactionBytes)
+        .setMaxBatchEntries(maxBatchEntries)
+        .setMaxBatchBytes(maxBatchBytes)
+        .setFlushTargetLatency(flushTargetLatency)
+        .enablePipelinedFlush(pipelinedFlush)
         .setIndexToTerm(this::getTermForIndex)
+        .setFlushableIndex(partitionedExecutor == null ? null :
+            partitionedExecutor::getFlushableIndex)
         .enableRatis(true)
         .enableTracing(isTracingEnabled)
         .build();
@@ -718,6 +817,9 @@ public void setRaftGroupId(RaftGroupId raftGroupId) {
   public void stop() {
     ozoneManagerDoubleBuffer.stop();
     HadoopExecutors.shutdown(executorService, LOG, 5, TimeUnit.SECONDS);
+    if (partitionedExecutor != null) {
+      partitionedExecutor.shutdown(LOG);
+    }
     HadoopExecutors.shutdown(installSnapshotExecutor, LOG, 5, TimeUnit.SECONDS);
   }
 
@@ -55,6 +55,14 @@ public class OzoneManagerDoubleBufferMetrics {
       " rocksdb batch commit time.")
   private MutableRate flushTime;
 
+  @Metric(about = "Time spent by applyTransaction waiting for unflushed " +
+      "transactions to be flushed.")
+  private MutableRate backPressureTime;
+
+  @Metric(about = "Time spent by the flush thread waiting for the previous " +
+      "batch commit, when the flush is pipelined.")
+  private MutableRate pipelineWaitTime;
+
   @Metric(about = "Average number of transactions flushed in a single " +
       "iteration")
   private MutableGaugeFloat avgFlushTransactionsInOneIteration;
@@ -115,6 +123,24 @@ public MutableRate getFlushTime() {
     return flushTime;
   }
 
+  public void updateBackPressureTime(long time) {
+    backPressureTime.add(time);
+  }
+
+  @VisibleForTesting
+  public MutableRate getBackPressureTime() {
+    return backPressureTime;
+  }
+
+  public void updatePipelineWaitTime(long time) {
+    pipelineWaitTime.add(time);
+  }
+
+  @VisibleForTesting
+  public MutableRate getPipelineWaitTime() {
+    return pipelineWaitTime;
+  }
+
   public float getAvgFlushTransactionsInOneIteration() {
     return avgFlushTransactionsInOneIteration.value();
   }
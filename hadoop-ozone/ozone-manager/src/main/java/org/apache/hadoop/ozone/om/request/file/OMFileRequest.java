@@ -22,11 +22,14 @@
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 
 import com.google.common.base.Strings;
 import org.apache.commons.lang3.StringUtils;
@@ -50,6 +53,7 @@
 import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfoGroup;
 import org.apache.hadoop.ozone.om.helpers.OzoneFSUtils;
 import org.apache.hadoop.ozone.om.helpers.OzoneFileStatus;
+import org.apache.hadoop.ozone.om.helpers.WithParentObjectId;
 import org.apache.hadoop.ozone.om.helpers.BucketLayout;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -637,6 +641,25 @@ public static OzoneFileStatus getOMKeyInfoIfExists(
       String volumeName, String bucketName, String keyName,
       long scmBlockSize, ReplicationConfig defaultReplication
   ) throws IOException {
+    return getOMKeyInfoIfExists(omMetadataMgr, volumeName, bucketName,
+        keyName, scmBlockSize, defaultReplication, null);
+  }
+
+  /**
+   * Same as {@link #getOMKeyInfoIfExists(OMMetadataManager, String, String,
+   * String, long, ReplicationConfig)}, but the directory lookups are
+   * remembered in dirCache, so that the path components shared by the keys
+   * of a batch are looked up only once.
+   *
+   * @param dirCache directory table lookups by DB key, an empty value for
+   *                 the directories which do not exist. May be null.
+   */
+  public static OzoneFileStatus getOMKeyInfoIfExists(
+      OMMetadataManager omMetadataMgr,
+      String volumeName, String bucketName, String keyName,
+      long scmBlockSize, ReplicationConfig defaultReplication,
+      Map<String, Optional<OmDirectoryInfo>> dirCache
+  ) throws IOException {
 
     OMFileRequest.validateBucket(omMetadataMgr, volumeName, bucketName);
 
@@ -660,7 +683,7 @@ public static OzoneFileStatus getOMKeyInfoIfExists(
       String dbNodeName = omMetadataMgr.getOzonePathKey(
               volumeId, omBucketInfo.getObjectID(),
               lastKnownParentId, fileName);
-      omDirInfo = omMetadataMgr.getDirectoryTable().get(dbNodeName);
+      omDirInfo = getDirectoryInfo(omMetadataMgr, dbNodeName, dirCache);
 
       if (omDirInfo != null) {
         lastKnownParentId = omDirInfo.getObjectID();
@@ -693,6 +716,88 @@ public static OzoneFileStatus getOMKeyInfoIfExists(
     return null;
   }
 
+  /**
+   * Looks up the directories on the paths of the given keys and adds them to
+   * dirCache, to be used by {@link #getOMKeyInfoIfExists(OMMetadataManager,
+   * String, String, String, long, ReplicationConfig, Map)}. The path
+   * components at the same depth of all keys are fetched with one multi-get
+   * from the directory table.
+   *
+   * @param dirCache directory table lookups by DB key, an empty value for
+   *                 the directories which do not exist.
+   */
+  public static void prefetchDirectories(OMMetadataManager omMetadataMgr,
+      String volumeName, String bucketName, List<String> keyNames,
+      Map<String, Optional<OmDirectoryInfo>> dirCache) throws IOException {
+    final int n = keyNames.size();
+    final long volumeId = omMetadataMgr.getVolumeId(volumeName);
+    final long bucketId = omMetadataMgr.getBucketId(volumeName, bucketName);
+    final List<List<String>> paths = new ArrayList<>(n);
+    final long[] parentIds = new long[n];
+    for (String keyName : keyNames) {
+      final List<String> components = new ArrayList<>();
+      if (!keyName.isEmpty()) {
+        for (Path component : Paths.get(keyName)) {
+          components.add(component.toString());
+        }
+      }
+      paths.add(components);
+    }
+    Arrays.fill(parentIds, bucketId);
+
+    final String[] dbDirNames = new String[n];
+    for (int depth = 0;; depth++) {
+      // Sorted, as RocksDB serves a sorted multi-get more efficiently.
+      final Set<String> lookups = new TreeSet<>();
+      boolean done = true;
+      for (int i = 0; i < n; i++) {
+        dbDirNames[i] = null;
+        if (parentIds[i] != 0 && depth < paths.get(i).size()) {
+          dbDirNames[i] = omMetadataMgr.getOzonePathKey(volumeId, bucketId,
+              parentIds[i], paths.get(i).get(depth));
+          if (!dirCache.containsKey(dbDirNames[i])) {
+            lookups.add(dbDirNames[i]);
+          }
+          done = false;
+        }
+      }
+      if (done) {
+        return;
+      }
+
+      if (!lookups.isEmpty()) {
+        final List<String> dbKeys = new ArrayList<>(lookups);
+        final List<OmDirectoryInfo> dirs =
+            omMetadataMgr.getDirectoryTable().multiGet(dbKeys);
+        for (int j = 0; j < dbKeys.size(); j++) {
+          dirCache.put(dbKeys.get(j), Optional.ofNullable(dirs.get(j)));
+        }
+      }
+      for (int i = 0; i < n; i++) {
+        if (dbDirNames[i] != null) {
+          // Stop at the first component which is not a directory.
+          parentIds[i] = dirCache.get(dbDirNames[i])
+              .map(OmDirectoryInfo::getObjectID).orElse(0L);
+        }
+      }
+    }
+  }
+
+  private static OmDirectoryInfo getDirectoryInfo(
+      OMMetadataManager omMetadataMgr, String dbDirName,
+      Map<String, Optional<OmDirectoryInfo>> dirCache) throws IOException {
+    if (dirCache == null) {
+      return omMetadataMgr.getDirectoryTable().get(dbDirName);
+    }
+    Optional<OmDirectoryInfo> dirInfo = dirCache.get(dbDirName);
+    if (dirInfo == null) {
+      dirInfo = Optional.ofNullable(
+          omMetadataMgr.getDirectoryTable().get(dbDirName));
+      dirCache.put(dbDirName, dirInfo);
+    }
+    return dirInfo.orElse(null);
+  }
+
   /**
    * Prepare OmKeyInfo from OmDirectoryInfo.
    *
@@ -848,45 +953,7 @@ public static boolean hasChildren(OmKeyInfo omKeyInfo,
 
   private static boolean checkSubDirectoryExists(OmKeyInfo omKeyInfo,
       OMMetadataManager metaMgr) throws IOException {
-    // Check all dirTable cache for any sub paths.
-    Table dirTable = metaMgr.getDirectoryTable();
-    Iterator<Map.Entry<CacheKey<String>, CacheValue<OmDirectoryInfo>>>
-            cacheIter = dirTable.cacheIterator();
-
-    while (cacheIter.hasNext()) {
-      Map.Entry<CacheKey<String>, CacheValue<OmDirectoryInfo>> entry =
-              cacheIter.next();
-      OmDirectoryInfo cacheOmDirInfo = entry.getValue().getCacheValue();
-      if (cacheOmDirInfo == null) {
-        continue;
-      }
-      if (isImmediateChild(cacheOmDirInfo.getParentObjectID(),
-              omKeyInfo.getObjectID())) {
-        return true; // found a sub path directory
-      }
-    }
-
-    final long volumeId = metaMgr.getVolumeId(omKeyInfo.getVolumeName());
-    final long bucketId = metaMgr.getBucketId(omKeyInfo.getVolumeName(),
-            omKeyInfo.getBucketName());
-    // Check dirTable entries for any sub paths.
-    String seekDirInDB = metaMgr.getOzonePathKey(volumeId, bucketId,
-            omKeyInfo.getObjectID(), "");
-    try (TableIterator<String, ? extends
-        Table.KeyValue<String, OmDirectoryInfo>>
-            iterator = dirTable.iterator()) {
-
-      iterator.seek(seekDirInDB);
-
-      if (iterator.hasNext()) {
-        Table.KeyValue<String, OmDirectoryInfo> entry = iterator.next();
-        OmDirectoryInfo dirInfo = entry.getValue();
-        return isImmediateChild(dirInfo.getParentObjectID(),
-            omKeyInfo.getObjectID());
-      }
-
-    }
-    return false; // no sub paths found
+    return checkChildExists(metaMgr.getDirectoryTable(), omKeyInfo, metaMgr);
   }
 
   private static boolean checkSubFileExists(OmKeyInfo omKeyInfo,
@@ -895,45 +962,78 @@ private static boolean checkSubFileExists(OmKeyInfo omKeyInfo,
     BucketLayout bucketLayout =
         getBucketLayout(metaMgr, omKeyInfo.getVolumeName(),
             omKeyInfo.getBucketName());
-    // Check all fileTable cache for any sub paths.
-    Table fileTable = metaMgr.getKeyTable(bucketLayout);
-    Iterator<Map.Entry<CacheKey<String>, CacheValue<OmKeyInfo>>>
-            cacheIter = fileTable.cacheIterator();
-
-    while (cacheIter.hasNext()) {
-      Map.Entry<CacheKey<String>, CacheValue<OmKeyInfo>> entry =
-              cacheIter.next();
-      OmKeyInfo cacheOmFileInfo = entry.getValue().getCacheValue();
-      if (cacheOmFileInfo == null) {
-        continue;
-      }
-      if (isImmediateChild(cacheOmFileInfo.getParentObjectID(),
-              omKeyInfo.getObjectID())) {
-        return true; // found a sub path file
-      }
+    return checkChildExists(metaMgr.getKeyTable(bucketLayout), omKeyInfo,
+        metaMgr);
+  }
+
+  /**
+   * Check if the given table has any live entry which is an immediate child
+   * of the given key, in its cache or in the DB.
+   */
+  private static <T extends WithParentObjectId> boolean checkChildExists(
+      Table<String, T> table, OmKeyInfo omKeyInfo, OMMetadataManager metaMgr)
+      throws IOException {
+    final long objectID = omKeyInfo.getObjectID();
+    if (checkChildExistsInCache(table, objectID)) {
+      return true; // found a sub path in cache
     }
 
     final long volumeId = metaMgr.getVolumeId(omKeyInfo.getVolumeName());
     final long bucketId = metaMgr.getBucketId(omKeyInfo.getVolumeName(),
             omKeyInfo.getBucketName());
-    // Check fileTable entries for any sub paths.
-    String seekFileInDB = metaMgr.getOzonePathKey(volumeId, bucketId,
-            omKeyInfo.getObjectID(), "");
-    try (TableIterator<String, ? extends Table.KeyValue<String, OmKeyInfo>>
-            iterator = fileTable.iterator()) {
-
-      iterator.seek(seekFileInDB);
-
-      if (iterator.hasNext()) {
-        Table.KeyValue<String, OmKeyInfo> entry = iterator.next();
-        OmKeyInfo fileInfo = entry.getValue();
-        return isImmediateChild(fileInfo.getParentObjectID(),
-            omKeyInfo.getObjectID()); // found a sub path file
+    // Check table entries for any sub paths. Entries which are deleted in
+    // the cache but not yet flushed to the DB are skipped.
+    String seekInDB = metaMgr.getOzonePathKey(volumeId, bucketId,
+            objectID, "");
+    try (TableIterator<String, ? extends Table.KeyValue<String, T>>
+            iterator = table.iterator()) {
+
+      iterator.seek(seekInDB);
+
+      while (iterator.hasNext()) {
+        Table.KeyValue<String, T> entry = iterator.next();
+        if (!isImmediateChild(entry.getValue().getParentObjectID(),
+            objectID)) {
+          return false; // no more sub paths in DB
+        }
+        CacheValue<T> cacheValue =
+            table.getCacheValue(new CacheKey<>(entry.getKey()));
+        if (cacheValue == null || cacheValue.getCacheValue() != null) {
+          return true; // found a sub path
+        }
       }
     }
     return false; // no sub paths found
   }
 
+  private static <T extends WithParentObjectId> boolean
+      checkChildExistsInCache(Table<String, T> table, long objectID) {
+    if (!table.hasCacheIndex()) {
+      // The table cache is not indexed by parent, check all entries.
+      Iterator<Map.Entry<CacheKey<String>, CacheValue<T>>> cacheIter =
+          table.cacheIterator();
+      while (cacheIter.hasNext()) {
+        T value = cacheIter.next().getValue().getCacheValue();
+        if (value != null &&
+            isImmediateChild(value.getParentObjectID(), objectID)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    for (CacheKey<String> key : table.getCacheIndexedKeys(objectID)) {
+      // The index may be concurrently updated, verify the entry.
+      CacheValue<T> cacheValue = table.getCacheValue(key);
+      T value = cacheValue == null ? null : cacheValue.getCacheValue();
+      if (value != null &&
+          isImmediateChild(value.getParentObjectID(), objectID)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   public static boolean isImmediateChild(long parentId, long ancestorId) {
     return parentId == ancestorId;
   }
@@ -35,6 +35,7 @@
 import org.apache.hadoop.ozone.om.helpers.OzoneFSUtils;
 import org.apache.hadoop.ozone.om.helpers.RepeatedOmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.WithMetadata;
+import org.apache.hadoop.ozone.om.lock.OzoneLockStrategy;
 import org.apache.hadoop.ozone.om.ratis.utils.OzoneManagerDoubleBufferHelper;
 import org.apache.hadoop.ozone.om.request.file.OMFileRequest;
 import org.apache.hadoop.ozone.om.request.util.OmResponseUtil;
@@ -56,7 +57,6 @@
 import java.util.Map;
 
 import static org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes.KEY_NOT_FOUND;
-import static org.apache.hadoop.ozone.om.lock.OzoneManagerLock.Resource.BUCKET_LOCK;
 
 /**
  * Handles CommitKey request - prefix layout.
@@ -113,6 +113,7 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager,
         isHSync, volumeName, bucketName, keyName);
 
     OMMetadataManager omMetadataManager = ozoneManager.getMetadataManager();
+    OzoneLockStrategy ozoneLockStrategy = getOzoneLockStrategy(ozoneManager);
 
     try {
       commitKeyArgs = resolveBucketLink(ozoneManager, commitKeyArgs, auditMap);
@@ -131,9 +132,8 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager,
       List<OmKeyLocationInfo>
           locationInfoList = getOmKeyLocationInfos(ozoneManager, commitKeyArgs);
 
-      bucketLockAcquired =
-              omMetadataManager.getLock().acquireWriteLock(BUCKET_LOCK,
-                      volumeName, bucketName);
+      bucketLockAcquired = ozoneLockStrategy.acquireWriteLock(
+          omMetadataManager, volumeName, bucketName, keyName);
 
       validateBucketAndVolume(omMetadataManager, volumeName, bucketName);
 
@@ -280,8 +280,8 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager,
               omDoubleBufferHelper);
 
       if (bucketLockAcquired) {
-        omMetadataManager.getLock().releaseWriteLock(BUCKET_LOCK, volumeName,
-                bucketName);
+        ozoneLockStrategy.releaseWriteLock(omMetadataManager, volumeName,
+                bucketName, keyName);
       }
     }
 
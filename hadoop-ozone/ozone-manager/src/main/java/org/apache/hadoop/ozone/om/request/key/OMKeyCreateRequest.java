@@ -217,7 +217,7 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager,
       checkKeyAcls(ozoneManager, volumeName, bucketName, keyName,
           IAccessAuthorizer.ACLType.CREATE, OzoneObj.ResourceType.KEY);
 
-      acquireLock = ozoneLockStrategy.acquireWriteLock(omMetadataManager,
+      acquireLock = ozoneLockStrategy.acquireCreateLock(omMetadataManager,
           volumeName, bucketName, keyName);
       validateBucketAndVolume(omMetadataManager, volumeName, bucketName);
       //TODO: We can optimize this get here, if getKmsProvider is null, then
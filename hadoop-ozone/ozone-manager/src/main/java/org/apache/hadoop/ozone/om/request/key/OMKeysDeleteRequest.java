@@ -31,6 +31,7 @@
 import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.OzoneFileStatus;
+import org.apache.hadoop.ozone.om.lock.OzoneLockStrategy;
 import org.apache.hadoop.ozone.om.ratis.utils.OzoneManagerDoubleBufferHelper;
 import org.apache.hadoop.ozone.om.request.util.OmResponseUtil;
 import org.apache.hadoop.ozone.om.request.validation.RequestFeatureValidator;
@@ -63,7 +64,6 @@
 import static org.apache.hadoop.ozone.OzoneConsts.UNDELETED_KEYS_LIST;
 import static org.apache.hadoop.ozone.OzoneConsts.VOLUME;
 import static org.apache.hadoop.ozone.audit.OMAction.DELETE_KEYS;
-import static org.apache.hadoop.ozone.om.lock.OzoneManagerLock.Resource.BUCKET_LOCK;
 import static org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Status.OK;
 import static org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Status.PARTIAL_DELETE;
 
@@ -110,6 +110,7 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager,
     OMResponse.Builder omResponse =
         OmResponseUtil.getOMResponseBuilder(getOmRequest());
     OMMetadataManager omMetadataManager = ozoneManager.getMetadataManager();
+    OzoneLockStrategy ozoneLockStrategy = getOzoneLockStrategy(ozoneManager);
 
     boolean acquiredLock = false;
 
@@ -127,20 +128,22 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager,
       volumeName = bucket.realVolume();
       bucketName = bucket.realBucket();
 
-      acquiredLock = omMetadataManager.getLock()
-          .acquireWriteLock(BUCKET_LOCK, volumeName, bucketName);
+      acquiredLock = ozoneLockStrategy.acquireWriteLocks(omMetadataManager,
+          volumeName, bucketName, deleteKeyArgs.getKeysList());
       // Validate bucket and volume exists or not.
       validateBucketAndVolume(omMetadataManager, volumeName, bucketName);
       String volumeOwner = getVolumeOwner(omMetadataManager, volumeName);
+      List<OzoneFileStatus> keyStatuses = getOzoneKeyStatuses(ozoneManager,
+          omMetadataManager, volumeName, bucketName,
+          deleteKeyArgs.getKeysList());
 
       for (indexFailed = 0; indexFailed < length; indexFailed++) {
         String keyName = deleteKeyArgs.getKeys(indexFailed);
         String objectKey =
             omMetadataManager.getOzoneKey(volumeName, bucketName, keyName);
-        OmKeyInfo omKeyInfo = getOmKeyInfo(ozoneManager, omMetadataManager,
-            volumeName, bucketName, keyName);
+        OzoneFileStatus keyStatus = keyStatuses.get(indexFailed);
 
-        if (omKeyInfo == null) {
+        if (keyStatus == null) {
           deleteStatus = false;
           LOG.error("Received a request to delete a Key does not exist {}",
               objectKey);
@@ -154,10 +157,8 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager,
           checkKeyAcls(ozoneManager, volumeName, bucketName, keyName,
               IAccessAuthorizer.ACLType.DELETE, OzoneObj.ResourceType.KEY,
               volumeOwner);
-          OzoneFileStatus fileStatus = getOzoneKeyStatus(
-              ozoneManager, omMetadataManager, volumeName, bucketName, keyName);
-          addKeyToAppropriateList(omKeyInfoList, omKeyInfo, dirList,
-              fileStatus);
+          addKeyToAppropriateList(omKeyInfoList, keyStatus.getKeyInfo(),
+              dirList, keyStatus);
         } catch (Exception ex) {
           deleteStatus = false;
           LOG.error("Acl check failed for Key: {}", objectKey, ex);
@@ -204,8 +205,8 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager,
 
     } finally {
       if (acquiredLock) {
-        omMetadataManager.getLock()
-            .releaseWriteLock(BUCKET_LOCK, volumeName, bucketName);
+        ozoneLockStrategy.releaseWriteLocks(omMetadataManager, volumeName,
+            bucketName, deleteKeyArgs.getKeysList());
       }
       addResponseToDoubleBuffer(trxnLogIndex, omClientResponse,
           omDoubleBufferHelper);
@@ -241,13 +242,6 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager,
     return omClientResponse;
   }
 
-  protected OzoneFileStatus getOzoneKeyStatus(
-      OzoneManager ozoneManager, OMMetadataManager omMetadataManager,
-      String volumeName, String bucketName, String keyName) throws IOException {
-    // implemented in child class
-    return null;
-  }
-
   @NotNull
   @SuppressWarnings("parameternumber")
   protected OMClientResponse getOmClientResponse(OzoneManager ozoneManager,
@@ -288,11 +282,26 @@ protected void addKeyToAppropriateList(List<OmKeyInfo> omKeyInfoList,
     omKeyInfoList.add(omKeyInfo);
   }
 
-  protected OmKeyInfo getOmKeyInfo(
+  /**
+   * Looks up the keys to be deleted, the ones not in the table cache with a
+   * single multi-get.
+   * @return the key statuses in the order of the given key names, null for
+   *         the keys which do not exist.
+   */
+  protected List<OzoneFileStatus> getOzoneKeyStatuses(
       OzoneManager ozoneManager, OMMetadataManager omMetadataManager,
-      String volume, String bucket, String key) throws IOException {
-    String objectKey = omMetadataManager.getOzoneKey(volume, bucket, key);
-    return omMetadataManager.getKeyTable(getBucketLayout()).get(objectKey);
+      String volume, String bucket, List<String> keys) throws IOException {
+    List<String> objectKeys = new ArrayList<>(keys.size());
+    for (String key : keys) {
+      objectKeys.add(omMetadataManager.getOzoneKey(volume, bucket, key));
+    }
+    List<OzoneFileStatus> keyStatuses = new ArrayList<>(keys.size());
+    for (OmKeyInfo omKeyInfo : omMetadataManager
+        .getKeyTable(getBucketLayout()).multiGet(objectKeys)) {
+      keyStatuses.add(omKeyInfo != null
+          ? new OzoneFileStatus(omKeyInfo, 0, false) : null);
+    }
+    return keyStatuses;
   }
 
   /**
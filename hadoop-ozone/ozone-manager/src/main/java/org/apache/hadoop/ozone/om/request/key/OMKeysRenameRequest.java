@@ -32,6 +32,7 @@
 import org.apache.hadoop.ozone.om.helpers.OmRenameKeys;
 import org.apache.hadoop.ozone.om.OzoneManager;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.om.lock.OzoneLockStrategy;
 import org.apache.hadoop.ozone.om.ratis.utils.OzoneManagerDoubleBufferHelper;
 import org.apache.hadoop.ozone.om.request.util.OmResponseUtil;
 import org.apache.hadoop.ozone.om.request.validation.RequestFeatureValidator;
@@ -64,7 +65,6 @@
 import static org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Status.PARTIAL_RENAME;
 import static org.apache.hadoop.ozone.OzoneConsts.RENAMED_KEYS_MAP;
 import static org.apache.hadoop.ozone.OzoneConsts.UNRENAMED_KEYS_MAP;
-import static org.apache.hadoop.ozone.om.lock.OzoneManagerLock.Resource.BUCKET_LOCK;
 
 /**
  * Handles rename keys request.
@@ -104,6 +104,13 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager,
         getOmRequest());
 
     OMMetadataManager omMetadataManager = ozoneManager.getMetadataManager();
+    OzoneLockStrategy ozoneLockStrategy = getOzoneLockStrategy(ozoneManager);
+    // Both the source and the destination of every rename are locked.
+    List<String> lockedKeyNames = new ArrayList<>();
+    for (RenameKeysMap renameKey : renameKeysArgs.getRenameKeysMapList()) {
+      lockedKeyNames.add(renameKey.getFromKeyName());
+      lockedKeyNames.add(renameKey.getToKeyName());
+    }
     IOException exception = null;
     OmKeyInfo fromKeyValue = null;
     Result result = null;
@@ -119,9 +126,8 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager,
       bucket.audit(auditMap);
       volumeName = bucket.realVolume();
       bucketName = bucket.realBucket();
-      acquiredLock =
-          omMetadataManager.getLock().acquireWriteLock(BUCKET_LOCK,
-              volumeName, bucketName);
+      acquiredLock = ozoneLockStrategy.acquireWriteLocks(omMetadataManager,
+          volumeName, bucketName, lockedKeyNames);
 
       // Validate bucket and volume exists or not.
       validateBucketAndVolume(omMetadataManager, volumeName, bucketName);
@@ -236,8 +242,8 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager,
       addResponseToDoubleBuffer(trxnLogIndex, omClientResponse,
           omDoubleBufferHelper);
       if (acquiredLock) {
-        omMetadataManager.getLock().releaseWriteLock(BUCKET_LOCK, volumeName,
-            bucketName);
+        ozoneLockStrategy.releaseWriteLocks(omMetadataManager, volumeName,
+            bucketName, lockedKeyNames);
       }
     }
 
@@ -23,6 +23,7 @@
 import org.apache.hadoop.ozone.om.OzoneManager;
 import org.apache.hadoop.ozone.om.helpers.BucketLayout;
 import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
+import org.apache.hadoop.ozone.om.helpers.OmDirectoryInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.OzoneFileStatus;
 import org.apache.hadoop.ozone.om.ratis.utils.OzoneManagerDoubleBufferHelper;
@@ -35,7 +36,11 @@
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import static org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Status.OK;
 import static org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Status.PARTIAL_DELETE;
@@ -62,13 +67,20 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager,
   }
 
   @Override
-  protected OmKeyInfo getOmKeyInfo(
+  protected List<OzoneFileStatus> getOzoneKeyStatuses(
       OzoneManager ozoneManager, OMMetadataManager omMetadataManager,
-      String volumeName, String bucketName, String keyName)
+      String volumeName, String bucketName, List<String> keyNames)
       throws IOException {
-    OzoneFileStatus keyStatus = getOzoneKeyStatus(
-        ozoneManager, omMetadataManager, volumeName, bucketName, keyName);
-    return keyStatus != null ? keyStatus.getKeyInfo() : null;
+    Map<String, Optional<OmDirectoryInfo>> dirCache = new HashMap<>();
+    OMFileRequest.prefetchDirectories(omMetadataManager, volumeName,
+        bucketName, keyNames, dirCache);
+    List<OzoneFileStatus> keyStatuses = new ArrayList<>(keyNames.size());
+    for (String keyName : keyNames) {
+      keyStatuses.add(OMFileRequest.getOMKeyInfoIfExists(
+          omMetadataManager, volumeName, bucketName, keyName, 0,
+          ozoneManager.getDefaultReplicationConfig(), dirCache));
+    }
+    return keyStatuses;
   }
 
   @Override
@@ -81,15 +93,6 @@ protected void addKeyToAppropriateList(List<OmKeyInfo> omKeyInfoList,
     }
   }
 
-  @Override
-  protected OzoneFileStatus getOzoneKeyStatus(
-      OzoneManager ozoneManager, OMMetadataManager omMetadataManager,
-      String volumeName, String bucketName, String keyName) throws IOException {
-    return OMFileRequest.getOMKeyInfoIfExists(omMetadataManager,
-        volumeName, bucketName, keyName, 0,
-        ozoneManager.getDefaultReplicationConfig());
-  }
-
   @Override
   protected long markKeysAsDeletedInCache(
           OzoneManager ozoneManager, long trxnLogIndex,
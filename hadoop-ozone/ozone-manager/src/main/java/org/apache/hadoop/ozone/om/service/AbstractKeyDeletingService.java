@@ -59,6 +59,8 @@
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
@@ -76,12 +78,20 @@ public abstract class AbstractKeyDeletingService extends BackgroundService
   private final OzoneManager ozoneManager;
   private final ScmBlockLocationProtocol scmClient;
   private static ClientId clientId = ClientId.randomId();
+  // Concurrent purge requests need distinct call IDs, or Ratis would take
+  // them as retries of each other.
+  private static final AtomicLong CALL_ID = new AtomicLong();
   private final AtomicLong deletedDirsCount;
   private final AtomicLong movedDirsCount;
   private final AtomicLong movedFilesCount;
   private final AtomicLong runCount;
   private final BootstrapStateHandler.Lock lock =
       new BootstrapStateHandler.Lock();
+  private final AtomicBoolean runInProgress = new AtomicBoolean();
+  private final AtomicInteger runningTasks = new AtomicInteger();
+  private volatile long runStartTime;
+  private volatile long runStartCount;
+  private final DeletingServiceMetrics metrics;
 
   public AbstractKeyDeletingService(String serviceName, long interval,
       TimeUnit unit, int threadPoolSize, long serviceTimeout,
@@ -93,6 +103,14 @@ public AbstractKeyDeletingService(String serviceName, long interval,
     this.movedDirsCount = new AtomicLong(0);
     this.movedFilesCount = new AtomicLong(0);
     this.runCount = new AtomicLong(0);
+    // The service name is not unique, DirectoryDeletingService reuses it.
+    this.metrics = DeletingServiceMetrics.create(getClass().getSimpleName());
+  }
+
+  @Override
+  public void shutdown() {
+    super.shutdown();
+    metrics.unregister();
   }
 
   protected int processKeyDeletes(List<BlockGroup> keyBlocksList,
@@ -237,8 +255,10 @@ private int submitPurgeKeysRequest(List<DeleteBlockGroupResult> results,
     try {
       RaftClientRequest raftClientRequest =
           createRaftClientRequestForPurge(omRequest);
+      long startTime = Time.monotonicNow();
       ozoneManager.getOmRatisServer().submitRequest(omRequest,
           raftClientRequest);
+      onPurgeCommitted(Time.monotonicNow() - startTime);
     } catch (ServiceException e) {
       LOG.error("PurgeKey request failed. Will retry at next run.");
       return 0;
@@ -253,7 +273,7 @@ protected RaftClientRequest createRaftClientRequestForPurge(
         .setClientId(clientId)
         .setServerId(ozoneManager.getOmRatisServer().getRaftPeerId())
         .setGroupId(ozoneManager.getOmRatisServer().getRaftGroupId())
-        .setCallId(runCount.get())
+        .setCallId(CALL_ID.incrementAndGet())
         .setMessage(
             Message.valueOf(
                 OMRatisHelper.convertRequestToByteString(omRequest)))
@@ -299,13 +319,80 @@ protected void submitPurgePaths(List<PurgePathRequest> requests,
     try {
       RaftClientRequest raftClientRequest =
           createRaftClientRequestForPurge(omRequest);
+      long startTime = Time.monotonicNow();
       ozoneManager.getOmRatisServer().submitRequest(omRequest,
           raftClientRequest);
+      onPurgeCommitted(Time.monotonicNow() - startTime);
     } catch (ServiceException e) {
       LOG.error("PurgePaths request failed. Will retry at next run.");
     }
   }
 
+  /**
+   * Called after a purge request is committed through Ratis.
+   *
+   * @param latencyMs the time the commit took.
+   */
+  protected void onPurgeCommitted(long latencyMs) {
+    metrics.addPurgeCommitLatency(latencyMs);
+  }
+
+  /**
+   * Starts a run of the given number of concurrent tasks, each of which has
+   * to call {@link #completeTask} when it completes.
+   *
+   * @return false if the previous run is still in progress, in which case
+   * no task should be run.
+   */
+  protected boolean startRun(int tasks) {
+    if (!runInProgress.compareAndSet(false, true)) {
+      return false;
+    }
+    runningTasks.set(tasks);
+    runStartTime = Time.monotonicNow();
+    runStartCount = getDeletedObjectCount();
+    return true;
+  }
+
+  /**
+   * Completes a task of the current run. The last task of the run has to
+   * call {@link #endRun} once it is done.
+   *
+   * @return true if this was the last task of the run.
+   */
+  protected boolean completeTask() {
+    return runningTasks.decrementAndGet() == 0;
+  }
+
+  /**
+   * @return the number of objects deleted since the current run started.
+   */
+  protected long getRunDeletedCount() {
+    return getDeletedObjectCount() - runStartCount;
+  }
+
+  /**
+   * Ends the current run, so that the next one can start.
+   *
+   * @return the number of objects deleted during the run, and the number
+   * deleted per second while it was running.
+   */
+  protected Pair<Long, Long> endRun() {
+    long deleted = getRunDeletedCount();
+    long elapsed = Math.max(1, Time.monotonicNow() - runStartTime);
+    runInProgress.set(false);
+    return Pair.of(deleted, deleted * 1000 / elapsed);
+  }
+
+  /**
+   * @return the number of objects deleted by the service, to compute its
+   * throughput.
+   */
+  protected long getDeletedObjectCount() {
+    return deletedDirsCount.get() + movedDirsCount.get()
+        + movedFilesCount.get();
+  }
+
   private OzoneManagerProtocolProtos.PurgePathRequest wrapPurgeRequest(
       final long volumeId,
       final long bucketId,
@@ -559,6 +646,10 @@ public ScmBlockLocationProtocol getScmClient() {
     return scmClient;
   }
 
+  public DeletingServiceMetrics getMetrics() {
+    return metrics;
+  }
+
   /**
    * Returns the number of times this Background service has run.
    *
@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.om.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.common.primitives.UnsignedBytes;
+import org.apache.hadoop.hdds.StringUtils;
+import org.apache.hadoop.hdds.utils.db.Table;
+import org.apache.hadoop.hdds.utils.db.Table.KeyValue;
+import org.apache.hadoop.hdds.utils.db.TableIterator;
+
+/**
+ * Progress of a deleting service through its table of deleted entries,
+ * shared by the concurrent tasks of the service.
+ * <p>
+ * The entries are handed out in key order, each to one task, so that tasks
+ * work on disjoint key ranges. A run starts after the last entry handed out
+ * by the previous run, and continues from the first entry once it reaches
+ * the end of the table, so that the entries which cannot be deleted yet do
+ * not hold back the entries after them.
+ * <p>
+ * The tasks {@link #open} the cursor while they hold the read lock of the
+ * table, and {@link #close} it before releasing the lock, so that the
+ * iterator never outlives the lock: the table is not changed by a snapshot
+ * while it is in use.
+ *
+ * @param <V> the type of the values of the table.
+ */
+class DeletedTableCursor<V> {
+
+  private Table<String, V> table;
+  private TableIterator<String, ? extends KeyValue<String, V>> iterator;
+  private int users;
+  // The last key handed out, kept from one run to the next.
+  private String lastKey;
+  // The last key handed out before the current run started.
+  private String runStartKey;
+  private boolean wrapped;
+  private boolean done;
+
+  /**
+   * Starts a run after the last entry handed out by the previous one.
+   * @param deletedTable the table, which is replaced when the OM reloads
+   * its DB.
+   */
+  synchronized void startRun(Table<String, V> deletedTable) {
+    table = deletedTable;
+    runStartKey = lastKey;
+    wrapped = false;
+    done = false;
+  }
+
+  synchronized void open() throws IOException {
+    if (users == 0) {
+      iterator = table.iterator();
+      if (lastKey != null) {
+        iterator.seek(lastKey);
+      }
+    }
+    users++;
+  }
+
+  synchronized void close() throws IOException {
+    if (--users == 0) {
+      try {
+        iterator.close();
+      } finally {
+        iterator = null;
+      }
+    }
+  }
+
+  /**
+   * @return the next entry of the run, or null if the run visited the whole
+   * table.
+   */
+  synchronized KeyValue<String, V> next() throws IOException {
+    while (!done) {
+      if (!iterator.hasNext()) {
+        if (wrapped || runStartKey == null) {
+          done = true;
+          break;
+        }
+        wrapped = true;
+        iterator.seekToFirst();
+        continue;
+      }
+      final KeyValue<String, V> entry = iterator.next();
+      final String key = entry.getKey();
+      if (key.equals(lastKey)) {
+        // Already handed out, the iterator was positioned on it by a seek.
+        continue;
+      }
+      if (wrapped && compare(key, runStartKey) > 0) {
+        done = true;
+        break;
+      }
+      lastKey = key;
+      return entry;
+    }
+    return null;
+  }
+
+  /**
+   * @return up to the given number of the next entries of the run, none if
+   * the run visited the whole table.
+   */
+  synchronized List<KeyValue<String, V>> next(int count) throws IOException {
+    final List<KeyValue<String, V>> entries = new ArrayList<>();
+    KeyValue<String, V> entry;
+    while (entries.size() < count && (entry = next()) != null) {
+      entries.add(entry);
+    }
+    return entries;
+  }
+
+  synchronized boolean isDone() {
+    return done;
+  }
+
+  private static int compare(String a, String b) {
+    return UnsignedBytes.lexicographicalComparator().compare(
+        StringUtils.string2Bytes(a), StringUtils.string2Bytes(b));
+  }
+}
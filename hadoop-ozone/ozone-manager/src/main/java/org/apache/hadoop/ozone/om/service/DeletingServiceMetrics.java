@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.om.service;
+
+import org.apache.hadoop.hdds.annotation.InterfaceAudience;
+import org.apache.hadoop.metrics2.MetricsSystem;
+import org.apache.hadoop.metrics2.annotation.Metric;
+import org.apache.hadoop.metrics2.annotation.Metrics;
+import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
+import org.apache.hadoop.metrics2.lib.MutableCounterLong;
+import org.apache.hadoop.metrics2.lib.MutableGaugeInt;
+import org.apache.hadoop.metrics2.lib.MutableGaugeLong;
+import org.apache.hadoop.metrics2.lib.MutableRate;
+
+/**
+ * Metrics of a key or directory deleting service of the OM.
+ */
+@InterfaceAudience.Private
+@Metrics(about = "OM Deleting Service Metrics", context = "dfs")
+public final class DeletingServiceMetrics {
+  @Metric("Number of keys purged by the key deleting service")
+  private MutableCounterLong numKeysPurged;
+  @Metric("Keys purged per second during the last run")
+  private MutableGaugeLong keysPurgedPerSecond;
+  @Metric("Estimated number of entries in the deletedTable")
+  private MutableGaugeLong deletedKeyBacklog;
+  @Metric("Number of keys of a batch of the key deleting service")
+  private MutableGaugeInt keyPurgeBatchLimit;
+
+  @Metric("Number of paths purged or moved by the directory deleting service")
+  private MutableCounterLong numPathsPurged;
+  @Metric("Paths purged or moved per second during the last run")
+  private MutableGaugeLong pathsPurgedPerSecond;
+  @Metric("Estimated number of entries in the deletedDirectoryTable")
+  private MutableGaugeLong deletedDirBacklog;
+  @Metric("Number of paths of a batch of the directory deleting service")
+  private MutableGaugeInt pathPurgeBatchLimit;
+
+  @Metric("Time to commit a purge request through Ratis")
+  private MutableRate purgeCommitLatency;
+
+  private final String serviceName;
+
+  private DeletingServiceMetrics(String serviceName) {
+    this.serviceName = serviceName;
+  }
+
+  public static DeletingServiceMetrics create(String serviceName) {
+    MetricsSystem ms = DefaultMetricsSystem.instance();
+    DeletingServiceMetrics metrics = new DeletingServiceMetrics(serviceName);
+    return ms.register(metrics.getSourceName(),
+        "OM Deleting Service Metrics", metrics);
+  }
+
+  private String getSourceName() {
+    return serviceName + "Metrics";
+  }
+
+  public void unregister() {
+    MetricsSystem ms = DefaultMetricsSystem.instance();
+    ms.unregisterSource(getSourceName());
+  }
+
+  public void incrNumKeysPurged(long keys) {
+    numKeysPurged.incr(keys);
+  }
+
+  public void setKeysPurgedPerSecond(long keys) {
+    keysPurgedPerSecond.set(keys);
+  }
+
+  public void setDeletedKeyBacklog(long entries) {
+    deletedKeyBacklog.set(entries);
+  }
+
+  public void setKeyPurgeBatchLimit(int keys) {
+    keyPurgeBatchLimit.set(keys);
+  }
+
+  public void incrNumPathsPurged(long paths) {
+    numPathsPurged.incr(paths);
+  }
+
+  public void setPathsPurgedPerSecond(long paths) {
+    pathsPurgedPerSecond.set(paths);
+  }
+
+  public void setDeletedDirBacklog(long entries) {
+    deletedDirBacklog.set(entries);
+  }
+
+  public void setPathPurgeBatchLimit(int paths) {
+    pathPurgeBatchLimit.set(paths);
+  }
+
+  public void addPurgeCommitLatency(long latencyMs) {
+    purgeCommitLatency.add(latencyMs);
+  }
+
+  public long getNumKeysPurged() {
+    return numKeysPurged.value();
+  }
+
+  public long getKeysPurgedPerSecond() {
+    return keysPurgedPerSecond.value();
+  }
+
+  public long getDeletedKeyBacklog() {
+    return deletedKeyBacklog.value();
+  }
+
+  public int getKeyPurgeBatchLimit() {
+    return keyPurgeBatchLimit.value();
+  }
+
+  public long getNumPathsPurged() {
+    return numPathsPurged.value();
+  }
+
+  public long getPathsPurgedPerSecond() {
+    return pathsPurgedPerSecond.value();
+  }
+
+  public long getDeletedDirBacklog() {
+    return deletedDirBacklog.value();
+  }
+
+  public int getPathPurgeBatchLimit() {
+    return pathPurgeBatchLimit.value();
+  }
+}
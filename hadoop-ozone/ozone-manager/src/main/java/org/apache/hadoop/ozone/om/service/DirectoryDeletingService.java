@@ -25,7 +25,6 @@
 import org.apache.hadoop.hdds.utils.BackgroundTaskResult;
 import org.apache.hadoop.hdds.utils.db.Table;
 import org.apache.hadoop.hdds.utils.db.Table.KeyValue;
-import org.apache.hadoop.hdds.utils.db.TableIterator;
 import org.apache.hadoop.ozone.om.IOmMetadataReader;
 import org.apache.hadoop.ozone.om.OMConfigKeys;
 import org.apache.hadoop.ozone.om.OmMetadataManagerImpl;
@@ -50,6 +49,10 @@
 
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_PATH_DELETING_LIMIT_PER_TASK;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_PATH_DELETING_LIMIT_PER_TASK_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_DIR_DELETING_SERVICE_WORKERS;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_DIR_DELETING_SERVICE_WORKERS_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_DELETING_SERVICE_PURGE_LATENCY_TARGET;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_DELETING_SERVICE_PURGE_LATENCY_TARGET_DEFAULT;
 
 /**
  * This is a background service to delete orphan directories and its
@@ -67,6 +70,13 @@
  * After moving all sub-files and sub-dirs the parent orphan directory will be
  * deleted by this service. It will continue traversing until all the leaf path
  * components of an orphan directory is visited.
+ *
+ * <p>
+ * Each run has a configurable number of concurrent tasks, which take the
+ * orphan dirs from a shared {@link DeletedTableCursor}, so that each dir is
+ * handled by one task. Each task submits its purge requests in batches,
+ * whose size is adapted to the time they take to be committed, see
+ * {@link PurgeBatchLimit}.
  */
 public class DirectoryDeletingService extends AbstractKeyDeletingService {
   public static final Logger LOG =
@@ -74,25 +84,40 @@ public class DirectoryDeletingService extends AbstractKeyDeletingService {
 
   private static ClientId clientId = ClientId.randomId();
 
-  // Use only a single thread for DirDeletion. Multiple threads would read
-  // or write to same tables and can send deletion requests for same key
-  // multiple times.
-  private static final int DIR_DELETING_CORE_POOL_SIZE = 1;
   private static final int MIN_ERR_LIMIT_PER_TASK = 1000;
 
-  // Number of items(dirs/files) to be batched in an iteration.
+  // Number of items(dirs/files) to be handled by a task in a run.
   private final long pathLimitPerTask;
   private final int ratisByteLimit;
+  private final int workers;
+  // Number of items(dirs/files) to be batched in an iteration.
+  private final PurgeBatchLimit batchLimit;
+  private final DeletedTableCursor<OmKeyInfo> cursor =
+      new DeletedTableCursor<>();
   private final AtomicBoolean suspended;
 
   public DirectoryDeletingService(long interval, TimeUnit unit,
       long serviceTimeout, OzoneManager ozoneManager,
       OzoneConfiguration configuration) {
+    this(interval, unit, serviceTimeout, ozoneManager, configuration,
+        Math.max(1, configuration.getInt(OZONE_DIR_DELETING_SERVICE_WORKERS,
+            OZONE_DIR_DELETING_SERVICE_WORKERS_DEFAULT)));
+  }
+
+  private DirectoryDeletingService(long interval, TimeUnit unit,
+      long serviceTimeout, OzoneManager ozoneManager,
+      OzoneConfiguration configuration, int workers) {
     super(KeyDeletingService.class.getSimpleName(), interval, unit,
-        DIR_DELETING_CORE_POOL_SIZE, serviceTimeout, ozoneManager, null);
+        workers, serviceTimeout, ozoneManager, null);
     this.pathLimitPerTask = configuration
         .getInt(OZONE_PATH_DELETING_LIMIT_PER_TASK,
             OZONE_PATH_DELETING_LIMIT_PER_TASK_DEFAULT);
+    this.workers = workers;
+    this.batchLimit = new PurgeBatchLimit((int) pathLimitPerTask,
+        configuration.getTimeDuration(
+            OZONE_DELETING_SERVICE_PURGE_LATENCY_TARGET,
+            OZONE_DELETING_SERVICE_PURGE_LATENCY_TARGET_DEFAULT,
+            TimeUnit.MILLISECONDS));
     int limit = (int) configuration.getStorageSize(
         OMConfigKeys.OZONE_OM_RATIS_LOG_APPENDER_QUEUE_BYTE_LIMIT,
         OMConfigKeys.OZONE_OM_RATIS_LOG_APPENDER_QUEUE_BYTE_LIMIT_DEFAULT,
@@ -126,15 +151,35 @@ public void resume() {
     suspended.set(false);
   }
 
+  @Override
+  protected void onPurgeCommitted(long latencyMs) {
+    super.onPurgeCommitted(latencyMs);
+    batchLimit.update(latencyMs);
+  }
+
   @Override
   public BackgroundTaskQueue getTasks() {
     BackgroundTaskQueue queue = new BackgroundTaskQueue();
-    queue.add(new DirectoryDeletingService.DirDeletingTask());
+    if (startRun(workers)) {
+      cursor.startRun(
+          getOzoneManager().getMetadataManager().getDeletedDirTable());
+      for (int i = 0; i < workers; i++) {
+        queue.add(new DirectoryDeletingService.DirDeletingTask(i));
+      }
+    }
     return queue;
   }
 
   private class DirDeletingTask implements BackgroundTask {
 
+    private final int index;
+    // A dir taken from the cursor which did not fit in the last batch.
+    private KeyValue<String, OmKeyInfo> pending;
+
+    DirDeletingTask(int index) {
+      this.index = index;
+    }
+
     @Override
     public int getPriority() {
       return 0;
@@ -142,91 +187,144 @@ public int getPriority() {
 
     @Override
     public BackgroundTaskResult call() {
-      if (shouldRun()) {
-        if (LOG.isDebugEnabled()) {
-          LOG.debug("Running DirectoryDeletingService");
-        }
-        getRunCount().incrementAndGet();
-        long dirNum = 0L;
-        long subDirNum = 0L;
-        long subFileNum = 0L;
-        long remainNum = pathLimitPerTask;
-        int consumedSize = 0;
-        List<PurgePathRequest> purgePathRequestList = new ArrayList<>();
-        List<Pair<String, OmKeyInfo>> allSubDirList
-            = new ArrayList<>((int) remainNum);
-
-        // Acquire active DB deletedDirectoryTable write lock because of the
-        // deletedDirTable read-write here to avoid interleaving with
-        // the table range delete operation in createOmSnapshotCheckpoint()
-        // that is called from OMSnapshotCreateResponse#addToDBBatch.
-        getOzoneManager().getMetadataManager().getTableLock(
-            OmMetadataManagerImpl.DELETED_DIR_TABLE).writeLock().lock();
-
-        Table.KeyValue<String, OmKeyInfo> pendingDeletedDirInfo;
-        try (TableIterator<String, ? extends KeyValue<String, OmKeyInfo>>
-                 deleteTableIterator = getOzoneManager().getMetadataManager().
-            getDeletedDirTable().iterator()) {
-
-          long startTime = Time.monotonicNow();
-          while (remainNum > 0 && deleteTableIterator.hasNext()) {
-            pendingDeletedDirInfo = deleteTableIterator.next();
-            // Do not reclaim if the directory is still being referenced by
-            // the previous snapshot.
-            if (previousSnapshotHasDir(pendingDeletedDirInfo)) {
-              continue;
-            }
-
-            PurgePathRequest request = prepareDeleteDirRequest(
-                remainNum, pendingDeletedDirInfo.getValue(),
-                pendingDeletedDirInfo.getKey(), allSubDirList,
-                getOzoneManager().getKeyManager());
-            if (isBufferLimitCrossed(ratisByteLimit, consumedSize,
-                request.getSerializedSize())) {
-              if (purgePathRequestList.size() != 0) {
-                // if message buffer reaches max limit, avoid sending further
-                remainNum = 0;
-                break;
-              }
-              // if directory itself is having a lot of keys / files,
-              // reduce capacity to minimum level
-              remainNum = MIN_ERR_LIMIT_PER_TASK;
-              request = prepareDeleteDirRequest(
-                  remainNum, pendingDeletedDirInfo.getValue(),
-                  pendingDeletedDirInfo.getKey(), allSubDirList,
-                  getOzoneManager().getKeyManager());
-            }
-            consumedSize += request.getSerializedSize();
-            purgePathRequestList.add(request);
-            remainNum = remainNum - request.getDeletedSubFilesCount();
-            remainNum = remainNum - request.getMarkDeletedSubDirsCount();
-            // Count up the purgeDeletedDir, subDirs and subFiles
-            if (request.getDeletedDir() != null
-                && !request.getDeletedDir().isEmpty()) {
-              dirNum++;
-            }
-            subDirNum += request.getMarkDeletedSubDirsCount();
-            subFileNum += request.getDeletedSubFilesCount();
+      try {
+        if (shouldRun()) {
+          if (LOG.isDebugEnabled()) {
+            LOG.debug("Running DirectoryDeletingService");
+          }
+          if (index == 0) {
+            getRunCount().incrementAndGet();
           }
+          deleteDirs();
+        }
+      } finally {
+        if (completeTask()) {
+          completeRun();
+        }
+      }
 
-          optimizeDirDeletesAndSubmitRequest(
-              remainNum, dirNum, subDirNum, subFileNum,
-              allSubDirList, purgePathRequestList, null, startTime,
-              ratisByteLimit - consumedSize,
-              getOzoneManager().getKeyManager());
+      // place holder by returning empty results of this call back.
+      return BackgroundTaskResult.EmptyTaskResult.newResult();
+    }
 
-        } catch (IOException e) {
-          LOG.error("Error while running delete directories and files " +
-              "background task. Will retry at next run.", e);
+    private void deleteDirs() {
+      // Acquire active DB deletedDirectoryTable read lock because of the
+      // deletedDirTable read-write here to avoid interleaving with
+      // the table range delete operation in createOmSnapshotCheckpoint()
+      // that is called from OMSnapshotCreateResponse#addToDBBatch. The
+      // tasks of a run share the lock, they work on disjoint dirs.
+      getOzoneManager().getMetadataManager().getTableLock(
+          OmMetadataManagerImpl.DELETED_DIR_TABLE).readLock().lock();
+      try {
+        cursor.open();
+        try {
+          long remainLimit = pathLimitPerTask;
+          while (remainLimit > 0 && (pending != null || !cursor.isDone())) {
+            long limit = Math.min(remainLimit, batchLimit.get());
+            long remainNum = deleteDirBatch(limit);
+            remainLimit -= Math.max(1, limit - remainNum);
+          }
         } finally {
-          // Release deletedDirectoryTable write lock
-          getOzoneManager().getMetadataManager().getTableLock(
-              OmMetadataManagerImpl.DELETED_DIR_TABLE).writeLock().unlock();
+          cursor.close();
         }
+      } catch (IOException e) {
+        LOG.error("Error while running delete directories and files " +
+            "background task. Will retry at next run.", e);
+      } finally {
+        // Release deletedDirectoryTable read lock
+        getOzoneManager().getMetadataManager().getTableLock(
+            OmMetadataManagerImpl.DELETED_DIR_TABLE).readLock().unlock();
       }
+    }
 
-      // place holder by returning empty results of this call back.
-      return BackgroundTaskResult.EmptyTaskResult.newResult();
+    /**
+     * Deletes the next orphan dirs and their sub paths, up to the given
+     * number of items, in one purge request.
+     *
+     * @return the number of items left.
+     */
+    private long deleteDirBatch(long limit) throws IOException {
+      long dirNum = 0L;
+      long subDirNum = 0L;
+      long subFileNum = 0L;
+      long remainNum = limit;
+      int consumedSize = 0;
+      List<PurgePathRequest> purgePathRequestList = new ArrayList<>();
+      List<Pair<String, OmKeyInfo>> allSubDirList
+          = new ArrayList<>((int) remainNum);
+
+      Table.KeyValue<String, OmKeyInfo> pendingDeletedDirInfo;
+      long startTime = Time.monotonicNow();
+      while (remainNum > 0 && (pendingDeletedDirInfo = nextDir()) != null) {
+        // Do not reclaim if the directory is still being referenced by
+        // the previous snapshot.
+        if (previousSnapshotHasDir(pendingDeletedDirInfo)) {
+          continue;
+        }
+
+        PurgePathRequest request = prepareDeleteDirRequest(
+            remainNum, pendingDeletedDirInfo.getValue(),
+            pendingDeletedDirInfo.getKey(), allSubDirList,
+            getOzoneManager().getKeyManager());
+        if (isBufferLimitCrossed(ratisByteLimit, consumedSize,
+            request.getSerializedSize())) {
+          if (purgePathRequestList.size() != 0) {
+            // if message buffer reaches max limit, avoid sending further,
+            // the dir goes to the next batch
+            pending = pendingDeletedDirInfo;
+            remainNum = 0;
+            break;
+          }
+          // if directory itself is having a lot of keys / files,
+          // reduce capacity to minimum level
+          remainNum = MIN_ERR_LIMIT_PER_TASK;
+          request = prepareDeleteDirRequest(
+              remainNum, pendingDeletedDirInfo.getValue(),
+              pendingDeletedDirInfo.getKey(), allSubDirList,
+              getOzoneManager().getKeyManager());
+        }
+        consumedSize += request.getSerializedSize();
+        purgePathRequestList.add(request);
+        remainNum = remainNum - request.getDeletedSubFilesCount();
+        remainNum = remainNum - request.getMarkDeletedSubDirsCount();
+        // Count up the purgeDeletedDir, subDirs and subFiles
+        if (request.getDeletedDir() != null
+            && !request.getDeletedDir().isEmpty()) {
+          dirNum++;
+        }
+        subDirNum += request.getMarkDeletedSubDirsCount();
+        subFileNum += request.getDeletedSubFilesCount();
+      }
+
+      return optimizeDirDeletesAndSubmitRequest(
+          remainNum, dirNum, subDirNum, subFileNum,
+          allSubDirList, purgePathRequestList, null, startTime,
+          ratisByteLimit - consumedSize,
+          getOzoneManager().getKeyManager());
+    }
+
+    private KeyValue<String, OmKeyInfo> nextDir() throws IOException {
+      if (pending != null) {
+        KeyValue<String, OmKeyInfo> next = pending;
+        pending = null;
+        return next;
+      }
+      return cursor.next();
+    }
+
+    /** Reports the progress of the run, in the last task of the run. */
+    private void completeRun() {
+      DeletingServiceMetrics metrics = getMetrics();
+      Pair<Long, Long> progress = endRun();
+      metrics.incrNumPathsPurged(progress.getLeft());
+      metrics.setPathsPurgedPerSecond(progress.getRight());
+      metrics.setPathPurgeBatchLimit(batchLimit.get());
+      try {
+        metrics.setDeletedDirBacklog(getOzoneManager().getMetadataManager()
+            .getDeletedDirTable().getEstimatedKeyCount());
+      } catch (IOException e) {
+        LOG.warn("Failed to get the number of dirs in deletedDirTable", e);
+      }
     }
 
     private boolean previousSnapshotHasDir(
@@ -25,6 +25,7 @@
 import java.util.concurrent.atomic.AtomicLong;
 
 import com.google.protobuf.ServiceException;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.scm.protocol.ScmBlockLocationProtocol;
 import org.apache.hadoop.hdds.utils.db.Table;
@@ -55,6 +56,10 @@
 import static org.apache.hadoop.ozone.om.helpers.SnapshotInfo.SnapshotStatus.SNAPSHOT_ACTIVE;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_KEY_DELETING_LIMIT_PER_TASK;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_KEY_DELETING_LIMIT_PER_TASK_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_KEY_DELETING_SERVICE_WORKERS;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_KEY_DELETING_SERVICE_WORKERS_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_DELETING_SERVICE_PURGE_LATENCY_TARGET;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_DELETING_SERVICE_PURGE_LATENCY_TARGET_DEFAULT;
 
 import org.apache.hadoop.ozone.om.PendingKeysDeletion;
 import org.apache.hadoop.ozone.om.SnapshotChainManager;
@@ -73,19 +78,24 @@
  * periodically to get the keys from DeletedTable and ask scm to delete
  * metadata accordingly, if scm returns success for keys, then clean up those
  * keys.
+ * <p>
+ * Each run has a configurable number of concurrent tasks, which take the
+ * keys from a shared {@link DeletedTableCursor} in batches, so that the
+ * tasks work on disjoint key ranges and their purge requests are committed
+ * concurrently. The size of the batches is adapted to the time the purge
+ * requests take to be committed, see {@link PurgeBatchLimit}.
  */
 public class KeyDeletingService extends AbstractKeyDeletingService {
   private static final Logger LOG =
       LoggerFactory.getLogger(KeyDeletingService.class);
 
-  // Use only a single thread for KeyDeletion. Multiple threads would read
-  // from the same table and can send deletion requests for same key multiple
-  // times.
-  private static final int KEY_DELETING_CORE_POOL_SIZE = 1;
-
   private final KeyManager manager;
   private static ClientId clientId = ClientId.randomId();
   private final int keyLimitPerTask;
+  private final int workers;
+  private final PurgeBatchLimit batchLimit;
+  private final DeletedTableCursor<RepeatedOmKeyInfo> cursor =
+      new DeletedTableCursor<>();
   private final AtomicLong deletedKeyCount;
   private final AtomicBoolean suspended;
 
@@ -93,12 +103,26 @@ public KeyDeletingService(OzoneManager ozoneManager,
       ScmBlockLocationProtocol scmClient,
       KeyManager manager, long serviceInterval,
       long serviceTimeout, ConfigurationSource conf) {
+    this(ozoneManager, scmClient, manager, serviceInterval, serviceTimeout,
+        conf, Math.max(1, conf.getInt(OZONE_KEY_DELETING_SERVICE_WORKERS,
+            OZONE_KEY_DELETING_SERVICE_WORKERS_DEFAULT)));
+  }
+
+  private KeyDeletingService(OzoneManager ozoneManager,
+      ScmBlockLocationProtocol scmClient,
+      KeyManager manager, long serviceInterval,
+      long serviceTimeout, ConfigurationSource conf, int workers) {
     super(KeyDeletingService.class.getSimpleName(), serviceInterval,
-        TimeUnit.MILLISECONDS, KEY_DELETING_CORE_POOL_SIZE,
+        TimeUnit.MILLISECONDS, workers,
         serviceTimeout, ozoneManager, scmClient);
     this.manager = manager;
     this.keyLimitPerTask = conf.getInt(OZONE_KEY_DELETING_LIMIT_PER_TASK,
         OZONE_KEY_DELETING_LIMIT_PER_TASK_DEFAULT);
+    this.workers = workers;
+    this.batchLimit = new PurgeBatchLimit(keyLimitPerTask,
+        conf.getTimeDuration(OZONE_DELETING_SERVICE_PURGE_LATENCY_TARGET,
+            OZONE_DELETING_SERVICE_PURGE_LATENCY_TARGET_DEFAULT,
+            TimeUnit.MILLISECONDS));
     this.deletedKeyCount = new AtomicLong(0);
     this.suspended = new AtomicBoolean(false);
   }
@@ -113,10 +137,26 @@ public AtomicLong getDeletedKeyCount() {
     return deletedKeyCount;
   }
 
+  @Override
+  protected long getDeletedObjectCount() {
+    return deletedKeyCount.get();
+  }
+
+  @Override
+  protected void onPurgeCommitted(long latencyMs) {
+    super.onPurgeCommitted(latencyMs);
+    batchLimit.update(latencyMs);
+  }
+
   @Override
   public BackgroundTaskQueue getTasks() {
     BackgroundTaskQueue queue = new BackgroundTaskQueue();
-    queue.add(new KeyDeletingTask());
+    if (startRun(workers)) {
+      cursor.startRun(manager.getMetadataManager().getDeletedTable());
+      for (int i = 0; i < workers; i++) {
+        queue.add(new KeyDeletingTask(i));
+      }
+    }
     return queue;
   }
 
@@ -153,6 +193,12 @@ public void resume() {
    */
   private class KeyDeletingTask implements BackgroundTask {
 
+    private final int index;
+
+    KeyDeletingTask(int index) {
+      this.index = index;
+    }
+
     @Override
     public int getPriority() {
       return 0;
@@ -162,54 +208,97 @@ public int getPriority() {
     public BackgroundTaskResult call() {
       // Check if this is the Leader OM. If not leader, no need to execute this
       // task.
-      if (shouldRun()) {
-        getRunCount().incrementAndGet();
-
-        // Acquire active DB deletedTable write lock because of the
-        // deletedTable read-write here to avoid interleaving with
-        // the table range delete operation in createOmSnapshotCheckpoint()
-        // that is called from OMSnapshotCreateResponse#addToDBBatch.
-        manager.getMetadataManager().getTableLock(
-            OmMetadataManagerImpl.DELETED_TABLE).writeLock().lock();
-        int delCount = 0;
-        try {
-          // TODO: [SNAPSHOT] HDDS-7968. Reclaim eligible key blocks in
-          //  snapshot's deletedTable when active DB's deletedTable
-          //  doesn't have enough entries left.
-          //  OM would have to keep track of which snapshot the key is coming
-          //  from if the above would be done inside getPendingDeletionKeys().
-
-          PendingKeysDeletion pendingKeysDeletion = manager
-              .getPendingDeletionKeys(keyLimitPerTask);
-          List<BlockGroup> keyBlocksList = pendingKeysDeletion
-              .getKeyBlocksList();
-          if (keyBlocksList != null && !keyBlocksList.isEmpty()) {
-            delCount = processKeyDeletes(keyBlocksList,
-                getOzoneManager().getKeyManager(),
-                pendingKeysDeletion.getKeysToModify(), null);
-            deletedKeyCount.addAndGet(delCount);
+      try {
+        if (shouldRun()) {
+          if (index == 0) {
+            getRunCount().incrementAndGet();
           }
-        } catch (IOException e) {
-          LOG.error("Error while running delete keys background task. Will " +
-              "retry at next run.", e);
-        } finally {
-          // Release deletedTable write lock
-          manager.getMetadataManager().getTableLock(
-              OmMetadataManagerImpl.DELETED_TABLE).writeLock().unlock();
+          deleteKeys();
+        }
+      } finally {
+        if (completeTask()) {
+          completeRun();
         }
+      }
+      // By design, no one cares about the results of this call back.
+      return EmptyTaskResult.newResult();
+    }
 
+    private void deleteKeys() {
+      // Acquire active DB deletedTable read lock because of the
+      // deletedTable read-write here to avoid interleaving with
+      // the table range delete operation in createOmSnapshotCheckpoint()
+      // that is called from OMSnapshotCreateResponse#addToDBBatch. The
+      // tasks of a run share the lock, they work on disjoint keys.
+      manager.getMetadataManager().getTableLock(
+          OmMetadataManagerImpl.DELETED_TABLE).readLock().lock();
+      try {
+        // TODO: [SNAPSHOT] HDDS-7968. Reclaim eligible key blocks in
+        //  snapshot's deletedTable when active DB's deletedTable
+        //  doesn't have enough entries left.
+        //  OM would have to keep track of which snapshot the key is coming
+        //  from if the above would be done inside getPendingDeletionKeys().
+        cursor.open();
         try {
-          if (delCount < keyLimitPerTask) {
-            processSnapshotDeepClean(delCount);
+          int scanned = 0;
+          while (scanned < keyLimitPerTask) {
+            List<Table.KeyValue<String, RepeatedOmKeyInfo>> entries =
+                cursor.next(Math.min(batchLimit.get(),
+                    keyLimitPerTask - scanned));
+            if (entries.isEmpty()) {
+              break;
+            }
+            scanned += entries.size();
+            PendingKeysDeletion pendingKeysDeletion = manager
+                .getPendingDeletionKeys(entries.iterator(), Integer.MAX_VALUE);
+            List<BlockGroup> keyBlocksList = pendingKeysDeletion
+                .getKeyBlocksList();
+            if (keyBlocksList != null && !keyBlocksList.isEmpty()) {
+              int delCount = processKeyDeletes(keyBlocksList,
+                  getOzoneManager().getKeyManager(),
+                  pendingKeysDeletion.getKeysToModify(), null);
+              deletedKeyCount.addAndGet(delCount);
+            }
           }
-        } catch (Exception e) {
-          LOG.error("Error while running deep clean on snapshots. Will " +
-              "retry at next run.", e);
+        } finally {
+          cursor.close();
         }
+      } catch (IOException e) {
+        LOG.error("Error while running delete keys background task. Will " +
+            "retry at next run.", e);
+      } finally {
+        // Release deletedTable read lock
+        manager.getMetadataManager().getTableLock(
+            OmMetadataManagerImpl.DELETED_TABLE).readLock().unlock();
+      }
+    }
 
+    /**
+     * Deep cleans the snapshots if the run did not reach the limit, and
+     * reports the progress of the run, in the last task of the run.
+     */
+    private void completeRun() {
+      DeletingServiceMetrics metrics = getMetrics();
+      try {
+        long delCount = getRunDeletedCount();
+        if (shouldRun() && delCount < keyLimitPerTask) {
+          processSnapshotDeepClean((int) delCount);
+        }
+      } catch (Exception e) {
+        LOG.error("Error while running deep clean on snapshots. Will " +
+            "retry at next run.", e);
+      } finally {
+        Pair<Long, Long> progress = endRun();
+        metrics.incrNumKeysPurged(progress.getLeft());
+        metrics.setKeysPurgedPerSecond(progress.getRight());
+        metrics.setKeyPurgeBatchLimit(batchLimit.get());
+      }
+      try {
+        metrics.setDeletedKeyBacklog(manager.getMetadataManager()
+            .getDeletedTable().getEstimatedKeyCount());
+      } catch (IOException e) {
+        LOG.warn("Failed to get the number of keys in deletedTable", e);
       }
-      // By design, no one cares about the results of this call back.
-      return EmptyTaskResult.newResult();
     }
 
     private void processSnapshotDeepClean(int delCount)
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.om.service;
+
+/**
+ * Number of entries of the batches of a deleting service, adapted to the
+ * time their purge requests take to be committed through Ratis.
+ * <p>
+ * The limit starts at its maximum. It is halved, down to a minimum, when a
+ * commit takes longer than the target, and grows back by an eighth of the
+ * maximum when a commit takes less than half of the target, so that the
+ * batches back off quickly when the Ratis log falls behind.
+ */
+class PurgeBatchLimit {
+
+  private static final int MIN_FRACTION = 32;
+  private static final int INCREASE_FRACTION = 8;
+
+  private final int max;
+  private final int min;
+  private final long targetLatencyMs;
+  private int limit;
+
+  /**
+   * @param targetLatencyMs the target commit time, 0 to always use the
+   * maximum.
+   */
+  PurgeBatchLimit(int max, long targetLatencyMs) {
+    this.max = Math.max(1, max);
+    this.min = Math.max(1, this.max / MIN_FRACTION);
+    this.targetLatencyMs = targetLatencyMs;
+    this.limit = this.max;
+  }
+
+  synchronized int get() {
+    return limit;
+  }
+
+  /** Adapts the limit to the commit time of a purge request. */
+  synchronized void update(long latencyMs) {
+    if (targetLatencyMs <= 0) {
+      return;
+    }
+    if (latencyMs > targetLatencyMs) {
+      limit = Math.max(min, limit / 2);
+    } else if (latencyMs < targetLatencyMs / 2) {
+      limit = Math.min(max, limit + Math.max(1, max / INCREASE_FRACTION));
+    }
+  }
+}
@@ -223,11 +223,33 @@ private OMResponse submitReadRequestToOM(OMRequest request)
     if (raftServerStatus == LEADER_AND_READY ||
         request.getCmdType().equals(PrepareStatus)) {
       return handler.handleReadRequest(request);
+    } else if (raftServerStatus == NOT_LEADER &&
+        omRatisServer.isFollowerReadEnabled() &&
+        OmUtils.isFollowerReadAllowed(request)) {
+      return submitFollowerReadRequestToOM(request);
     } else {
       throw createLeaderErrorException(raftServerStatus);
     }
   }
 
+  /**
+   * Serves a read request on a follower, after it has caught up with the
+   * commit index of the leader. The request is executed in the RPC handler
+   * thread and not as a Ratis query, so that the caller is known for ACL
+   * checks.
+   */
+  private OMResponse submitFollowerReadRequestToOM(OMRequest request)
+      throws ServiceException {
+    try {
+      omRatisServer.waitForReadIndex();
+    } catch (ServiceException e) {
+      ozoneManager.getMetrics().incNumFollowerReadFails();
+      throw e;
+    }
+    ozoneManager.getMetrics().incNumFollowerReads();
+    return handler.handleReadRequest(request);
+  }
+
   private ServiceException createLeaderErrorException(
       RaftServerStatus raftServerStatus) {
     if (raftServerStatus == NOT_LEADER) {
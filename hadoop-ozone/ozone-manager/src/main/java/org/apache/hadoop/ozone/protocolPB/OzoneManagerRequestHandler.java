@@ -84,7 +84,10 @@
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.EchoRPCResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.FinalizeUpgradeProgressRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.FinalizeUpgradeProgressResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.FileStatusResult;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetFileStatusRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetFileStatusesRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetFileStatusesResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetFileStatusResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetKeyInfoRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetKeyInfoResponse;
@@ -260,6 +263,11 @@ public OMResponse handleReadRequest(OMRequest request) {
             request.getGetFileStatusRequest(), request.getVersion());
         responseBuilder.setGetFileStatusResponse(getFileStatusResponse);
         break;
+      case GetFileStatuses:
+        GetFileStatusesResponse getFileStatusesResponse = getFileStatuses(
+            request.getGetFileStatusesRequest(), request.getVersion());
+        responseBuilder.setGetFileStatusesResponse(getFileStatusesResponse);
+        break;
       case LookupFile:
         LookupFileResponse lookupFileResponse =
             lookupFile(request.getLookupFileRequest(), request.getVersion());
@@ -1000,6 +1008,34 @@ private GetFileStatusResponse getOzoneFileStatus(
     return rb.build();
   }
 
+  private GetFileStatusesResponse getFileStatuses(
+      GetFileStatusesRequest request, int clientVersion) throws IOException {
+    KeyArgs keyArgs = request.getKeyArgs();
+    OmKeyArgs omKeyArgs = new OmKeyArgs.Builder()
+        .setVolumeName(keyArgs.getVolumeName())
+        .setBucketName(keyArgs.getBucketName())
+        .setKeyName(keyArgs.getKeyName())
+        .setSortDatanodesInPipeline(keyArgs.getSortDatanodes())
+        .setLatestVersionLocation(keyArgs.getLatestVersionLocation())
+        .setHeadOp(keyArgs.getHeadOp())
+        .build();
+
+    List<String> keyNames = request.getKeyNamesList();
+    List<OzoneFileStatus> statuses =
+        impl.getFileStatuses(omKeyArgs, keyNames);
+    GetFileStatusesResponse.Builder rb = GetFileStatusesResponse.newBuilder();
+    for (int i = 0; i < keyNames.size(); i++) {
+      FileStatusResult.Builder result = FileStatusResult.newBuilder()
+          .setKeyName(keyNames.get(i));
+      OzoneFileStatus status = statuses.get(i);
+      if (status != null) {
+        result.setStatus(status.getProtobuf(clientVersion));
+      }
+      rb.addResults(result);
+    }
+    return rb.build();
+  }
+
   private RangerBGSyncResponse triggerRangerBGSync(
       RangerBGSyncRequest rangerBGSyncRequest) throws IOException {
 
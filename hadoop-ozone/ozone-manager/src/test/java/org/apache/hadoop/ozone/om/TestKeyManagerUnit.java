@@ -42,6 +42,7 @@
 import org.apache.hadoop.hdds.protocol.MockDatanodeDetails;
 import org.apache.hadoop.hdds.protocol.StorageType;
 import org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationType;
 import org.apache.hadoop.hdds.scm.container.common.helpers.ContainerWithPipeline;
 import org.apache.hadoop.hdds.scm.container.ContainerInfo;
 import org.apache.hadoop.hdds.scm.pipeline.MockPipeline;
@@ -52,6 +53,7 @@
 import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
 import org.apache.hadoop.hdds.scm.protocol.StorageContainerLocationProtocol;
 import org.apache.hadoop.ozone.OzoneConsts;
+import org.apache.hadoop.ozone.om.helpers.BucketLayout;
 import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyArgs;
 import org.apache.hadoop.ozone.om.helpers.OmKeyArgs.Builder;
@@ -83,6 +85,7 @@
 import static java.util.Collections.singletonList;
 import static java.util.Comparator.comparing;
 import static java.util.stream.Collectors.toList;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -626,6 +629,125 @@ public void listStatus() throws Exception {
     verify(containerClient, times(1)).getContainerWithPipelineBatch(anySet());
   }
 
+  @Test
+  public void getFileStatuses() throws Exception {
+    String volume = "vol";
+    String bucket = "bucket";
+    String client = "client.host";
+
+    OMRequestTestUtils.addVolumeToDB(volume, OzoneConsts.OZONE,
+        metadataManager);
+    OMRequestTestUtils.addBucketToDB(volume, bucket, metadataManager,
+        BucketLayout.LEGACY);
+
+    final Pipeline pipeline = MockPipeline.createPipeline(3);
+    final List<String> nodes = pipeline.getNodes().stream()
+        .map(DatanodeDetails::getUuidString)
+        .collect(toList());
+
+    Set<Long> containerIDs = new HashSet<>();
+    List<ContainerWithPipeline> containersWithPipeline = new ArrayList<>();
+    List<String> keyNames = new ArrayList<>();
+    for (long i = 1; i <= 5; i++) {
+      final OmKeyLocationInfo keyLocationInfo = new OmKeyLocationInfo.Builder()
+          .setBlockID(new BlockID(i, 1L))
+          .setPipeline(pipeline)
+          .setOffset(0)
+          .setLength(256000)
+          .build();
+      containersWithPipeline.add(new ContainerWithPipeline(
+          new ContainerInfo.Builder().setContainerID(i).build(), pipeline));
+      containerIDs.add(i);
+
+      OmKeyInfo keyInfo = new OmKeyInfo.Builder()
+          .setVolumeName(volume)
+          .setBucketName(bucket)
+          .setCreationTime(Time.now())
+          .setOmKeyLocationInfos(singletonList(
+              new OmKeyLocationInfoGroup(0, new ArrayList<>())))
+          .setReplicationConfig(RatisReplicationConfig
+              .getInstance(ReplicationFactor.THREE))
+          .setKeyName("dir/key" + i)
+          .setObjectID(i)
+          .setUpdateID(i)
+          .build();
+      keyInfo.appendNewBlocks(singletonList(keyLocationInfo), false);
+      OMRequestTestUtils.addKeyToOM(metadataManager, keyInfo);
+      keyNames.add(keyInfo.getKeyName());
+    }
+    keyNames.add("dir");
+    keyNames.add("missing");
+    keyNames.add("");
+
+    when(containerClient.getContainerWithPipelineBatch(anyList()))
+        .thenReturn(containersWithPipeline);
+
+    OmKeyArgs args = new OmKeyArgs.Builder()
+        .setVolumeName(volume)
+        .setBucketName(bucket)
+        .setSortDatanodesInPipeline(true)
+        .build();
+    List<OzoneFileStatus> statuses =
+        keyManager.getFileStatuses(args, keyNames, client);
+
+    Assert.assertEquals(keyNames.size(), statuses.size());
+    for (int i = 0; i < 5; i++) {
+      Assert.assertTrue(statuses.get(i).isFile());
+      Assert.assertEquals(keyNames.get(i),
+          statuses.get(i).getKeyInfo().getKeyName());
+    }
+    // "dir" only exists as a prefix of the keys.
+    Assert.assertTrue(statuses.get(5).isDirectory());
+    Assert.assertNull(statuses.get(6));
+    Assert.assertTrue(statuses.get(7).isDirectory());
+    Assert.assertNull(statuses.get(7).getKeyInfo());
+
+    // The pipelines of all files are refreshed and sorted together.
+    verify(containerClient).getContainerWithPipelineBatch(
+        new ArrayList<>(containerIDs));
+    verify(blockClient, times(1)).sortDatanodes(nodes, client);
+  }
+
+  @Test
+  public void getFileStatusesFSO() throws Exception {
+    String volume = "vol";
+    String bucket = "bucket";
+
+    OMRequestTestUtils.addVolumeToDB(volume, OzoneConsts.OZONE,
+        metadataManager);
+    OmBucketInfo bucketInfo = OMRequestTestUtils.addBucketToDB(volume, bucket,
+        metadataManager, BucketLayout.FILE_SYSTEM_OPTIMIZED);
+
+    OMRequestTestUtils.addDirKeyToDirTable(false,
+        OMRequestTestUtils.createOmDirectoryInfo("a", 100L,
+            bucketInfo.getObjectID()), volume, bucket, 1L, metadataManager);
+    for (int i = 1; i <= 2; i++) {
+      OmKeyInfo fileInfo = OMRequestTestUtils.createOmKeyInfo(volume, bucket,
+          "a/f" + i, ReplicationType.RATIS, ReplicationFactor.ONE, 100L + i,
+          100L, 1L, Time.now());
+      OMRequestTestUtils.addFileToKeyTable(false, false, "f" + i, fileInfo,
+          -1, 1L, metadataManager);
+    }
+
+    OmKeyArgs args = new OmKeyArgs.Builder()
+        .setVolumeName(volume)
+        .setBucketName(bucket)
+        .setHeadOp(true)
+        .build();
+    List<OzoneFileStatus> statuses = keyManager.getFileStatuses(args,
+        Arrays.asList("a/f1", "a", "a/missing", "a/f2", "b/c", "a/f1/x"),
+        null);
+
+    Assert.assertTrue(statuses.get(0).isFile());
+    Assert.assertEquals("a/f1", statuses.get(0).getKeyInfo().getKeyName());
+    Assert.assertTrue(statuses.get(1).isDirectory());
+    Assert.assertEquals("a", statuses.get(1).getKeyInfo().getKeyName());
+    Assert.assertNull(statuses.get(2));
+    Assert.assertTrue(statuses.get(3).isFile());
+    Assert.assertNull(statuses.get(4));
+    Assert.assertNull(statuses.get(5));
+  }
+
   @Test
   public void sortDatanodes() throws Exception {
     // GIVEN
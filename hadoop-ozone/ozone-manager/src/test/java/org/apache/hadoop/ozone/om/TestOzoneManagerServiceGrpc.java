@@ -0,0 +1,266 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.grpc.CallOptions;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import org.apache.hadoop.fs.RemoteIterator;
+import org.apache.hadoop.hdds.client.RatisReplicationConfig;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos;
+import org.apache.hadoop.ozone.ClientVersion;
+import org.apache.hadoop.ozone.om.helpers.ListStatusIterator;
+import org.apache.hadoop.ozone.om.helpers.OmKeyArgs;
+import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.om.helpers.OzoneFileStatus;
+import org.apache.hadoop.ozone.om.protocolPB.GrpcOmStreamingMethods;
+import org.apache.hadoop.ozone.om.protocolPB.GrpcOmTransport;
+import org.apache.hadoop.ozone.om.protocolPB.OmTransport;
+import org.apache.hadoop.ozone.om.protocolPB.OzoneManagerProtocolClientSideTranslatorPB;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyArgs;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ListStatusRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ListStatusResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OzoneFileStatusProto;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Type;
+import org.apache.hadoop.ozone.protocolPB.OzoneManagerProtocolServerSideTranslatorPB;
+import org.apache.hadoop.security.UserGroupInformation;
+import org.apache.hadoop.util.Time;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the streaming methods of {@link OzoneManagerServiceGrpc}.
+ */
+public class TestOzoneManagerServiceGrpc {
+
+  private static final int NUM_KEYS = 25;
+
+  private final AtomicInteger numRequests = new AtomicInteger();
+  private Server server;
+  private ManagedChannel channel;
+
+  @BeforeEach
+  public void setup() throws Exception {
+    List<OzoneFileStatusProto> statuses = new ArrayList<>();
+    for (int i = 0; i < NUM_KEYS; i++) {
+      statuses.add(createStatus(String.format("dir/key%02d", i)));
+    }
+
+    OzoneManagerProtocolServerSideTranslatorPB translator =
+        mock(OzoneManagerProtocolServerSideTranslatorPB.class);
+    when(translator.submitRequest(any(), any())).thenAnswer(invocation -> {
+      numRequests.incrementAndGet();
+      // Like OM, include the start key and return at most numEntries.
+      ListStatusRequest request = invocation.<OMRequest>getArgument(1)
+          .getListStatusRequest();
+      ListStatusResponse.Builder response = ListStatusResponse.newBuilder();
+      for (OzoneFileStatusProto status : statuses) {
+        if (response.getStatusesCount() < request.getNumEntries() &&
+            status.getKeyInfo().getKeyName()
+                .compareTo(request.getStartKey()) >= 0) {
+          response.addStatuses(status);
+        }
+      }
+      return OMResponse.newBuilder()
+          .setCmdType(Type.ListStatus)
+          .setStatus(
+              org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos
+                  .Status.OK)
+          .setSuccess(true)
+          .setListStatusResponse(response)
+          .build();
+    });
+
+    String serverName = InProcessServerBuilder.generateName();
+    server = InProcessServerBuilder.forName(serverName)
+        .directExecutor()
+        .addService(new OzoneManagerServiceGrpc(translator, null,
+            new OzoneConfiguration()).bindServiceWithStreaming())
+        .build()
+        .start();
+    channel = InProcessChannelBuilder.forName(serverName)
+        .directExecutor()
+        .build();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    channel.shutdownNow();
+    server.shutdownNow();
+  }
+
+  @Test
+  public void testListStatusStream() {
+    Iterator<OMResponse> responses = GrpcOmStreamingMethods.listStatusStream(
+        channel, CallOptions.DEFAULT, createListStatusRequest("", 10));
+
+    List<String> keys = new ArrayList<>();
+    List<Integer> batchSizes = new ArrayList<>();
+    while (responses.hasNext()) {
+      ListStatusResponse response = responses.next().getListStatusResponse();
+      batchSizes.add(response.getStatusesCount());
+      for (OzoneFileStatusProto status : response.getStatusesList()) {
+        keys.add(status.getKeyInfo().getKeyName());
+      }
+    }
+
+    // The last key of a batch is not repeated in the next one.
+    assertEquals(3, numRequests.get());
+    assertEquals(Arrays.asList(10, 9, 6), batchSizes);
+    assertEquals(NUM_KEYS, keys.size());
+    for (int i = 0; i < NUM_KEYS; i++) {
+      assertEquals(String.format("dir/key%02d", i), keys.get(i));
+    }
+  }
+
+  @Test
+  public void testListStatusStreamRejectsOtherRequests() {
+    OMRequest request = createListStatusRequest("", 10).toBuilder()
+        .setCmdType(Type.ServiceList)
+        .build();
+    Iterator<OMResponse> responses = GrpcOmStreamingMethods.listStatusStream(
+        channel, CallOptions.DEFAULT, request);
+
+    StatusRuntimeException e =
+        assertThrows(StatusRuntimeException.class, responses::hasNext);
+    assertEquals(Status.Code.INVALID_ARGUMENT, e.getStatus().getCode());
+    assertEquals(0, numRequests.get());
+  }
+
+  @Test
+  public void testListStatusStreamRejectsPageSizeOne() {
+    Iterator<OMResponse> responses = GrpcOmStreamingMethods.listStatusStream(
+        channel, CallOptions.DEFAULT, createListStatusRequest("", 1));
+
+    StatusRuntimeException e =
+        assertThrows(StatusRuntimeException.class, responses::hasNext);
+    assertEquals(Status.Code.INVALID_ARGUMENT, e.getStatus().getCode());
+    assertEquals(0, numRequests.get());
+  }
+
+  @Test
+  public void testListStatusStreamEndsWithLastKeyAsStartKey() {
+    // The only entry of the last batch is the start key.
+    Iterator<OMResponse> responses = GrpcOmStreamingMethods.listStatusStream(
+        channel, CallOptions.DEFAULT, createListStatusRequest("", 5));
+
+    int count = 0;
+    while (responses.hasNext()) {
+      count += responses.next().getListStatusResponse().getStatusesCount();
+    }
+    assertEquals(NUM_KEYS, count);
+    assertEquals(7, numRequests.get());
+  }
+
+  @Test
+  public void testListStatusIteratorRejectsPageSizeOne() throws Exception {
+    OmKeyArgs keyArgs = new OmKeyArgs.Builder()
+        .setVolumeName("vol")
+        .setBucketName("bucket")
+        .setKeyName("dir")
+        .build();
+    OzoneManagerProtocolClientSideTranslatorPB client =
+        new OzoneManagerProtocolClientSideTranslatorPB(
+            mock(OmTransport.class), "client");
+
+    assertThrows(IllegalArgumentException.class,
+        () -> client.listStatusIterator(keyArgs, false, "", 1));
+    assertThrows(IllegalArgumentException.class,
+        () -> ListStatusIterator.paged("", 1, key -> new ArrayList<>()));
+  }
+
+  @Test
+  public void testListStatusIteratorOverGrpc() throws Exception {
+    GrpcOmTransport transport = new GrpcOmTransport(new OzoneConfiguration(),
+        UserGroupInformation.getCurrentUser(), "");
+    transport.startClient(channel);
+    OzoneManagerProtocolClientSideTranslatorPB client =
+        new OzoneManagerProtocolClientSideTranslatorPB(transport, "client");
+    OmKeyArgs keyArgs = new OmKeyArgs.Builder()
+        .setVolumeName("vol")
+        .setBucketName("bucket")
+        .setKeyName("dir")
+        .build();
+
+    RemoteIterator<OzoneFileStatus> statuses =
+        client.listStatusIterator(keyArgs, false, "dir/key05", 4);
+    for (int i = 5; i < NUM_KEYS; i++) {
+      assertEquals(String.format("dir/key%02d", i),
+          statuses.next().getKeyInfo().getKeyName());
+    }
+    assertFalse(statuses.hasNext());
+    // Batches of 4 keys, of which all but the first repeat one key.
+    assertEquals(7, numRequests.get());
+  }
+
+  private static OMRequest createListStatusRequest(String startKey,
+      long numEntries) {
+    return OMRequest.newBuilder()
+        .setCmdType(Type.ListStatus)
+        .setClientId("client")
+        .setListStatusRequest(ListStatusRequest.newBuilder()
+            .setKeyArgs(KeyArgs.newBuilder()
+                .setVolumeName("vol")
+                .setBucketName("bucket")
+                .setKeyName("dir"))
+            .setRecursive(false)
+            .setStartKey(startKey)
+            .setNumEntries(numEntries))
+        .build();
+  }
+
+  private static OzoneFileStatusProto createStatus(String keyName) {
+    long now = Time.now();
+    OmKeyInfo keyInfo = new OmKeyInfo.Builder()
+        .setVolumeName("vol")
+        .setBucketName("bucket")
+        .setKeyName(keyName)
+        .setReplicationConfig(RatisReplicationConfig.getInstance(
+            HddsProtos.ReplicationFactor.ONE))
+        .setCreationTime(now)
+        .setModificationTime(now)
+        .build();
+    return OzoneFileStatusProto.newBuilder()
+        .setKeyInfo(keyInfo.getProtobuf(ClientVersion.CURRENT_VERSION))
+        .setBlockSize(1024)
+        .setIsDirectory(false)
+        .build();
+  }
+}
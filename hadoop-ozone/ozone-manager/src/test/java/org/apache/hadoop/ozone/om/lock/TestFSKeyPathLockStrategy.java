@@ -0,0 +1,161 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.om.lock;
+
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.ozone.om.OMConfigKeys;
+import org.apache.hadoop.ozone.om.OmMetadataManagerImpl;
+import org.apache.hadoop.ozone.om.OzoneManager;
+import org.apache.hadoop.ozone.om.helpers.BucketLayout;
+import org.apache.hadoop.ozone.om.request.OMRequestTestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.apache.hadoop.ozone.om.lock.FSKeyPathLockStrategy.getAncestors;
+import static org.apache.hadoop.ozone.om.lock.FSKeyPathLockStrategy.getPathAndAncestors;
+import static org.apache.hadoop.ozone.om.lock.OzoneManagerLock.Resource.KEY_PATH_LOCK;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link FSKeyPathLockStrategy}.
+ */
+public class TestFSKeyPathLockStrategy {
+
+  private static final String VOLUME = "vol";
+  private static final String BUCKET = "bucket";
+
+  @TempDir
+  private File dbDir;
+
+  private OmMetadataManagerImpl omMetadataManager;
+  private ExecutorService executor;
+
+  @BeforeEach
+  public void setup() throws Exception {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.set(OMConfigKeys.OZONE_OM_DB_DIRS, dbDir.getAbsolutePath());
+    omMetadataManager = new OmMetadataManagerImpl(conf,
+        mock(OzoneManager.class));
+    OMRequestTestUtils.addVolumeAndBucketToDB(VOLUME, BUCKET,
+        omMetadataManager, BucketLayout.FILE_SYSTEM_OPTIMIZED);
+    executor = Executors.newSingleThreadExecutor();
+  }
+
+  @AfterEach
+  public void tearDown() throws Exception {
+    executor.shutdownNow();
+    omMetadataManager.stop();
+  }
+
+  @Test
+  public void testSiblingKeysLockedConcurrently() throws Exception {
+    FSKeyPathLockStrategy strategy = new FSKeyPathLockStrategy();
+    strategy.acquireWriteLock(omMetadataManager, VOLUME, BUCKET, "dir/key1");
+    try {
+      // Only read locks are shared on the common parent directory.
+      Future<?> sibling = executor.submit(() -> {
+        FSKeyPathLockStrategy other = new FSKeyPathLockStrategy();
+        other.acquireWriteLock(omMetadataManager, VOLUME, BUCKET,
+            "dir/key2");
+        other.releaseWriteLock(omMetadataManager, VOLUME, BUCKET, "dir/key2");
+        return null;
+      });
+      sibling.get(10, TimeUnit.SECONDS);
+    } finally {
+      strategy.releaseWriteLock(omMetadataManager, VOLUME, BUCKET,
+          "dir/key1");
+    }
+  }
+
+  @Test
+  public void testDirectoryExcludesKeysInIt() throws Exception {
+    FSKeyPathLockStrategy strategy = new FSKeyPathLockStrategy();
+    strategy.acquireWriteLock(omMetadataManager, VOLUME, BUCKET, "dir/key1");
+    Future<?> directory;
+    try {
+      directory = executor.submit(() -> {
+        FSKeyPathLockStrategy other = new FSKeyPathLockStrategy();
+        other.acquireWriteLock(omMetadataManager, VOLUME, BUCKET, "dir");
+        other.releaseWriteLock(omMetadataManager, VOLUME, BUCKET, "dir");
+        return null;
+      });
+      assertThrows(TimeoutException.class,
+          () -> directory.get(100, TimeUnit.MILLISECONDS));
+    } finally {
+      strategy.releaseWriteLock(omMetadataManager, VOLUME, BUCKET,
+          "dir/key1");
+    }
+    directory.get(10, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void testCreateLocksMissingParents() throws Exception {
+    IOzoneManagerLock lock = omMetadataManager.getLock();
+    FSKeyPathLockStrategy strategy = new FSKeyPathLockStrategy();
+    strategy.acquireCreateLock(omMetadataManager, VOLUME, BUCKET, "dir/key1");
+    try {
+      assertTrue(lock.isWriteLockedByCurrentThread(KEY_PATH_LOCK,
+          VOLUME, BUCKET, "dir"));
+      assertTrue(lock.isWriteLockedByCurrentThread(KEY_PATH_LOCK,
+          VOLUME, BUCKET, "dir/key1"));
+    } finally {
+      strategy.releaseWriteLock(omMetadataManager, VOLUME, BUCKET,
+          "dir/key1");
+    }
+    assertFalse(lock.isWriteLockedByCurrentThread(KEY_PATH_LOCK,
+        VOLUME, BUCKET, "dir"));
+    assertEquals(0, lock.getReadHoldCount(KEY_PATH_LOCK,
+        VOLUME, BUCKET, "dir"));
+  }
+
+  @Test
+  public void testAncestors() {
+    assertEquals(Arrays.asList("a", "a/b"),
+        new ArrayList<>(getAncestors(Collections.singletonList("a/b/c"))));
+    // A key of the operation is not read locked as an ancestor of another.
+    assertEquals(Collections.singletonList("a"),
+        new ArrayList<>(getAncestors(Arrays.asList("a/b/c", "a/b"))));
+  }
+
+  @Test
+  public void testPathAndAncestors() {
+    assertEquals(Arrays.asList("a", "a/b", "a/b/c"),
+        getPathAndAncestors("a/b/c"));
+    // Directory keys and non-normalized names lock the same paths.
+    assertEquals(Arrays.asList("a", "a/b"), getPathAndAncestors("a/b/"));
+    assertEquals(Arrays.asList("a", "a/b"), getPathAndAncestors("/a//b"));
+    assertEquals(Collections.singletonList("a"), getPathAndAncestors("a"));
+    assertEquals(Collections.singletonList(""), getPathAndAncestors(""));
+  }
+}
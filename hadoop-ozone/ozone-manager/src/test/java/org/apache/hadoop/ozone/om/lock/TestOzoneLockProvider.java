@@ -100,6 +100,8 @@ public void testOzoneLockProviderUtil(BucketLayout bucketLayout) {
       } else if (!enableFileSystemPaths &&
           bucketLayout == BucketLayout.LEGACY) {
         Assert.assertTrue(ozoneLockStrategy instanceof OBSKeyPathLockStrategy);
+      } else {
+        Assert.assertTrue(ozoneLockStrategy instanceof FSKeyPathLockStrategy);
       }
     } else {
       Assert.assertTrue(ozoneLockStrategy instanceof RegularBucketLockStrategy);
@@ -0,0 +1,211 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership.  The ASF
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hadoop.ozone.om.ratis;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.ozone.om.OMConfigKeys;
+import org.apache.hadoop.ozone.om.OMMetadataManager;
+import org.apache.hadoop.ozone.om.OmMetadataManagerImpl;
+import org.apache.hadoop.ozone.om.response.OMClientResponse;
+import org.apache.hadoop.ozone.om.response.bucket.OMBucketCreateResponse;
+import org.apache.hadoop.ozone.om.response.key.OMKeyCreateResponse;
+import org.apache.hadoop.ozone.om.response.key.OMKeyRenameResponse;
+import org.apache.hadoop.ozone.om.response.snapshot.OMSnapshotCreateResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Type;
+import org.apache.ozone.test.GenericTestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests how OzoneManagerDoubleBuffer splits, orders and commits batches.
+ */
+class TestOzoneManagerDoubleBufferFlush {
+
+  private OzoneManagerDoubleBuffer doubleBuffer;
+  private OMMetadataManager omMetadataManager;
+  private final OMClientResponse omKeyCreateResponse =
+      mock(OMKeyCreateResponse.class);
+  private final OMClientResponse omBucketCreateResponse =
+      mock(OMBucketCreateResponse.class);
+  private final OMClientResponse omSnapshotCreateResponse =
+      mock(OMSnapshotCreateResponse.class);
+  @TempDir
+  private File tempDir;
+
+  @BeforeEach
+  public void setup() throws IOException {
+    OzoneConfiguration ozoneConfiguration = new OzoneConfiguration();
+    ozoneConfiguration.set(OMConfigKeys.OZONE_OM_DB_DIRS,
+        tempDir.getAbsolutePath());
+    omMetadataManager = new OmMetadataManagerImpl(ozoneConfiguration, null);
+
+    mockResponse(omKeyCreateResponse, Type.CreateKey);
+    mockResponse(omBucketCreateResponse, Type.CreateBucket);
+    mockResponse(omSnapshotCreateResponse, Type.CreateSnapshot);
+  }
+
+  private static void mockResponse(OMClientResponse response, Type type)
+      throws IOException {
+    OMResponse omResponse = mock(OMResponse.class);
+    when(omResponse.getCmdType()).thenReturn(type);
+    when(omResponse.getTraceID()).thenReturn(type.name());
+    when(omResponse.hasCreateSnapshotResponse())
+        .thenReturn(type == Type.CreateSnapshot);
+    when(response.getOMResponse()).thenReturn(omResponse);
+    doNothing().when(response).checkAndUpdateDB(any(), any());
+  }
+
+  @AfterEach
+  public void stop() throws Exception {
+    if (doubleBuffer != null) {
+      doubleBuffer.stop();
+    }
+    omMetadataManager.stop();
+  }
+
+  @Test
+  public void testFlushableIndexHoldsBackEntries() {
+    AtomicLong flushableIndex = new AtomicLong(1L);
+    doubleBuffer = new OzoneManagerDoubleBuffer.Builder()
+        .setOmMetadataManager(omMetadataManager)
+        .setOzoneManagerRatisSnapShot(index -> { })
+        .setmaxUnFlushedTransactionCount(1000)
+        .enableRatis(true)
+        .setIndexToTerm((i) -> 1L)
+        .setFlushableIndex(flushableIndex::get)
+        .build();
+    doubleBuffer.stopDaemon();
+
+    // Transaction 3 is added before 2, which is still being applied.
+    doubleBuffer.add(omBucketCreateResponse, 1);
+    doubleBuffer.add(omKeyCreateResponse, 3);
+
+    doubleBuffer.flushCurrentBuffer();
+    assertEquals(1L, doubleBuffer.getFlushedTransactionCount());
+    assertEquals(1, doubleBuffer.getCurrentBufferSize());
+
+    // Nothing can be flushed, as 2 is not yet added.
+    flushableIndex.set(2L);
+    doubleBuffer.flushCurrentBuffer();
+    assertEquals(1L, doubleBuffer.getFlushedTransactionCount());
+    assertEquals(1, doubleBuffer.getCurrentBufferSize());
+
+    doubleBuffer.add(omKeyCreateResponse, 2);
+    flushableIndex.set(Long.MAX_VALUE);
+    doubleBuffer.flushCurrentBuffer();
+    assertEquals(3L, doubleBuffer.getFlushedTransactionCount());
+    assertEquals(0, doubleBuffer.getCurrentBufferSize());
+  }
+
+  @Test
+  public void testMaxBatchEntries() {
+    doubleBuffer = new OzoneManagerDoubleBuffer.Builder()
+        .setOmMetadataManager(omMetadataManager)
+        .setOzoneManagerRatisSnapShot(index -> { })
+        .setmaxUnFlushedTransactionCount(1000)
+        .enableRatis(true)
+        .setIndexToTerm((i) -> 1L)
+        .setMaxBatchEntries(2)
+        .build();
+    doubleBuffer.stopDaemon();
+
+    for (int i = 1; i <= 5; i++) {
+      doubleBuffer.add(omKeyCreateResponse, i);
+    }
+    doubleBuffer.flushCurrentBuffer();
+
+    assertEquals(3L, doubleBuffer.getFlushIterations());
+    assertEquals(5L, doubleBuffer.getFlushedTransactionCount());
+  }
+
+  @Test
+  public void testPipelinedFlush() throws Exception {
+    List<Long> flushed = Collections.synchronizedList(new ArrayList<>());
+    doubleBuffer = new OzoneManagerDoubleBuffer.Builder()
+        .setOmMetadataManager(omMetadataManager)
+        .setOzoneManagerRatisSnapShot(flushed::addAll)
+        .setmaxUnFlushedTransactionCount(1000)
+        .enableRatis(true)
+        .setIndexToTerm((i) -> 1L)
+        .setMaxBatchEntries(2)
+        .enablePipelinedFlush(true)
+        .build();
+    doubleBuffer.stopDaemon();
+
+    doubleBuffer.add(omKeyCreateResponse, 1);
+    doubleBuffer.add(omBucketCreateResponse, 2);
+    doubleBuffer.add(omKeyCreateResponse, 3);
+    doubleBuffer.add(omSnapshotCreateResponse, 4);
+    doubleBuffer.add(omKeyCreateResponse, 5);
+    doubleBuffer.flushCurrentBuffer();
+
+    GenericTestUtils.waitFor(
+        () -> doubleBuffer.getFlushedTransactionCount() == 5, 100, 10000);
+    // Batches are committed one at a time, in order.
+    assertEquals(Arrays.asList(1L, 2L, 3L, 4L, 5L), flushed);
+    assertEquals(4L, doubleBuffer.getFlushIterations());
+  }
+
+  @Test
+  public void testPipelinedFlushCommitsBeforeRename() throws Exception {
+    doubleBuffer = new OzoneManagerDoubleBuffer.Builder()
+        .setOmMetadataManager(omMetadataManager)
+        .setOzoneManagerRatisSnapShot(index -> { })
+        .setmaxUnFlushedTransactionCount(1000)
+        .enableRatis(true)
+        .setIndexToTerm((i) -> 1L)
+        .enablePipelinedFlush(true)
+        .build();
+    doubleBuffer.stopDaemon();
+
+    // A rename reads snapshotRenamedTable, so the earlier transactions
+    // have to be committed when it is added to a batch.
+    OMClientResponse omKeyRenameResponse = mock(OMKeyRenameResponse.class);
+    mockResponse(omKeyRenameResponse, Type.RenameKey);
+    List<Long> committedBeforeRename = new ArrayList<>();
+    doAnswer(invocation -> committedBeforeRename.add(
+        doubleBuffer.getFlushedTransactionCount()))
+        .when(omKeyRenameResponse).checkAndUpdateDB(any(), any());
+
+    doubleBuffer.add(omKeyCreateResponse, 1);
+    doubleBuffer.add(omKeyRenameResponse, 2);
+    doubleBuffer.add(omKeyCreateResponse, 3);
+    doubleBuffer.add(omKeyRenameResponse, 4);
+    doubleBuffer.flushCurrentBuffer();
+
+    GenericTestUtils.waitFor(
+        () -> doubleBuffer.getFlushedTransactionCount() == 4, 100, 10000);
+    assertEquals(Arrays.asList(1L, 3L), committedBeforeRename);
+  }
+}
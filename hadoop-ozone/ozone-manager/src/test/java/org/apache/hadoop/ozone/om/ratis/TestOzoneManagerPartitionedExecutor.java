@@ -0,0 +1,170 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership.  The ASF
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hadoop.ozone.om.ratis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateKeyRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateVolumeRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyArgs;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Type;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.VolumeInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link OzoneManagerPartitionedExecutor}.
+ */
+class TestOzoneManagerPartitionedExecutor {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(TestOzoneManagerPartitionedExecutor.class);
+
+  private OzoneManagerPartitionedExecutor executor;
+  private final List<Long> flushableOnCompletion =
+      Collections.synchronizedList(new ArrayList<>());
+
+  @BeforeEach
+  void setup() {
+    executor = new OzoneManagerPartitionedExecutor(4,
+        new ThreadFactoryBuilder().setDaemon(true).build(),
+        () -> flushableOnCompletion.add(executor.getFlushableIndex()));
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdown(LOG);
+  }
+
+  @Test
+  void testPartitionKey() {
+    OMRequest createKey = OMRequest.newBuilder()
+        .setCmdType(Type.CreateKey)
+        .setClientId("client")
+        .setCreateKeyRequest(CreateKeyRequest.newBuilder()
+            .setKeyArgs(KeyArgs.newBuilder().setVolumeName("vol")
+                .setBucketName("bucket").setKeyName("key")))
+        .build();
+    assertEquals("/vol/bucket",
+        OzoneManagerPartitionedExecutor.getPartitionKey(createKey));
+
+    OMRequest createVolume = OMRequest.newBuilder()
+        .setCmdType(Type.CreateVolume)
+        .setClientId("client")
+        .setCreateVolumeRequest(CreateVolumeRequest.newBuilder()
+            .setVolumeInfo(VolumeInfo.newBuilder().setVolume("vol")
+                .setAdminName("admin").setOwnerName("owner")))
+        .build();
+    assertNull(OzoneManagerPartitionedExecutor.getPartitionKey(createVolume));
+  }
+
+  @Test
+  void testOtherPartitionsProceedAndFlushableIndex() throws Exception {
+    CountDownLatch blocked = new CountDownLatch(1);
+    CompletableFuture<Long> slow = executor.submit("/vol/a", 1,
+        () -> {
+          await(blocked);
+          return 1L;
+        });
+    CompletableFuture<Long> fast = executor.submit("/vol/b", 2, () -> 2L);
+
+    assertEquals(2L, fast.get(10, TimeUnit.SECONDS));
+    assertFalse(slow.isDone());
+    // Transaction 1 is still running, so nothing can be flushed.
+    assertEquals(0L, executor.getFlushableIndex());
+
+    blocked.countDown();
+    assertEquals(1L, slow.get(10, TimeUnit.SECONDS));
+    assertEquals(Long.MAX_VALUE, executor.getFlushableIndex());
+    // The listener runs once the transaction no longer holds the index back.
+    assertEquals(Arrays.asList(0L, Long.MAX_VALUE), flushableOnCompletion);
+  }
+
+  @Test
+  void testOrderWithinPartitionAndBarrier() throws Exception {
+    List<Long> applied = Collections.synchronizedList(new ArrayList<>());
+    CountDownLatch blocked = new CountDownLatch(1);
+    List<CompletableFuture<Long>> futures = new ArrayList<>();
+    futures.add(executor.submit("/vol/a", 1, () -> {
+      await(blocked);
+      applied.add(1L);
+      return 1L;
+    }));
+    for (long i = 2; i <= 10; i++) {
+      final long index = i;
+      String partition = i % 2 == 0 ? "/vol/a" : "/vol/b";
+      futures.add(executor.submit(partition, i, () -> {
+        applied.add(index);
+        return index;
+      }));
+    }
+    CompletableFuture<Long> barrier = executor.submit(null, 11, () -> {
+      applied.add(11L);
+      return 11L;
+    });
+    futures.add(barrier);
+    futures.add(executor.submit("/vol/b", 12, () -> {
+      applied.add(12L);
+      return 12L;
+    }));
+
+    assertFalse(barrier.isDone());
+    blocked.countDown();
+    for (CompletableFuture<Long> future : futures) {
+      future.get(10, TimeUnit.SECONDS);
+    }
+
+    // Transactions of partition a are applied in log order.
+    List<Long> partitionA = new ArrayList<>();
+    for (long index : applied) {
+      if (index <= 10 && index % 2 == 0 || index == 1) {
+        partitionA.add(index);
+      }
+    }
+    assertEquals(6, partitionA.size());
+    for (int i = 1; i < partitionA.size(); i++) {
+      assertTrue(partitionA.get(i - 1) < partitionA.get(i));
+    }
+    // The barrier is applied after all previous and before all later ones.
+    assertEquals(11L, applied.get(10));
+    assertEquals(12L, applied.get(11));
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
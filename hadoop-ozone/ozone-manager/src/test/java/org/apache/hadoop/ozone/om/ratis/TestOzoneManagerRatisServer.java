@@ -213,6 +213,43 @@ public void testIsReadOnlyCapturesAllCmdTypeEnums() throws Exception {
     }
   }
 
+  /**
+   * Test that the requests served by followers are all read only.
+   */
+  @Test
+  public void testFollowerReadRequestsAreReadOnly() {
+    for (OzoneManagerProtocolProtos.Type cmdtype :
+        OzoneManagerProtocolProtos.Type.values()) {
+      OMRequest request = OMRequest.newBuilder()
+          .setCmdType(cmdtype)
+          .setClientId(clientId)
+          .build();
+      if (OmUtils.isFollowerReadAllowed(request)) {
+        Assert.assertTrue(cmdtype + " is served by followers but is not " +
+            "read only", OmUtils.isReadOnly(request));
+      }
+    }
+  }
+
+  @Test
+  public void testWaitForReadIndex() throws Exception {
+    Assert.assertFalse(omRatisServer.isFollowerReadEnabled());
+    omRatisServer.stop();
+
+    conf.setBoolean(
+        OMConfigKeys.OZONE_OM_RATIS_SERVER_FOLLOWER_READ_ENABLED_KEY, true);
+    omRatisServer = OzoneManagerRatisServer.newOMRatisServer(conf, ozoneManager,
+        omNodeDetails, Collections.emptyMap(), secConfig, certClient, false);
+    omRatisServer.start();
+    Assert.assertTrue(omRatisServer.isFollowerReadEnabled());
+    GenericTestUtils.waitFor(() -> omRatisServer.checkLeaderStatus() ==
+            OzoneManagerRatisServer.RaftServerStatus.LEADER_AND_READY,
+        100, 10000);
+
+    // The single node is the leader, the read index is its commit index.
+    omRatisServer.waitForReadIndex();
+  }
+
   @Test
   public void verifyRaftGroupIdGenerationWithDefaultOmServiceId() throws
       Exception {
@@ -25,6 +25,7 @@
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.OzoneFileStatus;
 import org.apache.hadoop.ozone.om.request.OMRequestTestUtils;
+import org.apache.hadoop.ozone.om.request.file.OMFileRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
 import org.apache.hadoop.ozone.security.acl.OzonePrefixPath;
 import org.apache.hadoop.util.Time;
@@ -219,4 +220,38 @@ public void testRecursiveAccessCheck() throws Exception {
     // false for file1.
     Assert.assertFalse(pathViewer.isCheckRecursiveAccess());
   }
+
+  @Test
+  public void testHasChildrenWithCacheEntries() throws Exception {
+    OMRequestTestUtils.addVolumeAndBucketToDB(volumeName, bucketName,
+        omMetadataManager, BucketLayout.FILE_SYSTEM_OPTIMIZED);
+
+    // c/d/e/file1 is only in the DB.
+    String ozoneKey = addKeyToTable();
+    OmKeyInfo fileInfo =
+        omMetadataManager.getKeyTable(getBucketLayout()).get(ozoneKey);
+    OmKeyInfo dirInfo = OMRequestTestUtils.createOmKeyInfo(volumeName,
+        bucketName, PARENT_DIR, HddsProtos.ReplicationType.RATIS,
+        HddsProtos.ReplicationFactor.ONE, fileInfo.getParentObjectID(),
+        fileInfo.getParentObjectID() - 1, 100, Time.now());
+    Assert.assertTrue(OMFileRequest.hasChildren(dirInfo, omMetadataManager));
+
+    // The file is deleted, but not yet flushed to the DB.
+    omMetadataManager.getKeyTable(getBucketLayout())
+        .addCacheEntry(ozoneKey, 100L);
+    Assert.assertFalse(OMFileRequest.hasChildren(dirInfo, omMetadataManager));
+
+    // Another file is created, but not yet flushed to the DB.
+    OmKeyInfo newFileInfo = OMRequestTestUtils.createOmKeyInfo(volumeName,
+        bucketName, "file2", HddsProtos.ReplicationType.RATIS,
+        HddsProtos.ReplicationFactor.ONE, fileInfo.getObjectID() + 1,
+        fileInfo.getParentObjectID(), 100, Time.now());
+    String newOzoneKey = omMetadataManager.getOzonePathKey(
+        omMetadataManager.getVolumeId(volumeName),
+        omMetadataManager.getBucketId(volumeName, bucketName),
+        newFileInfo.getParentObjectID(), "file2");
+    omMetadataManager.getKeyTable(getBucketLayout())
+        .addCacheEntry(newOzoneKey, newFileInfo, 101L);
+    Assert.assertTrue(OMFileRequest.hasChildren(dirInfo, omMetadataManager));
+  }
 }
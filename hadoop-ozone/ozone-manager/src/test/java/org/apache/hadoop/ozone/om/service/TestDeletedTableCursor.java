@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.om.service;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.utils.db.Table;
+import org.apache.hadoop.ozone.om.OMConfigKeys;
+import org.apache.hadoop.ozone.om.OmMetadataManagerImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test for {@link DeletedTableCursor}.
+ */
+public class TestDeletedTableCursor {
+  @TempDir
+  private File folder;
+
+  private OmMetadataManagerImpl metadataManager;
+  private Table<String, String> table;
+
+  @BeforeEach
+  public void setup() throws Exception {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.set(OMConfigKeys.OZONE_OM_DB_DIRS, folder.getAbsolutePath());
+    metadataManager = new OmMetadataManagerImpl(conf, null);
+    table = metadataManager.getSnapshotRenamedTable();
+  }
+
+  @AfterEach
+  public void cleanup() throws Exception {
+    metadataManager.stop();
+  }
+
+  @Test
+  public void testRunsContinueFromLastEntry() throws Exception {
+    for (String key : Arrays.asList("a", "b", "c", "d", "e")) {
+      table.put(key, key);
+    }
+    DeletedTableCursor<String> cursor = new DeletedTableCursor<>();
+
+    cursor.startRun(table);
+    assertEquals(Arrays.asList("a", "b"), next(cursor, 2));
+
+    // The next run starts after "b" and wraps around to it.
+    table.put("f", "f");
+    table.delete("a");
+    cursor.startRun(table);
+    assertEquals(Arrays.asList("c", "d", "e", "f", "b"), next(cursor, 10));
+    assertTrue(cursor.isDone());
+
+    cursor.startRun(table);
+    assertEquals(Arrays.asList("c", "d", "e", "f", "b"), next(cursor, 10));
+  }
+
+  @Test
+  public void testReopenWithinRun() throws Exception {
+    for (String key : Arrays.asList("a", "b", "c", "d")) {
+      table.put(key, key);
+    }
+    DeletedTableCursor<String> cursor = new DeletedTableCursor<>();
+    cursor.startRun(table);
+    assertEquals(Arrays.asList("a", "b", "c"), next(cursor, 3));
+    cursor.startRun(table);
+    assertEquals(Arrays.asList("d", "a"), next(cursor, 2));
+
+    // The entries handed out are deleted, then the run goes on with a new
+    // iterator.
+    table.delete("d");
+    table.delete("a");
+    assertEquals(Arrays.asList("b", "c"), next(cursor, 10));
+    assertTrue(cursor.isDone());
+  }
+
+  private static List<String> next(DeletedTableCursor<String> cursor,
+      int count) throws IOException {
+    List<String> keys = new ArrayList<>();
+    cursor.open();
+    try {
+      for (Table.KeyValue<String, String> entry : cursor.next(count)) {
+        keys.add(entry.getKey());
+      }
+    } finally {
+      cursor.close();
+    }
+    return keys;
+  }
+}
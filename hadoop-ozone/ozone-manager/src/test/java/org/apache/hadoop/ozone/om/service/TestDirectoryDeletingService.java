@@ -157,4 +157,71 @@ public void testDeleteDirectoryCrossingSizeLimit() throws Exception {
         500, 60000);
     Assert.assertTrue(dirDeletingService.getRunCount().get() >= 1);
   }
+  @Test
+  public void testDeleteDirectoriesWithWorkers() throws Exception {
+    OzoneConfiguration conf = createConfAndInitValues();
+    conf.setTimeDuration(OZONE_DIR_DELETING_SERVICE_INTERVAL, 100,
+        TimeUnit.MILLISECONDS);
+    conf.setInt(OMConfigKeys.OZONE_DIR_DELETING_SERVICE_WORKERS, 3);
+    conf.setInt(OMConfigKeys.OZONE_PATH_DELETING_LIMIT_PER_TASK, 20);
+    OmTestManagers omTestManagers
+        = new OmTestManagers(conf);
+    KeyManager keyManager = omTestManagers.getKeyManager();
+    writeClient = omTestManagers.getWriteClient();
+    om = omTestManagers.getOzoneManager();
+
+    OMRequestTestUtils.addVolumeAndBucketToDB(volumeName, bucketName,
+        om.getMetadataManager(), BucketLayout.FILE_SYSTEM_OPTIMIZED);
+    OmBucketInfo bucketInfo = om.getMetadataManager().getBucketTable()
+        .get(om.getMetadataManager().getBucketKey(volumeName, bucketName));
+
+    // create 10 directories with 10 files each
+    final int dirCount = 10;
+    final int fileCount = 10;
+    long objectID = 1;
+    for (int d = 0; d < dirCount; d++) {
+      OmDirectoryInfo dir = new OmDirectoryInfo.Builder()
+          .setName("dir" + d)
+          .setCreationTime(Time.now())
+          .setModificationTime(Time.now())
+          .setObjectID(objectID++)
+          .setParentObjectID(bucketInfo.getObjectID())
+          .setUpdateID(0)
+          .build();
+      OMRequestTestUtils.addDirKeyToDirTable(true, dir, volumeName,
+          bucketName, 1L, om.getMetadataManager());
+      for (int f = 0; f < fileCount; f++) {
+        String keyName = "file" + f;
+        OmKeyInfo omKeyInfo =
+            OMRequestTestUtils.createOmKeyInfo(volumeName, bucketName,
+                keyName, HddsProtos.ReplicationType.RATIS,
+                HddsProtos.ReplicationFactor.ONE, objectID++,
+                dir.getObjectID(), 100, Time.now());
+        OMRequestTestUtils.addFileToKeyTable(false, true, keyName,
+            omKeyInfo, 1234L, objectID, om.getMetadataManager());
+      }
+    }
+
+    for (int d = 0; d < dirCount; d++) {
+      writeClient.deleteKey(new OmKeyArgs.Builder()
+          .setVolumeName(volumeName)
+          .setBucketName(bucketName)
+          .setKeyName("dir" + d)
+          .setReplicationConfig(StandaloneReplicationConfig.getInstance(
+              HddsProtos.ReplicationFactor.ONE))
+          .setDataSize(0).setRecursive(true)
+          .build());
+    }
+
+    // The workers handle distinct directories, so each file is moved once.
+    DirectoryDeletingService dirDeletingService =
+        (DirectoryDeletingService) keyManager.getDirDeletingService();
+    GenericTestUtils.waitFor(
+        () -> dirDeletingService.getDeletedDirsCount() >= dirCount,
+        100, 60000);
+    Assert.assertEquals(dirCount, dirDeletingService.getDeletedDirsCount());
+    Assert.assertEquals(dirCount * fileCount,
+        dirDeletingService.getMovedFilesCount());
+    Assert.assertTrue(om.getMetadataManager().getDeletedDirTable().isEmpty());
+  }
 }
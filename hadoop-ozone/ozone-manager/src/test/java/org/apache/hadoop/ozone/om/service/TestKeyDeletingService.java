@@ -73,6 +73,8 @@
 import static org.apache.hadoop.hdds.HddsConfigKeys.HDDS_CONTAINER_REPORT_INTERVAL;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_BLOCK_DELETING_SERVICE_INTERVAL;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_SNAPSHOT_DELETING_SERVICE_INTERVAL;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_KEY_DELETING_LIMIT_PER_TASK;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_KEY_DELETING_SERVICE_WORKERS;
 import static org.apache.hadoop.ozone.om.OmSnapshotManager.getSnapshotPrefix;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -161,6 +163,37 @@ public void checkIfDeleteServiceIsDeletingKeys()
         .getKeyBlocksList().size());
   }
 
+  @Test(timeout = 30000)
+  public void checkIfDeleteServiceIsDeletingKeysWithWorkers()
+      throws IOException, TimeoutException, InterruptedException,
+      AuthenticationException {
+    OzoneConfiguration conf = createConfAndInitValues();
+    conf.setInt(OZONE_KEY_DELETING_SERVICE_WORKERS, 3);
+    conf.setInt(OZONE_KEY_DELETING_LIMIT_PER_TASK, 10);
+    OmTestManagers omTestManagers
+        = new OmTestManagers(conf);
+    KeyManager keyManager = omTestManagers.getKeyManager();
+    writeClient = omTestManagers.getWriteClient();
+    om = omTestManagers.getOzoneManager();
+
+    final int keyCount = 100;
+    KeyDeletingService keyDeletingService =
+        (KeyDeletingService) keyManager.getDeletingService();
+    DeletingServiceMetrics metrics = keyDeletingService.getMetrics();
+    long purged = metrics.getNumKeysPurged();
+    createAndDeleteKeys(keyManager, keyCount, 1);
+    GenericTestUtils.waitFor(
+        () -> keyDeletingService.getDeletedKeyCount().get() >= keyCount,
+        1000, 20000);
+    // The workers handle distinct keys, so each key is deleted once.
+    Assert.assertEquals(keyCount,
+        keyDeletingService.getDeletedKeyCount().get());
+    Assert.assertEquals(0, keyManager.getPendingDeletionKeys(Integer.MAX_VALUE)
+        .getKeyBlocksList().size());
+    GenericTestUtils.waitFor(
+        () -> metrics.getNumKeysPurged() - purged == keyCount, 100, 5000);
+  }
+
   @Test(timeout = 40000)
   public void checkIfDeleteServiceWithFailingSCM()
       throws IOException, TimeoutException, InterruptedException,
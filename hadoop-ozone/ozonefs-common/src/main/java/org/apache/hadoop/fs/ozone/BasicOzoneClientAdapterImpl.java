@@ -36,6 +36,7 @@
 import org.apache.hadoop.fs.FileChecksum;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.fs.PathIsNotEmptyDirectoryException;
+import org.apache.hadoop.fs.RemoteIterator;
 import org.apache.hadoop.fs.SafeModeAction;
 import org.apache.hadoop.hdds.annotation.InterfaceAudience;
 import org.apache.hadoop.hdds.client.ReplicationConfig;
@@ -59,6 +60,7 @@
 import org.apache.hadoop.ozone.client.io.OzoneDataStreamOutput;
 import org.apache.hadoop.ozone.client.io.OzoneOutputStream;
 import org.apache.hadoop.ozone.om.exceptions.OMException;
+import org.apache.hadoop.ozone.om.helpers.ListStatusIterator;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfoGroup;
@@ -437,6 +439,24 @@ public List<FileStatusAdapter> listStatus(String keyName, boolean recursive,
     }
   }
 
+  @Override
+  @SuppressWarnings("parameternumber")
+  public RemoteIterator<FileStatusAdapter> listStatusIterator(String keyName,
+      boolean recursive, String startKey, long batchSize, URI uri,
+      Path workingDir, String username, Runnable batchListener)
+      throws IOException {
+    incrementCounter(Statistic.OBJECTS_LIST, 1);
+    try {
+      ListStatusIterator statuses =
+          bucket.listStatusIterator(keyName, recursive, startKey, batchSize);
+      statuses.setBatchListener(batchListener);
+      return new FileStatusAdapterIterator(statuses,
+          status -> toFileStatusAdapter(status, username, uri, workingDir));
+    } catch (OMException e) {
+      throw FileStatusAdapterIterator.translate(e);
+    }
+  }
+
   @Override
   public Token<OzoneTokenIdentifier> getDelegationToken(String renewer)
       throws IOException {
@@ -972,16 +972,15 @@ public void setTimes(Path f, long mtime, long atime) throws IOException {
 
   /**
    * A private class implementation for iterating list of file status.
+   * The entries are fetched from OM in batches of listingPageSize while
+   * iterating.
    *
    * @param <T> the type of the file status.
    */
   private final class OzoneFileStatusIterator<T extends FileStatus>
       implements RemoteIterator<T> {
-    private List<FileStatus> thisListing;
-    private int i;
-    private Path p;
-    private T curStat = null;
-    private String startPath = "";
+    private final RemoteIterator<FileStatusAdapter> statuses;
+    private final Path p;
 
     /**
      * Constructor to initialize OzoneFileStatusIterator.
@@ -992,15 +991,15 @@ public void setTimes(Path f, long mtime, long atime) throws IOException {
      */
     private OzoneFileStatusIterator(Path p) throws IOException {
       this.p = p;
+      LOG.trace("listStatusIterator() path:{}", p);
+      // Count each batch fetched, like a listStatus call.
+      statuses = adapter.listStatusIterator(pathToKey(p), false, "",
+          listingPageSize, uri, workingDir, getUsername(), () -> {
+            incrementCounter(Statistic.INVOCATION_LIST_STATUS, 1);
+            statistics.incrementReadOps(1);
+          });
       // fetch the first batch of entries in the directory
-      thisListing = listFileStatus(p, startPath);
-      if (thisListing != null && !thisListing.isEmpty()) {
-        startPath = pathToKey(
-            thisListing.get(thisListing.size() - 1).getPath());
-        LOG.debug("Got {} file status, next start path {}",
-            thisListing.size(), startPath);
-      }
-      i = 0;
+      statuses.hasNext();
     }
 
     /**
@@ -1009,43 +1008,7 @@ private OzoneFileStatusIterator(Path p) throws IOException {
      */
     @Override
     public boolean hasNext() throws IOException {
-      while (curStat == null && hasNextNoFilter()) {
-        T next;
-        FileStatus fileStat = thisListing.get(i++);
-        next = (T) (fileStat);
-        curStat = next;
-      }
-      return curStat != null;
-    }
-
-    /**
-     * Checks the next available entry from partial listing if not exhausted
-     * or fetches new batch for listing.
-     *
-     * @return true if next entry exists false otherwise.
-     * @throws IOException
-     */
-    private boolean hasNextNoFilter() throws IOException {
-      if (thisListing == null) {
-        return false;
-      }
-      if (i >= thisListing.size()) {
-        if (startPath != null && (thisListing.size() == listingPageSize ||
-            thisListing.size() == listingPageSize - 1)) {
-          // current listing is exhausted & fetch a new listing
-          thisListing = listFileStatus(p, startPath);
-          if (thisListing != null && !thisListing.isEmpty()) {
-            startPath = pathToKey(
-                thisListing.get(thisListing.size() - 1).getPath());
-            LOG.debug("Got {} file status, next start path {}",
-                thisListing.size(), startPath);
-          } else {
-            return false;
-          }
-          i = 0;
-        }
-      }
-      return (i < thisListing.size());
+      return statuses.hasNext();
     }
 
     /**
@@ -1053,44 +1016,15 @@ private boolean hasNextNoFilter() throws IOException {
      * @throws IOException
      */
     @Override
+    @SuppressWarnings("unchecked")
     public T next() throws IOException {
       if (hasNext()) {
-        T tmp = curStat;
-        curStat = null;
-        return tmp;
+        return (T) convertFileStatus(statuses.next());
       }
       throw new java.util.NoSuchElementException("No more entry in " + p);
     }
   }
 
-  /**
-   * Get all the file status for input path and startPath.
-   *
-   * @param f
-   * @param startPath
-   * @return list of file status.
-   * @throws IOException
-   */
-  private List<FileStatus> listFileStatus(Path f, String startPath)
-      throws IOException {
-    incrementCounter(Statistic.INVOCATION_LIST_STATUS, 1);
-    statistics.incrementReadOps(1);
-    LOG.trace("listFileStatus() path:{}", f);
-    List<FileStatus> statusList;
-    statusList =
-        adapter.listStatus(pathToKey(f), false, startPath,
-                listingPageSize, uri, workingDir, getUsername())
-            .stream()
-            .map(this::convertFileStatus)
-            .collect(Collectors.toList());
-
-    if (!statusList.isEmpty() && !startPath.isEmpty()) {
-      // Excluding the 1st file status element from list.
-      statusList.remove(0);
-    }
-    return statusList;
-  }
-
   /**
    * Turn a path (relative or otherwise) into an Ozone key.
    *
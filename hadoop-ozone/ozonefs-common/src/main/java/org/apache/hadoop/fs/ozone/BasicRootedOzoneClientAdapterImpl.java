@@ -23,11 +23,15 @@
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.stream.Collectors;
 
 import com.google.common.base.Preconditions;
@@ -41,6 +45,7 @@
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.fs.PathIsNotEmptyDirectoryException;
+import org.apache.hadoop.fs.RemoteIterator;
 import org.apache.hadoop.fs.SafeModeAction;
 import org.apache.hadoop.fs.permission.FsPermission;
 import org.apache.hadoop.hdds.annotation.InterfaceAudience;
@@ -70,6 +75,7 @@
 import org.apache.hadoop.ozone.client.BucketArgs;
 import org.apache.hadoop.ozone.om.exceptions.OMException;
 import org.apache.hadoop.ozone.om.helpers.BucketLayout;
+import org.apache.hadoop.ozone.om.helpers.ListStatusIterator;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfoGroup;
@@ -653,6 +659,101 @@ public FileStatusAdapter getFileStatus(String path, URI uri,
     }
   }
 
+  /**
+   * Get the status of many paths. The keys of each bucket are looked up with
+   * a call to OM per batch of keys, at most
+   * {@link OzoneConfigKeys#OZONE_FS_FILE_STATUSES_BATCH_SIZE_MAX}, other
+   * paths are looked up one by one.
+   *
+   * @return status of each path in the order of paths, null for the paths
+   *         which do not exist.
+   */
+  public List<FileStatusAdapter> getFileStatuses(List<String> paths, URI uri,
+      List<Path> qualifiedPaths, String userName) throws IOException {
+    incrementCounter(Statistic.OBJECTS_QUERY, paths.size());
+    FileStatusAdapter[] result = new FileStatusAdapter[paths.size()];
+    List<OFSPath> ofsPaths = new ArrayList<>(paths.size());
+    // Positions of the key paths, grouped by bucket.
+    Map<String, List<Integer>> keysByBucket = new LinkedHashMap<>();
+    for (int i = 0; i < paths.size(); i++) {
+      OFSPath ofsPath = new OFSPath(paths.get(i), config);
+      ofsPaths.add(ofsPath);
+      if (ofsPath.isRoot() || ofsPath.isVolume() || ofsPath.isSnapshotPath()) {
+        result[i] = getFileStatusIfExists(paths.get(i), uri,
+            qualifiedPaths.get(i), userName);
+      } else {
+        keysByBucket.computeIfAbsent(ofsPath.getNonKeyPath(),
+            k -> new ArrayList<>()).add(i);
+      }
+    }
+
+    int batchSize = config.getInt(
+        OzoneConfigKeys.OZONE_FS_FILE_STATUSES_BATCH_SIZE_MAX,
+        OzoneConfigKeys.OZONE_FS_FILE_STATUSES_BATCH_SIZE_MAX_DEFAULT);
+    List<List<Integer>> batches = new ArrayList<>();
+    for (List<Integer> positions : keysByBucket.values()) {
+      for (int i = 0; i < positions.size(); i += batchSize) {
+        batches.add(positions.subList(i,
+            Math.min(i + batchSize, positions.size())));
+      }
+    }
+
+    for (List<Integer> positions : batches) {
+      List<String> keyNames = new ArrayList<>(positions.size());
+      for (int position : positions) {
+        keyNames.add(ofsPaths.get(position).getKeyName());
+      }
+      List<OzoneFileStatus> statuses;
+      try {
+        OzoneBucket bucket = getBucket(ofsPaths.get(positions.get(0)), false);
+        statuses = bucket.getFileStatuses(keyNames);
+      } catch (FileNotFoundException e) {
+        continue;
+      } catch (OMException e) {
+        if (isNotFound(e)) {
+          continue;
+        }
+        throw e;
+      }
+      for (int i = 0; i < positions.size(); i++) {
+        int position = positions.get(i);
+        OzoneFileStatus status = statuses.get(i);
+        if (status != null) {
+          result[position] = toFileStatusAdapter(status, userName, uri,
+              qualifiedPaths.get(position),
+              ofsPaths.get(position).getNonKeyPath());
+        }
+      }
+    }
+    return Arrays.asList(result);
+  }
+
+  private FileStatusAdapter getFileStatusIfExists(String path, URI uri,
+      Path qualifiedPath, String userName) throws IOException {
+    try {
+      return getFileStatus(path, uri, qualifiedPath, userName);
+    } catch (FileNotFoundException e) {
+      return null;
+    } catch (OMException e) {
+      if (isNotFound(e)) {
+        return null;
+      }
+      throw e;
+    }
+  }
+
+  private static boolean isNotFound(OMException e) {
+    switch (e.getResult()) {
+    case FILE_NOT_FOUND:
+    case KEY_NOT_FOUND:
+    case BUCKET_NOT_FOUND:
+    case VOLUME_NOT_FOUND:
+      return true;
+    default:
+      return false;
+    }
+  }
+
   /**
    * Return FileStatusAdapter based on OFSPath being a
    * valid bucket path or valid snapshot path.
@@ -926,6 +1027,126 @@ public List<FileStatusAdapter> listStatus(String pathStr, boolean recursive,
     }
   }
 
+  /**
+   * OFS listStatusIterator implementation. The contents of a bucket are
+   * fetched from OM in batches while iterating, streamed if the client is
+   * connected to OM over gRPC. Listings of the root, a volume or the
+   * snapshots of a bucket are paged through with
+   * {@link #listStatus(String, boolean, String, long, URI, Path, String)}.
+   * See there for the parameters.
+   */
+  @Override
+  @SuppressWarnings("parameternumber")
+  public RemoteIterator<FileStatusAdapter> listStatusIterator(String pathStr,
+      boolean recursive, String startPath, long batchSize, URI uri,
+      Path workingDir, String username, Runnable batchListener)
+      throws IOException {
+    ListStatusIterator.checkBatchSize(batchSize);
+    OFSPath ofsPath = new OFSPath(pathStr, config);
+    if (ofsPath.isRoot() || ofsPath.isVolume() || ofsPath.isSnapshotPath()) {
+      return new PagedFileStatusIterator(pathStr, recursive, startPath,
+          batchSize, uri, workingDir, username, batchListener);
+    }
+
+    incrementCounter(Statistic.OBJECTS_LIST, 1);
+    // Remove authority from startPath if it exists
+    if (startPath.startsWith(uri.toString())) {
+      try {
+        startPath = new URI(startPath).getPath();
+      } catch (URISyntaxException ex) {
+        throw new IOException(ex);
+      }
+    }
+    String keyName = ofsPath.getKeyName();
+    String startKey = new OFSPath(startPath, config).getKeyName();
+    try {
+      OzoneBucket bucket = getBucket(ofsPath, false);
+      if (!bucket.isSourcePathExist()) {
+        LOG.warn("Source Bucket does not exist, link bucket {} is orphan " +
+            "and returning empty list of files inside it", bucket.getName());
+        return new PagedFileStatusIterator(Collections.emptyList());
+      }
+      // Note: statuses from the server don't have volume/bucket path.
+      String ofsPathPrefix = ofsPath.getNonKeyPath();
+      ListStatusIterator statuses =
+          bucket.listStatusIterator(keyName, recursive, startKey, batchSize);
+      statuses.setBatchListener(batchListener);
+      return new FileStatusAdapterIterator(statuses,
+          status -> toFileStatusAdapter(status, username, uri, workingDir,
+              ofsPathPrefix));
+    } catch (OMException e) {
+      throw FileStatusAdapterIterator.translate(e);
+    }
+  }
+
+  /**
+   * Iterates over a listing which is fetched in pages with listStatus.
+   */
+  private final class PagedFileStatusIterator
+      implements RemoteIterator<FileStatusAdapter> {
+    private final String pathStr;
+    private final boolean recursive;
+    private final long batchSize;
+    private final URI uri;
+    private final Path workingDir;
+    private final String username;
+    private final Runnable batchListener;
+    private String startPath;
+    private List<FileStatusAdapter> page;
+    private int index;
+    private boolean lastPage;
+
+    @SuppressWarnings("parameternumber")
+    private PagedFileStatusIterator(String pathStr, boolean recursive,
+        String startPath, long batchSize, URI uri, Path workingDir,
+        String username, Runnable batchListener) {
+      this.pathStr = pathStr;
+      this.recursive = recursive;
+      this.startPath = startPath;
+      this.batchSize = batchSize;
+      this.uri = uri;
+      this.workingDir = workingDir;
+      this.username = username;
+      this.batchListener = batchListener;
+    }
+
+    private PagedFileStatusIterator(List<FileStatusAdapter> statuses) {
+      this(null, false, null, 0, null, null, null, null);
+      this.page = statuses;
+      this.lastPage = true;
+    }
+
+    @Override
+    public boolean hasNext() throws IOException {
+      while ((page == null || index >= page.size()) && !lastPage) {
+        String previous = page == null || page.isEmpty() ? null
+            : page.get(page.size() - 1).getPath().toString();
+        page = listStatus(pathStr, recursive, startPath, batchSize, uri,
+            workingDir, username);
+        batchListener.run();
+        index = 0;
+        lastPage = page.size() < batchSize;
+        if (!page.isEmpty()) {
+          if (page.get(0).getPath().toString().equals(previous)) {
+            index = 1;
+          }
+          startPath = page.get(page.size() - 1).getPath().toUri().getPath();
+        }
+        // Also stop if the page made no progress.
+        lastPage |= index >= page.size();
+      }
+      return page != null && index < page.size();
+    }
+
+    @Override
+    public FileStatusAdapter next() throws IOException {
+      if (!hasNext()) {
+        throw new NoSuchElementException("No more entry in " + pathStr);
+      }
+      return page.get(index++);
+    }
+  }
+
   @Override
   public Token<OzoneTokenIdentifier> getDelegationToken(String renewer)
       throws IOException {
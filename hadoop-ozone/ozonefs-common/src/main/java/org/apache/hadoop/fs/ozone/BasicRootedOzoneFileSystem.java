@@ -71,7 +71,6 @@
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 import static org.apache.hadoop.fs.ozone.Constants.OZONE_DEFAULT_USER;
 import static org.apache.hadoop.fs.ozone.Constants.OZONE_USER_DIR;
@@ -1047,6 +1046,35 @@ public FileStatusAdapter getFileStatusAdapter(Path f) throws IOException {
     return fileStatus;
   }
 
+  /**
+   * Returns the status of many paths. The keys of each bucket are fetched
+   * from OM in one round trip, instead of one per path.
+   *
+   * @param paths the paths to get the status of.
+   * @return status of each path in the order of paths, null for the paths
+   *         which do not exist.
+   */
+  public FileStatus[] getFileStatuses(Path[] paths) throws IOException {
+    incrementCounter(Statistic.INVOCATION_GET_FILE_STATUS, paths.length);
+    statistics.incrementReadOps(1);
+    List<String> keys = new ArrayList<>(paths.length);
+    List<Path> qualifiedPaths = new ArrayList<>(paths.length);
+    for (Path path : paths) {
+      Path qualifiedPath = path.makeQualified(uri, workingDir);
+      qualifiedPaths.add(qualifiedPath);
+      keys.add(pathToKey(qualifiedPath));
+    }
+    List<FileStatusAdapter> statuses = adapterImpl.getFileStatuses(keys, uri,
+        qualifiedPaths, getUsername());
+    FileStatus[] result = new FileStatus[paths.length];
+    for (int i = 0; i < paths.length; i++) {
+      if (statuses.get(i) != null) {
+        result[i] = convertFileStatus(statuses.get(i));
+      }
+    }
+    return result;
+  }
+
   @Override
   public BlockLocation[] getFileBlockLocations(FileStatus fileStatus,
       long start, long len)
@@ -1148,16 +1176,15 @@ public RemoteIterator<FileStatus> listStatusIterator(Path f)
 
   /**
    * A private class implementation for iterating list of file status.
+   * The entries are fetched from OM in batches of listingPageSize while
+   * iterating.
    *
    * @param <T> the type of the file status.
    */
   private final class OzoneFileStatusIterator<T extends FileStatus>
       implements RemoteIterator<T> {
-    private List<FileStatus> thisListing;
-    private int i;
-    private Path p;
-    private T curStat = null;
-    private String startPath = "";
+    private final RemoteIterator<FileStatusAdapter> statuses;
+    private final Path p;
 
     /**
      * Constructor to initialize OzoneFileStatusIterator.
@@ -1168,15 +1195,15 @@ public RemoteIterator<FileStatus> listStatusIterator(Path f)
      */
     private OzoneFileStatusIterator(Path p) throws IOException {
       this.p = p;
+      LOG.trace("listStatusIterator() path:{}", p);
+      // Count each batch fetched, like a listStatus call.
+      statuses = adapter.listStatusIterator(pathToKey(p), false, "",
+          listingPageSize, uri, workingDir, getUsername(), () -> {
+            incrementCounter(Statistic.INVOCATION_LIST_STATUS, 1);
+            statistics.incrementReadOps(1);
+          });
       // fetch the first batch of entries in the directory
-      thisListing = listFileStatus(p, startPath);
-      if (thisListing != null && !thisListing.isEmpty()) {
-        startPath = pathToKey(
-            thisListing.get(thisListing.size() - 1).getPath());
-        LOG.debug("Got {} file status, next start path {}",
-            thisListing.size(), startPath);
-      }
-      i = 0;
+      statuses.hasNext();
     }
 
     /**
@@ -1185,43 +1212,7 @@ private OzoneFileStatusIterator(Path p) throws IOException {
      */
     @Override
     public boolean hasNext() throws IOException {
-      while (curStat == null && hasNextNoFilter()) {
-        T next;
-        FileStatus fileStat = thisListing.get(i++);
-        next = (T) (fileStat);
-        curStat = next;
-      }
-      return curStat != null;
-    }
-
-    /**
-     * Checks the next available entry from partial listing if not exhausted
-     * or fetches new batch for listing.
-     *
-     * @return true if next entry exists false otherwise.
-     * @throws IOException
-     */
-    private boolean hasNextNoFilter() throws IOException {
-      if (thisListing == null) {
-        return false;
-      }
-      if (i >= thisListing.size()) {
-        if (startPath != null && (thisListing.size() == listingPageSize ||
-            thisListing.size() == listingPageSize - 1)) {
-          // current listing is exhausted & fetch a new listing
-          thisListing = listFileStatus(p, startPath);
-          if (thisListing != null && !thisListing.isEmpty()) {
-            startPath = pathToKey(
-                thisListing.get(thisListing.size() - 1).getPath());
-            LOG.debug("Got {} file status, next start path {}",
-                thisListing.size(), startPath);
-          } else {
-            return false;
-          }
-          i = 0;
-        }
-      }
-      return (i < thisListing.size());
+      return statuses.hasNext();
     }
 
     /**
@@ -1229,44 +1220,15 @@ private boolean hasNextNoFilter() throws IOException {
      * @throws IOException
      */
     @Override
+    @SuppressWarnings("unchecked")
     public T next() throws IOException {
       if (hasNext()) {
-        T tmp = curStat;
-        curStat = null;
-        return tmp;
+        return (T) convertFileStatus(statuses.next());
       }
       throw new java.util.NoSuchElementException("No more entry in " + p);
     }
   }
 
-  /**
-   * Get all the file status for input path and startPath.
-   *
-   * @param f
-   * @param startPath
-   * @return list of file status.
-   * @throws IOException
-   */
-  private List<FileStatus> listFileStatus(Path f, String startPath)
-      throws IOException {
-    incrementCounter(Statistic.INVOCATION_LIST_STATUS, 1);
-    statistics.incrementReadOps(1);
-    LOG.trace("listFileStatus() path:{}", f);
-    List<FileStatus> statusList;
-    statusList =
-        adapter.listStatus(pathToKey(f), false, startPath,
-                listingPageSize, uri, workingDir, getUsername())
-            .stream()
-            .map(this::convertFileStatus)
-            .collect(Collectors.toList());
-
-    if (!statusList.isEmpty() && !startPath.isEmpty()) {
-      // Excluding the 1st file status element from list.
-      statusList.remove(0);
-    }
-    return statusList;
-  }
-
   /**
    * Turn a path (relative or otherwise) into an Ozone key.
    *
@@ -0,0 +1,70 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.fs.ozone;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.function.Function;
+
+import org.apache.hadoop.fs.RemoteIterator;
+import org.apache.hadoop.ozone.om.exceptions.OMException;
+import org.apache.hadoop.ozone.om.helpers.OzoneFileStatus;
+
+/**
+ * Adapts an iterator of {@link OzoneFileStatus} fetched from OM to an
+ * iterator of {@link FileStatusAdapter}. As the statuses are fetched while
+ * iterating, a missing path is reported by the first call of
+ * {@link #hasNext()} as {@link FileNotFoundException}, like listStatus does.
+ */
+final class FileStatusAdapterIterator
+    implements RemoteIterator<FileStatusAdapter> {
+
+  private final RemoteIterator<OzoneFileStatus> statuses;
+  private final Function<OzoneFileStatus, FileStatusAdapter> converter;
+
+  FileStatusAdapterIterator(RemoteIterator<OzoneFileStatus> statuses,
+      Function<OzoneFileStatus, FileStatusAdapter> converter) {
+    this.statuses = statuses;
+    this.converter = converter;
+  }
+
+  @Override
+  public boolean hasNext() throws IOException {
+    try {
+      return statuses.hasNext();
+    } catch (OMException e) {
+      throw translate(e);
+    }
+  }
+
+  @Override
+  public FileStatusAdapter next() throws IOException {
+    try {
+      return converter.apply(statuses.next());
+    } catch (OMException e) {
+      throw translate(e);
+    }
+  }
+
+  static IOException translate(OMException e) {
+    if (e.getResult() == OMException.ResultCodes.FILE_NOT_FOUND) {
+      return new FileNotFoundException(e.getMessage());
+    }
+    return e;
+  }
+}
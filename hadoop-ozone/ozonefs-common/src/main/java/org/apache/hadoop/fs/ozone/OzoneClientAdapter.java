@@ -26,6 +26,7 @@
 import org.apache.hadoop.crypto.key.KeyProvider;
 import org.apache.hadoop.fs.FileChecksum;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.RemoteIterator;
 import org.apache.hadoop.fs.SafeModeAction;
 import org.apache.hadoop.hdfs.protocol.SnapshotDiffReport;
 import org.apache.hadoop.ozone.security.OzoneTokenIdentifier;
@@ -69,6 +70,16 @@ List<FileStatusAdapter> listStatus(String keyName, boolean recursive,
       String startKey, long numEntries, URI uri,
       Path workingDir, String username) throws IOException;
 
+  /**
+   * Iterates over a listing which is fetched in batches of at most
+   * batchSize entries, calling batchListener for each batch fetched.
+   */
+  @SuppressWarnings("parameternumber")
+  RemoteIterator<FileStatusAdapter> listStatusIterator(String keyName,
+      boolean recursive, String startKey, long batchSize, URI uri,
+      Path workingDir, String username, Runnable batchListener)
+      throws IOException;
+
   Token<OzoneTokenIdentifier> getDelegationToken(String renewer)
       throws IOException;
 
@@ -22,14 +22,18 @@
 import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.nio.ReadOnlyBufferException;
+import java.util.List;
+import java.util.function.IntFunction;
 
 import org.apache.hadoop.fs.CanUnbuffer;
+import org.apache.hadoop.fs.FileRange;
 import org.apache.hadoop.hdds.annotation.InterfaceAudience;
 import org.apache.hadoop.hdds.annotation.InterfaceStability;
 import org.apache.hadoop.fs.ByteBufferReadable;
 import org.apache.hadoop.fs.FSInputStream;
 import org.apache.hadoop.fs.FileSystem.Statistics;
 import org.apache.hadoop.fs.Seekable;
+import org.apache.hadoop.hdds.scm.storage.MultipartInputStream;
 
 /**
  * The input stream for Ozone file system.
@@ -131,6 +135,29 @@ public int read(ByteBuffer buf) throws IOException {
     return bytesRead;
   }
 
+  /**
+   * Reads the ranges of a key with merged and parallel block reads, see
+   * {@link MultipartInputStream#readVectored}. Other streams, like those of
+   * encrypted keys, read the ranges one by one.
+   */
+  @Override
+  public void readVectored(List<? extends FileRange> ranges,
+      IntFunction<ByteBuffer> allocate) throws IOException {
+    if (!(inputStream instanceof MultipartInputStream)) {
+      super.readVectored(ranges, allocate);
+      return;
+    }
+    ((MultipartInputStream) inputStream).readVectored(ranges, allocate,
+        minSeekForVectorReads(), maxReadSizeForVectorReads());
+    if (statistics != null) {
+      for (FileRange range : ranges) {
+        if (!range.getData().isCompletedExceptionally()) {
+          statistics.incrementBytesRead(range.getLength());
+        }
+      }
+    }
+  }
+
   @Override
   public void unbuffer() {
     if (inputStream instanceof CanUnbuffer) {
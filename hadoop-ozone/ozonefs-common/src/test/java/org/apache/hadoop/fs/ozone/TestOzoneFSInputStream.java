@@ -24,24 +24,36 @@
 import org.apache.hadoop.crypto.CryptoCodec;
 import org.apache.hadoop.crypto.CryptoInputStream;
 import org.apache.hadoop.crypto.Decryptor;
+import org.apache.hadoop.fs.FileRange;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.StreamCapabilities;
+import org.apache.hadoop.hdds.scm.storage.ByteReaderStrategy;
+import org.apache.hadoop.hdds.scm.storage.ExtendedInputStream;
+import org.apache.hadoop.hdds.scm.storage.MultipartInputStream;
+import org.apache.hadoop.hdds.scm.storage.PartInputStream;
 import org.apache.hadoop.ozone.client.io.KeyInputStream;
 
 import org.junit.Test;
 
 import java.io.ByteArrayInputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.security.GeneralSecurityException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.IntFunction;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -166,6 +178,84 @@ public void testCryptoStreamUnbuffer()
     }
   }
 
+  @Test
+  public void testReadVectored() throws Exception {
+    final int partSize = 100;
+    final byte[] source = RandomUtils.nextBytes(3 * partSize);
+    final List<BytesPartStream> parts = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      parts.add(new BytesPartStream(
+          Arrays.copyOfRange(source, i * partSize, (i + 1) * partSize)));
+    }
+    final AtomicInteger tasks = new AtomicInteger();
+    final Executor executor = command -> {
+      tasks.incrementAndGet();
+      command.run();
+    };
+    final FileSystem.Statistics statistics = new FileSystem.Statistics("test");
+    final OzoneFSInputStream subject = new OzoneFSInputStream(
+        new MultipartInputStream("key", parts, executor), statistics);
+    subject.seek(50);
+
+    // The first three ranges are close enough to be read together, across
+    // all parts, the last one is beyond the end of the key.
+    final List<FileRange> ranges = Arrays.asList(
+        FileRange.createFileRange(250, 40),
+        FileRange.createFileRange(10, 5),
+        FileRange.createFileRange(95, 10),
+        FileRange.createFileRange(295, 10));
+    final List<ByteBuffer> allocated = new ArrayList<>();
+    subject.readVectored(ranges, length -> {
+      ByteBuffer buffer = ByteBuffer.allocate(length);
+      allocated.add(buffer);
+      return buffer;
+    });
+
+    assertEquals(1, allocated.size());
+    assertEquals(3, tasks.get());
+    for (BytesPartStream part : parts) {
+      assertEquals(1, part.reads);
+    }
+    for (FileRange range : ranges.subList(0, 3)) {
+      final ByteBuffer data = range.getData().get();
+      final byte[] content = new byte[range.getLength()];
+      data.get(content);
+      assertArrayEquals(Arrays.copyOfRange(source, (int) range.getOffset(),
+          (int) range.getOffset() + range.getLength()), content);
+    }
+    try {
+      ranges.get(3).getData().get();
+      fail("Read beyond the end of the key should fail");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof EOFException);
+    }
+    assertEquals(55, statistics.getBytesRead());
+    assertEquals(50, subject.getPos());
+  }
+
+  @Test
+  public void testReadVectoredFillsAllocatedBuffer() throws Exception {
+    final byte[] source = RandomUtils.nextBytes(10000);
+    final OzoneFSInputStream subject = createTestSubject(
+        new MultipartInputStream("key",
+            Arrays.asList(new BytesPartStream(source))));
+    final List<FileRange> ranges = Arrays.asList(
+        FileRange.createFileRange(0, 10),
+        FileRange.createFileRange(9000, 10));
+    final List<ByteBuffer> allocated = new ArrayList<>();
+    subject.readVectored(ranges, length -> {
+      ByteBuffer buffer = ByteBuffer.allocateDirect(length);
+      allocated.add(buffer);
+      return buffer;
+    });
+
+    // Too far apart to be merged with the default minimum seek.
+    assertEquals(2, allocated.size());
+    for (int i = 0; i < ranges.size(); i++) {
+      assertSame(allocated.get(i), ranges.get(i).getData().get());
+    }
+  }
+
   private static OzoneFSInputStream createTestSubject(InputStream input) {
     return new OzoneFSInputStream(input,
         new FileSystem.Statistics("test"));
@@ -189,4 +279,53 @@ public int read() {
     };
   }
 
+  /**
+   * A part of a {@link MultipartInputStream} with the data in memory.
+   */
+  private static class BytesPartStream extends ExtendedInputStream
+      implements PartInputStream {
+    private final byte[] data;
+    private int pos;
+    private int reads;
+
+    BytesPartStream(byte[] data) {
+      this.data = data;
+    }
+
+    @Override
+    public synchronized int read(ByteBuffer buffer) {
+      if (pos == data.length) {
+        return -1;
+      }
+      reads++;
+      int len = Math.min(buffer.remaining(), data.length - pos);
+      buffer.put(data, pos, len);
+      pos += len;
+      return len;
+    }
+
+    @Override
+    protected int readWithStrategy(ByteReaderStrategy strategy) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public synchronized void seek(long newPos) {
+      pos = (int) newPos;
+    }
+
+    @Override
+    public synchronized long getPos() {
+      return pos;
+    }
+
+    @Override
+    public long getLength() {
+      return data.length;
+    }
+
+    @Override
+    public void unbuffer() {
+    }
+  }
 }
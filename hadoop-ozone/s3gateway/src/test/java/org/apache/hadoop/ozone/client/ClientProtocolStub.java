@@ -33,6 +33,7 @@
 import org.apache.hadoop.ozone.client.io.OzoneOutputStream;
 import org.apache.hadoop.ozone.client.protocol.ClientProtocol;
 import org.apache.hadoop.ozone.om.helpers.DeleteTenantState;
+import org.apache.hadoop.ozone.om.helpers.ListStatusIterator;
 import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfo;
 import org.apache.hadoop.ozone.om.helpers.OmMultipartInfo;
 import org.apache.hadoop.ozone.om.helpers.OmMultipartUploadCompleteInfo;
@@ -471,6 +472,12 @@ public OzoneFileStatus getOzoneFileStatus(String volumeName,
     return null;
   }
 
+  @Override
+  public List<OzoneFileStatus> getOzoneFileStatuses(String volumeName,
+      String bucketName, List<String> keyNames) throws IOException {
+    return null;
+  }
+
   @Override
   public void createDirectory(String volumeName, String bucketName,
                               String keyName) throws IOException {
@@ -519,6 +526,13 @@ public List<OzoneFileStatus> listStatus(String volumeName, String bucketName,
     return null;
   }
 
+  @Override
+  public ListStatusIterator listStatusIterator(String volumeName,
+      String bucketName, String keyName, boolean recursive, String startKey,
+      long batchSize) throws IOException {
+    return null;
+  }
+
   @Override
   public boolean addAcl(OzoneObj obj, OzoneAcl acl) throws IOException {
     return false;
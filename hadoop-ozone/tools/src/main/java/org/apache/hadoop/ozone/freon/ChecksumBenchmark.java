@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.freon;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.codahale.metrics.Timer;
+import org.apache.hadoop.hdds.cli.HddsVersionProvider;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChecksumType;
+import org.apache.hadoop.ozone.common.Checksum;
+import org.apache.hadoop.ozone.common.ChecksumData;
+import org.apache.hadoop.ozone.common.ChunkBuffer;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+/**
+ * Benchmark of computing and verifying chunk checksums, in process.
+ * <p>
+ * Every task computes the checksums of a chunk of random data, then
+ * verifies the chunk against them, like the client and the datanode do for
+ * each chunk written and read.
+ */
+@Command(name = "checksum-benchmark",
+    aliases = "cb",
+    description = "Benchmark compute/verify of chunk checksums.",
+    versionProvider = HddsVersionProvider.class,
+    mixinStandardHelpOptions = true,
+    showDefaultValues = true)
+public class ChecksumBenchmark extends BaseFreonGenerator
+    implements Callable<Void> {
+
+  @Option(names = {"--checksum"},
+      description = "Checksum type (CRC32, CRC32C, SHA256, MD5).",
+      defaultValue = "CRC32C")
+  private ChecksumType checksumType;
+
+  @Option(names = {"--bytes-per-checksum"},
+      description = "Number of bytes covered by each checksum.",
+      defaultValue = "16384")
+  private int bytesPerChecksum;
+
+  @Option(names = {"-s", "--size"},
+      description = "Size of each chunk (in bytes).",
+      defaultValue = "4194304")
+  private int chunkSize;
+
+  @Option(names = {"--direct"},
+      description = "Use direct buffers for the data.",
+      defaultValue = "false")
+  private boolean direct;
+
+  private final ThreadLocal<ByteBuffer> data =
+      ThreadLocal.withInitial(this::createData);
+  private Checksum checksum;
+  private Timer computeTimer;
+  private Timer verifyTimer;
+
+  @Override
+  public Void call() throws Exception {
+    init();
+    checksum = new Checksum(checksumType, bytesPerChecksum);
+    computeTimer = getMetrics().timer("compute");
+    verifyTimer = getMetrics().timer("verify");
+
+    runTests(this::runOperation);
+    return null;
+  }
+
+  private ByteBuffer createData() {
+    final byte[] bytes = new byte[chunkSize];
+    ThreadLocalRandom.current().nextBytes(bytes);
+    if (!direct) {
+      return ByteBuffer.wrap(bytes);
+    }
+    final ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+    buffer.put(bytes);
+    buffer.flip();
+    return buffer;
+  }
+
+  private void runOperation(long counter) throws Exception {
+    final ChunkBuffer chunk = ChunkBuffer.wrap(data.get().duplicate());
+    final ChecksumData checksumData =
+        computeTimer.time(() -> checksum.computeChecksum(chunk));
+    verifyTimer.time(() -> Checksum.verifyChecksum(chunk, checksumData, 0));
+  }
+}
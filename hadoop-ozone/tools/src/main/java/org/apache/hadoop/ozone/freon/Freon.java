@@ -71,7 +71,9 @@
         OzoneClientKeyReadWriteListOps.class,
         RangeKeysGenerator.class,
         DatanodeSimulator.class,
-        OmMetadataGenerator.class
+        OmMetadataGenerator.class,
+        TableCacheBenchmark.class,
+        ChecksumBenchmark.class
     },
     versionProvider = HddsVersionProvider.class,
     mixinStandardHelpOptions = true)
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.freon;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import com.codahale.metrics.Timer;
+import org.apache.hadoop.hdds.cli.HddsVersionProvider;
+import org.apache.hadoop.hdds.utils.db.cache.CacheKey;
+import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
+import org.apache.hadoop.hdds.utils.db.cache.FullTableCache;
+import org.apache.hadoop.hdds.utils.db.cache.LockFreeFullTableCache;
+import org.apache.hadoop.hdds.utils.db.cache.TableCache;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+/**
+ * Benchmark of the full table cache implementations, in process.
+ * <p>
+ * Every task either reads a random key, or writes (creates or deletes) a
+ * random key with the next epoch. Every {@code --evict-interval} writes the
+ * epochs of the previous interval are cleaned up, like the OM double buffer
+ * does after a flush.
+ */
+@Command(name = "table-cache-benchmark",
+    aliases = "tcb",
+    description = "Benchmark get/put/evict of the full table cache.",
+    versionProvider = HddsVersionProvider.class,
+    mixinStandardHelpOptions = true,
+    showDefaultValues = true)
+public class TableCacheBenchmark extends BaseFreonGenerator
+    implements Callable<Void> {
+
+  enum CacheImplementation { FULL, LOCK_FREE }
+
+  @Option(names = {"--cache"},
+      description = "Cache implementation to benchmark (FULL, LOCK_FREE).",
+      defaultValue = "LOCK_FREE")
+  private CacheImplementation implementation;
+
+  @Option(names = {"--keys"},
+      description = "Number of distinct keys in the cache.",
+      defaultValue = "10000")
+  private int keyCount;
+
+  @Option(names = {"--write-percentage"},
+      description = "Percentage of the tasks which update the cache.",
+      defaultValue = "10")
+  private int writePercentage;
+
+  @Option(names = {"--evict-interval"},
+      description = "Number of updates between two cache cleanups.",
+      defaultValue = "1000")
+  private int evictInterval;
+
+  private TableCache<String, String> cache;
+  private final AtomicLong epoch = new AtomicLong();
+  private Timer getTimer;
+  private Timer putTimer;
+
+  @Override
+  public Void call() throws Exception {
+    init();
+    cache = implementation == CacheImplementation.FULL
+        ? new FullTableCache<>() : new LockFreeFullTableCache<>();
+    for (int i = 0; i < keyCount; i++) {
+      cache.loadInitial(new CacheKey<>(key(i)), CacheValue.get(-1, key(i)));
+    }
+    getTimer = getMetrics().timer("get");
+    putTimer = getMetrics().timer("put");
+
+    runTests(this::runOperation);
+    return null;
+  }
+
+  private static String key(int i) {
+    return "/vol/bucket-" + i;
+  }
+
+  private void runOperation(long counter) {
+    final ThreadLocalRandom random = ThreadLocalRandom.current();
+    final CacheKey<String> cacheKey =
+        new CacheKey<>(key(random.nextInt(keyCount)));
+    if (random.nextInt(100) >= writePercentage) {
+      getTimer.time(() -> {
+        cache.get(cacheKey);
+      });
+      return;
+    }
+
+    final long current = epoch.incrementAndGet();
+    final CacheValue<String> value = random.nextBoolean()
+        ? CacheValue.get(current, cacheKey.getCacheKey())
+        : CacheValue.get(current);
+    putTimer.time(() -> cache.put(cacheKey, value));
+    if (current % evictInterval == 0 && current > evictInterval) {
+      // Clean up the previous interval, the current one may still have
+      // updates in progress.
+      List<Long> epochs = LongStream.rangeClosed(
+          current - 2L * evictInterval + 1, current - evictInterval)
+          .boxed().collect(Collectors.toList());
+      cache.cleanup(epochs);
+    }
+  }
+}